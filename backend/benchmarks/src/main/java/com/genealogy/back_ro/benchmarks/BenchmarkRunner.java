@@ -0,0 +1,40 @@
+package com.genealogy.back_ro.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Point d'entrée du jar des bancs d'essai : mêmes options que JMH, mais les résultats sont écrits
+ * par défaut en JSON dans {@code results/jmh-<date>.json}, pour suivre les régressions d'une version à l'autre
+ * ({@code -rf} et {@code -rff} restent prioritaires).
+ */
+public final class BenchmarkRunner {
+
+    private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            File directory = new File("results");
+            directory.mkdirs();
+            options.result(new File(directory, "jmh-" + LocalDateTime.now().format(FILE_DATE) + ".json").getPath());
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,139 @@
+package com.genealogy.back_ro.benchmarks;
+
+import com.genealogy.back_ro.graph.FamilyGraph;
+import com.genealogy.back_ro.importer.CsvImportParser;
+import com.genealogy.back_ro.importer.ImportSink;
+import com.genealogy.back_ro.importer.PersonRecord;
+import com.genealogy.back_ro.search.PhoneticIndex;
+import com.genealogy.back_ro.search.TrigramIndex;
+import com.genealogy.back_ro.service.BenchmarkAccess;
+import com.genealogy.back_ro.service.ImportService;
+import com.genealogy.back_ro.util.LongArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Import en masse de l'arbre généré, écrit au format CSV :
+ * {@code sqlite} passe par l'écriture par lots de {@code ImportService} (lots de {@link ImportService#CHUNK_SIZE}
+ * enregistrements par transaction, liens résolus en fin d'import) sur une base neuve à chaque itération ;
+ * {@code memory} construit directement les index résidents (graphe familial et index des noms).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BulkImportBenchmark {
+
+    private static final long JOB_ID = 1;
+
+    @Param({"memory", "sqlite"})
+    public String store;
+
+    private byte[] csv;
+    private SqliteDatabase database;
+
+    @Setup(Level.Trial)
+    public void writeCsv(TreeState state) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(state.tree.size() * 48);
+        try (Writer out = new OutputStreamWriter(bytes, StandardCharsets.UTF_8)) {
+            state.tree.writeCsv(out);
+        }
+        csv = bytes.toByteArray();
+    }
+
+    @Setup(Level.Iteration)
+    public void createDatabase() throws SQLException {
+        if ("sqlite".equals(store)) {
+            database = SqliteDatabase.inMemory();
+            database.jdbcTemplate().update("INSERT INTO import_jobs (id, format, stored_path, status, records_processed, "
+                    + "persons_imported, links_imported, created_at) VALUES (?, 'CSV', 'benchmark.csv', 'RUNNING', 0, 0, 0, "
+                    + "CURRENT_TIMESTAMP)", JOB_ID);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeDatabase() throws SQLException {
+        if (database != null) {
+            database.close();
+            database = null;
+        }
+    }
+
+    @Benchmark
+    public long bulkImport() throws IOException {
+        if ("sqlite".equals(store)) {
+            return importIntoSqlite();
+        }
+        return importInMemory();
+    }
+
+    private long importIntoSqlite() throws IOException {
+        return BenchmarkAccess.importFile(database.importRepository(), database.transactionTemplate(), JOB_ID,
+                new CsvImportParser(), new ByteArrayInputStream(csv));
+    }
+
+    private long importInMemory() throws IOException {
+        Map<String, Long> ids = new HashMap<>();
+        LongArrayList personIds = new LongArrayList();
+        List<String[]> links = new ArrayList<>();
+        TrigramIndex trigramIndex = new TrigramIndex();
+        PhoneticIndex phoneticIndex = new PhoneticIndex();
+
+        new CsvImportParser().parse(new ByteArrayInputStream(csv), new ImportSink() {
+            @Override
+            public void person(PersonRecord person) {
+                long id = personIds.size() + 1L;
+                if (ids.putIfAbsent(person.getExternalId(), id) == null) {
+                    personIds.add(id);
+                    trigramIndex.put(id, person.getFirstName(), person.getLastName());
+                    phoneticIndex.put(id, person.getFirstName(), person.getLastName());
+                }
+            }
+
+            @Override
+            public void parentLink(String childExternalId, String parentExternalId) {
+                links.add(new String[]{childExternalId, parentExternalId});
+            }
+        });
+
+        long[] childIds = new long[links.size()];
+        long[] parentIds = new long[links.size()];
+        int count = 0;
+        for (String[] link : links) {
+            Long child = ids.get(link[0]);
+            Long parent = ids.get(link[1]);
+            if (child != null && parent != null && !child.equals(parent)) {
+                childIds[count] = child;
+                parentIds[count++] = parent;
+            }
+        }
+        FamilyGraph graph = FamilyGraph.build(personIds.toArray(), personIds.size(), childIds, parentIds, count);
+        return graph.personCount() + graph.edgeCount();
+    }
+}
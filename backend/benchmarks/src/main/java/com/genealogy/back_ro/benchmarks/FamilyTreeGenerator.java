@@ -0,0 +1,191 @@
+package com.genealogy.back_ro.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Générateur d'arbres généalogiques synthétiques, reproductible à graine égale.
+ *
+ * La première génération est faite de couples fondateurs. Chaque couple a un nombre d'enfants
+ * tiré selon une loi de Poisson de moyenne {@code branching} ; chaque enfant forme ensuite un couple
+ * de la génération suivante, avec une personne venue de l'extérieur (sans parents connus) ou,
+ * avec la probabilité {@code pedigreeCollapseRate}, avec un descendant proche dans l'arbre
+ * (cousin le plus souvent) : ses enfants ont alors des ancêtres en double (implexe).
+ * Avec la probabilité {@code remarriageRate}, le premier parent d'un couple a aussi des enfants
+ * d'une seconde union : demi-frères et demi-sœurs.
+ *
+ * La génération s'arrête au nombre de générations demandé ou dès que {@code maxPersons} est atteint.
+ */
+public final class FamilyTreeGenerator {
+
+    /** Distance maximale, dans la liste des enfants d'une génération, entre deux conjoints issus de l'arbre */
+    private static final int COUSIN_WINDOW = 16;
+
+    private static final String[] FIRST_NAMES = {
+            "Jean", "Marie", "Pierre", "Jeanne", "Louis", "Anne", "François", "Marguerite", "Jacques", "Catherine",
+            "Antoine", "Françoise", "Joseph", "Madeleine", "Nicolas", "Élisabeth", "Étienne", "Louise", "Michel", "Thérèse",
+            "Claude", "Geneviève", "Charles", "Suzanne", "Henri", "Hélène", "Paul", "Germaine", "André", "Yvonne",
+            "Léon", "Camille", "Émile", "Juliette", "Lucien", "Odette", "René", "Simone", "Marcel", "Jacqueline"
+    };
+
+    /** Noms de famille, dont plusieurs graphies d'un même nom pour la recherche phonétique */
+    private static final String[] LAST_NAMES = {
+            "Martin", "Bernard", "Dubois", "Thomas", "Robert", "Richard", "Petit", "Durand", "Leroy", "Moreau",
+            "Simon", "Laurent", "Lefebvre", "Lefèvre", "Lefebure", "Michel", "Garcia", "David", "Bertrand", "Roux",
+            "Vincent", "Fournier", "Morel", "Girard", "André", "Dupont", "Dupond", "Du Pont", "Mercier", "Blanc",
+            "Guérin", "Boyer", "Garnier", "Chevalier", "François", "Legrand", "Gauthier", "Gautier", "Perrin", "Rousseau"
+    };
+
+    private final int generations;
+    private final int founderCouples;
+    private final double branching;
+    private final double pedigreeCollapseRate;
+    private final double remarriageRate;
+    private final int maxPersons;
+    private final long seed;
+
+    /**
+     * @param generations          nombre de générations, fondateurs compris
+     * @param founderCouples       nombre de couples de la première génération
+     * @param branching            nombre moyen d'enfants par couple
+     * @param pedigreeCollapseRate probabilité qu'un enfant prenne pour conjoint un autre descendant
+     * @param remarriageRate       probabilité qu'un couple soit suivi d'une seconde union du premier parent
+     * @param maxPersons           nombre maximal de personnes générées
+     */
+    public FamilyTreeGenerator(int generations, int founderCouples, double branching, double pedigreeCollapseRate,
+                               double remarriageRate, int maxPersons, long seed) {
+        if (generations < 1 || founderCouples < 1 || branching < 0 || maxPersons < 2) {
+            throw new IllegalArgumentException("Paramètres de génération invalides");
+        }
+        this.generations = generations;
+        this.founderCouples = founderCouples;
+        this.branching = branching;
+        this.pedigreeCollapseRate = pedigreeCollapseRate;
+        this.remarriageRate = remarriageRate;
+        this.maxPersons = maxPersons;
+        this.seed = seed;
+    }
+
+    public GeneratedTree generate() {
+        Random random = new Random(seed);
+        Builder builder = new Builder(random);
+
+        List<int[]> couples = new ArrayList<>();
+        for (int i = 0; i < founderCouples && builder.size + 2 <= maxPersons; i++) {
+            couples.add(new int[]{builder.incomer(0), builder.incomer(0)});
+        }
+
+        for (int generation = 1; generation < generations && builder.size < maxPersons; generation++) {
+            // Enfants de la génération, regroupés par famille : les voisins dans la liste sont frères ou cousins
+            List<Integer> children = new ArrayList<>();
+            for (int[] couple : couples) {
+                builder.children(couple[0], couple[1], poisson(random, branching), generation, children);
+                if (random.nextDouble() < remarriageRate) {
+                    int partner = builder.incomer(generation - 1);
+                    builder.children(couple[0], partner, Math.max(1, poisson(random, branching / 2)), generation, children);
+                }
+                if (builder.size >= maxPersons) {
+                    break;
+                }
+            }
+
+            couples = new ArrayList<>(children.size());
+            boolean[] paired = new boolean[children.size()];
+            for (int i = 0; i < children.size() && builder.size < maxPersons; i++) {
+                if (paired[i]) {
+                    continue;
+                }
+                int child = children.get(i);
+                paired[i] = true;
+                int partner = -1;
+                if (random.nextDouble() < pedigreeCollapseRate) {
+                    for (int j = i + 1; j < Math.min(children.size(), i + 1 + COUSIN_WINDOW); j++) {
+                        if (!paired[j] && !builder.siblings(child, children.get(j))) {
+                            partner = children.get(j);
+                            paired[j] = true;
+                            break;
+                        }
+                    }
+                }
+                if (partner < 0) {
+                    partner = builder.incomer(generation);
+                }
+                couples.add(new int[]{child, partner});
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Tirage d'une loi de Poisson (méthode de Knuth, adaptée aux petites moyennes)
+     */
+    private static int poisson(Random random, double mean) {
+        double limit = Math.exp(-mean);
+        double product = random.nextDouble();
+        int count = 0;
+        while (product > limit) {
+            count++;
+            product *= random.nextDouble();
+        }
+        return count;
+    }
+
+    private final class Builder {
+        private final Random random;
+        private int size;
+        private String[] firstNames = new String[1024];
+        private String[] lastNames = new String[1024];
+        private LocalDate[] birthDates = new LocalDate[1024];
+        private int[] generationOf = new int[1024];
+        private int[] firstParents = new int[1024];
+        private int[] secondParents = new int[1024];
+
+        Builder(Random random) {
+            this.random = random;
+        }
+
+        int incomer(int generation) {
+            return person(generation, LAST_NAMES[random.nextInt(LAST_NAMES.length)], -1, -1);
+        }
+
+        void children(int first, int second, int count, int generation, List<Integer> out) {
+            for (int k = 0; k < count && size < maxPersons; k++) {
+                out.add(person(generation, lastNames[first], first, second));
+            }
+        }
+
+        boolean siblings(int a, int b) {
+            return firstParents[a] >= 0 && (firstParents[a] == firstParents[b] || secondParents[a] == secondParents[b]);
+        }
+
+        private int person(int generation, String lastName, int firstParent, int secondParent) {
+            if (size == firstNames.length) {
+                int capacity = size * 2;
+                firstNames = Arrays.copyOf(firstNames, capacity);
+                lastNames = Arrays.copyOf(lastNames, capacity);
+                birthDates = Arrays.copyOf(birthDates, capacity);
+                generationOf = Arrays.copyOf(generationOf, capacity);
+                firstParents = Arrays.copyOf(firstParents, capacity);
+                secondParents = Arrays.copyOf(secondParents, capacity);
+            }
+            int index = size++;
+            firstNames[index] = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            lastNames[index] = lastName;
+            birthDates[index] = LocalDate.of(1600 + 25 * generation + random.nextInt(12), 1, 1)
+                    .plusDays(random.nextInt(365));
+            generationOf[index] = generation;
+            firstParents[index] = firstParent;
+            secondParents[index] = secondParent;
+            return index;
+        }
+
+        GeneratedTree build() {
+            return new GeneratedTree(size, Arrays.copyOf(firstNames, size), Arrays.copyOf(lastNames, size),
+                    Arrays.copyOf(birthDates, size), Arrays.copyOf(generationOf, size),
+                    Arrays.copyOf(firstParents, size), Arrays.copyOf(secondParents, size));
+        }
+    }
+}
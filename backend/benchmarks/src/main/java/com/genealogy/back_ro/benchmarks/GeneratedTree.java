@@ -0,0 +1,155 @@
+package com.genealogy.back_ro.benchmarks;
+
+import com.genealogy.back_ro.graph.FamilyGraph;
+import com.genealogy.back_ro.graph.RelationshipGraph;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Arbre produit par {@link FamilyTreeGenerator}. La personne d'indice {@code i} a l'identifiant {@code i + 1} ;
+ * chaque personne a deux parents connus, ou aucun (fondateurs et conjoints venus de l'extérieur).
+ */
+public final class GeneratedTree {
+
+    public static final String SPOUSE = "SPOUSE";
+
+    private final int size;
+    private final String[] firstNames;
+    private final String[] lastNames;
+    private final LocalDate[] birthDates;
+    private final int[] generations;
+    private final int[] firstParents;
+    private final int[] secondParents;
+    private final int linkCount;
+
+    GeneratedTree(int size, String[] firstNames, String[] lastNames, LocalDate[] birthDates, int[] generations,
+                  int[] firstParents, int[] secondParents) {
+        this.size = size;
+        this.firstNames = firstNames;
+        this.lastNames = lastNames;
+        this.birthDates = birthDates;
+        this.generations = generations;
+        this.firstParents = firstParents;
+        this.secondParents = secondParents;
+        int links = 0;
+        for (int i = 0; i < size; i++) {
+            links += (firstParents[i] >= 0 ? 1 : 0) + (secondParents[i] >= 0 ? 1 : 0);
+        }
+        this.linkCount = links;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int linkCount() {
+        return linkCount;
+    }
+
+    public long id(int person) {
+        return person + 1L;
+    }
+
+    public String firstName(int person) {
+        return firstNames[person];
+    }
+
+    public String lastName(int person) {
+        return lastNames[person];
+    }
+
+    public LocalDate birthDate(int person) {
+        return birthDates[person];
+    }
+
+    public int generation(int person) {
+        return generations[person];
+    }
+
+    /**
+     * @return l'indice du premier parent, ou -1
+     */
+    public int firstParent(int person) {
+        return firstParents[person];
+    }
+
+    /**
+     * @return l'indice du second parent, ou -1
+     */
+    public int secondParent(int person) {
+        return secondParents[person];
+    }
+
+    public FamilyGraph toFamilyGraph() {
+        long[] ids = new long[size];
+        long[] childIds = new long[linkCount];
+        long[] parentIds = new long[linkCount];
+        int links = 0;
+        for (int i = 0; i < size; i++) {
+            ids[i] = id(i);
+            for (int parent : new int[]{firstParents[i], secondParents[i]}) {
+                if (parent >= 0) {
+                    childIds[links] = id(i);
+                    parentIds[links++] = id(parent);
+                }
+            }
+        }
+        return FamilyGraph.build(ids, size, childIds, parentIds, links);
+    }
+
+    /**
+     * Graphe des relations : liens parent-enfant et relation {@link #SPOUSE} (poids 2, dans les deux sens)
+     * entre les parents de chaque fratrie
+     */
+    public RelationshipGraph toRelationshipGraph() {
+        RelationshipGraph.Builder builder = new RelationshipGraph.Builder(size);
+        for (int i = 0; i < size; i++) {
+            builder.addPerson(id(i));
+        }
+        int spouse = builder.typeCode(SPOUSE);
+        Set<Long> couples = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            int first = firstParents[i];
+            int second = secondParents[i];
+            if (first >= 0) {
+                builder.addParentLink(id(i), id(first));
+            }
+            if (second >= 0) {
+                builder.addParentLink(id(i), id(second));
+            }
+            if (first >= 0 && second >= 0 && couples.add((long) first << 32 | second)) {
+                builder.addEdge(id(first), id(second), spouse, 2);
+                builder.addEdge(id(second), id(first), spouse, 2);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Écrit l'arbre au format CSV de l'import ({@code id,firstName,lastName,birthDate,fatherId,motherId})
+     */
+    public void writeCsv(Writer out) throws IOException {
+        out.write("id,firstName,lastName,birthDate,fatherId,motherId\n");
+        StringBuilder line = new StringBuilder(96);
+        for (int i = 0; i < size; i++) {
+            line.setLength(0);
+            line.append('P').append(id(i)).append(',')
+                    .append(firstNames[i]).append(',')
+                    .append(lastNames[i]).append(',')
+                    .append(birthDates[i]).append(',');
+            if (firstParents[i] >= 0) {
+                line.append('P').append(id(firstParents[i]));
+            }
+            line.append(',');
+            if (secondParents[i] >= 0) {
+                line.append('P').append(id(secondParents[i]));
+            }
+            line.append('\n');
+            out.write(line.toString());
+        }
+    }
+}
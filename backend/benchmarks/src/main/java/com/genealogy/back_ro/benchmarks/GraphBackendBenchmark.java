@@ -0,0 +1,68 @@
+package com.genealogy.back_ro.benchmarks;
+
+import com.genealogy.back_ro.graph.FamilyGraph;
+import com.genealogy.back_ro.graph.GraphBackend;
+import com.genealogy.back_ro.graph.JGraphTBackend;
+import com.genealogy.back_ro.graph.NativeGraphBackend;
+import com.genealogy.back_ro.graph.RelationshipGraph;
+import com.genealogy.back_ro.graph.SpanningForest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare les moteurs de graphe ({@code native} et {@code jgrapht}) sur l'arbre généré par {@link TreeState}.
+ *
+ * Les graphes sont construits une fois par essai ; la copie JGraphT est faite pendant la préchauffe.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GraphBackendBenchmark {
+
+    @Param({NativeGraphBackend.NAME, JGraphTBackend.NAME})
+    public String backend;
+
+    private GraphBackend graphBackend;
+    private FamilyGraph familyGraph;
+    private RelationshipGraph relationshipGraph;
+
+    @Setup(Level.Trial)
+    public void setUp(TreeState state) {
+        graphBackend = NativeGraphBackend.NAME.equals(backend) ? new NativeGraphBackend() : new JGraphTBackend();
+        familyGraph = state.tree.toFamilyGraph();
+        relationshipGraph = state.tree.toRelationshipGraph();
+    }
+
+    @Benchmark
+    public int[] shortestPath(TreeState state) {
+        int i = state.nextQuery();
+        return graphBackend.shortestPath(familyGraph, state.firsts[i], state.seconds[i]);
+    }
+
+    @Benchmark
+    public int[] commonAncestors(TreeState state) {
+        int i = state.nextQuery();
+        return graphBackend.commonAncestors(familyGraph, state.firsts[i], state.seconds[i]);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public SpanningForest spanningForest() {
+        return graphBackend.spanningForest(relationshipGraph, RelationshipGraph.ALL_TYPES, SpanningForest.Algorithm.AUTO);
+    }
+}
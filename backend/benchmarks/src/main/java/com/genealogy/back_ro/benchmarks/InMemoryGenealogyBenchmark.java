@@ -0,0 +1,93 @@
+package com.genealogy.back_ro.benchmarks;
+
+import com.genealogy.back_ro.graph.FamilyGraph;
+import com.genealogy.back_ro.graph.GraphBackend;
+import com.genealogy.back_ro.graph.NativeGraphBackend;
+import com.genealogy.back_ro.search.PhoneticIndex;
+import com.genealogy.back_ro.search.TrigramIndex;
+import com.genealogy.back_ro.service.BenchmarkAccess;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recherches de {@code GenealogySearchService} et {@code PersonNameSearchService} sur les index
+ * résidents, tels qu'ils sont servis une fois l'index construit : sans base de données,
+ * seul le coût des algorithmes est mesuré (pas le chargement des vues des personnes).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InMemoryGenealogyBenchmark {
+
+    /** Profondeur par défaut de {@code /api/genealogy/descendants} */
+    private static final int DESCENDANT_DEPTH = 3;
+
+    private static final int PAGE_SIZE = 20;
+
+    private final GraphBackend graphBackend = new NativeGraphBackend();
+    private FamilyGraph graph;
+    private TrigramIndex trigramIndex;
+    private PhoneticIndex phoneticIndex;
+
+    @Setup(Level.Trial)
+    public void setUp(TreeState state) {
+        GeneratedTree tree = state.tree;
+        graph = tree.toFamilyGraph();
+        trigramIndex = new TrigramIndex();
+        phoneticIndex = new PhoneticIndex();
+        for (int i = 0; i < tree.size(); i++) {
+            trigramIndex.put(tree.id(i), tree.firstName(i), tree.lastName(i));
+            phoneticIndex.put(tree.id(i), tree.firstName(i), tree.lastName(i));
+        }
+    }
+
+    @Benchmark
+    public long[] findRelationshipPath(TreeState state) {
+        int i = state.nextQuery();
+        return BenchmarkAccess.relationshipPathIds(graph, graphBackend,
+                state.tree.id(state.firsts[i]), state.tree.id(state.seconds[i]));
+    }
+
+    @Benchmark
+    public long[] findCommonAncestor(TreeState state) {
+        int i = state.nextQuery();
+        return BenchmarkAccess.commonAncestorIds(graph, graphBackend,
+                state.tree.id(state.firsts[i]), state.tree.id(state.seconds[i]));
+    }
+
+    @Benchmark
+    public long[] findDescendants(TreeState state) {
+        long root = state.tree.id(state.roots[state.nextQuery()]);
+        return BenchmarkAccess.descendantIdsUpTo(graph, root, DESCENDANT_DEPTH);
+    }
+
+    @Benchmark
+    public TrigramIndex.Page searchByName(TreeState state) {
+        int i = state.nextQuery();
+        String[] queries = new String[3];
+        queries[TrigramIndex.FIRST_NAME] = state.firstNames[i];
+        queries[TrigramIndex.LAST_NAME] = state.lastNames[i];
+        return trigramIndex.search(queries, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<PhoneticIndex.Hit> searchPhonetic(TreeState state) {
+        int i = state.nextQuery();
+        return phoneticIndex.search(null, state.lastNames[i]);
+    }
+}
@@ -0,0 +1,147 @@
+package com.genealogy.back_ro.benchmarks;
+
+import com.genealogy.back_ro.repository.FamilyGraphJdbcRepository;
+import com.genealogy.back_ro.repository.ImportJdbcRepository;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Base SQLite en mémoire, créée par les migrations Flyway du backend ({@code db/migration}),
+ * sur une seule connexion.
+ */
+final class SqliteDatabase implements AutoCloseable {
+
+    private static final Pattern NAMED_PARAMETER = Pattern.compile(":(\\w+)");
+
+    private final Connection connection;
+    private final SingleConnectionDataSource dataSource;
+
+    private SqliteDatabase(Connection connection) {
+        this.connection = connection;
+        this.dataSource = new SingleConnectionDataSource(connection, true);
+    }
+
+    static SqliteDatabase inMemory() throws SQLException {
+        SqliteDatabase database = new SqliteDatabase(DriverManager.getConnection("jdbc:sqlite::memory:"));
+        Flyway.configure()
+                .dataSource(database.dataSource)
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        return database;
+    }
+
+    /**
+     * Enregistre les personnes et les liens parent-enfant de l'arbre, en une transaction
+     */
+    void load(GeneratedTree tree) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement persons = connection.prepareStatement(
+                "INSERT INTO persons (id, first_name, last_name, birth_date) VALUES (?, ?, ?, ?)");
+             PreparedStatement links = connection.prepareStatement(
+                     "INSERT INTO person_parents (child_id, parent_id) VALUES (?, ?)")) {
+            for (int i = 0; i < tree.size(); i++) {
+                persons.setLong(1, tree.id(i));
+                persons.setString(2, tree.firstName(i));
+                persons.setString(3, tree.lastName(i));
+                persons.setDate(4, Date.valueOf(tree.birthDate(i)));
+                persons.addBatch();
+                for (int parent : new int[]{tree.firstParent(i), tree.secondParent(i)}) {
+                    if (parent >= 0) {
+                        links.setLong(1, tree.id(i));
+                        links.setLong(2, tree.id(parent));
+                        links.addBatch();
+                    }
+                }
+            }
+            persons.executeBatch();
+            links.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+
+    /**
+     * Prépare une requête à paramètres nommés ({@code :personId}) ; les paramètres sont liés par {@link #bind}
+     */
+    PreparedQuery prepare(String namedSql) throws SQLException {
+        List<String> names = new ArrayList<>();
+        Matcher matcher = NAMED_PARAMETER.matcher(namedSql);
+        StringBuilder sql = new StringBuilder();
+        while (matcher.find()) {
+            names.add(matcher.group(1));
+            matcher.appendReplacement(sql, "?");
+        }
+        matcher.appendTail(sql);
+        return new PreparedQuery(connection.prepareStatement(sql.toString()), names);
+    }
+
+    static final class PreparedQuery implements AutoCloseable {
+        private final PreparedStatement statement;
+        private final List<String> names;
+
+        private PreparedQuery(PreparedStatement statement, List<String> names) {
+            this.statement = statement;
+            this.names = names;
+        }
+
+        ResultSet bind(Map<String, Object> parameters) throws SQLException {
+            for (int i = 0; i < names.size(); i++) {
+                statement.setObject(i + 1, parameters.get(names.get(i)));
+            }
+            return statement.executeQuery();
+        }
+
+        @Override
+        public void close() throws SQLException {
+            statement.close();
+        }
+    }
+
+    JdbcTemplate jdbcTemplate() {
+        return new JdbcTemplate(dataSource);
+    }
+
+    TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    /**
+     * Dépôt d'import du backend branché sur cette base
+     */
+    ImportJdbcRepository importRepository() {
+        return new ImportJdbcRepository(jdbcTemplate());
+    }
+
+    /**
+     * Dépôt de chargement du graphe familial du backend branché sur cette base
+     */
+    FamilyGraphJdbcRepository familyGraphRepository() {
+        return new FamilyGraphJdbcRepository(jdbcTemplate());
+    }
+
+    @Override
+    public void close() throws SQLException {
+        dataSource.destroy();
+    }
+}
@@ -0,0 +1,140 @@
+package com.genealogy.back_ro.benchmarks;
+
+import com.genealogy.back_ro.graph.GraphBackend;
+import com.genealogy.back_ro.graph.NativeGraphBackend;
+import com.genealogy.back_ro.repository.FamilyGraphJdbcRepository;
+import com.genealogy.back_ro.repository.LineageQueries;
+import com.genealogy.back_ro.service.BenchmarkAccess;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Les mêmes recherches sur une base SQLite en mémoire, par le chemin que suit le backend quand
+ * l'index résident n'est pas disponible : requêtes récursives de {@link LineageQueries}, ou sous-graphe
+ * chargé par {@link FamilyGraphJdbcRepository} puis parcouru en mémoire. À comparer à {@link InMemoryGenealogyBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SqliteGenealogyBenchmark {
+
+    private static final int DESCENDANT_DEPTH = 3;
+
+    private static final int PAGE_SIZE = 20;
+
+    private final GraphBackend graphBackend = new NativeGraphBackend();
+    private SqliteDatabase database;
+    private FamilyGraphJdbcRepository familyGraphRepository;
+    private SqliteDatabase.PreparedQuery descendants;
+    private SqliteDatabase.PreparedQuery sameFamily;
+    private SqliteDatabase.PreparedQuery names;
+
+    @Setup(Level.Trial)
+    public void setUp(TreeState state) throws SQLException {
+        database = SqliteDatabase.inMemory();
+        database.load(state.tree);
+        familyGraphRepository = database.familyGraphRepository();
+        descendants = database.prepare(LineageQueries.DESCENDANTS);
+        sameFamily = database.prepare(LineageQueries.SAME_FAMILY);
+        // Équivalent SQL de PersonRepository.findSummariesByFirstNameAndLastName
+        names = database.prepare("SELECT id, first_name, last_name, birth_date FROM persons "
+                + "WHERE LOWER(first_name) LIKE LOWER('%' || :firstName || '%') "
+                + "AND LOWER(last_name) LIKE LOWER('%' || :lastName || '%') LIMIT " + PAGE_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        database.close();
+    }
+
+    /**
+     * Famille de la première personne chargée par requête récursive, puis plus court chemin en mémoire
+     */
+    @Benchmark
+    public long[] findRelationshipPath(TreeState state) {
+        int i = state.nextQuery();
+        long first = state.tree.id(state.firsts[i]);
+        return BenchmarkAccess.relationshipPathIds(familyGraphRepository.loadFamilies(List.of(first)), graphBackend,
+                first, state.tree.id(state.seconds[i]));
+    }
+
+    /**
+     * Repli de {@code areRelated} : la famille de la première personne contient-elle la seconde
+     */
+    @Benchmark
+    public boolean areRelated(TreeState state) throws SQLException {
+        int i = state.nextQuery();
+        Map<String, Object> parameters = new HashMap<>(4);
+        parameters.put("personId", state.tree.id(state.firsts[i]));
+        parameters.put("otherPersonId", state.tree.id(state.seconds[i]));
+        try (ResultSet rs = sameFamily.bind(parameters)) {
+            return rs.next() && rs.getLong(1) > 0;
+        }
+    }
+
+    /**
+     * Ascendances des deux personnes chargées par requête récursive, puis ancêtres communs en mémoire
+     */
+    @Benchmark
+    public long[] findCommonAncestor(TreeState state) {
+        int i = state.nextQuery();
+        long first = state.tree.id(state.firsts[i]);
+        long second = state.tree.id(state.seconds[i]);
+        return BenchmarkAccess.commonAncestorIds(familyGraphRepository.loadAncestries(List.of(first, second)), graphBackend,
+                first, second);
+    }
+
+    @Benchmark
+    public int findDescendants(TreeState state) throws SQLException {
+        long root = state.tree.id(state.roots[state.nextQuery()]);
+        int count = 0;
+        try (ResultSet rs = descendants.bind(parameters(root, DESCENDANT_DEPTH))) {
+            while (rs.next()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int searchByName(TreeState state) throws SQLException {
+        int i = state.nextQuery();
+        Map<String, Object> parameters = new HashMap<>(4);
+        parameters.put("firstName", state.firstNames[i]);
+        parameters.put("lastName", state.lastNames[i]);
+        int count = 0;
+        try (ResultSet rs = names.bind(parameters)) {
+            while (rs.next()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static Map<String, Object> parameters(long personId, int maxDepth) {
+        Map<String, Object> parameters = new HashMap<>(4);
+        parameters.put("personId", personId);
+        parameters.put("maxDepth", maxDepth);
+        return parameters;
+    }
+}
@@ -0,0 +1,88 @@
+package com.genealogy.back_ro.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+
+/**
+ * Arbre généré une fois par essai et requêtes tirées d'avance, partagés par les bancs d'essai.
+ * Les paramètres se changent en ligne de commande : {@code -p generations=12 -p pedigreeCollapseRate=0.2}.
+ */
+@State(Scope.Benchmark)
+public class TreeState {
+
+    /** Nombre de requêtes préparées (puissance de deux) */
+    public static final int QUERIES = 1024;
+
+    @Param({"10"})
+    public int generations;
+
+    @Param({"200"})
+    public int founderCouples;
+
+    @Param({"2.5"})
+    public double branching;
+
+    @Param({"0.05"})
+    public double pedigreeCollapseRate;
+
+    @Param({"0.1"})
+    public double remarriageRate;
+
+    @Param({"200000"})
+    public int maxPersons;
+
+    public GeneratedTree tree;
+
+    /** Paires de personnes (indices) pour les chemins et ancêtres communs */
+    public int[] firsts;
+    public int[] seconds;
+
+    /** Personnes des premières générations, dont les descendants sont nombreux */
+    public int[] roots;
+
+    /** Recherches par nom : prénom et nom existants, le nom parfois mal orthographié */
+    public String[] firstNames;
+    public String[] lastNames;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        tree = new FamilyTreeGenerator(generations, founderCouples, branching, pedigreeCollapseRate,
+                remarriageRate, maxPersons, 42).generate();
+
+        Random random = new Random(7);
+        firsts = new int[QUERIES];
+        seconds = new int[QUERIES];
+        roots = new int[QUERIES];
+        firstNames = new String[QUERIES];
+        lastNames = new String[QUERIES];
+        int early = Math.max(1, tree.size() / 8);
+        for (int i = 0; i < QUERIES; i++) {
+            firsts[i] = random.nextInt(tree.size());
+            seconds[i] = random.nextInt(tree.size());
+            roots[i] = random.nextInt(early);
+            int person = random.nextInt(tree.size());
+            firstNames[i] = tree.firstName(person);
+            String lastName = tree.lastName(person);
+            if (random.nextInt(4) == 0 && lastName.length() > 4) {
+                // Faute de frappe : une lettre oubliée
+                int typo = 1 + random.nextInt(lastName.length() - 2);
+                lastName = lastName.substring(0, typo) + lastName.substring(typo + 1);
+            }
+            lastNames[i] = lastName;
+        }
+    }
+
+    /**
+     * @return l'indice de la prochaine requête préparée
+     */
+    public int nextQuery() {
+        return next++ & (QUERIES - 1);
+    }
+}
@@ -0,0 +1,47 @@
+package com.genealogy.back_ro.service;
+
+import com.genealogy.back_ro.graph.FamilyGraph;
+import com.genealogy.back_ro.graph.GraphBackend;
+import com.genealogy.back_ro.importer.ImportParser;
+import com.genealogy.back_ro.repository.ImportJdbcRepository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Accès des bancs d'essai aux parcours et à l'écriture par lots des services, visibles dans le paquetage :
+ * les bancs d'essai mesurent le code du backend, pas une copie.
+ */
+public final class BenchmarkAccess {
+
+    private BenchmarkAccess() {
+    }
+
+    public static long[] relationshipPathIds(FamilyGraph graph, GraphBackend backend, long person1Id, long person2Id) {
+        return GenealogySearchService.relationshipPathIds(graph, backend, person1Id, person2Id);
+    }
+
+    public static long[] commonAncestorIds(FamilyGraph graph, GraphBackend backend, long person1Id, long person2Id) {
+        return GenealogySearchService.commonAncestorIds(graph, backend, person1Id, person2Id);
+    }
+
+    public static long[] descendantIdsUpTo(FamilyGraph graph, long personId, int maxDepth) {
+        return GenealogySearchService.descendantIdsUpTo(graph, personId, maxDepth);
+    }
+
+    /**
+     * Import d'un fichier par lots, comme une tâche d'{@link ImportService} exécutée d'un trait
+     *
+     * @return nombre de personnes et de liens créés
+     */
+    public static long importFile(ImportJdbcRepository repository, TransactionTemplate transaction, long jobId,
+                                  ImportParser parser, InputStream input) throws IOException {
+        ImportService.ChunkWriter writer = new ImportService.ChunkWriter(repository, transaction, jobId, 0, 0, 0);
+        parser.parse(input, writer);
+        writer.flush();
+        writer.resolveLinks();
+        transaction.executeWithoutResult(status -> repository.deleteWorkData(jobId));
+        return writer.getPersonsImported() + writer.getLinksImported();
+    }
+}
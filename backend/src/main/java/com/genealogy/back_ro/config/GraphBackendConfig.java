@@ -0,0 +1,37 @@
+package com.genealogy.back_ro.config;
+
+import com.genealogy.back_ro.graph.GraphBackend;
+import com.genealogy.back_ro.graph.JGraphTBackend;
+import com.genealogy.back_ro.graph.NativeGraphBackend;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+
+/**
+ * Choix du moteur des algorithmes de graphe ({@code genealogy.graph.backend}) :
+ * {@code native} (par défaut) ou {@code jgrapht}
+ */
+@Configuration
+public class GraphBackendConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphBackendConfig.class);
+
+    @Value("${genealogy.graph.backend:native}")
+    private String backend;
+
+    @Bean
+    public GraphBackend graphBackend() {
+        GraphBackend graphBackend = switch (backend.trim().toLowerCase(Locale.ROOT)) {
+            case NativeGraphBackend.NAME -> new NativeGraphBackend();
+            case JGraphTBackend.NAME -> new JGraphTBackend();
+            default -> throw new IllegalArgumentException("Moteur de graphe inconnu : " + backend
+                    + " (" + NativeGraphBackend.NAME + " ou " + JGraphTBackend.NAME + ")");
+        };
+        logger.info("Moteur des algorithmes de graphe : {}", graphBackend.name());
+        return graphBackend;
+    }
+}
@@ -0,0 +1,111 @@
+package com.genealogy.back_ro.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.sqlite.SQLiteDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.Map;
+
+/**
+ * Sources de données SQLite.
+ *
+ * SQLite n'accepte qu'un écrivain à la fois : plusieurs connexions d'écriture ne font que se disputer
+ * le verrou de la base et finir en {@code SQLITE_BUSY}. Les écritures passent donc par un pool d'une
+ * seule connexion, dont la file d'attente sérialise les transactions dans l'ordre d'arrivée ; ces
+ * transactions commencent par {@code BEGIN IMMEDIATE} pour prendre le verrou d'écriture dès le départ.
+ * Les transactions en lecture seule utilisent un pool distinct de connexions ouvertes en lecture seule
+ * qui, en mode WAL, lisent en parallèle sans bloquer l'écrivain ni être bloquées par lui.
+ */
+@Configuration
+public class SqliteDataSourceConfig {
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${genealogy.sqlite.busy-timeout-ms:5000}")
+    private int busyTimeoutMs;
+
+    @Value("${genealogy.sqlite.synchronous:NORMAL}")
+    private String synchronous;
+
+    @Value("${genealogy.sqlite.mmap-size:268435456}")
+    private long mmapSize;
+
+    /** Taille du pool de lecture ; 0 pour une connexion par cœur */
+    @Value("${genealogy.sqlite.read-pool-size:0}")
+    private int readPoolSize;
+
+    @Value("${genealogy.sqlite.connection-timeout-ms:30000}")
+    private long connectionTimeoutMs;
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource sqliteWriteDataSource() {
+        SQLiteDataSource sqlite = sqliteDataSource();
+        // Le mode WAL est enregistré dans le fichier : le poser sur la connexion d'écriture suffit
+        sqlite.setJournalMode("WAL");
+        sqlite.setTransactionMode("IMMEDIATE");
+
+        HikariConfig config = hikariConfig("sqlite-write", sqlite);
+        config.setMaximumPoolSize(1);
+        config.setMinimumIdle(1);
+        // Construit tout de suite : le pool de lecture exige que la base soit déjà en WAL
+        return new HikariDataSource(config);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource sqliteReadDataSource(HikariDataSource sqliteWriteDataSource) {
+        SQLiteDataSource sqlite = sqliteDataSource();
+        sqlite.setReadOnly(true);
+
+        int poolSize = readPoolSize > 0 ? readPoolSize : Runtime.getRuntime().availableProcessors();
+        HikariConfig config = hikariConfig("sqlite-read", sqlite);
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(Math.min(2, poolSize));
+        config.setReadOnly(true);
+        return new HikariDataSource(config);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource sqliteWriteDataSource, HikariDataSource sqliteReadDataSource) {
+        SqliteRoutingDataSource routing = new SqliteRoutingDataSource();
+        routing.setTargetDataSources(Map.of(
+                SqliteRoutingDataSource.Route.WRITE, sqliteWriteDataSource,
+                SqliteRoutingDataSource.Route.READ, sqliteReadDataSource));
+        routing.setDefaultTargetDataSource(sqliteWriteDataSource);
+        routing.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(routing);
+        // Valeurs par défaut des connexions SQLite, pour ne pas ouvrir de connexion à l'initialisation
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_SERIALIZABLE);
+        return proxy;
+    }
+
+    private SQLiteDataSource sqliteDataSource() {
+        SQLiteDataSource sqlite = new SQLiteDataSource();
+        sqlite.setUrl(url);
+        sqlite.setSynchronous(synchronous);
+        sqlite.setBusyTimeout(busyTimeoutMs);
+        return sqlite;
+    }
+
+    private HikariConfig hikariConfig(String poolName, SQLiteDataSource sqlite) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setDataSource(sqlite);
+        config.setConnectionTimeout(connectionTimeoutMs);
+        // Les connexions SQLite sont locales : inutile de les renouveler
+        config.setMaxLifetime(0);
+        config.setIdleTimeout(0);
+        config.setConnectionInitSql("PRAGMA mmap_size=" + mmapSize);
+        return config;
+    }
+}
@@ -0,0 +1,26 @@
+package com.genealogy.back_ro.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Envoie les transactions en lecture seule vers le pool de lecture et tout le reste
+ * (transactions d'écriture, accès hors transaction) vers l'unique connexion d'écriture.
+ *
+ * Doit être enveloppée dans un {@code LazyConnectionDataSourceProxy} : la connexion n'est alors
+ * demandée qu'à la première requête, quand le caractère lecture seule de la transaction est connu.
+ */
+public class SqliteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        WRITE,
+        READ
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                ? Route.READ : Route.WRITE;
+    }
+}
@@ -0,0 +1,45 @@
+package com.genealogy.back_ro.controller;
+
+import com.genealogy.back_ro.payload.response.CacheStatisticsResponse;
+import com.genealogy.back_ro.payload.response.MessageResponse;
+import com.genealogy.back_ro.service.GenealogyResultCache;
+import com.genealogy.back_ro.service.PersonCacheService;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Suivi du cache de second niveau et du cache des résultats de recherche :
+ * taux de succès par région et purge manuelle
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/admin/cache")
+public class CacheController {
+
+    @Autowired
+    private PersonCacheService personCacheService;
+
+    @Autowired
+    private GenealogyResultCache genealogyResultCache;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CacheStatisticsResponse> getStatistics() {
+        CacheStatisticsResponse statistics = personCacheService.statistics();
+        CacheStats results = genealogyResultCache.stats();
+        statistics.getRegions().add(new CacheStatisticsResponse.Region("genealogy-results",
+                results.hitCount(), results.missCount(), results.loadCount(), genealogyResultCache.estimatedSize()));
+        return ResponseEntity.ok(statistics);
+    }
+
+    @DeleteMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> evictAll() {
+        personCacheService.evictAll();
+        genealogyResultCache.invalidateAll();
+        return ResponseEntity.ok(new MessageResponse("Cache vidé"));
+    }
+}
@@ -0,0 +1,50 @@
+package com.genealogy.back_ro.controller;
+
+import com.genealogy.back_ro.exporter.ExportFormat;
+import com.genealogy.back_ro.service.ExportService;
+import com.genealogy.back_ro.service.GenealogySearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Export de l'arbre en GEDCOM 5.5.1 ou en JSON, écrit en flux dans la réponse.
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private GenealogySearchService genealogySearchService;
+
+    /**
+     * @param rootId personne dont la descendance est exportée ; tout l'arbre si absent
+     * @param gzip   compresse le fichier ({@code .gz})
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "GEDCOM") ExportFormat format,
+                                                        @RequestParam(required = false) Long rootId,
+                                                        @RequestParam(defaultValue = "false") boolean gzip) {
+        if (rootId != null && !genealogySearchService.containsPerson(rootId)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String fileName = (rootId == null ? "arbre" : "descendance-" + rootId) + "." + format.getExtension()
+                + (gzip ? ".gz" : "");
+        StreamingResponseBody body = outputStream -> exportService.export(format, rootId, gzip, outputStream);
+        return ResponseEntity.ok()
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+}
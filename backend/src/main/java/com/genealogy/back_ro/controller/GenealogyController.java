@@ -1,11 +1,18 @@
 package com.genealogy.back_ro.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.genealogy.back_ro.model.Person;
+import com.genealogy.back_ro.payload.response.CursorPage;
+import com.genealogy.back_ro.payload.response.MessageResponse;
+import com.genealogy.back_ro.payload.response.PersonSearchResponse;
+import com.genealogy.back_ro.payload.response.PersonSummary;
 import com.genealogy.back_ro.service.GenealogySearchService;
+import com.genealogy.back_ro.service.PersonNameSearchService;
 import com.genealogy.back_ro.service.PersonService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -20,72 +27,134 @@ public class GenealogyController {
     @Autowired
     private PersonService personService;
 
+    @Autowired
+    private PersonNameSearchService personNameSearchService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping("/relationship")
-    public ResponseEntity<List<Person>> findRelationship(
+    public ResponseEntity<List<PersonSummary>> findRelationship(
             @RequestParam Long person1Id,
             @RequestParam Long person2Id) {
-        List<Person> path = genealogySearchService.findRelationshipPath(person1Id, person2Id);
+        List<PersonSummary> path = genealogySearchService.findRelationshipPath(person1Id, person2Id);
         return ResponseEntity.ok(path);
     }
 
     @GetMapping("/common-ancestor")
-    public ResponseEntity<Person> findCommonAncestor(
+    public ResponseEntity<List<PersonSummary>> findCommonAncestor(
             @RequestParam Long person1Id,
             @RequestParam Long person2Id) {
-        Person ancestor = genealogySearchService.findCommonAncestor(person1Id, person2Id);
-        if (ancestor == null) {
+        List<PersonSummary> ancestors = genealogySearchService.findCommonAncestors(person1Id, person2Id);
+        if (ancestors.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(ancestor);
+        return ResponseEntity.ok(ancestors);
     }
 
     @GetMapping("/descendants")
-    public ResponseEntity<List<Person>> findDescendants(
+    public ResponseEntity<List<PersonSummary>> findDescendants(
             @RequestParam Long personId,
             @RequestParam(defaultValue = "3") int maxDepth) {
-        List<Person> descendants = genealogySearchService.findDescendants(personId, maxDepth);
+        List<PersonSummary> descendants = genealogySearchService.findDescendants(personId, maxDepth);
         return ResponseEntity.ok(descendants);
     }
 
+    /**
+     * Recherche par nom, classée par pertinence ; le nombre total de résultats est renvoyé
+     * dans l'en-tête {@code X-Total-Count}
+     */
     @GetMapping("/search")
-    public ResponseEntity<List<Person>> searchPersons(
+    public ResponseEntity<List<PersonSummary>> searchPersons(
+            @RequestParam(required = false) String firstName,
+            @RequestParam(required = false) String lastName,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        PersonSearchResponse result = personService.searchPersonsByName(firstName, lastName, q, page, size);
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(result.getTotal()))
+                .body(result.getResults());
+    }
+
+    /**
+     * Recherche phonétique : graphies différentes d'un même nom, classées par nombre
+     * d'encodeurs concordants
+     */
+    @GetMapping("/search/phonetic")
+    public ResponseEntity<List<PersonSummary>> searchPersonsPhonetic(
             @RequestParam(required = false) String firstName,
-            @RequestParam(required = false) String lastName) {
-        List<Person> persons = personService.searchPersonsByName(firstName, lastName);
-        return ResponseEntity.ok(persons);
+            @RequestParam(required = false) String lastName,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        PersonSearchResponse result = personNameSearchService.searchPhonetic(firstName, lastName, page, size);
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(result.getTotal()))
+                .body(result.getResults());
     }
 
+    /**
+     * Page d'enfants triés par identifiant ; l'identifiant à passer en {@code after} pour la page
+     * suivante est renvoyé dans l'en-tête {@code X-Next-Cursor}
+     */
     @GetMapping("/children/{parentId}")
-    public ResponseEntity<List<Person>> getChildren(@PathVariable Long parentId) {
-        List<Person> children = personService.getChildrenByParentId(parentId);
-        return ResponseEntity.ok(children);
+    public ResponseEntity<List<PersonSummary>> getChildren(
+            @PathVariable Long parentId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "500") int size) {
+        CursorPage<PersonSummary> children = personService.getChildrenByParentId(parentId, after, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (children.getNextCursor() != null) {
+            response.header("X-Next-Cursor", String.valueOf(children.getNextCursor()));
+        }
+        return response.body(children.getItems());
+    }
+
+    @GetMapping("/persons")
+    public ResponseEntity<CursorPage<PersonSummary>> getPersons(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(personService.getPersons(after, size));
+    }
+
+    /**
+     * Export de toutes les personnes en NDJSON, lu en flux depuis la base
+     */
+    @GetMapping(value = "/persons/export", produces = NdjsonResponses.NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportPersons() {
+        return NdjsonResponses.ndjson(objectMapper, personService::exportPersons);
     }
 
     @GetMapping("/parents/{childId}")
-    public ResponseEntity<List<Person>> getParents(@PathVariable Long childId) {
-        List<Person> parents = personService.getParentsByChildId(childId);
+    public ResponseEntity<List<PersonSummary>> getParents(@PathVariable Long childId) {
+        List<PersonSummary> parents = personService.getParentsByChildId(childId);
         return ResponseEntity.ok(parents);
     }
 
     @PostMapping("/parent")
-    public ResponseEntity<Person> addParent(
+    public ResponseEntity<?> addParent(
             @RequestParam Long childId,
             @RequestParam Long parentId) {
-        Person updatedPerson = personService.addParent(childId, parentId);
+        Person updatedPerson;
+        try {
+            updatedPerson = personService.addParent(childId, parentId);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
         if (updatedPerson == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(updatedPerson);
+        return ResponseEntity.ok(PersonSummary.from(updatedPerson));
     }
 
     @DeleteMapping("/parent")
-    public ResponseEntity<Person> removeParent(
+    public ResponseEntity<PersonSummary> removeParent(
             @RequestParam Long childId,
             @RequestParam Long parentId) {
         Person updatedPerson = personService.removeParent(childId, parentId);
         if (updatedPerson == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(updatedPerson);
+        return ResponseEntity.ok(PersonSummary.from(updatedPerson));
     }
 }
@@ -1,11 +1,25 @@
 package com.genealogy.back_ro.controller;
 
-import com.genealogy.back_ro.model.Person;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.genealogy.back_ro.graph.SpanningForest;
+import com.genealogy.back_ro.payload.request.RelationshipBatchRequest;
+import com.genealogy.back_ro.payload.response.FamilyClustersResponse;
+import com.genealogy.back_ro.payload.response.KinshipResponse;
+import com.genealogy.back_ro.payload.response.LineageEntry;
+import com.genealogy.back_ro.payload.response.MessageResponse;
+import com.genealogy.back_ro.payload.response.PersonSummary;
+import com.genealogy.back_ro.payload.response.RelatedResponse;
+import com.genealogy.back_ro.payload.response.WeightedPathResponse;
 import com.genealogy.back_ro.service.GenealogySearchService;
+import com.genealogy.back_ro.service.SpanningTreeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.validation.Valid;
 import java.util.List;
 
 @RestController
@@ -13,33 +27,214 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class GenealogySearchController {
 
+    private static final long MAX_BATCH_PAIRS = 10_000_000L;
+
+    private static final int MAX_CLUSTERS = 1000;
+
     @Autowired
     private GenealogySearchService genealogySearchService;
 
+    @Autowired
+    private SpanningTreeService spanningTreeService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping("/relationship")
-    public ResponseEntity<List<Person>> findRelationship(
+    public ResponseEntity<List<PersonSummary>> findRelationship(
             @RequestParam Long person1Id,
             @RequestParam Long person2Id) {
-        List<Person> path = genealogySearchService.findRelationshipPath(person1Id, person2Id);
+        List<PersonSummary> path = genealogySearchService.findRelationshipPath(person1Id, person2Id);
         return ResponseEntity.ok(path);
     }
 
+    /**
+     * Chemin de poids minimal à travers les liens parent-enfant et les relations pondérées,
+     * éventuellement limité à certains types ({@code types=PARENT,CHILD,SPOUSE})
+     */
+    @GetMapping("/relationship/weighted")
+    public ResponseEntity<?> findWeightedRelationship(
+            @RequestParam Long person1Id,
+            @RequestParam Long person2Id,
+            @RequestParam(required = false) List<String> types) {
+        try {
+            WeightedPathResponse path = genealogySearchService.findWeightedRelationshipPath(person1Id, person2Id, types);
+            if (path == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(path);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * Comme {@code /relationship/weighted}, mais par Bellman-Ford : les poids nuls ou négatifs
+     * sont respectés ; refusé si les relations suivies forment un cycle de poids négatif
+     */
+    @GetMapping("/relationship/indirect")
+    public ResponseEntity<?> findIndirectRelationship(
+            @RequestParam Long person1Id,
+            @RequestParam Long person2Id,
+            @RequestParam(required = false) List<String> types) {
+        try {
+            WeightedPathResponse path = genealogySearchService.findIndirectRelationshipPath(person1Id, person2Id, types);
+            if (path == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(path);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    @PostMapping(value = "/relationship/batch", produces = NdjsonResponses.NDJSON)
+    public ResponseEntity<?> findRelationships(@Valid @RequestBody RelationshipBatchRequest request) {
+        long pairs = (long) request.getSourceIds().size() * request.getTargetIds().size();
+        if (pairs > MAX_BATCH_PAIRS) {
+            return ResponseEntity.badRequest().body(new MessageResponse(
+                    "Trop de paires demandées (" + pairs + ", maximum " + MAX_BATCH_PAIRS + ")"));
+        }
+
+        return NdjsonResponses.ndjson(objectMapper, consumer -> genealogySearchService.findRelationshipPaths(
+                request.getSourceIds(), request.getTargetIds(), consumer));
+    }
+
+    /**
+     * Les deux personnes ont-elles un lien de parenté ? Réponse sans parcours si elles sont de familles disjointes
+     */
+    @GetMapping("/related")
+    public ResponseEntity<RelatedResponse> areRelated(
+            @RequestParam Long person1Id,
+            @RequestParam Long person2Id) {
+        RelatedResponse related = genealogySearchService.areRelated(person1Id, person2Id);
+        if (related == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(related);
+    }
+
+    /**
+     * Nombre de familles disjointes de l'arbre et taille des plus grandes
+     */
+    @GetMapping("/clusters")
+    public ResponseEntity<?> findFamilyClusters(@RequestParam(defaultValue = "20") int limit) {
+        FamilyClustersResponse clusters = genealogySearchService.findFamilyClusters(Math.min(Math.max(limit, 0), MAX_CLUSTERS));
+        if (clusters == null) {
+            return graphIndexUnavailable();
+        }
+        return ResponseEntity.ok(clusters);
+    }
+
+    /**
+     * Découpage de la famille d'une personne en sous-familles d'au plus {@code maxSize} personnes (Kruskal)
+     */
+    @GetMapping(value = "/clusters/segments", produces = NdjsonResponses.NDJSON)
+    public ResponseEntity<?> segmentFamily(
+            @RequestParam Long personId,
+            @RequestParam(defaultValue = "50") int maxSize) {
+        if (!genealogySearchService.isGraphIndexReady()) {
+            return graphIndexUnavailable();
+        }
+        if (!genealogySearchService.containsPerson(personId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return NdjsonResponses.ndjson(objectMapper, consumer -> genealogySearchService.segmentFamily(personId, maxSize, consumer));
+    }
+
+    /**
+     * Arêtes de l'arbre couvrant minimal des relations (un arbre par famille), en NDJSON ;
+     * {@code algorithm} force Prim ou Kruskal, sinon choisi selon la densité du graphe
+     */
+    @GetMapping(value = "/spanning-tree", produces = NdjsonResponses.NDJSON)
+    public ResponseEntity<?> streamSpanningTree(
+            @RequestParam(required = false) List<String> types,
+            @RequestParam(defaultValue = "AUTO") SpanningForest.Algorithm algorithm) {
+        SpanningForest forest;
+        try {
+            forest = spanningTreeService.spanningForest(types, algorithm);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+        ResponseEntity<StreamingResponseBody> stream = NdjsonResponses.ndjson(objectMapper,
+                consumer -> spanningTreeService.streamSpanningForest(forest, consumer));
+        return ResponseEntity.ok()
+                .headers(stream.getHeaders())
+                .header("X-Total-Weight", String.valueOf(forest.getTotalWeight()))
+                .header("X-Tree-Count", String.valueOf(forest.getTreeCount()))
+                .body(stream.getBody());
+    }
+
+    @GetMapping(value = "/descendants/stream", produces = NdjsonResponses.NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamDescendants(
+            @RequestParam Long personId,
+            @RequestParam(required = false) Integer maxDepth) {
+        if (!genealogySearchService.containsPerson(personId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return NdjsonResponses.ndjson(objectMapper, consumer -> genealogySearchService.streamDescendants(personId, maxDepth, consumer));
+    }
+
+    @GetMapping(value = "/ancestors/stream", produces = NdjsonResponses.NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamAncestors(
+            @RequestParam Long personId,
+            @RequestParam(required = false) Integer maxDepth) {
+        if (!genealogySearchService.containsPerson(personId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return NdjsonResponses.ndjson(objectMapper, consumer -> genealogySearchService.streamAncestors(personId, maxDepth, consumer));
+    }
+
+    @GetMapping("/kinship")
+    public ResponseEntity<KinshipResponse> computeKinship(
+            @RequestParam Long person1Id,
+            @RequestParam Long person2Id) {
+        KinshipResponse kinship = genealogySearchService.computeKinship(person1Id, person2Id);
+        if (kinship == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(kinship);
+    }
+
     @GetMapping("/common-ancestor")
-    public ResponseEntity<Person> findCommonAncestor(
+    public ResponseEntity<List<PersonSummary>> findCommonAncestor(
             @RequestParam Long person1Id,
             @RequestParam Long person2Id) {
-        Person ancestor = genealogySearchService.findCommonAncestor(person1Id, person2Id);
-        if (ancestor == null) {
+        List<PersonSummary> ancestors = genealogySearchService.findCommonAncestors(person1Id, person2Id);
+        if (ancestors.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(ancestor);
+        return ResponseEntity.ok(ancestors);
     }
 
     @GetMapping("/descendants")
-    public ResponseEntity<List<Person>> findDescendants(
+    public ResponseEntity<List<PersonSummary>> findDescendants(
             @RequestParam Long personId,
             @RequestParam(defaultValue = "3") int maxDepth) {
-        List<Person> descendants = genealogySearchService.findDescendants(personId, maxDepth);
+        List<PersonSummary> descendants = genealogySearchService.findDescendants(personId, maxDepth);
         return ResponseEntity.ok(descendants);
     }
+
+    /**
+     * Entourage d'une personne : toutes les personnes à au plus {@code maxDepth} liens parent-enfant
+     */
+    @GetMapping("/neighbourhood")
+    public ResponseEntity<List<LineageEntry>> findNeighbourhood(
+            @RequestParam Long personId,
+            @RequestParam(defaultValue = "2") int maxDepth) {
+        if (!genealogySearchService.containsPerson(personId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(genealogySearchService.findNeighbourhood(personId, maxDepth));
+    }
+
+    /**
+     * 503 tant que l'index résident n'est pas construit : le client peut réessayer plus tard.
+     * Type de contenu imposé, les routes NDJSON ne produisant pas de JSON par défaut.
+     */
+    private static ResponseEntity<MessageResponse> graphIndexUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new MessageResponse("Index du graphe familial non disponible"));
+    }
 }
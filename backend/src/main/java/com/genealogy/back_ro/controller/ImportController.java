@@ -0,0 +1,97 @@
+package com.genealogy.back_ro.controller;
+
+import com.genealogy.back_ro.importer.ImportFormat;
+import com.genealogy.back_ro.model.ImportJob;
+import com.genealogy.back_ro.payload.response.MessageResponse;
+import com.genealogy.back_ro.service.ImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Import de fichiers GEDCOM, CSV ou JSON. L'import se déroule en arrière-plan :
+ * la réponse 202 contient le job, dont l'avancement se suit sur {@code GET /api/import/{id}}.
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/import")
+public class ImportController {
+
+    @Autowired
+    private ImportService importService;
+
+    /**
+     * Fichier envoyé en multipart (champ {@code file}), soumis à la limite de taille des envois multipart
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importFile(@RequestParam("file") MultipartFile file,
+                                        @RequestParam(required = false) ImportFormat format) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Le fichier est vide"));
+        }
+        try (InputStream content = file.getInputStream()) {
+            return start(file.getOriginalFilename(), format, content);
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new MessageResponse("Lecture du fichier impossible"));
+        }
+    }
+
+    /**
+     * Fichier envoyé tel quel dans le corps de la requête : il est copié sur disque au fil de la réception,
+     * sans limite de taille
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> importStream(@RequestParam String fileName,
+                                          @RequestParam(required = false) ImportFormat format,
+                                          HttpServletRequest request) {
+        try (InputStream content = request.getInputStream()) {
+            return start(fileName, format, content);
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new MessageResponse("Lecture du fichier impossible"));
+        }
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getImport(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(importService.getJob(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Reprend un import en échec après le dernier lot validé
+     */
+    @PostMapping("/{id}/resume")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> resumeImport(@PathVariable Long id) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(importService.resumeImport(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    private ResponseEntity<?> start(String fileName, ImportFormat format, InputStream content) throws IOException {
+        try {
+            ImportJob job = importService.startImport(fileName, format, content);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+}
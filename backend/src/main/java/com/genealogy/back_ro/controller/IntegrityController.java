@@ -0,0 +1,31 @@
+package com.genealogy.back_ro.controller;
+
+import com.genealogy.back_ro.payload.response.IntegrityReportResponse;
+import com.genealogy.back_ro.payload.response.MessageResponse;
+import com.genealogy.back_ro.service.GraphIntegrityService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Contrôle de cohérence du graphe familial : cycles d'ascendance et cycles de poids négatif
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/admin/integrity")
+public class IntegrityController {
+
+    @Autowired
+    private GraphIntegrityService graphIntegrityService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> check() {
+        IntegrityReportResponse report = graphIntegrityService.check();
+        if (report == null) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Index du graphe familial non disponible"));
+        }
+        return ResponseEntity.ok(report);
+    }
+}
@@ -2,6 +2,7 @@ package com.genealogy.back_ro.controller;
 
 import com.genealogy.back_ro.model.MembershipRequest;
 import com.genealogy.back_ro.payload.request.MembershipRequestDto;
+import com.genealogy.back_ro.payload.response.CursorPage;
 import com.genealogy.back_ro.payload.response.MessageResponse;
 import com.genealogy.back_ro.security.services.UserDetailsImpl;
 import com.genealogy.back_ro.service.MembershipService;
@@ -66,8 +67,10 @@ public class MembershipController {
      */
     @GetMapping("/pending-requests")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<?> getPendingRequests() {
-        List<MembershipRequest> pendingRequests = membershipService.getAllPendingRequests();
+    public ResponseEntity<?> getPendingRequests(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size) {
+        CursorPage<MembershipRequest> pendingRequests = membershipService.getPendingRequests(after, size);
         return ResponseEntity.ok(pendingRequests);
     }
 
@@ -0,0 +1,194 @@
+package com.genealogy.back_ro.controller;
+
+import com.genealogy.back_ro.payload.response.MessageResponse;
+import com.genealogy.back_ro.service.PersonService;
+import com.genealogy.back_ro.service.PhotoStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URLConnection;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Photos des personnes, servies à part des données d'identité : les listes et les parcours
+ * ne renvoient que {@code hasPhoto}.
+ *
+ * Le contenu d'une photo étant identifié par son empreinte, celle-ci sert d'ETag fort ;
+ * les requêtes {@code If-None-Match} et {@code Range} (une seule plage) sont prises en charge.
+ */
+@RestController
+@RequestMapping("/api/persons")
+@CrossOrigin(origins = "*")
+public class PersonPhotoController {
+
+    @Autowired
+    private PersonService personService;
+
+    @Autowired
+    private PhotoStorageService photoStorageService;
+
+    /**
+     * @param size côté de la miniature (64 ou 256), ou absent pour l'original
+     */
+    @GetMapping("/{id}/photo")
+    public void getPhoto(@PathVariable Long id,
+                         @RequestParam(required = false) Integer size,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        if (size != null && !PhotoStorageService.isThumbnailSize(size)) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Taille de miniature non prise en charge");
+            return;
+        }
+        String hash = personService.getPhotoHash(id);
+        Path file;
+        try {
+            file = hash == null ? null
+                    : size == null ? photoStorageService.locate(hash) : photoStorageService.thumbnail(hash, size);
+        } catch (UncheckedIOException e) {
+            // Surtout pas l'original sous l'ETag de la miniature : un 304 le garderait en cache
+            response.setHeader(HttpHeaders.RETRY_AFTER, "5");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Miniature momentanément indisponible");
+            return;
+        }
+        if (file == null) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        String etag = "\"" + hash + (size == null ? "" : "-" + size) + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            long start = 0;
+            long end = length - 1;
+
+            String range = request.getHeader(HttpHeaders.RANGE);
+            String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+            if (range != null && (ifRange == null || ifRange.equals(etag))) {
+                long[] bounds = parseRange(range, length);
+                if (bounds == null) {
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    return;
+                }
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            } else {
+                response.setStatus(HttpStatus.OK.value());
+            }
+
+            response.setContentType(contentType(file));
+            response.setContentLengthLong(end - start + 1);
+            if ("HEAD".equals(request.getMethod())) {
+                return;
+            }
+
+            // Copie par tampons en espace utilisateur : la sortie de la servlet n'est pas un canal de socket,
+            // transferTo ne peut donc pas déléguer la copie au noyau (sendfile)
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = end - start + 1;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    @PostMapping("/{id}/photo")
+    public ResponseEntity<?> uploadPhoto(@PathVariable Long id, @RequestParam("file") MultipartFile file) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Le fichier est vide"));
+        }
+        try {
+            personService.updatePhoto(id, file.getBytes());
+            return ResponseEntity.ok(new MessageResponse("Photo enregistrée"));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new MessageResponse("Lecture du fichier impossible"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse(e.getMessage()));
+        }
+    }
+
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals(etag) || value.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return les bornes incluses de la plage demandée, ou {@code null} si elle n'est pas satisfiable
+     */
+    private long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0 || length == 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            if (dash == 0) {
+                // Suffixe : les n derniers octets
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0) {
+                    return null;
+                }
+                return new long[]{Math.max(0, length - suffix), length - 1};
+            }
+            long start = Long.parseLong(spec.substring(0, dash));
+            long end = dash == spec.length() - 1 ? length - 1 : Long.parseLong(spec.substring(dash + 1));
+            if (start >= length || end < start) {
+                return null;
+            }
+            return new long[]{start, Math.min(end, length - 1)};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String contentType(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            String contentType = URLConnection.guessContentTypeFromStream(new BufferedInputStream(in));
+            return contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.genealogy.back_ro.exporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Formats d'export. Un export JSON se réimporte tel quel ({@code JsonImportParser}).
+ */
+public enum ExportFormat {
+    GEDCOM("ged", "text/vnd.familysearch.gedcom"),
+    JSON("json", "application/json");
+
+    private final String extension;
+    private final String contentType;
+
+    ExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Le GEDCOM décrit aussi les familles, ce qui demande les autres parents des enfants de chaque personne
+     */
+    public boolean needsFamilies() {
+        return this == GEDCOM;
+    }
+
+    public ExportWriter writer(OutputStream out) throws IOException {
+        return switch (this) {
+            case GEDCOM -> new GedcomWriter(out);
+            case JSON -> new JsonExportWriter(out);
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.genealogy.back_ro.exporter;
+
+import java.io.IOException;
+
+/**
+ * Écriture incrémentale d'un export : les personnes sont reçues par ordre d'identifiant
+ * et écrites aussitôt, rien n'est conservé entre deux appels.
+ */
+public interface ExportWriter {
+
+    void begin() throws IOException;
+
+    void person(ExportedPerson person) throws IOException;
+
+    /**
+     * Termine le document et vide les tampons, sans fermer le flux sous-jacent
+     */
+    void end() throws IOException;
+}
@@ -0,0 +1,111 @@
+package com.genealogy.back_ro.exporter;
+
+import java.time.LocalDate;
+
+/**
+ * Personne à exporter, avec ses liens limités au périmètre de l'export.
+ *
+ * {@code childIds[i]} a pour parents {@code childParentIds[i]} (la personne comprise) :
+ * c'est ce qui permet de regrouper les enfants par couple pour les familles GEDCOM.
+ */
+public class ExportedPerson {
+
+    private static final long[] NONE = new long[0];
+
+    private long id;
+    private String firstName;
+    private String lastName;
+    private LocalDate birthDate;
+    private LocalDate deathDate;
+    private String birthPlace;
+    private String biography;
+    private long[] parentIds = NONE;
+    private long[] childIds = NONE;
+    private long[][] childParentIds = new long[0][];
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public LocalDate getBirthDate() {
+        return birthDate;
+    }
+
+    public void setBirthDate(LocalDate birthDate) {
+        this.birthDate = birthDate;
+    }
+
+    public LocalDate getDeathDate() {
+        return deathDate;
+    }
+
+    public void setDeathDate(LocalDate deathDate) {
+        this.deathDate = deathDate;
+    }
+
+    public String getBirthPlace() {
+        return birthPlace;
+    }
+
+    public void setBirthPlace(String birthPlace) {
+        this.birthPlace = birthPlace;
+    }
+
+    public String getBiography() {
+        return biography;
+    }
+
+    public void setBiography(String biography) {
+        this.biography = biography;
+    }
+
+    /**
+     * @return les identifiants des parents, triés
+     */
+    public long[] getParentIds() {
+        return parentIds;
+    }
+
+    public void setParentIds(long[] parentIds) {
+        this.parentIds = parentIds;
+    }
+
+    /**
+     * @return les identifiants des enfants, triés
+     */
+    public long[] getChildIds() {
+        return childIds;
+    }
+
+    public void setChildIds(long[] childIds) {
+        this.childIds = childIds;
+    }
+
+    public long[][] getChildParentIds() {
+        return childParentIds;
+    }
+
+    public void setChildParentIds(long[][] childParentIds) {
+        this.childParentIds = childParentIds;
+    }
+}
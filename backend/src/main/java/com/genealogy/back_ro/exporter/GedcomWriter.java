@@ -0,0 +1,197 @@
+package com.genealogy.back_ro.exporter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Export GEDCOM 5.5.1 (UTF-8, lignée).
+ *
+ * Une famille regroupe les enfants d'un même ensemble de parents ; son identifiant est dérivé
+ * des identifiants des parents ({@code @F12_34@}), ce qui permet d'écrire les renvois
+ * {@code FAMC}/{@code FAMS} de chaque individu sans table de correspondance. L'enregistrement
+ * {@code FAM} est écrit avec le parent de plus petit identifiant. Le sexe n'étant pas connu,
+ * le premier parent est noté {@code HUSB} et le second {@code WIFE}.
+ */
+public class GedcomWriter implements ExportWriter {
+
+    /** Longueur d'un morceau de note, sous la limite de 255 caractères par ligne */
+    private static final int NOTE_CHUNK = 200;
+
+    private static final String[] MONTHS = {"JAN", "FEB", "MAR", "APR", "MAY", "JUN",
+            "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+
+    private final Writer out;
+
+    public GedcomWriter(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    @Override
+    public void begin() throws IOException {
+        line(0, "HEAD", null);
+        line(1, "SOUR", "FAMILY-TREE");
+        line(2, "NAME", "Family-Tree");
+        line(1, "DATE", date(LocalDate.now()));
+        line(1, "GEDC", null);
+        line(2, "VERS", "5.5.1");
+        line(2, "FORM", "LINEAGE-LINKED");
+        line(1, "CHAR", "UTF-8");
+    }
+
+    @Override
+    public void person(ExportedPerson person) throws IOException {
+        out.write("0 @I");
+        out.write(Long.toString(person.getId()));
+        out.write("@ INDI\n");
+
+        String given = clean(person.getFirstName());
+        String surname = clean(person.getLastName());
+        line(1, "NAME", (given + " /" + surname + "/").trim());
+        if (!given.isEmpty()) {
+            line(2, "GIVN", given);
+        }
+        if (!surname.isEmpty()) {
+            line(2, "SURN", surname);
+        }
+        if (person.getBirthDate() != null || person.getBirthPlace() != null) {
+            line(1, "BIRT", null);
+            if (person.getBirthDate() != null) {
+                line(2, "DATE", date(person.getBirthDate()));
+            }
+            if (person.getBirthPlace() != null) {
+                line(2, "PLAC", clean(person.getBirthPlace()));
+            }
+        }
+        if (person.getDeathDate() != null) {
+            line(1, "DEAT", null);
+            line(2, "DATE", date(person.getDeathDate()));
+        }
+        if (person.getBiography() != null && !person.getBiography().isEmpty()) {
+            note(person.getBiography());
+        }
+
+        if (person.getParentIds().length > 0) {
+            line(1, "FAMC", family(person.getParentIds()));
+        }
+        long[] childIds = person.getChildIds();
+        long[][] childParents = person.getChildParentIds();
+        // Enfants triés par ensemble de parents : chaque famille apparaît en une suite contiguë
+        Integer[] order = new Integer[childIds.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int c = Arrays.compare(childParents[a], childParents[b]);
+            return c != 0 ? c : Long.compare(childIds[a], childIds[b]);
+        });
+        for (int i = 0; i < order.length; i++) {
+            if (i == 0 || !Arrays.equals(childParents[order[i]], childParents[order[i - 1]])) {
+                line(1, "FAMS", family(childParents[order[i]]));
+            }
+        }
+
+        // Familles dont cette personne est le premier parent
+        int start = 0;
+        while (start < order.length) {
+            long[] parents = childParents[order[start]];
+            int end = start + 1;
+            while (end < order.length && Arrays.equals(childParents[order[end]], parents)) {
+                end++;
+            }
+            if (parents[0] == person.getId()) {
+                writeFamily(parents, childIds, order, start, end);
+            }
+            start = end;
+        }
+    }
+
+    @Override
+    public void end() throws IOException {
+        line(0, "TRLR", null);
+        out.flush();
+    }
+
+    private void writeFamily(long[] parents, long[] childIds, Integer[] order, int from, int to) throws IOException {
+        out.write("0 ");
+        out.write(family(parents));
+        out.write(" FAM\n");
+        line(1, "HUSB", individual(parents[0]));
+        if (parents.length > 1) {
+            line(1, "WIFE", individual(parents[1]));
+        }
+        for (int i = from; i < to; i++) {
+            line(1, "CHIL", individual(childIds[order[i]]));
+        }
+    }
+
+    /**
+     * Note découpée en lignes CONT (sauts de ligne) et CONC (lignes trop longues)
+     */
+    private void note(String text) throws IOException {
+        String[] paragraphs = text.replace("\r\n", "\n").replace('\r', '\n').split("\n", -1);
+        for (int p = 0; p < paragraphs.length; p++) {
+            String paragraph = paragraphs[p];
+            int from = 0;
+            boolean first = true;
+            do {
+                int to = Math.min(from + NOTE_CHUNK, paragraph.length());
+                // Ne pas couper une paire de substitution
+                if (to < paragraph.length() && Character.isHighSurrogate(paragraph.charAt(to - 1))) {
+                    to--;
+                }
+                String tag = p == 0 && first ? "NOTE" : first ? "CONT" : "CONC";
+                line(tag.equals("NOTE") ? 1 : 2, tag, escape(paragraph.substring(from, to)));
+                from = to;
+                first = false;
+            } while (from < paragraph.length());
+        }
+    }
+
+    private void line(int level, String tag, String value) throws IOException {
+        out.write(Integer.toString(level));
+        out.write(' ');
+        out.write(tag);
+        if (value != null && !value.isEmpty()) {
+            out.write(' ');
+            out.write(value);
+        }
+        out.write('\n');
+    }
+
+    private static String individual(long id) {
+        return "@I" + id + "@";
+    }
+
+    private static String family(long[] parentIds) {
+        StringBuilder xref = new StringBuilder("@F");
+        for (int i = 0; i < parentIds.length; i++) {
+            if (i > 0) {
+                xref.append('_');
+            }
+            xref.append(parentIds[i]);
+        }
+        return xref.append('@').toString();
+    }
+
+    private static String clean(String value) {
+        return value == null ? "" : escape(value.replace('/', ' ').replaceAll("\\s+", " ").trim());
+    }
+
+    /**
+     * Un @ dans un texte se double en GEDCOM, pour ne pas être lu comme un renvoi
+     */
+    private static String escape(String value) {
+        return value.indexOf('@') >= 0 ? value.replace("@", "@@") : value;
+    }
+
+    private static String date(LocalDate date) {
+        return String.format(Locale.ROOT, "%d %s %d", date.getDayOfMonth(), MONTHS[date.getMonthValue() - 1], date.getYear());
+    }
+}
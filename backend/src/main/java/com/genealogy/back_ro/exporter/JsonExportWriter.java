@@ -0,0 +1,62 @@
+package com.genealogy.back_ro.exporter;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Export JSON au format accepté par l'import : {@code {"persons": [{..., "parentIds": [...]}]}}.
+ * Le document est produit par un générateur Jackson en flux, sans arbre intermédiaire.
+ */
+public class JsonExportWriter implements ExportWriter {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final JsonGenerator generator;
+
+    public JsonExportWriter(OutputStream out) throws IOException {
+        this.generator = FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        // Le flux appartient à l'appelant, qui peut encore devoir terminer une compression
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public void begin() throws IOException {
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("persons");
+    }
+
+    @Override
+    public void person(ExportedPerson person) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", person.getId());
+        writeField("firstName", person.getFirstName());
+        writeField("lastName", person.getLastName());
+        writeField("birthDate", person.getBirthDate() == null ? null : person.getBirthDate().toString());
+        writeField("deathDate", person.getDeathDate() == null ? null : person.getDeathDate().toString());
+        writeField("birthPlace", person.getBirthPlace());
+        writeField("biography", person.getBiography());
+        generator.writeArrayFieldStart("parentIds");
+        for (long parentId : person.getParentIds()) {
+            generator.writeNumber(parentId);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void end() throws IOException {
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.close();
+    }
+
+    private void writeField(String name, String value) throws IOException {
+        if (value != null) {
+            generator.writeStringField(name, value);
+        }
+    }
+}
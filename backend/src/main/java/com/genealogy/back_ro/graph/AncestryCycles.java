@@ -0,0 +1,142 @@
+package com.genealogy.back_ro.graph;
+
+import com.genealogy.back_ro.util.IntArrayList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Détection des cycles de filiation (une personne parmi ses propres ancêtres) par l'algorithme
+ * de Tarjan des composantes fortement connexes, en un seul passage linéaire sur les liens
+ * enfant → parent. La récursion est remplacée par une pile explicite : un arbre de plusieurs
+ * milliers de générations ne fait pas déborder la pile d'appels.
+ */
+public final class AncestryCycles {
+
+    private static final int UNVISITED = -1;
+
+    private AncestryCycles() {
+    }
+
+    /**
+     * @return les groupes de personnes (indices de nœuds triés) pris dans un cycle : composantes
+     * fortement connexes de plus d'un nœud, et personnes déclarées comme leur propre parent
+     */
+    public static List<int[]> find(FamilyGraph graph) {
+        int size = graph.size();
+        int[] order = new int[size];
+        int[] lowLink = new int[size];
+        boolean[] onStack = new boolean[size];
+        Arrays.fill(order, UNVISITED);
+
+        int[] stack = new int[size];
+        int stackSize = 0;
+        // Pile d'appels simulée : nœud et rang du prochain parent à examiner
+        int[] callNodes = new int[size];
+        int[] callEdges = new int[size];
+        int counter = 0;
+        List<int[]> cycles = new ArrayList<>();
+
+        for (int start = 0; start < size; start++) {
+            if (order[start] != UNVISITED || !graph.isLive(start)) {
+                continue;
+            }
+            int depth = 0;
+            callNodes[0] = start;
+            callEdges[0] = 0;
+            order[start] = lowLink[start] = counter++;
+            stack[stackSize++] = start;
+            onStack[start] = true;
+
+            while (depth >= 0) {
+                int node = callNodes[depth];
+                if (callEdges[depth] < graph.parentCount(node)) {
+                    int parent = graph.parent(node, callEdges[depth]++);
+                    if (order[parent] == UNVISITED) {
+                        order[parent] = lowLink[parent] = counter++;
+                        stack[stackSize++] = parent;
+                        onStack[parent] = true;
+                        depth++;
+                        callNodes[depth] = parent;
+                        callEdges[depth] = 0;
+                    } else if (onStack[parent]) {
+                        lowLink[node] = Math.min(lowLink[node], order[parent]);
+                    }
+                    continue;
+                }
+
+                // Tous les parents examinés : le nœud ferme sa composante s'il en est la racine
+                if (lowLink[node] == order[node]) {
+                    IntArrayList component = new IntArrayList(1);
+                    int member;
+                    do {
+                        member = stack[--stackSize];
+                        onStack[member] = false;
+                        component.add(member);
+                    } while (member != node);
+                    if (component.size() > 1 || isOwnParent(graph, node)) {
+                        int[] members = component.toArray();
+                        Arrays.sort(members);
+                        cycles.add(members);
+                    }
+                }
+                depth--;
+                if (depth >= 0) {
+                    int caller = callNodes[depth];
+                    lowLink[caller] = Math.min(lowLink[caller], lowLink[node]);
+                }
+            }
+        }
+        return cycles;
+    }
+
+    private static boolean isOwnParent(FamilyGraph graph, int node) {
+        for (int k = 0; k < graph.parentCount(node); k++) {
+            if (graph.parent(node, k) == node) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Indique si le lien {@code child → parent} créerait un cycle, c'est-à-dire si {@code child}
+     * est déjà {@code parent} lui-même ou l'un de ses ancêtres.
+     *
+     * Les générations de l'index ({@link FamilyGraph#generation(int)}) bornent la recherche :
+     * un ancêtre a une génération strictement inférieure à celle de ses descendants, donc seuls
+     * les ancêtres de {@code parent} plus récents que {@code child} sont examinés. Si {@code parent}
+     * n'est pas plus récent que {@code child}, la réponse est immédiate.
+     */
+    public static boolean wouldCreateCycle(FamilyGraph graph, int child, int parent) {
+        if (child == parent) {
+            return true;
+        }
+        int childGeneration = graph.generation(child);
+        if (graph.generation(parent) <= childGeneration) {
+            return false;
+        }
+
+        try (TraversalWorkspace workspace = TraversalWorkspace.acquire(graph.size())) {
+            int[] queue = workspace.queue;
+            int head = 0;
+            int tail = 0;
+            workspace.visit(parent);
+            queue[tail++] = parent;
+            while (head < tail) {
+                int current = queue[head++];
+                for (int k = 0; k < graph.parentCount(current); k++) {
+                    int ancestor = graph.parent(current, k);
+                    if (ancestor == child) {
+                        return true;
+                    }
+                    if (graph.generation(ancestor) > childGeneration && workspace.visit(ancestor)) {
+                        queue[tail++] = ancestor;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.genealogy.back_ro.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Plus courts chemins de Bellman-Ford sur {@link RelationshipGraph}, poids négatifs admis,
+ * avec détection et restitution d'un cycle de poids négatif.
+ *
+ * Chaque tour relâche toutes les arêtes en mode « tirer » : chaque nœud calcule sa nouvelle distance
+ * à partir de ses arêtes entrantes et des distances du tour précédent (itération de Jacobi). Aucun nœud
+ * n'est écrit par deux tâches : au-delà de {@value #PARALLEL_THRESHOLD} nœuds, les tranches de nœuds
+ * d'un tour sont réparties sur les cœurs. Le calcul s'arrête au premier tour sans amélioration.
+ * Tous les {@value #CYCLE_CHECK_INTERVAL} tours, le graphe des prédécesseurs est parcouru : un cycle
+ * y est forcément de poids négatif, ce qui arrête le calcul sans attendre les {@code n} tours
+ * au-delà desquels une amélioration encore possible prouve un cycle négatif.
+ *
+ * Les relations sont chargées dans les deux sens : une relation dont l'aller-retour est de poids négatif
+ * forme à elle seule un cycle négatif. Elles sont recherchées avant tout tour de relaxation et,
+ * s'il en existe, le calcul n'est pas lancé.
+ */
+public final class BellmanFord {
+
+    /** Distance des nœuds inaccessibles */
+    public static final long UNREACHABLE = Long.MAX_VALUE;
+
+    static final int PARALLEL_THRESHOLD = 20_000;
+
+    /** Nombre de tours entre deux recherches de cycle dans le graphe des prédécesseurs */
+    static final int CYCLE_CHECK_INTERVAL = 4;
+
+    private static final int NO_EDGE = -1;
+
+    private BellmanFord() {
+    }
+
+    /**
+     * Résultat : distances depuis la source, arête de chaque chemin et cycle négatif éventuel
+     */
+    public static final class Result {
+        private final long[] distances;
+        private final int[] previous;
+        private final int[] viaEdge;
+        private final int[] negativeCycle;
+        private final List<int[]> negativeTwoWayRelations;
+        private final int rounds;
+
+        Result(long[] distances, int[] previous, int[] viaEdge, int[] negativeCycle,
+               List<int[]> negativeTwoWayRelations, int rounds) {
+            this.distances = distances;
+            this.previous = previous;
+            this.viaEdge = viaEdge;
+            this.negativeCycle = negativeCycle;
+            this.negativeTwoWayRelations = negativeTwoWayRelations;
+            this.rounds = rounds;
+        }
+
+        /**
+         * @return la distance du nœud, ou {@link #UNREACHABLE} ; sans signification si un cycle négatif existe
+         * (toujours {@link #UNREACHABLE} si le calcul n'a pas été lancé)
+         */
+        public long distance(int node) {
+            return distances[node];
+        }
+
+        /**
+         * @return les nœuds d'un cycle de poids négatif, dans l'ordre du parcours, ou {@code null}
+         */
+        public int[] getNegativeCycle() {
+            return negativeCycle;
+        }
+
+        /**
+         * @return les couples de nœuds {@code {u, v}} ({@code u <= v}) dont la relation a un aller-retour
+         * de poids négatif ; s'il y en a, aucun tour n'a été effectué
+         */
+        public List<int[]> getNegativeTwoWayRelations() {
+            return negativeTwoWayRelations;
+        }
+
+        public int getRounds() {
+            return rounds;
+        }
+
+        /**
+         * Chemin vers {@code target} au format de {@link WeightedPaths.Path}
+         *
+         * @return {@code null} si la cible est inaccessible ou si un cycle négatif existe
+         */
+        public WeightedPaths.Path pathTo(int target) {
+            if (negativeCycle != null || distances[target] == UNREACHABLE) {
+                return null;
+            }
+            int length = 0;
+            for (int node = target; node != FamilyGraph.NO_NODE; node = previous[node]) {
+                length++;
+            }
+            int[] nodes = new int[length];
+            int[] edges = new int[length];
+            for (int node = target; node != FamilyGraph.NO_NODE; node = previous[node]) {
+                length--;
+                nodes[length] = node;
+                edges[length] = viaEdge[node];
+            }
+            return new WeightedPaths.Path(nodes, edges, distances[target]);
+        }
+    }
+
+    /**
+     * @param source   nœud de départ, ou {@link FamilyGraph#NO_NODE} pour partir de tous les nœuds
+     *                 à la fois (recherche d'un cycle négatif dans tout le graphe)
+     * @param typeMask types d'arêtes suivis ({@code 1 << type}), ou {@link RelationshipGraph#ALL_TYPES}
+     */
+    public static Result run(RelationshipGraph graph, int source, int typeMask) {
+        int size = graph.size();
+
+        List<int[]> twoWay = negativeTwoWayRelations(graph, typeMask);
+        if (source != FamilyGraph.NO_NODE && !twoWay.isEmpty()) {
+            // Seuls les cycles accessibles depuis la source rendent ses chemins indéfinis
+            boolean[] reachable = reachableFrom(graph, source, typeMask);
+            twoWay.removeIf(pair -> !reachable[pair[0]]);
+        }
+        if (!twoWay.isEmpty()) {
+            int[] pair = twoWay.get(0);
+            int[] cycle = pair[0] == pair[1] ? new int[]{pair[0]} : pair.clone();
+            long[] unknown = new long[size];
+            Arrays.fill(unknown, UNREACHABLE);
+            return new Result(unknown, null, null, cycle, twoWay, 0);
+        }
+
+        // Arêtes entrantes des types retenus, au format CSR
+        int[] inOffsets = new int[size + 1];
+        for (int node = 0; node < size; node++) {
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                if ((typeMask & (1 << graph.type(edge))) != 0) {
+                    inOffsets[graph.target(edge) + 1]++;
+                }
+            }
+        }
+        for (int node = 0; node < size; node++) {
+            inOffsets[node + 1] += inOffsets[node];
+        }
+        int[] inSources = new int[inOffsets[size]];
+        int[] inEdges = new int[inOffsets[size]];
+        int[] next = Arrays.copyOf(inOffsets, size);
+        for (int node = 0; node < size; node++) {
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                if ((typeMask & (1 << graph.type(edge))) != 0) {
+                    int slot = next[graph.target(edge)]++;
+                    inSources[slot] = node;
+                    inEdges[slot] = edge;
+                }
+            }
+        }
+
+        long[] distances = new long[size];
+        int[] previous = new int[size];
+        int[] viaEdge = new int[size];
+        Arrays.fill(distances, source == FamilyGraph.NO_NODE ? 0 : UNREACHABLE);
+        Arrays.fill(previous, FamilyGraph.NO_NODE);
+        Arrays.fill(viaEdge, NO_EDGE);
+        if (source != FamilyGraph.NO_NODE) {
+            distances[source] = 0;
+        }
+        long[] nextDistances = distances.clone();
+        int[] nextPrevious = previous.clone();
+        int[] nextViaEdge = viaEdge.clone();
+
+        boolean parallel = size >= PARALLEL_THRESHOLD;
+        int chunkSize = parallel
+                ? Math.max(1024, size / (Runtime.getRuntime().availableProcessors() * 4) + 1)
+                : Math.max(1, size);
+        int chunks = size == 0 ? 0 : (size + chunkSize - 1) / chunkSize;
+
+        int rounds = 0;
+        int lastChanged = FamilyGraph.NO_NODE;
+        int[] negativeCycle = null;
+        int[] walk = new int[size];
+        while (rounds <= size) {
+            rounds++;
+            long[] current = distances;
+            int[] currentPrevious = previous;
+            int[] currentViaEdge = viaEdge;
+            long[] updated = nextDistances;
+            int[] updatedPrevious = nextPrevious;
+            int[] updatedViaEdge = nextViaEdge;
+            AtomicInteger changed = new AtomicInteger(FamilyGraph.NO_NODE);
+
+            IntStream chunkStream = IntStream.range(0, chunks);
+            (parallel ? chunkStream.parallel() : chunkStream).forEach(chunk -> {
+                int end = Math.min(size, (chunk + 1) * chunkSize);
+                for (int node = chunk * chunkSize; node < end; node++) {
+                    long best = current[node];
+                    int bestPrevious = currentPrevious[node];
+                    int bestEdge = currentViaEdge[node];
+                    for (int k = inOffsets[node]; k < inOffsets[node + 1]; k++) {
+                        long from = current[inSources[k]];
+                        if (from != UNREACHABLE && from + graph.weight(inEdges[k]) < best) {
+                            best = from + graph.weight(inEdges[k]);
+                            bestPrevious = inSources[k];
+                            bestEdge = inEdges[k];
+                        }
+                    }
+                    updated[node] = best;
+                    updatedPrevious[node] = bestPrevious;
+                    updatedViaEdge[node] = bestEdge;
+                    if (best < current[node]) {
+                        changed.set(node);
+                    }
+                }
+            });
+
+            distances = updated;
+            previous = updatedPrevious;
+            viaEdge = updatedViaEdge;
+            nextDistances = current;
+            nextPrevious = currentPrevious;
+            nextViaEdge = currentViaEdge;
+            lastChanged = changed.get();
+            if (lastChanged == FamilyGraph.NO_NODE) {
+                break;
+            }
+            if (rounds % CYCLE_CHECK_INTERVAL == 0) {
+                negativeCycle = predecessorCycle(previous, walk);
+                if (negativeCycle != null) {
+                    break;
+                }
+            }
+        }
+
+        if (negativeCycle == null && lastChanged != FamilyGraph.NO_NODE) {
+            negativeCycle = extractCycle(previous, lastChanged, size);
+        }
+        return new Result(distances, previous, viaEdge, negativeCycle, Collections.emptyList(), rounds);
+    }
+
+    /**
+     * Relations dont l'aller-retour est de poids négatif (arêtes {@code u → v} et {@code v → u} des types
+     * retenus), y compris une relation négative d'une personne avec elle-même. Seuls les nœuds ayant
+     * une arête sortante assez négative sont examinés.
+     *
+     * @return les couples {@code {u, v}} avec {@code u <= v}, chacun une fois
+     */
+    public static List<int[]> negativeTwoWayRelations(RelationshipGraph graph, int typeMask) {
+        int size = graph.size();
+        int[] minWeight = new int[size];
+        Arrays.fill(minWeight, Integer.MAX_VALUE);
+        for (int node = 0; node < size; node++) {
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                if ((typeMask & (1 << graph.type(edge))) != 0) {
+                    minWeight[node] = Math.min(minWeight[node], graph.weight(edge));
+                }
+            }
+        }
+
+        List<int[]> pairs = new ArrayList<>();
+        // reported[v] == u + 1 : le couple {u, v} est déjà signalé
+        int[] reported = new int[size];
+        for (int u = 0; u < size; u++) {
+            for (int edge = graph.firstEdge(u); edge < graph.endEdge(u); edge++) {
+                int v = graph.target(edge);
+                if (v < u || (typeMask & (1 << graph.type(edge))) == 0 || reported[v] == u + 1) {
+                    continue;
+                }
+                long weight = graph.weight(edge);
+                if (v == u) {
+                    if (weight < 0) {
+                        reported[v] = u + 1;
+                        pairs.add(new int[]{u, v});
+                    }
+                    continue;
+                }
+                if (weight + minWeight[v] >= 0) {
+                    continue;
+                }
+                for (int back = graph.firstEdge(v); back < graph.endEdge(v); back++) {
+                    if (graph.target(back) == u && (typeMask & (1 << graph.type(back))) != 0
+                            && weight + graph.weight(back) < 0) {
+                        reported[v] = u + 1;
+                        pairs.add(new int[]{u, v});
+                        break;
+                    }
+                }
+            }
+        }
+        return pairs;
+    }
+
+    private static boolean[] reachableFrom(RelationshipGraph graph, int source, int typeMask) {
+        boolean[] reached = new boolean[graph.size()];
+        int[] queue = new int[graph.size()];
+        int tail = 0;
+        reached[source] = true;
+        queue[tail++] = source;
+        for (int head = 0; head < tail; head++) {
+            int node = queue[head];
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int next = graph.target(edge);
+                if ((typeMask & (1 << graph.type(edge))) != 0 && !reached[next]) {
+                    reached[next] = true;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return reached;
+    }
+
+    /**
+     * Cherche un cycle dans le graphe des prédécesseurs en remontant depuis chaque nœud ;
+     * chaque nœud n'est parcouru qu'une fois.
+     *
+     * @param walk tableau de travail de la taille du graphe
+     * @return les nœuds du cycle, dans l'ordre du parcours, ou {@code null}
+     */
+    private static int[] predecessorCycle(int[] previous, int[] walk) {
+        Arrays.fill(walk, 0);
+        for (int start = 0; start < previous.length; start++) {
+            int node = start;
+            while (node != FamilyGraph.NO_NODE && walk[node] == 0) {
+                walk[node] = start + 1;
+                node = previous[node];
+            }
+            if (node != FamilyGraph.NO_NODE && walk[node] == start + 1) {
+                return cycleThrough(previous, node);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Remonte les prédécesseurs depuis un nœud encore amélioré au dernier tour : après {@code n} pas,
+     * la remontée est forcément entrée dans le cycle, parcouru ensuite une fois.
+     */
+    private static int[] extractCycle(int[] previous, int node, int size) {
+        for (int i = 0; i < size && previous[node] != FamilyGraph.NO_NODE; i++) {
+            node = previous[node];
+        }
+        return cycleThrough(previous, node);
+    }
+
+    /**
+     * @return le cycle des prédécesseurs passant par {@code node}, dans l'ordre du parcours
+     */
+    private static int[] cycleThrough(int[] previous, int node) {
+        int length = 1;
+        for (int member = previous[node]; member != node && member != FamilyGraph.NO_NODE; member = previous[member]) {
+            length++;
+        }
+        int[] cycle = new int[length];
+        int member = node;
+        for (int i = length - 1; i >= 0; i--) {
+            cycle[i] = member;
+            member = previous[member];
+        }
+        return cycle;
+    }
+}
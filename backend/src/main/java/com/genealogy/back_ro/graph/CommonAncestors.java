@@ -0,0 +1,138 @@
+package com.genealogy.back_ro.graph;
+
+import com.genealogy.back_ro.util.IntArrayList;
+import com.genealogy.back_ro.util.LongMinHeap;
+
+/**
+ * Recherche des ancêtres communs minimaux (plus proches ancêtres communs) de deux personnes
+ * dans le graphe orienté acyclique des filiations.
+ *
+ * Un ancêtre commun est minimal s'il n'est l'ancêtre d'aucun autre ancêtre commun.
+ * Les ancêtres sont dépilés par génération décroissante ({@link FamilyGraph#generation(int)}) :
+ * tous les enfants d'un nœud sont donc traités avant lui et ses marques sont définitives
+ * lorsqu'il est dépilé. Chaque ancêtre est visité au plus une fois, même en cas d'implexe,
+ * et la recherche s'arrête dès qu'aucun nouvel ancêtre commun minimal ne peut apparaître.
+ */
+public final class CommonAncestors {
+
+    private static final int FROM_FIRST = 1;
+    private static final int FROM_SECOND = 2;
+    /** Ancêtre d'un ancêtre commun déjà trouvé : ne peut plus être minimal */
+    private static final int ABOVE_COMMON = 4;
+    private static final int BOTH = FROM_FIRST | FROM_SECOND;
+
+    private static final int QUEUED = 0;
+    private static final int DONE = 1;
+
+    private CommonAncestors() {
+    }
+
+    /**
+     * Chaque personne est considérée comme son propre ancêtre : si {@code second} est un ancêtre
+     * de {@code first}, le résultat est {@code second}.
+     *
+     * @return les ancêtres communs minimaux, du plus récent au plus ancien
+     */
+    public static int[] minimal(FamilyGraph graph, int first, int second) {
+        try (TraversalWorkspace workspace = TraversalWorkspace.acquire(graph.size())) {
+            int[] flags = workspace.flags;
+            int[] state = workspace.distance;
+            LongMinHeap queue = new LongMinHeap();
+            IntArrayList result = new IntArrayList(4);
+
+            // Nombre de nœuds en file, non disqualifiés, portant respectivement chaque marque
+            int[] pending = new int[3];
+
+            enqueue(graph, workspace, queue, pending, first, FROM_FIRST);
+            mark(workspace, pending, second, FROM_SECOND, graph, queue);
+
+            while (!queue.isEmpty() && pending[FROM_FIRST] > 0 && pending[FROM_SECOND] > 0) {
+                int current = LongMinHeap.nodeOf(queue.poll());
+                int currentFlags = flags[current];
+                count(pending, currentFlags, -1);
+                state[current] = DONE;
+
+                int propagated = currentFlags;
+                if ((currentFlags & ABOVE_COMMON) == 0 && (currentFlags & BOTH) == BOTH) {
+                    result.add(current);
+                    propagated |= ABOVE_COMMON;
+                }
+
+                for (int k = 0; k < graph.parentCount(current); k++) {
+                    mark(workspace, pending, graph.parent(current, k), propagated, graph, queue);
+                }
+            }
+
+            return result.toArray();
+        }
+    }
+
+    /**
+     * Nombre minimal de générations entre une personne et chacun des ancêtres donnés.
+     *
+     * @return pour chaque ancêtre, la distance en générations, ou -1 s'il n'est pas un ancêtre
+     */
+    public static int[] generationsUpTo(FamilyGraph graph, int from, int[] ancestors) {
+        try (TraversalWorkspace workspace = TraversalWorkspace.acquire(graph.size())) {
+            int[] queue = workspace.queue;
+            int[] depth = workspace.distance;
+            int head = 0;
+            int tail = 0;
+
+            workspace.visit(from);
+            depth[from] = 0;
+            queue[tail++] = from;
+            while (head < tail) {
+                int current = queue[head++];
+                for (int k = 0; k < graph.parentCount(current); k++) {
+                    int parent = graph.parent(current, k);
+                    if (workspace.visit(parent)) {
+                        depth[parent] = depth[current] + 1;
+                        queue[tail++] = parent;
+                    }
+                }
+            }
+
+            int[] distances = new int[ancestors.length];
+            for (int i = 0; i < ancestors.length; i++) {
+                distances[i] = workspace.isVisited(ancestors[i]) ? depth[ancestors[i]] : -1;
+            }
+            return distances;
+        }
+    }
+
+    private static void mark(TraversalWorkspace workspace, int[] pending, int node, int newFlags,
+                             FamilyGraph graph, LongMinHeap queue) {
+        if (!workspace.isVisited(node)) {
+            enqueue(graph, workspace, queue, pending, node, newFlags);
+        } else if (workspace.distance[node] == QUEUED) {
+            // Seul un nœud encore en file reçoit les nouvelles marques ; un nœud déjà dépilé
+            // (données cycliques uniquement) n'est jamais remis en file
+            count(pending, workspace.flags[node], -1);
+            workspace.flags[node] |= newFlags;
+            count(pending, workspace.flags[node], 1);
+        }
+    }
+
+    private static void enqueue(FamilyGraph graph, TraversalWorkspace workspace, LongMinHeap queue,
+                                int[] pending, int node, int nodeFlags) {
+        workspace.visit(node);
+        workspace.flags[node] = nodeFlags;
+        workspace.distance[node] = QUEUED;
+        count(pending, nodeFlags, 1);
+        // Génération la plus élevée en premier
+        queue.add(LongMinHeap.encode(Integer.MAX_VALUE - graph.generation(node), node));
+    }
+
+    private static void count(int[] pending, int nodeFlags, int delta) {
+        if ((nodeFlags & ABOVE_COMMON) != 0) {
+            return;
+        }
+        if ((nodeFlags & FROM_FIRST) != 0) {
+            pending[FROM_FIRST] += delta;
+        }
+        if ((nodeFlags & FROM_SECOND) != 0) {
+            pending[FROM_SECOND] += delta;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.genealogy.back_ro.graph;
+
+import com.genealogy.back_ro.util.DisjointSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Composantes connexes (familles sans aucun lien entre elles) de {@link FamilyGraph}, tenues dans
+ * un union-find indexé comme les nœuds du graphe. Deux personnes de composantes différentes
+ * n'ont aucun lien de parenté : la réponse est immédiate, sans parcours.
+ *
+ * Un ajout de lien réunit deux composantes sur place. Un union-find ne sait pas séparer un ensemble :
+ * après une suppression (lien ou personne), l'index est marqué périmé ({@link #isStale()}) jusqu'à
+ * sa reconstruction. Entre-temps il peut encore réunir des personnes qui ne sont plus liées,
+ * mais jamais séparer des personnes liées : « composantes différentes » reste une réponse sûre.
+ *
+ * Chaque composante porte un numéro de version, renouvelé à chaque modification qui la touche ;
+ * il sert à invalider les résultats calculés sur cette seule composante.
+ */
+public final class ComponentIndex {
+
+    /**
+     * Composante : son plus petit identifiant de personne (représentant stable) et sa taille
+     */
+    public static final class Component {
+        private final long representativeId;
+        private final int size;
+
+        Component(long representativeId, int size) {
+            this.representativeId = representativeId;
+            this.size = size;
+        }
+
+        public long getRepresentativeId() {
+            return representativeId;
+        }
+
+        public int getSize() {
+            return size;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final DisjointSet sets;
+    /** Version de chaque composante, rangée à l'indice de sa racine */
+    private long[] versions;
+    /** Indices sans personne (supprimées avant la construction), comptés comme singletons par {@link #sets} */
+    private final int deadNodes;
+    private boolean stale;
+
+    private ComponentIndex(DisjointSet sets, long[] versions, int deadNodes) {
+        this.sets = sets;
+        this.versions = versions;
+        this.deadNodes = deadNodes;
+    }
+
+    /**
+     * Construit l'index de toutes les composantes du graphe, toutes à la version {@code version}
+     */
+    public static ComponentIndex build(FamilyGraph graph, long version) {
+        int size = graph.size();
+        DisjointSet sets = new DisjointSet(size);
+        for (int node = 0; node < size; node++) {
+            if (!graph.isLive(node)) {
+                continue;
+            }
+            for (int k = 0; k < graph.parentCount(node); k++) {
+                sets.union(node, graph.parent(node, k));
+            }
+        }
+        long[] versions = new long[Math.max(1, size)];
+        Arrays.fill(versions, version);
+        return new ComponentIndex(sets, versions, size - graph.personCount());
+    }
+
+    /**
+     * Reporte les modifications appliquées au graphe ({@code before} → {@code after}).
+     * Les composantes touchées reçoivent la version {@code version}.
+     */
+    public void apply(FamilyGraph before, FamilyGraph after, List<GraphDelta> deltas, long version) {
+        lock.writeLock().lock();
+        try {
+            grow(after.size());
+            for (GraphDelta delta : deltas) {
+                switch (delta.getKind()) {
+                    case ADD_PERSON -> {
+                        int node = after.indexOf(delta.getPersonId());
+                        if (node != FamilyGraph.NO_NODE) {
+                            versions[sets.find(node)] = version;
+                        }
+                    }
+                    case ADD_EDGE -> {
+                        int child = after.indexOf(delta.getPersonId());
+                        int parent = after.indexOf(delta.getRelatedId());
+                        if (child != FamilyGraph.NO_NODE && parent != FamilyGraph.NO_NODE) {
+                            versions[sets.union(child, parent)] = version;
+                        }
+                    }
+                    case REMOVE_EDGE, REMOVE_PERSON -> {
+                        int node = before.indexOf(delta.getPersonId());
+                        if (node == FamilyGraph.NO_NODE) {
+                            node = after.indexOf(delta.getPersonId());
+                        }
+                        if (node != FamilyGraph.NO_NODE && node < sets.capacity()) {
+                            versions[sets.find(node)] = version;
+                        }
+                        stale = true;
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void grow(int size) {
+        int previous = sets.capacity();
+        if (size <= previous) {
+            return;
+        }
+        sets.grow(size);
+        if (versions.length < size) {
+            versions = Arrays.copyOf(versions, Math.max(size, versions.length + (versions.length >> 1)));
+        }
+    }
+
+    /**
+     * @return {@code true} si les deux nœuds sont dans la même composante
+     * (ou peuvent l'être, si l'index est périmé)
+     */
+    public boolean connected(int first, int second) {
+        lock.readLock().lock();
+        try {
+            // Nœud pas encore reporté dans l'index : rien ne permet d'exclure un lien
+            if (first >= sets.capacity() || second >= sets.capacity()) {
+                return true;
+            }
+            return sets.root(first) == sets.root(second);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return le nombre de personnes de la composante du nœud
+     */
+    public int componentSize(int node) {
+        lock.readLock().lock();
+        try {
+            return node < sets.capacity() ? sets.sizeOfRoot(sets.root(node)) : 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return la version de la composante du nœud, ou {@code fallback} si le nœud n'est pas encore indexé
+     */
+    public long version(int node, long fallback) {
+        lock.readLock().lock();
+        try {
+            return node < sets.capacity() ? versions[sets.root(node)] : fallback;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return le nombre de composantes (personnes isolées comprises)
+     */
+    public int componentCount() {
+        lock.readLock().lock();
+        try {
+            return sets.count() - deadNodes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isStale() {
+        lock.readLock().lock();
+        try {
+            return stale;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Les {@code limit} plus grandes composantes du graphe, de la plus grande à la plus petite
+     */
+    public List<Component> largest(FamilyGraph graph, int limit) {
+        lock.readLock().lock();
+        try {
+            int size = Math.min(graph.size(), sets.capacity());
+            long[] representatives = new long[size];
+            Arrays.fill(representatives, Long.MAX_VALUE);
+            for (int node = 0; node < size; node++) {
+                if (graph.isLive(node)) {
+                    int root = sets.root(node);
+                    representatives[root] = Math.min(representatives[root], graph.idOf(node));
+                }
+            }
+
+            List<Component> components = new ArrayList<>();
+            for (int root = 0; root < size; root++) {
+                if (representatives[root] != Long.MAX_VALUE) {
+                    components.add(new Component(representatives[root], sets.sizeOfRoot(root)));
+                }
+            }
+            components.sort((a, b) -> a.size != b.size
+                    ? Integer.compare(b.size, a.size)
+                    : Long.compare(a.representativeId, b.representativeId));
+            return components.subList(0, Math.min(Math.max(limit, 0), components.size()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
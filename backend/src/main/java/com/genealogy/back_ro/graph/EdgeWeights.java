@@ -0,0 +1,23 @@
+package com.genealogy.back_ro.graph;
+
+/**
+ * Poids des arêtes parcourues par les recherches de plus court chemin sur {@link FamilyGraph}.
+ */
+@FunctionalInterface
+public interface EdgeWeights {
+
+    /** Toutes les arêtes parent-enfant ont le même poids (un degré de parenté) */
+    EdgeWeights UNIFORM = (from, to) -> 1;
+
+    /**
+     * @return le poids (strictement positif) de l'arête {@code from -> to}
+     */
+    int weight(int from, int to);
+
+    /**
+     * @return {@code true} si toutes les arêtes ont le même poids, ce qui autorise un parcours en largeur
+     */
+    default boolean isUniform() {
+        return this == UNIFORM;
+    }
+}
@@ -0,0 +1,537 @@
+package com.genealogy.back_ro.graph;
+
+import com.genealogy.back_ro.util.IntArrayList;
+import com.genealogy.back_ro.util.LongIntHashMap;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Index d'adjacence compact de l'arbre généalogique.
+ * Chaque personne reçoit un indice entier dense et les liens parent-enfant sont stockés
+ * au format CSR (tableau d'offsets + tableau de cibles) dans les deux sens.
+ *
+ * Les nœuds sont répartis en segments de {@value #SEGMENT_SIZE} indices et la table
+ * identifiant → indice en {@value #ID_SHARDS} fragments. Les instances sont immuables :
+ * une modification ({@link #apply(List)}) produit un nouvel instantané qui ne recopie que
+ * les segments et fragments touchés, ce qui permet aux lecteurs de parcourir l'ancien
+ * instantané sans verrou pendant la mise à jour.
+ *
+ * Les indices des personnes supprimées ne sont pas réutilisés avant la prochaine reconstruction
+ * complète : {@link #size()} est donc une borne sur les indices, et {@link #isLive(int)} indique
+ * si un indice correspond encore à une personne.
+ */
+public final class FamilyGraph {
+
+    /** Indice retourné lorsqu'une personne n'est pas présente dans l'index */
+    public static final int NO_NODE = -1;
+
+    static final int SEGMENT_SHIFT = 10;
+    static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+    static final int ID_SHARDS = 64;
+
+    private static final long NO_ID = Long.MIN_VALUE;
+    private static final int[] NO_TARGETS = new int[0];
+
+    private static final FamilyGraph EMPTY = build(new long[0], 0, new long[0], new long[0], 0);
+
+    private final Segment[] segments;
+    private final LongIntHashMap[] idShards;
+    private final int size;
+    private final int personCount;
+    private final int edgeCount;
+
+    private FamilyGraph(Segment[] segments, LongIntHashMap[] idShards, int size, int personCount, int edgeCount) {
+        this.segments = segments;
+        this.idShards = idShards;
+        this.size = size;
+        this.personCount = personCount;
+        this.edgeCount = edgeCount;
+    }
+
+    public static FamilyGraph empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Construit l'index à partir des identifiants de personnes et des lignes de {@code person_parents}.
+     * Les liens dont une extrémité est inconnue sont ignorés.
+     *
+     * @param personIds identifiants des personnes (l'ordre détermine les indices)
+     * @param nodeCount nombre d'identifiants utiles dans {@code personIds}
+     * @param childIds  colonne {@code child_id} des liens
+     * @param parentIds colonne {@code parent_id} des liens
+     * @param edgeCount nombre de liens utiles
+     */
+    public static FamilyGraph build(long[] personIds, int nodeCount, long[] childIds, long[] parentIds, int edgeCount) {
+        LongIntHashMap[] idShards = new LongIntHashMap[ID_SHARDS];
+        for (int s = 0; s < ID_SHARDS; s++) {
+            idShards[s] = new LongIntHashMap(nodeCount / ID_SHARDS + 1);
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            idShards[shardOf(personIds[i])].put(personIds[i], i);
+        }
+
+        int[] childNodes = new int[edgeCount];
+        int[] parentNodes = new int[edgeCount];
+        int[] parentOffsets = new int[nodeCount + 1];
+        int[] childOffsets = new int[nodeCount + 1];
+        int valid = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            int child = idShards[shardOf(childIds[e])].get(childIds[e]);
+            int parent = idShards[shardOf(parentIds[e])].get(parentIds[e]);
+            if (child == LongIntHashMap.MISSING || parent == LongIntHashMap.MISSING) {
+                continue;
+            }
+            childNodes[valid] = child;
+            parentNodes[valid] = parent;
+            parentOffsets[child + 1]++;
+            childOffsets[parent + 1]++;
+            valid++;
+        }
+        for (int i = 0; i < nodeCount; i++) {
+            parentOffsets[i + 1] += parentOffsets[i];
+            childOffsets[i + 1] += childOffsets[i];
+        }
+
+        int[] parentTargets = new int[valid];
+        int[] childTargets = new int[valid];
+        int[] parentCursor = new int[nodeCount];
+        int[] childCursor = new int[nodeCount];
+        for (int e = 0; e < valid; e++) {
+            int child = childNodes[e];
+            int parent = parentNodes[e];
+            parentTargets[parentOffsets[child] + parentCursor[child]++] = parent;
+            childTargets[childOffsets[parent] + childCursor[parent]++] = child;
+        }
+
+        int[] generations = computeGenerations(nodeCount, parentOffsets, childOffsets, childTargets);
+
+        // Découpage des tableaux CSR globaux en segments indépendants
+        int segmentCount = (nodeCount + SEGMENT_MASK) >>> SEGMENT_SHIFT;
+        Segment[] segments = new Segment[segmentCount];
+        for (int s = 0; s < segmentCount; s++) {
+            int first = s << SEGMENT_SHIFT;
+            int last = Math.min(nodeCount, first + SEGMENT_SIZE);
+            long[] ids = new long[SEGMENT_SIZE];
+            Arrays.fill(ids, NO_ID);
+            System.arraycopy(personIds, first, ids, 0, last - first);
+            int[] segmentGenerations = new int[SEGMENT_SIZE];
+            System.arraycopy(generations, first, segmentGenerations, 0, last - first);
+            segments[s] = new Segment(ids, segmentGenerations,
+                    slice(parentOffsets, first, last), Arrays.copyOfRange(parentTargets, parentOffsets[first], parentOffsets[last]),
+                    slice(childOffsets, first, last), Arrays.copyOfRange(childTargets, childOffsets[first], childOffsets[last]));
+        }
+
+        return new FamilyGraph(segments, idShards, nodeCount, nodeCount, valid);
+    }
+
+    /**
+     * Calcule la génération de chaque nœud par tri topologique (algorithme de Kahn) :
+     * 0 pour une personne sans parent connu, 1 + la génération maximale de ses parents sinon.
+     * Les nœuds pris dans un cycle conservent la valeur atteinte avant le blocage.
+     */
+    private static int[] computeGenerations(int nodeCount, int[] parentOffsets, int[] childOffsets, int[] childTargets) {
+        int[] generations = new int[nodeCount];
+        int[] pendingParents = new int[nodeCount];
+        int[] queue = new int[nodeCount];
+        int head = 0;
+        int tail = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            pendingParents[node] = parentOffsets[node + 1] - parentOffsets[node];
+            if (pendingParents[node] == 0) {
+                queue[tail++] = node;
+            }
+        }
+        while (head < tail) {
+            int node = queue[head++];
+            for (int k = childOffsets[node]; k < childOffsets[node + 1]; k++) {
+                int child = childTargets[k];
+                generations[child] = Math.max(generations[child], generations[node] + 1);
+                if (--pendingParents[child] == 0) {
+                    queue[tail++] = child;
+                }
+            }
+        }
+        return generations;
+    }
+
+    private static int[] slice(int[] offsets, int first, int last) {
+        int[] local = new int[SEGMENT_SIZE + 1];
+        int base = offsets[first];
+        for (int i = 0; i <= SEGMENT_SIZE; i++) {
+            local[i] = offsets[Math.min(first + i, last)] - base;
+        }
+        return local;
+    }
+
+    private static int shardOf(long personId) {
+        long h = personId * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 58);
+    }
+
+    /**
+     * @return une borne supérieure (exclue) sur les indices de nœuds
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return nombre de personnes indexées
+     */
+    public int personCount() {
+        return personCount;
+    }
+
+    /**
+     * @return nombre de liens parent-enfant indexés
+     */
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * @return l'indice de la personne, ou {@link #NO_NODE} si elle est absente de l'index
+     */
+    public int indexOf(long personId) {
+        int index = idShards[shardOf(personId)].get(personId);
+        return index == LongIntHashMap.MISSING ? NO_NODE : index;
+    }
+
+    public boolean isLive(int node) {
+        return segments[node >>> SEGMENT_SHIFT].ids[node & SEGMENT_MASK] != NO_ID;
+    }
+
+    public long idOf(int node) {
+        return segments[node >>> SEGMENT_SHIFT].ids[node & SEGMENT_MASK];
+    }
+
+    /**
+     * Génération du nœud dans l'ordre topologique des liens de filiation.
+     * Invariant : la génération d'un enfant est strictement supérieure à celle de chacun de ses parents
+     * (hors données cycliques).
+     */
+    public int generation(int node) {
+        return segments[node >>> SEGMENT_SHIFT].generations[node & SEGMENT_MASK];
+    }
+
+    public int parentCount(int node) {
+        int[] offsets = segments[node >>> SEGMENT_SHIFT].parentOffsets;
+        int local = node & SEGMENT_MASK;
+        return offsets[local + 1] - offsets[local];
+    }
+
+    public int parent(int node, int k) {
+        Segment segment = segments[node >>> SEGMENT_SHIFT];
+        return segment.parentTargets[segment.parentOffsets[node & SEGMENT_MASK] + k];
+    }
+
+    public int childCount(int node) {
+        int[] offsets = segments[node >>> SEGMENT_SHIFT].childOffsets;
+        int local = node & SEGMENT_MASK;
+        return offsets[local + 1] - offsets[local];
+    }
+
+    public int child(int node, int k) {
+        Segment segment = segments[node >>> SEGMENT_SHIFT];
+        return segment.childTargets[segment.childOffsets[node & SEGMENT_MASK] + k];
+    }
+
+    /**
+     * @return nombre de voisins (parents puis enfants) du nœud
+     */
+    public int degree(int node) {
+        return parentCount(node) + childCount(node);
+    }
+
+    /**
+     * @return le k-ième voisin du nœud : ses parents d'abord, puis ses enfants
+     */
+    public int neighbor(int node, int k) {
+        int parents = parentCount(node);
+        return k < parents ? parent(node, k) : child(node, k - parents);
+    }
+
+    /**
+     * Applique une suite de modifications et retourne le nouvel instantané.
+     * Les modifications sans effet (lien déjà présent, personne inconnue...) sont ignorées.
+     */
+    public FamilyGraph apply(List<GraphDelta> deltas) {
+        Builder builder = new Builder(this);
+        for (GraphDelta delta : deltas) {
+            switch (delta.getKind()) {
+                case ADD_PERSON -> builder.addPerson(delta.getPersonId());
+                case REMOVE_PERSON -> builder.removePerson(delta.getPersonId());
+                case ADD_EDGE -> builder.addEdge(delta.getPersonId(), delta.getRelatedId());
+                case REMOVE_EDGE -> builder.removeEdge(delta.getPersonId(), delta.getRelatedId());
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Segment de {@value #SEGMENT_SIZE} nœuds, au format CSR local.
+     * Les tableaux d'un segment ne sont jamais modifiés après publication.
+     */
+    private static final class Segment {
+        final long[] ids;
+        final int[] generations;
+        final int[] parentOffsets;
+        final int[] parentTargets;
+        final int[] childOffsets;
+        final int[] childTargets;
+
+        Segment(long[] ids, int[] generations,
+                int[] parentOffsets, int[] parentTargets, int[] childOffsets, int[] childTargets) {
+            this.ids = ids;
+            this.generations = generations;
+            this.parentOffsets = parentOffsets;
+            this.parentTargets = parentTargets;
+            this.childOffsets = childOffsets;
+            this.childTargets = childTargets;
+        }
+
+        static Segment empty() {
+            long[] ids = new long[SEGMENT_SIZE];
+            Arrays.fill(ids, NO_ID);
+            return new Segment(ids, new int[SEGMENT_SIZE],
+                    new int[SEGMENT_SIZE + 1], NO_TARGETS, new int[SEGMENT_SIZE + 1], NO_TARGETS);
+        }
+    }
+
+    /**
+     * Accumule des modifications copy-on-write : chaque segment ou fragment n'est recopié
+     * qu'une fois par lot, à sa première modification.
+     */
+    private static final class Builder {
+        private Segment[] segments;
+        private final LongIntHashMap[] idShards;
+        private final boolean[] copiedSegments;
+        private final boolean[] copiedShards = new boolean[ID_SHARDS];
+        private boolean[] extraCopied = new boolean[0];
+        private int size;
+        private int personCount;
+        private int edgeCount;
+
+        Builder(FamilyGraph base) {
+            this.segments = base.segments.clone();
+            this.idShards = base.idShards.clone();
+            this.copiedSegments = new boolean[segments.length];
+            this.size = base.size;
+            this.personCount = base.personCount;
+            this.edgeCount = base.edgeCount;
+        }
+
+        FamilyGraph build() {
+            return new FamilyGraph(segments, idShards, size, personCount, edgeCount);
+        }
+
+        private int indexOf(long personId) {
+            int index = idShards[shardOf(personId)].get(personId);
+            return index == LongIntHashMap.MISSING ? NO_NODE : index;
+        }
+
+        private LongIntHashMap writableShard(long personId) {
+            int shard = shardOf(personId);
+            if (!copiedShards[shard]) {
+                idShards[shard] = idShards[shard].copy();
+                copiedShards[shard] = true;
+            }
+            return idShards[shard];
+        }
+
+        private boolean isCopied(int segmentIndex) {
+            if (segmentIndex < copiedSegments.length) {
+                return copiedSegments[segmentIndex];
+            }
+            int extra = segmentIndex - copiedSegments.length;
+            return extra < extraCopied.length && extraCopied[extra];
+        }
+
+        private void markCopied(int segmentIndex) {
+            if (segmentIndex < copiedSegments.length) {
+                copiedSegments[segmentIndex] = true;
+                return;
+            }
+            int extra = segmentIndex - copiedSegments.length;
+            if (extra >= extraCopied.length) {
+                extraCopied = Arrays.copyOf(extraCopied, Math.max(4, extra + 1) * 2);
+            }
+            extraCopied[extra] = true;
+        }
+
+        private Segment writableSegment(int node) {
+            int s = node >>> SEGMENT_SHIFT;
+            if (s >= segments.length) {
+                segments = Arrays.copyOf(segments, s + 1);
+                segments[s] = Segment.empty();
+                markCopied(s);
+            } else if (!isCopied(s)) {
+                Segment original = segments[s];
+                segments[s] = new Segment(original.ids.clone(), original.generations.clone(),
+                        original.parentOffsets, original.parentTargets,
+                        original.childOffsets, original.childTargets);
+                markCopied(s);
+            }
+            return segments[s];
+        }
+
+        private Segment segment(int node) {
+            return segments[node >>> SEGMENT_SHIFT];
+        }
+
+        void addPerson(long personId) {
+            if (indexOf(personId) != NO_NODE) {
+                return;
+            }
+            int node = size++;
+            writableSegment(node).ids[node & SEGMENT_MASK] = personId;
+            writableShard(personId).put(personId, node);
+            personCount++;
+        }
+
+        void removePerson(long personId) {
+            int node = indexOf(personId);
+            if (node == NO_NODE) {
+                return;
+            }
+            Segment segment = segment(node);
+            int local = node & SEGMENT_MASK;
+            int[] parents = Arrays.copyOfRange(segment.parentTargets,
+                    segment.parentOffsets[local], segment.parentOffsets[local + 1]);
+            int[] children = Arrays.copyOfRange(segment.childTargets,
+                    segment.childOffsets[local], segment.childOffsets[local + 1]);
+            for (int parent : parents) {
+                unlink(node, parent);
+            }
+            for (int child : children) {
+                unlink(child, node);
+            }
+            writableSegment(node).ids[local] = NO_ID;
+            writableShard(personId).remove(personId);
+            personCount--;
+        }
+
+        void addEdge(long childId, long parentId) {
+            int child = indexOf(childId);
+            int parent = indexOf(parentId);
+            if (child == NO_NODE || parent == NO_NODE || contains(child, parent)) {
+                return;
+            }
+            Segment childSegment = writableSegment(child);
+            int childLocal = child & SEGMENT_MASK;
+            int[][] parents = insert(childSegment.parentOffsets, childSegment.parentTargets, childLocal, parent);
+            segments[child >>> SEGMENT_SHIFT] = new Segment(childSegment.ids, childSegment.generations,
+                    parents[0], parents[1], childSegment.childOffsets, childSegment.childTargets);
+
+            Segment parentSegment = writableSegment(parent);
+            int parentLocal = parent & SEGMENT_MASK;
+            int[][] children = insert(parentSegment.childOffsets, parentSegment.childTargets, parentLocal, child);
+            segments[parent >>> SEGMENT_SHIFT] = new Segment(parentSegment.ids, parentSegment.generations,
+                    parentSegment.parentOffsets, parentSegment.parentTargets, children[0], children[1]);
+            edgeCount++;
+            raiseGenerations(child, generationOf(parent) + 1);
+        }
+
+        private int generationOf(int node) {
+            return segment(node).generations[node & SEGMENT_MASK];
+        }
+
+        /**
+         * Rétablit l'invariant des générations après l'ajout d'un lien en relevant l'enfant
+         * et, si nécessaire, ses descendants. Un retrait de lien ne peut pas violer l'invariant
+         * et ne déclenche donc aucune mise à jour. Le plafond à {@code size} protège des cycles.
+         */
+        private void raiseGenerations(int start, int generation) {
+            if (generationOf(start) >= generation) {
+                return;
+            }
+            IntArrayList nodes = new IntArrayList();
+            IntArrayList levels = new IntArrayList();
+            nodes.add(start);
+            levels.add(generation);
+            for (int i = 0; i < nodes.size(); i++) {
+                int node = nodes.get(i);
+                int level = levels.get(i);
+                if (generationOf(node) >= level || level > size) {
+                    continue;
+                }
+                writableSegment(node).generations[node & SEGMENT_MASK] = level;
+                Segment segment = segment(node);
+                int local = node & SEGMENT_MASK;
+                for (int k = segment.childOffsets[local]; k < segment.childOffsets[local + 1]; k++) {
+                    nodes.add(segment.childTargets[k]);
+                    levels.add(level + 1);
+                }
+            }
+        }
+
+        void removeEdge(long childId, long parentId) {
+            int child = indexOf(childId);
+            int parent = indexOf(parentId);
+            if (child != NO_NODE && parent != NO_NODE && contains(child, parent)) {
+                unlink(child, parent);
+            }
+        }
+
+        private boolean contains(int child, int parent) {
+            Segment segment = segment(child);
+            int local = child & SEGMENT_MASK;
+            for (int k = segment.parentOffsets[local]; k < segment.parentOffsets[local + 1]; k++) {
+                if (segment.parentTargets[k] == parent) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void unlink(int child, int parent) {
+            Segment childSegment = writableSegment(child);
+            int[][] parents = delete(childSegment.parentOffsets, childSegment.parentTargets, child & SEGMENT_MASK, parent);
+            segments[child >>> SEGMENT_SHIFT] = new Segment(childSegment.ids, childSegment.generations,
+                    parents[0], parents[1], childSegment.childOffsets, childSegment.childTargets);
+
+            Segment parentSegment = writableSegment(parent);
+            int[][] children = delete(parentSegment.childOffsets, parentSegment.childTargets, parent & SEGMENT_MASK, child);
+            segments[parent >>> SEGMENT_SHIFT] = new Segment(parentSegment.ids, parentSegment.generations,
+                    parentSegment.parentOffsets, parentSegment.parentTargets, children[0], children[1]);
+            edgeCount--;
+        }
+
+        private static int[][] insert(int[] offsets, int[] targets, int local, int target) {
+            int position = offsets[local + 1];
+            int[] newTargets = new int[targets.length + 1];
+            System.arraycopy(targets, 0, newTargets, 0, position);
+            newTargets[position] = target;
+            System.arraycopy(targets, position, newTargets, position + 1, targets.length - position);
+            int[] newOffsets = offsets.clone();
+            for (int i = local + 1; i < newOffsets.length; i++) {
+                newOffsets[i]++;
+            }
+            return new int[][]{newOffsets, newTargets};
+        }
+
+        private static int[][] delete(int[] offsets, int[] targets, int local, int target) {
+            int position = -1;
+            for (int k = offsets[local]; k < offsets[local + 1]; k++) {
+                if (targets[k] == target) {
+                    position = k;
+                    break;
+                }
+            }
+            if (position < 0) {
+                return new int[][]{offsets, targets};
+            }
+            int[] newTargets = new int[targets.length - 1];
+            System.arraycopy(targets, 0, newTargets, 0, position);
+            System.arraycopy(targets, position + 1, newTargets, position, targets.length - position - 1);
+            int[] newOffsets = offsets.clone();
+            for (int i = local + 1; i < newOffsets.length; i++) {
+                newOffsets[i]--;
+            }
+            return new int[][]{newOffsets, newTargets};
+        }
+    }
+}
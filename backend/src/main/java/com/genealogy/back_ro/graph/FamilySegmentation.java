@@ -0,0 +1,146 @@
+package com.genealogy.back_ro.graph;
+
+import com.genealogy.back_ro.util.DisjointSet;
+import com.genealogy.back_ro.util.IntArrayList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Découpe la famille (composante connexe) d'une personne en sous-familles, à la manière de Kruskal :
+ * les liens parent-enfant sont examinés par ordre de poids croissant et chacun réunit ses deux
+ * groupes tant que le groupe obtenu ne dépasse pas la taille maximale demandée.
+ *
+ * Le poids d'un lien est l'ancienneté de la génération de l'enfant : les liens des générations
+ * les plus récentes sont examinés d'abord. Chaque sous-famille regroupe ainsi un ancêtre (son fondateur)
+ * et une partie de sa descendance ; les générations anciennes rejoignent les groupes restés petits.
+ */
+public final class FamilySegmentation {
+
+    /**
+     * Sous-famille : son fondateur (membre de la génération la plus ancienne) et ses membres, triés
+     */
+    public static final class SubFamily {
+        private final long founderId;
+        private final int founderGeneration;
+        private final long[] memberIds;
+
+        SubFamily(long founderId, int founderGeneration, long[] memberIds) {
+            this.founderId = founderId;
+            this.founderGeneration = founderGeneration;
+            this.memberIds = memberIds;
+        }
+
+        public long getFounderId() {
+            return founderId;
+        }
+
+        /**
+         * @return génération du fondateur dans {@link FamilyGraph#generation(int)}
+         */
+        public int getFounderGeneration() {
+            return founderGeneration;
+        }
+
+        public int getSize() {
+            return memberIds.length;
+        }
+
+        public long[] getMemberIds() {
+            return memberIds;
+        }
+    }
+
+    private FamilySegmentation() {
+    }
+
+    /**
+     * @param start   une personne de la famille à découper
+     * @param maxSize taille maximale d'une sous-famille (au moins 1)
+     * @return les sous-familles, des fondateurs les plus anciens aux plus récents
+     */
+    public static List<SubFamily> segment(FamilyGraph graph, int start, int maxSize) {
+        int limit = Math.max(1, maxSize);
+
+        // Nœuds de la composante, numérotés localement dans l'ordre de découverte
+        try (TraversalWorkspace workspace = TraversalWorkspace.acquire(graph.size())) {
+            int[] queue = workspace.queue;
+            int[] local = workspace.distance;
+            int tail = 0;
+            workspace.visit(start);
+            local[start] = tail;
+            queue[tail++] = start;
+            for (int head = 0; head < tail; head++) {
+                int current = queue[head];
+                for (int k = 0; k < graph.degree(current); k++) {
+                    int next = graph.neighbor(current, k);
+                    if (workspace.visit(next)) {
+                        local[next] = tail;
+                        queue[tail++] = next;
+                    }
+                }
+            }
+            int[] nodes = Arrays.copyOf(queue, tail);
+
+            // Liens enfant → parent triés par génération de l'enfant décroissante : (clé << 32) | lien
+            IntArrayList children = new IntArrayList(tail);
+            IntArrayList parents = new IntArrayList(tail);
+            for (int i = 0; i < tail; i++) {
+                for (int k = 0; k < graph.parentCount(nodes[i]); k++) {
+                    children.add(i);
+                    parents.add(local[graph.parent(nodes[i], k)]);
+                }
+            }
+            long[] order = new long[children.size()];
+            for (int e = 0; e < order.length; e++) {
+                int generation = graph.generation(nodes[children.get(e)]);
+                order[e] = ((long) (Integer.MAX_VALUE - Math.max(generation, 0)) << 32) | e;
+            }
+            Arrays.sort(order);
+
+            DisjointSet sets = new DisjointSet(tail);
+            for (long entry : order) {
+                int e = (int) entry;
+                int a = sets.find(children.get(e));
+                int b = sets.find(parents.get(e));
+                if (a != b && sets.sizeOfRoot(a) + sets.sizeOfRoot(b) <= limit) {
+                    sets.union(a, b);
+                }
+            }
+
+            // Regroupement des membres par racine, fondateur = génération la plus ancienne puis plus petit identifiant
+            int[] groupOf = new int[tail];
+            Arrays.fill(groupOf, -1);
+            List<IntArrayList> groups = new ArrayList<>(sets.count());
+            for (int i = 0; i < tail; i++) {
+                int root = sets.find(i);
+                if (groupOf[root] < 0) {
+                    groupOf[root] = groups.size();
+                    groups.add(new IntArrayList(sets.sizeOfRoot(root)));
+                }
+                groups.get(groupOf[root]).add(i);
+            }
+
+            List<SubFamily> subFamilies = new ArrayList<>(groups.size());
+            for (IntArrayList group : groups) {
+                long[] memberIds = new long[group.size()];
+                int founder = nodes[group.get(0)];
+                for (int m = 0; m < group.size(); m++) {
+                    int node = nodes[group.get(m)];
+                    memberIds[m] = graph.idOf(node);
+                    if (graph.generation(node) < graph.generation(founder)
+                            || (graph.generation(node) == graph.generation(founder) && graph.idOf(node) < graph.idOf(founder))) {
+                        founder = node;
+                    }
+                }
+                Arrays.sort(memberIds);
+                subFamilies.add(new SubFamily(graph.idOf(founder), graph.generation(founder), memberIds));
+            }
+            subFamilies.sort((a, b) -> a.founderGeneration != b.founderGeneration
+                    ? Integer.compare(a.founderGeneration, b.founderGeneration)
+                    : Long.compare(a.founderId, b.founderId));
+            return subFamilies;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.genealogy.back_ro.graph;
+
+/**
+ * Moteur des algorithmes de graphe utilisés par les recherches : plus court chemin de parenté,
+ * ancêtres communs minimaux et arbre couvrant minimal. Les nœuds sont les indices de
+ * {@link FamilyGraph} et de {@link RelationshipGraph} ; le moteur est choisi par la propriété
+ * {@code genealogy.graph.backend}.
+ */
+public interface GraphBackend {
+
+    /**
+     * @return nom du moteur, tel qu'il figure dans la configuration
+     */
+    String name();
+
+    /**
+     * Plus court chemin en nombre de liens parent-enfant, dans un sens ou dans l'autre
+     *
+     * @return les nœuds du chemin de {@code source} à {@code target} inclus, ou un tableau vide
+     */
+    int[] shortestPath(FamilyGraph graph, int source, int target);
+
+    /**
+     * Ancêtres communs minimaux, chaque personne étant son propre ancêtre
+     *
+     * @return les ancêtres, du plus récent au plus ancien
+     */
+    int[] commonAncestors(FamilyGraph graph, int first, int second);
+
+    /**
+     * @param typeMask types d'arêtes retenus ({@code 1 << type}), ou {@link RelationshipGraph#ALL_TYPES}
+     */
+    SpanningForest spanningForest(RelationshipGraph graph, int typeMask, SpanningForest.Algorithm algorithm);
+}
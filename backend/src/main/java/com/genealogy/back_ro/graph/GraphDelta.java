@@ -0,0 +1,64 @@
+package com.genealogy.back_ro.graph;
+
+/**
+ * Modification élémentaire de l'arbre généalogique, appliquée à l'index résident
+ * après la validation de la transaction qui l'a produite.
+ */
+public final class GraphDelta {
+
+    public enum Kind {
+        ADD_PERSON,
+        REMOVE_PERSON,
+        ADD_EDGE,
+        REMOVE_EDGE
+    }
+
+    private final Kind kind;
+    private final long personId;
+    private final long relatedId;
+
+    private GraphDelta(Kind kind, long personId, long relatedId) {
+        this.kind = kind;
+        this.personId = personId;
+        this.relatedId = relatedId;
+    }
+
+    public static GraphDelta addPerson(long personId) {
+        return new GraphDelta(Kind.ADD_PERSON, personId, 0);
+    }
+
+    public static GraphDelta removePerson(long personId) {
+        return new GraphDelta(Kind.REMOVE_PERSON, personId, 0);
+    }
+
+    public static GraphDelta addEdge(long childId, long parentId) {
+        return new GraphDelta(Kind.ADD_EDGE, childId, parentId);
+    }
+
+    public static GraphDelta removeEdge(long childId, long parentId) {
+        return new GraphDelta(Kind.REMOVE_EDGE, childId, parentId);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return la personne concernée, ou l'enfant pour un lien
+     */
+    public long getPersonId() {
+        return personId;
+    }
+
+    /**
+     * @return le parent pour un lien, 0 sinon
+     */
+    public long getRelatedId() {
+        return relatedId;
+    }
+
+    @Override
+    public String toString() {
+        return kind + "(" + personId + (kind == Kind.ADD_EDGE || kind == Kind.REMOVE_EDGE ? " -> " + relatedId : "") + ")";
+    }
+}
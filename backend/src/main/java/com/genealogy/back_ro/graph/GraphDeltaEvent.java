@@ -0,0 +1,20 @@
+package com.genealogy.back_ro.graph;
+
+import java.util.List;
+
+/**
+ * Événement publié par les services d'écriture : l'ensemble des modifications
+ * d'une transaction, appliquées en un seul lot après validation.
+ */
+public final class GraphDeltaEvent {
+
+    private final List<GraphDelta> deltas;
+
+    public GraphDeltaEvent(List<GraphDelta> deltas) {
+        this.deltas = List.copyOf(deltas);
+    }
+
+    public List<GraphDelta> getDeltas() {
+        return deltas;
+    }
+}
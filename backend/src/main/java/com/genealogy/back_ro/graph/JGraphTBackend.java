@@ -0,0 +1,182 @@
+package com.genealogy.back_ro.graph;
+
+import com.genealogy.back_ro.util.IntArrayList;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.alg.interfaces.SpanningTreeAlgorithm;
+import org.jgrapht.alg.lca.NaiveLCAFinder;
+import org.jgrapht.alg.shortestpath.BFSShortestPath;
+import org.jgrapht.alg.spanning.KruskalMinimumSpanningTree;
+import org.jgrapht.alg.spanning.PrimMinimumSpanningTree;
+import org.jgrapht.alg.util.Pair;
+import org.jgrapht.alg.util.Triple;
+import org.jgrapht.opt.graph.sparse.SparseIntDirectedGraph;
+import org.jgrapht.opt.graph.sparse.SparseIntUndirectedGraph;
+import org.jgrapht.opt.graph.sparse.SparseIntUndirectedWeightedGraph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moteur JGraphT : les index résidents sont recopiés dans les graphes compacts de {@code jgrapht-opt}
+ * (tableaux CSR d'entiers, sommets et arêtes numérotés à partir de 0 comme dans les index),
+ * sur lesquels s'exécutent les algorithmes de la bibliothèque.
+ *
+ * La copie est faite au premier appel sur un instantané puis conservée tant que l'instantané
+ * ne change pas ; chaque modification du graphe familial impose donc une nouvelle copie.
+ */
+public final class JGraphTBackend implements GraphBackend {
+
+    public static final String NAME = "jgrapht";
+
+    /**
+     * Copies d'un instantané du graphe familial : liens sans sens pour les chemins,
+     * liens parent → enfant pour les ancêtres communs
+     */
+    private static final class FamilyCopy {
+        final FamilyGraph source;
+        final Graph<Integer, Integer> undirected;
+        final Graph<Integer, Integer> parentToChild;
+
+        FamilyCopy(FamilyGraph source, Graph<Integer, Integer> undirected, Graph<Integer, Integer> parentToChild) {
+            this.source = source;
+            this.undirected = undirected;
+            this.parentToChild = parentToChild;
+        }
+    }
+
+    /**
+     * Copie pondérée des arêtes d'un graphe des relations retenues par un masque de types
+     */
+    private static final class RelationshipCopy {
+        final RelationshipGraph source;
+        final int typeMask;
+        final Graph<Integer, Integer> weighted;
+        /** Arête JGraphT → arête de {@link RelationshipGraph} */
+        final int[] edges;
+        /** Arête JGraphT → source de l'arête dans {@link RelationshipGraph} */
+        final int[] sources;
+
+        RelationshipCopy(RelationshipGraph source, int typeMask, Graph<Integer, Integer> weighted, int[] edges, int[] sources) {
+            this.source = source;
+            this.typeMask = typeMask;
+            this.weighted = weighted;
+            this.edges = edges;
+            this.sources = sources;
+        }
+    }
+
+    private volatile FamilyCopy familyCopy;
+
+    private volatile RelationshipCopy relationshipCopy;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int[] shortestPath(FamilyGraph graph, int source, int target) {
+        GraphPath<Integer, Integer> path = new BFSShortestPath<>(familyCopy(graph).undirected).getPath(source, target);
+        if (path == null) {
+            return new int[0];
+        }
+        List<Integer> vertices = path.getVertexList();
+        int[] nodes = new int[vertices.size()];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = vertices.get(i);
+        }
+        return nodes;
+    }
+
+    @Override
+    public int[] commonAncestors(FamilyGraph graph, int first, int second) {
+        Set<Integer> ancestors = new NaiveLCAFinder<>(familyCopy(graph).parentToChild).getLCASet(first, second);
+        if (ancestors == null || ancestors.isEmpty()) {
+            return new int[0];
+        }
+        // Même ordre que le moteur natif : générations les plus récentes d'abord
+        return ancestors.stream()
+                .sorted((a, b) -> graph.generation(a) != graph.generation(b)
+                        ? Integer.compare(graph.generation(b), graph.generation(a))
+                        : Integer.compare(a, b))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    @Override
+    public SpanningForest spanningForest(RelationshipGraph graph, int typeMask, SpanningForest.Algorithm algorithm) {
+        if (algorithm == SpanningForest.Algorithm.AUTO) {
+            algorithm = SpanningForest.choose(graph.size(), graph.edgeCount());
+        }
+        RelationshipCopy copy = relationshipCopy(graph, typeMask);
+        SpanningTreeAlgorithm.SpanningTree<Integer> tree = algorithm == SpanningForest.Algorithm.PRIM
+                ? new PrimMinimumSpanningTree<>(copy.weighted).getSpanningTree()
+                : new KruskalMinimumSpanningTree<>(copy.weighted).getSpanningTree();
+
+        int[] sources = new int[tree.getEdges().size()];
+        int[] edges = new int[sources.length];
+        int count = 0;
+        for (Integer edge : tree.getEdges()) {
+            sources[count] = copy.sources[edge];
+            edges[count] = copy.edges[edge];
+            count++;
+        }
+        return new SpanningForest(graph, algorithm, sources, edges, count);
+    }
+
+    private FamilyCopy familyCopy(FamilyGraph graph) {
+        FamilyCopy current = familyCopy;
+        if (current != null && current.source == graph) {
+            return current;
+        }
+        synchronized (this) {
+            current = familyCopy;
+            if (current != null && current.source == graph) {
+                return current;
+            }
+            List<Pair<Integer, Integer>> links = new ArrayList<>(graph.edgeCount());
+            for (int child = 0; child < graph.size(); child++) {
+                for (int k = 0; k < graph.parentCount(child); k++) {
+                    links.add(Pair.of(graph.parent(child, k), child));
+                }
+            }
+            current = new FamilyCopy(graph,
+                    new SparseIntUndirectedGraph(graph.size(), links),
+                    new SparseIntDirectedGraph(graph.size(), links));
+            familyCopy = current;
+            return current;
+        }
+    }
+
+    private RelationshipCopy relationshipCopy(RelationshipGraph graph, int typeMask) {
+        RelationshipCopy current = relationshipCopy;
+        if (current != null && current.source == graph && current.typeMask == typeMask) {
+            return current;
+        }
+        synchronized (this) {
+            current = relationshipCopy;
+            if (current != null && current.source == graph && current.typeMask == typeMask) {
+                return current;
+            }
+            List<Triple<Integer, Integer, Double>> weightedEdges = new ArrayList<>(graph.edgeCount());
+            IntArrayList edges = new IntArrayList(graph.edgeCount());
+            IntArrayList sources = new IntArrayList(graph.edgeCount());
+            for (int node = 0; node < graph.size(); node++) {
+                for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                    int target = graph.target(edge);
+                    if ((typeMask & (1 << graph.type(edge))) != 0 && target != node) {
+                        weightedEdges.add(Triple.of(node, target, (double) graph.weight(edge)));
+                        edges.add(edge);
+                        sources.add(node);
+                    }
+                }
+            }
+            current = new RelationshipCopy(graph, typeMask,
+                    new SparseIntUndirectedWeightedGraph(graph.size(), weightedEdges), edges.toArray(), sources.toArray());
+            relationshipCopy = current;
+            return current;
+        }
+    }
+}
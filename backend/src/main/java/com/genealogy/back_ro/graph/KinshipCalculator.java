@@ -0,0 +1,190 @@
+package com.genealogy.back_ro.graph;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Calcul des coefficients de parenté (kinship) et de consanguinité sur un instantané de {@link FamilyGraph}.
+ *
+ * Le coefficient de parenté φ(a, b) est la moitié du terme A(a, b) de la matrice de parenté additive,
+ * calculé par la méthode tabulaire sans former la matrice : A = (I − P)⁻¹ D (I − P)⁻ᵀ, où P porte ½
+ * vers chaque parent connu et D est la variance d'échantillonnage mendélien (½ − ¼ (F(père) + F(mère))
+ * avec deux parents connus, ¾ − ¼ F(parent) avec un seul, 1 pour un fondateur).
+ * Une requête fait donc deux passes linéaires : la colonne de {@code b} remonte ses ancêtres
+ * en cumulant, pour chacun, la somme des ½^longueur de ses chemins vers {@code b} ; la ligne de {@code a}
+ * redescend ensuite depuis ses propres ancêtres. Le coût est proportionnel au nombre d'ancêtres
+ * des deux personnes, jamais à leur produit. Les parents inconnus sont considérés comme non apparentés ;
+ * seuls les deux premiers parents d'une personne sont pris en compte, et un lien qui contredit
+ * l'ordre des générations (données cycliques) est ignoré : chaque récursion remonte strictement les générations.
+ *
+ * Les coefficients de consanguinité F, nécessaires à D, sont mémorisés par ancêtre dans un tableau
+ * de la taille de l'instantané, sans verrou : deux requêtes concurrentes peuvent tout au plus calculer
+ * la même valeur. Une instance n'est valable que pour l'instantané qui l'a créée.
+ */
+public final class KinshipCalculator {
+
+    /** Coefficient de consanguinité pas encore calculé (NaN qu'aucun calcul ne produit) */
+    private static final long UNKNOWN = 0x7ff8_0000_0000_0001L;
+
+    private static final int MAX_PARENTS = 2;
+
+    private final FamilyGraph graph;
+
+    /** Coefficient de consanguinité de chaque nœud, en bits de {@code double}, ou {@link #UNKNOWN} */
+    private final AtomicLongArray inbreeding;
+
+    public KinshipCalculator(FamilyGraph graph) {
+        this.graph = graph;
+        this.inbreeding = new AtomicLongArray(graph.size());
+        for (int node = 0; node < graph.size(); node++) {
+            inbreeding.lazySet(node, UNKNOWN);
+        }
+    }
+
+    public FamilyGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * @return le coefficient de parenté φ(a, b), probabilité qu'un allèle tiré au hasard chez a
+     * et un allèle tiré au hasard chez b soient identiques par descendance
+     */
+    public double kinship(int a, int b) {
+        if (a == b) {
+            return 0.5 * (1 + inbreeding(a));
+        }
+
+        int[] ancestorsOfB = selfAndAncestors(b);
+        // Des plus anciens aux plus récents : la consanguinité d'un ancêtre ne dépend que de ses propres ancêtres,
+        // déjà calculés, ce qui borne la profondeur de récursion
+        for (int i = ancestorsOfB.length - 1; i >= 0; i--) {
+            inbreeding(ancestorsOfB[i]);
+        }
+
+        try (TraversalWorkspace columnOfB = TraversalWorkspace.acquire(graph.size());
+             TraversalWorkspace rowOfA = TraversalWorkspace.acquire(graph.size())) {
+            // Colonne de b : pour chaque ancêtre x, Σ ½^longueur des chemins de b à x, puis multipliée par D(x)
+            double[] column = new double[ancestorsOfB.length];
+            for (int i = 0; i < ancestorsOfB.length; i++) {
+                columnOfB.visit(ancestorsOfB[i]);
+                columnOfB.distance[ancestorsOfB[i]] = i;
+            }
+            column[columnOfB.distance[b]] = 1;
+            for (int i = 0; i < ancestorsOfB.length; i++) {
+                int node = ancestorsOfB[i];
+                for (int k = 0; k < MAX_PARENTS; k++) {
+                    int parent = parent(node, k);
+                    if (parent != FamilyGraph.NO_NODE) {
+                        column[columnOfB.distance[parent]] += 0.5 * column[i];
+                    }
+                }
+                column[i] *= mendelianVariance(node);
+            }
+
+            // Ligne de a, des ancêtres les plus anciens vers a : u(x) = colonne(x) + ½ Σ u(parents de x)
+            int[] ancestorsOfA = selfAndAncestors(a);
+            double[] row = new double[ancestorsOfA.length];
+            for (int i = ancestorsOfA.length - 1; i >= 0; i--) {
+                int node = ancestorsOfA[i];
+                rowOfA.visit(node);
+                rowOfA.distance[node] = i;
+                double value = columnOfB.isVisited(node) ? column[columnOfB.distance[node]] : 0;
+                for (int k = 0; k < MAX_PARENTS; k++) {
+                    int parent = parent(node, k);
+                    if (parent != FamilyGraph.NO_NODE) {
+                        value += 0.5 * row[rowOfA.distance[parent]];
+                    }
+                }
+                row[i] = value;
+            }
+            return row[rowOfA.distance[a]] / 2;
+        }
+    }
+
+    /**
+     * @return le coefficient de consanguinité F(a), soit φ entre les deux parents connus de a
+     */
+    public double inbreeding(int a) {
+        int father = parent(a, 0);
+        int mother = parent(a, 1);
+        if (father == FamilyGraph.NO_NODE || mother == FamilyGraph.NO_NODE) {
+            return 0;
+        }
+        long bits = inbreeding.get(a);
+        if (bits != UNKNOWN) {
+            return Double.longBitsToDouble(bits);
+        }
+        double value = kinship(father, mother);
+        inbreeding.set(a, Double.doubleToRawLongBits(value));
+        return value;
+    }
+
+    /**
+     * Coefficient de parenté de Wright : r = 2 φ(a, b) / √((1 + F(a)) (1 + F(b))).
+     */
+    public double relationship(int a, int b) {
+        double normalization = Math.sqrt((1 + inbreeding(a)) * (1 + inbreeding(b)));
+        return 2 * kinship(a, b) / normalization;
+    }
+
+    /**
+     * Variance d'échantillonnage mendélien : part de A(x, x) qui ne vient pas des parents
+     */
+    private double mendelianVariance(int node) {
+        double variance = 1;
+        for (int k = 0; k < MAX_PARENTS; k++) {
+            int parent = parent(node, k);
+            if (parent != FamilyGraph.NO_NODE) {
+                variance -= 0.25 * (1 + inbreeding(parent));
+            }
+        }
+        return variance;
+    }
+
+    /**
+     * @return la personne suivie de ses ancêtres, par génération décroissante : chaque nœud précède ses parents
+     */
+    private int[] selfAndAncestors(int node) {
+        int count;
+        int[] nodes;
+        try (TraversalWorkspace workspace = TraversalWorkspace.acquire(graph.size())) {
+            int[] queue = workspace.queue;
+            int tail = 0;
+            workspace.visit(node);
+            queue[tail++] = node;
+            for (int head = 0; head < tail; head++) {
+                int current = queue[head];
+                for (int k = 0; k < MAX_PARENTS; k++) {
+                    int parent = parent(current, k);
+                    if (parent != FamilyGraph.NO_NODE && workspace.visit(parent)) {
+                        queue[tail++] = parent;
+                    }
+                }
+            }
+            count = tail;
+            nodes = Arrays.copyOf(queue, tail);
+        }
+
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = ((long) (Integer.MAX_VALUE - graph.generation(nodes[i])) << 32) | nodes[i];
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < count; i++) {
+            nodes[i] = (int) keys[i];
+        }
+        return nodes;
+    }
+
+    /**
+     * @return le {@code k}-ième parent, ou {@link FamilyGraph#NO_NODE} s'il est inconnu ou si le lien
+     * contredit l'ordre des générations
+     */
+    private int parent(int node, int k) {
+        if (k >= graph.parentCount(node)) {
+            return FamilyGraph.NO_NODE;
+        }
+        int parent = graph.parent(node, k);
+        return graph.generation(parent) < graph.generation(node) ? parent : FamilyGraph.NO_NODE;
+    }
+}
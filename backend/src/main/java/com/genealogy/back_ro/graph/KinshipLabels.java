@@ -0,0 +1,86 @@
+package com.genealogy.back_ro.graph;
+
+/**
+ * Libellés des liens de parenté à partir des distances (en générations) de deux personnes
+ * à leur ancêtre commun le plus proche. Le libellé décrit ce que la première personne est
+ * pour la seconde ; le genre n'étant pas enregistré, les deux formes sont données.
+ */
+public final class KinshipLabels {
+
+    private KinshipLabels() {
+    }
+
+    /**
+     * @param toAncestor1 générations entre la première personne et l'ancêtre commun
+     * @param toAncestor2 générations entre la seconde personne et l'ancêtre commun
+     * @param half        {@code true} si les deux personnes ne partagent qu'un seul ancêtre à ce niveau
+     */
+    public static String label(int toAncestor1, int toAncestor2, boolean half) {
+        if (toAncestor1 == 0 && toAncestor2 == 0) {
+            return "même personne";
+        }
+        if (toAncestor1 == 0) {
+            return ancestorLabel(toAncestor2);
+        }
+        if (toAncestor2 == 0) {
+            return descendantLabel(toAncestor1);
+        }
+
+        String prefix = half ? "demi-" : "";
+        if (toAncestor1 == 1 && toAncestor2 == 1) {
+            return prefix + "frère/sœur";
+        }
+        if (toAncestor1 == 1) {
+            return prefix + uncleLabel(toAncestor2);
+        }
+        if (toAncestor2 == 1) {
+            return prefix + nephewLabel(toAncestor1);
+        }
+
+        int degree = Math.min(toAncestor1, toAncestor2) - 1;
+        int removed = Math.abs(toAncestor1 - toAncestor2);
+        String cousin = switch (degree) {
+            case 1 -> "cousin(e) germain(e)";
+            case 2 -> "cousin(e) issu(e) de germain";
+            default -> "cousin(e) au " + degree + "e degré";
+        };
+        if (removed > 0) {
+            cousin += " (" + removed + (removed == 1 ? " génération" : " générations") + " d'écart)";
+        }
+        return prefix + cousin;
+    }
+
+    private static String ancestorLabel(int generations) {
+        return switch (generations) {
+            case 1 -> "parent";
+            case 2 -> "grand-parent";
+            case 3 -> "arrière-grand-parent";
+            default -> "ancêtre à la " + generations + "e génération";
+        };
+    }
+
+    private static String descendantLabel(int generations) {
+        return switch (generations) {
+            case 1 -> "enfant";
+            case 2 -> "petit-enfant";
+            case 3 -> "arrière-petit-enfant";
+            default -> "descendant(e) à la " + generations + "e génération";
+        };
+    }
+
+    private static String uncleLabel(int toAncestor2) {
+        return switch (toAncestor2) {
+            case 2 -> "oncle/tante";
+            case 3 -> "grand-oncle/grand-tante";
+            default -> "arrière-".repeat(toAncestor2 - 3) + "grand-oncle/grand-tante";
+        };
+    }
+
+    private static String nephewLabel(int toAncestor1) {
+        return switch (toAncestor1) {
+            case 2 -> "neveu/nièce";
+            case 3 -> "petit-neveu/petite-nièce";
+            default -> "arrière-".repeat(toAncestor1 - 3) + "petit-neveu/petite-nièce";
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.genealogy.back_ro.graph;
+
+/**
+ * Moteur par défaut : les algorithmes écrits directement sur les tableaux de l'index résident,
+ * sans conversion ni allocation par nœud.
+ */
+public final class NativeGraphBackend implements GraphBackend {
+
+    public static final String NAME = "native";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int[] shortestPath(FamilyGraph graph, int source, int target) {
+        return ShortestPaths.bidirectionalBfs(graph, source, target);
+    }
+
+    @Override
+    public int[] commonAncestors(FamilyGraph graph, int first, int second) {
+        return CommonAncestors.minimal(graph, first, second);
+    }
+
+    @Override
+    public SpanningForest spanningForest(RelationshipGraph graph, int typeMask, SpanningForest.Algorithm algorithm) {
+        return SpanningForest.compute(graph, typeMask, algorithm);
+    }
+}
@@ -0,0 +1,19 @@
+package com.genealogy.back_ro.graph;
+
+/**
+ * Événement publié à l'enregistrement d'une personne : l'entité réécrit ses collections
+ * {@code person_relationships}, {@code person_relationship_types} et {@code person_relationship_weights},
+ * ses relations ont donc pu changer. Appliqué au {@link RelationshipGraph} après validation.
+ */
+public final class PersonRelationshipsEvent {
+
+    private final long personId;
+
+    public PersonRelationshipsEvent(long personId) {
+        this.personId = personId;
+    }
+
+    public long getPersonId() {
+        return personId;
+    }
+}
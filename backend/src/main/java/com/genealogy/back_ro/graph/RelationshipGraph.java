@@ -0,0 +1,237 @@
+package com.genealogy.back_ro.graph;
+
+import com.genealogy.back_ro.util.IntArrayList;
+import com.genealogy.back_ro.util.LongArrayList;
+import com.genealogy.back_ro.util.LongIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Graphe pondéré à arêtes multiples réunissant les liens parent-enfant ({@code person_parents})
+ * et les relations typées et pondérées ({@code person_relationships}, {@code person_relationship_weights},
+ * {@code person_relationship_types}).
+ *
+ * Les arêtes sortantes de chaque nœud sont stockées au format CSR, avec pour chaque arête
+ * sa cible, son type et son poids dans trois tableaux d'entiers parallèles. Deux personnes
+ * peuvent être reliées par plusieurs arêtes de types différents. Les instances sont immuables.
+ */
+public final class RelationshipGraph {
+
+    /** Arête d'un enfant vers l'un de ses parents */
+    public static final String PARENT = "PARENT";
+    /** Arête d'un parent vers l'un de ses enfants */
+    public static final String CHILD = "CHILD";
+    /** Relation de {@code person_relationships} sans type unique connu */
+    public static final String RELATED = "RELATED";
+
+    /** Les types sont combinés en masque de bits : au-delà, les relations prennent le type {@link #RELATED} */
+    public static final int MAX_TYPES = 32;
+
+    /** Masque de tous les types d'arêtes */
+    public static final int ALL_TYPES = -1;
+
+    private final LongIntHashMap index;
+    private final long[] ids;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] types;
+    private final int[] weights;
+    private final List<String> typeNames;
+
+    private RelationshipGraph(LongIntHashMap index, long[] ids, int[] offsets, int[] targets, int[] types,
+                              int[] weights, List<String> typeNames) {
+        this.index = index;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.types = types;
+        this.weights = weights;
+        this.typeNames = typeNames;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * @return l'indice de la personne, ou {@link FamilyGraph#NO_NODE} si elle est absente
+     */
+    public int indexOf(long personId) {
+        int node = index.get(personId);
+        return node == LongIntHashMap.MISSING ? FamilyGraph.NO_NODE : node;
+    }
+
+    public long idOf(int node) {
+        return ids[node];
+    }
+
+    /**
+     * @return indice de la première arête sortante du nœud
+     */
+    public int firstEdge(int node) {
+        return offsets[node];
+    }
+
+    /**
+     * @return indice suivant la dernière arête sortante du nœud
+     */
+    public int endEdge(int node) {
+        return offsets[node + 1];
+    }
+
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    public int type(int edge) {
+        return types[edge];
+    }
+
+    public int weight(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * @return les noms des types d'arêtes, dans l'ordre de leurs codes
+     */
+    public List<String> typeNames() {
+        return typeNames;
+    }
+
+    public String typeName(int type) {
+        return typeNames.get(type);
+    }
+
+    /**
+     * Masque des types nommés (sans distinction de casse) ; une collection vide ou {@code null} autorise tous les types
+     *
+     * @throws IllegalArgumentException si un type est inconnu
+     */
+    public int typeMask(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return ALL_TYPES;
+        }
+        int mask = 0;
+        for (String name : names) {
+            int type = typeNames.indexOf(name.trim().toUpperCase(Locale.ROOT));
+            if (type < 0) {
+                throw new IllegalArgumentException("Type de relation inconnu : " + name);
+            }
+            mask |= 1 << type;
+        }
+        return mask;
+    }
+
+    /**
+     * Construction incrémentale : les personnes puis les arêtes, dans n'importe quel ordre.
+     * Les arêtes dont une extrémité est inconnue sont ignorées au moment de {@link #build()}.
+     */
+    public static final class Builder {
+        private final LongIntHashMap index;
+        private final LongArrayList personIds = new LongArrayList(1024);
+        private final Map<String, Integer> typeCodes = new HashMap<>();
+        private final List<String> typeNames = new ArrayList<>();
+        private final IntArrayList edgeTypes = new IntArrayList();
+        private final IntArrayList edgeWeights = new IntArrayList();
+        private final LongArrayList fromIds = new LongArrayList(1024);
+        private final LongArrayList toIds = new LongArrayList(1024);
+
+        public Builder(int expectedPersons) {
+            index = new LongIntHashMap(expectedPersons);
+            typeCode(PARENT);
+            typeCode(CHILD);
+            typeCode(RELATED);
+        }
+
+        public Builder addPerson(long personId) {
+            if (index.get(personId) == LongIntHashMap.MISSING) {
+                index.put(personId, personIds.size());
+                personIds.add(personId);
+            }
+            return this;
+        }
+
+        /**
+         * @return le code du type, créé au besoin ; {@link #RELATED} une fois {@link #MAX_TYPES} atteint
+         */
+        public int typeCode(String name) {
+            String key = name == null || name.isBlank() ? RELATED : name.trim().toUpperCase(Locale.ROOT);
+            Integer code = typeCodes.get(key);
+            if (code == null) {
+                if (typeNames.size() == MAX_TYPES) {
+                    return typeCodes.get(RELATED);
+                }
+                code = typeNames.size();
+                typeCodes.put(key, code);
+                typeNames.add(key);
+            }
+            return code;
+        }
+
+        /**
+         * Ajoute les deux arêtes d'un lien parent-enfant, de poids 1
+         */
+        public Builder addParentLink(long childId, long parentId) {
+            addEdge(childId, parentId, typeCode(PARENT), 1);
+            addEdge(parentId, childId, typeCode(CHILD), 1);
+            return this;
+        }
+
+        /**
+         * Ajoute une arête orientée. Le poids est conservé tel quel : {@link BellmanFord} admet
+         * les poids négatifs, {@link WeightedPaths} compte pour 1 les poids inférieurs à 1.
+         */
+        public Builder addEdge(long fromId, long toId, int type, int weight) {
+            fromIds.add(fromId);
+            toIds.add(toId);
+            edgeTypes.add(type);
+            edgeWeights.add(weight);
+            return this;
+        }
+
+        public RelationshipGraph build() {
+            int nodeCount = personIds.size();
+            long[] ids = personIds.toArray();
+
+            // Tri par comptage des arêtes selon leur origine
+            int edgeCount = fromIds.size();
+            int[] from = new int[edgeCount];
+            int[] to = new int[edgeCount];
+            int[] offsets = new int[nodeCount + 1];
+            for (int e = 0; e < edgeCount; e++) {
+                from[e] = index.get(fromIds.get(e));
+                to[e] = index.get(toIds.get(e));
+                if (from[e] != LongIntHashMap.MISSING && to[e] != LongIntHashMap.MISSING) {
+                    offsets[from[e] + 1]++;
+                }
+            }
+            for (int node = 0; node < nodeCount; node++) {
+                offsets[node + 1] += offsets[node];
+            }
+            int total = offsets[nodeCount];
+            int[] targets = new int[total];
+            int[] types = new int[total];
+            int[] weights = new int[total];
+            int[] next = Arrays.copyOf(offsets, nodeCount);
+            for (int e = 0; e < edgeCount; e++) {
+                if (from[e] != LongIntHashMap.MISSING && to[e] != LongIntHashMap.MISSING) {
+                    int slot = next[from[e]]++;
+                    targets[slot] = to[e];
+                    types[slot] = edgeTypes.get(e);
+                    weights[slot] = edgeWeights.get(e);
+                }
+            }
+            return new RelationshipGraph(index, ids, offsets, targets, types, weights, List.copyOf(typeNames));
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.genealogy.back_ro.graph;
+
+import com.genealogy.back_ro.util.LongIntHashMap;
+import com.genealogy.back_ro.util.IndexedMinHeap;
+
+/**
+ * Recherche de plus court chemin entre deux personnes de {@link FamilyGraph},
+ * en suivant indifféremment les liens vers les parents et vers les enfants.
+ */
+public final class ShortestPaths {
+
+    private static final int[] NO_PATH = new int[0];
+
+    private static final int FORWARD = 1;
+    private static final int BACKWARD = 2;
+
+    private ShortestPaths() {
+    }
+
+    /**
+     * Reçoit le plus court chemin vers une cible dès qu'il est connu.
+     */
+    @FunctionalInterface
+    public interface TargetVisitor {
+        /**
+         * @param path les nœuds du chemin depuis la source, ou un tableau vide si la cible est inaccessible
+         */
+        void settled(int target, int[] path);
+    }
+
+    /**
+     * Choisit l'algorithme selon les poids : parcours en largeur bidirectionnel lorsque
+     * tous les poids sont égaux, Dijkstra sinon.
+     *
+     * @return les nœuds du chemin de {@code source} à {@code target} inclus, ou un tableau vide
+     */
+    public static int[] find(FamilyGraph graph, int source, int target, EdgeWeights weights) {
+        if (weights.isUniform()) {
+            return bidirectionalBfs(graph, source, target);
+        }
+        return dijkstra(graph, source, target, weights);
+    }
+
+    /**
+     * Parcours en largeur lancé simultanément depuis les deux extrémités. À chaque étape,
+     * le côté dont la frontière est la plus petite avance d'un niveau complet ; la recherche
+     * s'arrête dès que les deux frontières se rencontrent.
+     */
+    public static int[] bidirectionalBfs(FamilyGraph graph, int source, int target) {
+        if (source == target) {
+            return new int[]{source};
+        }
+
+        try (TraversalWorkspace workspace = TraversalWorkspace.acquire(graph.size())) {
+            int[] queue = workspace.queue;
+            int[] distance = workspace.distance;
+            int[] previous = workspace.previous;
+            int[] side = workspace.flags;
+
+            // File avant au début du tableau, file arrière à la fin : chaque nœud n'est mis en file qu'une fois
+            int forwardHead = 0;
+            int forwardTail = 0;
+            int backwardHead = graph.size() - 1;
+            int backwardTail = graph.size() - 1;
+
+            workspace.visit(source);
+            side[source] = FORWARD;
+            distance[source] = 0;
+            previous[source] = FamilyGraph.NO_NODE;
+            queue[forwardTail++] = source;
+
+            workspace.visit(target);
+            side[target] = BACKWARD;
+            distance[target] = 0;
+            previous[target] = FamilyGraph.NO_NODE;
+            queue[backwardTail--] = target;
+
+            int bestLength = Integer.MAX_VALUE;
+            int meetForward = FamilyGraph.NO_NODE;
+            int meetBackward = FamilyGraph.NO_NODE;
+
+            while (forwardHead < forwardTail && backwardHead > backwardTail) {
+                if (forwardTail - forwardHead <= backwardHead - backwardTail) {
+                    int levelEnd = forwardTail;
+                    while (forwardHead < levelEnd) {
+                        int current = queue[forwardHead++];
+                        for (int k = 0; k < graph.degree(current); k++) {
+                            int neighbor = graph.neighbor(current, k);
+                            if (workspace.visit(neighbor)) {
+                                side[neighbor] = FORWARD;
+                                distance[neighbor] = distance[current] + 1;
+                                previous[neighbor] = current;
+                                queue[forwardTail++] = neighbor;
+                            } else if (side[neighbor] == BACKWARD && distance[current] + 1 + distance[neighbor] < bestLength) {
+                                bestLength = distance[current] + 1 + distance[neighbor];
+                                meetForward = current;
+                                meetBackward = neighbor;
+                            }
+                        }
+                    }
+                } else {
+                    int levelEnd = backwardTail;
+                    while (backwardHead > levelEnd) {
+                        int current = queue[backwardHead--];
+                        for (int k = 0; k < graph.degree(current); k++) {
+                            int neighbor = graph.neighbor(current, k);
+                            if (workspace.visit(neighbor)) {
+                                side[neighbor] = BACKWARD;
+                                distance[neighbor] = distance[current] + 1;
+                                previous[neighbor] = current;
+                                queue[backwardTail--] = neighbor;
+                            } else if (side[neighbor] == FORWARD && distance[neighbor] + 1 + distance[current] < bestLength) {
+                                bestLength = distance[neighbor] + 1 + distance[current];
+                                meetForward = neighbor;
+                                meetBackward = current;
+                            }
+                        }
+                    }
+                }
+
+                // Le niveau a été traité en entier : la meilleure jonction trouvée est minimale
+                if (bestLength != Integer.MAX_VALUE) {
+                    return joinPaths(previous, meetForward, meetBackward, bestLength + 1);
+                }
+            }
+
+            return NO_PATH;
+        }
+    }
+
+    /**
+     * Parcours en largeur depuis une source vers plusieurs cibles (liens de poids uniforme).
+     * Le voisinage commun n'est exploré qu'une fois ; chaque cible est signalée dès qu'elle est
+     * atteinte et le parcours s'arrête lorsque toutes l'ont été. Les cibles en double ne sont
+     * signalées qu'une fois.
+     */
+    public static void multiTargetBfs(FamilyGraph graph, int source, int[] targets, TargetVisitor visitor) {
+        LongIntHashMap remaining = new LongIntHashMap(targets.length);
+        for (int target : targets) {
+            remaining.put(target, target);
+        }
+
+        try (TraversalWorkspace workspace = TraversalWorkspace.acquire(graph.size())) {
+            int[] queue = workspace.queue;
+            int[] previous = workspace.previous;
+            int head = 0;
+            int tail = 0;
+
+            workspace.visit(source);
+            previous[source] = FamilyGraph.NO_NODE;
+            queue[tail++] = source;
+
+            while (head < tail && remaining.size() > 0) {
+                int current = queue[head++];
+                if (remaining.remove(current) != LongIntHashMap.MISSING) {
+                    visitor.settled(current, reconstructPath(previous, current));
+                    if (remaining.size() == 0) {
+                        return;
+                    }
+                }
+                for (int k = 0; k < graph.degree(current); k++) {
+                    int neighbor = graph.neighbor(current, k);
+                    if (workspace.visit(neighbor)) {
+                        previous[neighbor] = current;
+                        queue[tail++] = neighbor;
+                    }
+                }
+            }
+
+            for (int target : targets) {
+                if (remaining.remove(target) != LongIntHashMap.MISSING) {
+                    visitor.settled(target, NO_PATH);
+                }
+            }
+        }
+    }
+
+    private static int[] joinPaths(int[] previous, int meetForward, int meetBackward, int length) {
+        int[] path = new int[length];
+        int position = distanceToRoot(previous, meetForward);
+        for (int node = meetForward; node != FamilyGraph.NO_NODE; node = previous[node]) {
+            path[position--] = node;
+        }
+        position = length - distanceToRoot(previous, meetBackward) - 1;
+        for (int node = meetBackward; node != FamilyGraph.NO_NODE; node = previous[node]) {
+            path[position++] = node;
+        }
+        return path;
+    }
+
+    private static int distanceToRoot(int[] previous, int node) {
+        int steps = 0;
+        for (int current = previous[node]; current != FamilyGraph.NO_NODE; current = previous[current]) {
+            steps++;
+        }
+        return steps;
+    }
+
+    /**
+     * Algorithme de Dijkstra sur tas indexé : une entrée par nœud, dont la priorité est abaissée sur place.
+     */
+    public static int[] dijkstra(FamilyGraph graph, int source, int target, EdgeWeights weights) {
+        try (TraversalWorkspace workspace = TraversalWorkspace.acquire(graph.size())) {
+            int[] distances = workspace.distance;
+            int[] previous = workspace.previous;
+            int[] settled = workspace.flags;
+            IndexedMinHeap queue = IndexedMinHeap.acquire(graph.size());
+
+            workspace.visit(source);
+            distances[source] = 0;
+            previous[source] = FamilyGraph.NO_NODE;
+            queue.offer(source, 0);
+
+            while (!queue.isEmpty()) {
+                int current = queue.poll();
+                settled[current] = 1;
+
+                if (current == target) {
+                    return reconstructPath(previous, target);
+                }
+
+                for (int k = 0; k < graph.degree(current); k++) {
+                    int neighbor = graph.neighbor(current, k);
+                    int newDistance = distances[current] + weights.weight(current, neighbor);
+                    if (workspace.visit(neighbor) || (settled[neighbor] == 0 && newDistance < distances[neighbor])) {
+                        distances[neighbor] = newDistance;
+                        previous[neighbor] = current;
+                        queue.offer(neighbor, newDistance);
+                    }
+                }
+            }
+
+            return NO_PATH;
+        }
+    }
+
+    private static int[] reconstructPath(int[] previous, int target) {
+        int length = distanceToRoot(previous, target) + 1;
+        int[] path = new int[length];
+        for (int node = target; node != FamilyGraph.NO_NODE; node = previous[node]) {
+            path[--length] = node;
+        }
+        return path;
+    }
+}
@@ -0,0 +1,214 @@
+package com.genealogy.back_ro.graph;
+
+import com.genealogy.back_ro.util.DisjointSet;
+import com.genealogy.back_ro.util.IndexedMinHeap;
+
+import java.util.Arrays;
+
+/**
+ * Forêt couvrante de poids minimal du graphe des relations ({@link RelationshipGraph}), les arêtes
+ * étant considérées sans leur sens : un arbre par famille, personnes isolées comprises.
+ *
+ * Deux algorithmes, de même résultat au départage près des arêtes de même poids :
+ * Prim sur un tas indexé, en O(m log n), pour les graphes denses ; Kruskal sur un tableau
+ * d'arêtes primitif trié en parallèle puis réuni par union-find, en O(m log m), pour les graphes
+ * creux, où le tri d'un tableau de {@code long} l'emporte sur les accès dispersés au tas.
+ */
+public final class SpanningForest {
+
+    public enum Algorithm {
+        /** Choix selon la densité du graphe ({@link #choose(int, int)}) */
+        AUTO,
+        PRIM,
+        KRUSKAL
+    }
+
+    private final RelationshipGraph graph;
+    private final Algorithm algorithm;
+    /** Source de chaque arête retenue, dans le sens où elle est enregistrée */
+    private final int[] sources;
+    /** Arêtes retenues, indices dans {@link RelationshipGraph} */
+    private final int[] edges;
+    private final int size;
+    private final long totalWeight;
+
+    SpanningForest(RelationshipGraph graph, Algorithm algorithm, int[] sources, int[] edges, int size) {
+        this.graph = graph;
+        this.algorithm = algorithm;
+        this.sources = sources;
+        this.edges = edges;
+        this.size = size;
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            total += graph.weight(edges[i]);
+        }
+        this.totalWeight = total;
+    }
+
+    /**
+     * @param typeMask types d'arêtes retenus ({@code 1 << type}), ou {@link RelationshipGraph#ALL_TYPES}
+     */
+    public static SpanningForest compute(RelationshipGraph graph, int typeMask, Algorithm algorithm) {
+        if (algorithm == Algorithm.AUTO) {
+            algorithm = choose(graph.size(), graph.edgeCount());
+        }
+        return algorithm == Algorithm.PRIM ? prim(graph, typeMask) : kruskal(graph, typeMask);
+    }
+
+    /**
+     * Prim dès que le nombre d'arêtes dépasse n log2 n : le tri de Kruskal devient alors
+     * plus coûteux que les diminutions de priorité de Prim, bornées par le nombre de nœuds.
+     */
+    static Algorithm choose(int nodeCount, int edgeCount) {
+        int log = 32 - Integer.numberOfLeadingZeros(Math.max(1, nodeCount));
+        return (long) edgeCount > (long) nodeCount * log ? Algorithm.PRIM : Algorithm.KRUSKAL;
+    }
+
+    static SpanningForest prim(RelationshipGraph graph, int typeMask) {
+        int n = graph.size();
+
+        // Voisinage sans le sens des arêtes : chaque arête u → v est vue depuis u (e) et depuis v (~e)
+        int[] offsets = new int[n + 1];
+        for (int node = 0; node < n; node++) {
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                if ((typeMask & (1 << graph.type(edge))) != 0) {
+                    offsets[node + 1]++;
+                    offsets[graph.target(edge) + 1]++;
+                }
+            }
+        }
+        for (int node = 0; node < n; node++) {
+            offsets[node + 1] += offsets[node];
+        }
+        int[] neighbours = new int[offsets[n]];
+        int[] edgeRefs = new int[offsets[n]];
+        int[] next = Arrays.copyOf(offsets, n);
+        for (int node = 0; node < n; node++) {
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                if ((typeMask & (1 << graph.type(edge))) != 0) {
+                    int target = graph.target(edge);
+                    int slot = next[node]++;
+                    neighbours[slot] = target;
+                    edgeRefs[slot] = edge;
+                    slot = next[target]++;
+                    neighbours[slot] = node;
+                    edgeRefs[slot] = ~edge;
+                }
+            }
+        }
+
+        boolean[] inTree = new boolean[n];
+        int[] bestRef = new int[n];
+        int[] bestFrom = new int[n];
+        int[] sources = new int[Math.max(0, n - 1)];
+        int[] edges = new int[sources.length];
+        int count = 0;
+        IndexedMinHeap heap = IndexedMinHeap.acquire(n);
+        for (int root = 0; root < n; root++) {
+            if (inTree[root]) {
+                continue;
+            }
+            int node = root;
+            while (true) {
+                inTree[node] = true;
+                if (node != root) {
+                    int ref = bestRef[node];
+                    edges[count] = ref >= 0 ? ref : ~ref;
+                    sources[count] = ref >= 0 ? bestFrom[node] : node;
+                    count++;
+                }
+                for (int k = offsets[node]; k < offsets[node + 1]; k++) {
+                    int neighbour = neighbours[k];
+                    int ref = edgeRefs[k];
+                    if (!inTree[neighbour] && heap.offer(neighbour, graph.weight(ref >= 0 ? ref : ~ref))) {
+                        bestRef[neighbour] = ref;
+                        bestFrom[neighbour] = node;
+                    }
+                }
+                if (heap.isEmpty()) {
+                    break;
+                }
+                node = heap.poll();
+            }
+        }
+        return new SpanningForest(graph, Algorithm.PRIM, sources, edges, count);
+    }
+
+    static SpanningForest kruskal(RelationshipGraph graph, int typeMask) {
+        int n = graph.size();
+
+        // Clé triable : poids décalé en non signé sur les 33 bits de poids fort, indice de l'arête ensuite
+        long[] keys = new long[graph.edgeCount()];
+        int[] edgeSources = new int[graph.edgeCount()];
+        int candidates = 0;
+        for (int node = 0; node < n; node++) {
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                edgeSources[edge] = node;
+                if ((typeMask & (1 << graph.type(edge))) != 0 && graph.target(edge) != node) {
+                    keys[candidates++] = ((long) graph.weight(edge) - Integer.MIN_VALUE) << 31 | edge;
+                }
+            }
+        }
+        Arrays.parallelSort(keys, 0, candidates);
+
+        DisjointSet sets = new DisjointSet(n);
+        int[] sources = new int[Math.max(0, n - 1)];
+        int[] edges = new int[sources.length];
+        int count = 0;
+        for (int i = 0; i < candidates && count < sources.length; i++) {
+            int edge = (int) (keys[i] & Integer.MAX_VALUE);
+            int source = edgeSources[edge];
+            int target = graph.target(edge);
+            if (sets.find(source) != sets.find(target)) {
+                sets.union(source, target);
+                sources[count] = source;
+                edges[count] = edge;
+                count++;
+            }
+        }
+        return new SpanningForest(graph, Algorithm.KRUSKAL, sources, edges, count);
+    }
+
+    public RelationshipGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * @return l'algorithme effectivement utilisé
+     */
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * @return nombre d'arêtes de la forêt
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return nombre d'arbres, personnes isolées comprises
+     */
+    public int getTreeCount() {
+        return graph.size() - size;
+    }
+
+    public long getTotalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * @return nœud source de la {@code i}-ème arête, dans le sens où elle est enregistrée
+     */
+    public int source(int i) {
+        return sources[i];
+    }
+
+    /**
+     * @return indice dans {@link RelationshipGraph} de la {@code i}-ème arête
+     */
+    public int edge(int i) {
+        return edges[i];
+    }
+}
@@ -0,0 +1,99 @@
+package com.genealogy.back_ro.graph;
+
+import java.util.Arrays;
+import java.util.concurrent.LinkedBlockingDeque;
+
+/**
+ * Tableaux de travail réutilisables pour les parcours sur {@link FamilyGraph}.
+ * Un numéro d'époque évite de réinitialiser les tableaux à chaque requête : une case
+ * n'est valide que si {@code stamp[node] == epoch}.
+ *
+ * Les instances sont prêtées par {@link #acquire(int)} et rendues par {@link #close()}
+ * (try-with-resources). Le réservoir en conserve au plus {@link #POOL_CAPACITY} : au-delà,
+ * les instances rendues sont abandonnées au ramasse-miettes, si bien que la mémoire retenue
+ * ne dépend pas du nombre de threads de requête.
+ */
+public final class TraversalWorkspace implements AutoCloseable {
+
+    /** Nombre maximal d'instances conservées entre deux parcours */
+    static final int POOL_CAPACITY = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    /** Dernière instance rendue en tête : ses tableaux ont le plus de chances d'être encore en cache */
+    private static final LinkedBlockingDeque<TraversalWorkspace> POOL = new LinkedBlockingDeque<>(POOL_CAPACITY);
+
+    private int[] stamp = new int[0];
+    private int epoch;
+
+    /** Distance (ou profondeur) associée au nœud pendant le parcours */
+    public int[] distance = new int[0];
+
+    /** Prédécesseur du nœud dans le parcours, ou {@link FamilyGraph#NO_NODE} */
+    public int[] previous = new int[0];
+
+    /** File ou pile de nœuds à explorer */
+    public int[] queue = new int[0];
+
+    /** Drapeaux propres à l'algorithme, remis à zéro lors de la première visite du nœud */
+    public int[] flags = new int[0];
+
+    private TraversalWorkspace() {
+    }
+
+    /**
+     * Prête un espace de travail dimensionné pour {@code nodeCount} nœuds et vidé de tout marquage
+     * précédent ; il doit être rendu par {@link #close()}.
+     */
+    public static TraversalWorkspace acquire(int nodeCount) {
+        TraversalWorkspace workspace = POOL.pollFirst();
+        if (workspace == null) {
+            workspace = new TraversalWorkspace();
+        }
+        workspace.reset(nodeCount);
+        return workspace;
+    }
+
+    /**
+     * Rend l'espace de travail au réservoir, ou l'abandonne si le réservoir est plein
+     */
+    @Override
+    public void close() {
+        POOL.offerFirst(this);
+    }
+
+    private void reset(int nodeCount) {
+        // Tableaux trop petits, ou plus de deux fois trop grands après une réduction du graphe
+        if (stamp.length < nodeCount || stamp.length > 2 * Math.max(nodeCount, 1024)) {
+            int capacity = stamp.length < nodeCount
+                    ? Math.max(nodeCount, stamp.length + (stamp.length >> 1))
+                    : nodeCount;
+            stamp = new int[capacity];
+            distance = new int[capacity];
+            previous = new int[capacity];
+            queue = new int[capacity];
+            flags = new int[capacity];
+            epoch = 0;
+        }
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            epoch = 1;
+        }
+    }
+
+    public boolean isVisited(int node) {
+        return stamp[node] == epoch;
+    }
+
+    /**
+     * Marque le nœud comme visité.
+     *
+     * @return {@code false} s'il l'était déjà
+     */
+    public boolean visit(int node) {
+        if (stamp[node] == epoch) {
+            return false;
+        }
+        stamp[node] = epoch;
+        flags[node] = 0;
+        return true;
+    }
+}
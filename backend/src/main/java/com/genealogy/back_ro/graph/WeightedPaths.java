@@ -0,0 +1,104 @@
+package com.genealogy.back_ro.graph;
+
+import com.genealogy.back_ro.util.IndexedMinHeap;
+
+/**
+ * Plus court chemin pondéré sur {@link RelationshipGraph} (Dijkstra sur tas 4-aire indexé),
+ * limité aux arêtes dont le type figure dans un masque. Dijkstra exige des poids positifs :
+ * un poids nul ou négatif compte pour 1 (voir {@link BellmanFord} pour les poids négatifs).
+ */
+public final class WeightedPaths {
+
+    private static final int NO_EDGE = -1;
+
+    private WeightedPaths() {
+    }
+
+    /**
+     * Chemin trouvé : ses nœuds et, pour chacun, l'arête qui y mène ({@code -1} pour la source)
+     */
+    public static final class Path {
+        private final int[] nodes;
+        private final int[] edges;
+        private final long totalWeight;
+
+        Path(int[] nodes, int[] edges, long totalWeight) {
+            this.nodes = nodes;
+            this.edges = edges;
+            this.totalWeight = totalWeight;
+        }
+
+        public int[] getNodes() {
+            return nodes;
+        }
+
+        public int[] getEdges() {
+            return edges;
+        }
+
+        public long getTotalWeight() {
+            return totalWeight;
+        }
+    }
+
+    /**
+     * @param typeMask types d'arêtes autorisés ({@code 1 << type}), ou {@link RelationshipGraph#ALL_TYPES}
+     * @return le chemin de poids minimal, ou {@code null} si la cible est inaccessible
+     */
+    public static Path dijkstra(RelationshipGraph graph, int source, int target, int typeMask) {
+        try (TraversalWorkspace workspace = TraversalWorkspace.acquire(graph.size())) {
+            int[] distances = workspace.distance;
+            int[] previous = workspace.previous;
+            // Arête menant à chaque nœud ; les drapeaux marquent les nœuds définitivement traités
+            int[] viaEdge = workspace.queue;
+            int[] settled = workspace.flags;
+            IndexedMinHeap heap = IndexedMinHeap.acquire(graph.size());
+
+            workspace.visit(source);
+            distances[source] = 0;
+            previous[source] = FamilyGraph.NO_NODE;
+            viaEdge[source] = NO_EDGE;
+            heap.offer(source, 0);
+
+            while (!heap.isEmpty()) {
+                int current = heap.poll();
+                settled[current] = 1;
+                if (current == target) {
+                    return path(graph, previous, viaEdge, distances, target);
+                }
+
+                for (int edge = graph.firstEdge(current); edge < graph.endEdge(current); edge++) {
+                    if ((typeMask & (1 << graph.type(edge))) == 0) {
+                        continue;
+                    }
+                    int next = graph.target(edge);
+                    // Poids saturé : un chemin absurdement long ne doit pas repasser en négatif
+                    int distance = (int) Math.min(Integer.MAX_VALUE, (long) distances[current] + Math.max(1, graph.weight(edge)));
+                    if (!workspace.visit(next) && (settled[next] == 1 || distance >= distances[next])) {
+                        continue;
+                    }
+                    distances[next] = distance;
+                    previous[next] = current;
+                    viaEdge[next] = edge;
+                    heap.offer(next, distance);
+                }
+            }
+            return null;
+        }
+    }
+
+    private static Path path(RelationshipGraph graph, int[] previous, int[] viaEdge, int[] distances, int target) {
+        int length = 0;
+        for (int node = target; node != FamilyGraph.NO_NODE; node = previous[node]) {
+            length++;
+        }
+        int[] nodes = new int[length];
+        int[] edges = new int[length];
+        for (int node = target; node != FamilyGraph.NO_NODE; node = previous[node]) {
+            length--;
+            nodes[length] = node;
+            edges[length] = viaEdge[node];
+        }
+        return new Path(nodes, edges, distances[target]);
+    }
+}
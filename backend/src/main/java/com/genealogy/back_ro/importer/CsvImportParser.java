@@ -0,0 +1,178 @@
+package com.genealogy.back_ro.importer;
+
+import com.genealogy.back_ro.search.NameNormalizer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lecture d'un fichier CSV (RFC 4180, séparateur {@code ,} ou {@code ;} détecté sur l'en-tête),
+ * une personne par ligne.
+ *
+ * Colonnes reconnues, en anglais ou en français : {@code id}, {@code firstName}/{@code prenom},
+ * {@code lastName}/{@code nom}, {@code birthDate}, {@code deathDate}, {@code birthPlace},
+ * {@code biography}, et pour les parents {@code fatherId}/{@code pere}, {@code motherId}/{@code mere}
+ * ou {@code parentIds} (identifiants séparés par {@code |} ou des espaces).
+ */
+public class CsvImportParser implements ImportParser {
+
+    private static final Map<String, String> COLUMNS = new HashMap<>();
+
+    static {
+        alias("id", "id", "externalid", "ref", "reference");
+        alias("firstName", "firstname", "givenname", "given", "prenom", "prenoms");
+        alias("lastName", "lastname", "surname", "familyname", "nom", "nomdefamille");
+        alias("birthDate", "birthdate", "birth", "datedenaissance", "naissance");
+        alias("deathDate", "deathdate", "death", "datededeces", "deces");
+        alias("birthPlace", "birthplace", "placeofbirth", "lieudenaissance", "lieu");
+        alias("biography", "biography", "notes", "note", "biographie");
+        alias("father", "fatherid", "father", "pereid", "pere");
+        alias("mother", "motherid", "mother", "mereid", "mere");
+        alias("parents", "parentids", "parents", "parentsids");
+    }
+
+    private static void alias(String column, String... names) {
+        for (String name : names) {
+            COLUMNS.put(name, column);
+        }
+    }
+
+    @Override
+    public void parse(InputStream input, ImportSink sink) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16);
+        reader.mark(1 << 16);
+        String firstLine = reader.readLine();
+        if (firstLine == null) {
+            return;
+        }
+        reader.reset();
+        char separator = count(firstLine, ';') > count(firstLine, ',') ? ';' : ',';
+
+        List<String> fields = new ArrayList<>();
+        if (!readRecord(reader, separator, fields)) {
+            return;
+        }
+        Map<String, Integer> header = header(fields);
+        if (!header.containsKey("id")) {
+            throw new RuntimeException("Colonne « id » absente de l'en-tête CSV");
+        }
+
+        while (readRecord(reader, separator, fields)) {
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue;
+            }
+            String id = value(fields, header, "id");
+            if (id == null) {
+                continue;
+            }
+            PersonRecord person = new PersonRecord(id);
+            person.setFirstName(value(fields, header, "firstName"));
+            person.setLastName(value(fields, header, "lastName"));
+            person.setBirthDate(ImportDates.parse(value(fields, header, "birthDate")));
+            person.setDeathDate(ImportDates.parse(value(fields, header, "deathDate")));
+            person.setBirthPlace(value(fields, header, "birthPlace"));
+            person.setBiography(value(fields, header, "biography"));
+            sink.person(person);
+
+            link(sink, id, value(fields, header, "father"));
+            link(sink, id, value(fields, header, "mother"));
+            String parents = value(fields, header, "parents");
+            if (parents != null) {
+                for (String parent : parents.split("[|\\s]+")) {
+                    link(sink, id, parent);
+                }
+            }
+        }
+    }
+
+    private static void link(ImportSink sink, String child, String parent) {
+        if (parent != null && !parent.isBlank()) {
+            sink.parentLink(child, parent.trim());
+        }
+    }
+
+    private static Map<String, Integer> header(List<String> fields) {
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            String name = NameNormalizer.normalize(fields.get(i).replace("\uFEFF", "")).replaceAll("[^a-z0-9]", "");
+            String column = COLUMNS.get(name);
+            if (column != null) {
+                header.putIfAbsent(column, i);
+            }
+        }
+        return header;
+    }
+
+    private static String value(List<String> fields, Map<String, Integer> header, String column) {
+        Integer index = header.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Lit un enregistrement, éventuellement sur plusieurs lignes si un champ entre guillemets
+     * contient un saut de ligne.
+     *
+     * @return {@code false} en fin de fichier
+     */
+    static boolean readRecord(BufferedReader reader, char separator, List<String> fields) throws IOException {
+        fields.clear();
+        int c = reader.read();
+        if (c < 0) {
+            return false;
+        }
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c >= 0) {
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next >= 0) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append(ch);
+                }
+            } else if (ch == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (ch == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n') {
+                break;
+            } else if (ch != '\r') {
+                field.append(ch);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return true;
+    }
+
+    private static int count(String line, char ch) {
+        int count = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == ch) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
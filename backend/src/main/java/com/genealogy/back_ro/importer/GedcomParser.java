@@ -0,0 +1,212 @@
+package com.genealogy.back_ro.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lecture ligne à ligne d'un fichier GEDCOM 5.5.1 (encodage UTF-8 ou ASCII).
+ *
+ * Seuls les enregistrements {@code INDI} (nom, naissance, décès, notes) et {@code FAM}
+ * (liens {@code HUSB}/{@code WIFE} → {@code CHIL}) sont exploités ; les autres sont ignorés.
+ * Un individu est transmis dès que son enregistrement se termine, une famille donne
+ * un lien par couple (enfant, parent).
+ */
+public class GedcomParser implements ImportParser {
+
+    private enum Event {NONE, NAME, BIRTH, DEATH, NOTE}
+
+    private final StringBuilder note = new StringBuilder();
+
+    private String recordType;
+    private PersonRecord person;
+    private Event event = Event.NONE;
+    private String husband;
+    private String wife;
+    private final List<String> children = new ArrayList<>();
+
+    @Override
+    public void parse(InputStream input, ImportSink sink) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16);
+        String line;
+        boolean first = true;
+        while ((line = reader.readLine()) != null) {
+            if (first) {
+                first = false;
+                if (!line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                    line = line.substring(1);
+                }
+            }
+            // Les espaces de fin sont conservés : ils comptent dans les valeurs découpées par CONC
+            line = line.stripLeading();
+            if (line.isBlank()) {
+                continue;
+            }
+            parseLine(line, sink);
+        }
+        endRecord(sink);
+    }
+
+    private void parseLine(String line, ImportSink sink) {
+        // <niveau> [@xref@] <tag> [valeur]
+        int space = line.indexOf(' ');
+        if (space < 0) {
+            return;
+        }
+        int level;
+        try {
+            level = Integer.parseInt(line.substring(0, space));
+        } catch (NumberFormatException e) {
+            return;
+        }
+        String rest = line.substring(space + 1);
+        String xref = null;
+        if (rest.startsWith("@")) {
+            int end = rest.indexOf("@ ", 1);
+            if (end < 0) {
+                return;
+            }
+            xref = rest.substring(0, end + 1);
+            rest = rest.substring(end + 2);
+        }
+        int tagEnd = rest.indexOf(' ');
+        String tag = tagEnd < 0 ? rest : rest.substring(0, tagEnd);
+        String value = tagEnd < 0 ? "" : rest.substring(tagEnd + 1);
+        if (!value.startsWith("@") && value.contains("@@")) {
+            value = value.replace("@@", "@");
+        }
+
+        if (level == 0) {
+            endRecord(sink);
+            recordType = tag;
+            if ("INDI".equals(tag) && xref != null) {
+                person = new PersonRecord(xref);
+            } else if (!"FAM".equals(tag)) {
+                recordType = null;
+            }
+            return;
+        }
+        if ("INDI".equals(recordType)) {
+            individual(level, tag, value);
+        } else if ("FAM".equals(recordType) && level == 1) {
+            switch (tag) {
+                case "HUSB" -> husband = value.trim();
+                case "WIFE" -> wife = value.trim();
+                case "CHIL" -> children.add(value.trim());
+                default -> {
+                }
+            }
+        }
+    }
+
+    private void individual(int level, String tag, String value) {
+        if (level == 1) {
+            event = Event.NONE;
+            switch (tag) {
+                case "NAME" -> {
+                    // Seul le premier NAME est retenu, les suivants sont des variantes
+                    if (person.getLastName() == null && person.getFirstName() == null) {
+                        name(value);
+                        event = Event.NAME;
+                    }
+                }
+                case "BIRT" -> event = Event.BIRTH;
+                case "DEAT" -> event = Event.DEATH;
+                case "NOTE" -> {
+                    // Les renvois vers un enregistrement NOTE (@N1@) ne sont pas suivis
+                    if (!value.startsWith("@")) {
+                        appendNote("\n", value);
+                        event = Event.NOTE;
+                    }
+                }
+                default -> {
+                }
+            }
+            return;
+        }
+        if (level == 2) {
+            switch (event) {
+                case BIRTH, DEATH -> {
+                    if ("DATE".equals(tag)) {
+                        if (event == Event.BIRTH) {
+                            person.setBirthDate(ImportDates.parse(value));
+                        } else {
+                            person.setDeathDate(ImportDates.parse(value));
+                        }
+                    } else if ("PLAC".equals(tag) && event == Event.BIRTH) {
+                        person.setBirthPlace(value.trim());
+                    }
+                }
+                case NOTE -> {
+                    if ("CONC".equals(tag)) {
+                        appendNote("", value);
+                    } else if ("CONT".equals(tag)) {
+                        appendNote("\n", value);
+                    }
+                }
+                case NAME -> {
+                    // GIVN et SURN précisent le nom lu sur la ligne NAME
+                    if ("GIVN".equals(tag)) {
+                        person.setFirstName(value.trim());
+                    } else if ("SURN".equals(tag)) {
+                        person.setLastName(value.trim());
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    /**
+     * « Jean Pierre /Dupont/ » : le nom de famille est entre barres obliques
+     */
+    private void name(String value) {
+        int open = value.indexOf('/');
+        if (open < 0) {
+            person.setFirstName(value.trim());
+            return;
+        }
+        int close = value.indexOf('/', open + 1);
+        String surname = close < 0 ? value.substring(open + 1) : value.substring(open + 1, close);
+        String given = (value.substring(0, open) + " " + (close < 0 ? "" : value.substring(close + 1))).trim();
+        person.setFirstName(given.replaceAll("\\s+", " "));
+        person.setLastName(surname.trim());
+    }
+
+    private void appendNote(String separator, String value) {
+        if (note.length() > 0) {
+            note.append(separator);
+        }
+        note.append(value);
+    }
+
+    private void endRecord(ImportSink sink) {
+        if (person != null) {
+            if (note.length() > 0) {
+                person.setBiography(note.toString());
+            }
+            sink.person(person);
+        } else if ("FAM".equals(recordType)) {
+            for (String child : children) {
+                if (husband != null && !husband.isEmpty()) {
+                    sink.parentLink(child, husband);
+                }
+                if (wife != null && !wife.isEmpty()) {
+                    sink.parentLink(child, wife);
+                }
+            }
+        }
+        recordType = null;
+        person = null;
+        event = Event.NONE;
+        note.setLength(0);
+        husband = null;
+        wife = null;
+        children.clear();
+    }
+}
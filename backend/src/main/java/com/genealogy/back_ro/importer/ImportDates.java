@@ -0,0 +1,69 @@
+package com.genealogy.back_ro.importer;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Lecture tolérante des dates d'import : ISO ({@code 1900-01-31}), française ({@code 31/01/1900})
+ * et GEDCOM ({@code 31 JAN 1900}, {@code ABT JAN 1900}, {@code BEF 1900}). Une date incomplète
+ * est ramenée au premier jour du mois ou de l'année ; une date illisible est ignorée.
+ */
+final class ImportDates {
+
+    private static final Map<String, Integer> GEDCOM_MONTHS = Map.ofEntries(
+            Map.entry("JAN", 1), Map.entry("FEB", 2), Map.entry("MAR", 3), Map.entry("APR", 4),
+            Map.entry("MAY", 5), Map.entry("JUN", 6), Map.entry("JUL", 7), Map.entry("AUG", 8),
+            Map.entry("SEP", 9), Map.entry("OCT", 10), Map.entry("NOV", 11), Map.entry("DEC", 12));
+
+    private static final Pattern FRENCH = Pattern.compile("(\\d{1,2})/(\\d{1,2})/(\\d{4})");
+    private static final Pattern GEDCOM = Pattern.compile("(?:(\\d{1,2}) )?(?:([A-Z]{3}) )?(\\d{3,4})");
+    private static final Pattern GEDCOM_QUALIFIERS = Pattern.compile("^(ABT|CAL|EST|BEF|AFT|FROM|TO|BET|INT)\\s+");
+
+    private ImportDates() {
+    }
+
+    static LocalDate parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String text = value.trim();
+        try {
+            return LocalDate.parse(text);
+        } catch (DateTimeParseException e) {
+            // Autres formats ci-dessous
+        }
+
+        Matcher french = FRENCH.matcher(text);
+        if (french.matches()) {
+            return date(Integer.parseInt(french.group(3)), Integer.parseInt(french.group(2)), Integer.parseInt(french.group(1)));
+        }
+
+        String gedcom = GEDCOM_QUALIFIERS.matcher(text.toUpperCase(Locale.ROOT)).replaceFirst("");
+        // « BET 1900 AND 1910 » : seule la première date est retenue
+        int and = gedcom.indexOf(" AND ");
+        if (and >= 0) {
+            gedcom = gedcom.substring(0, and);
+        }
+        Matcher matcher = GEDCOM.matcher(gedcom.trim());
+        if (matcher.matches()) {
+            Integer month = matcher.group(2) == null ? Integer.valueOf(1) : GEDCOM_MONTHS.get(matcher.group(2));
+            int day = matcher.group(1) == null ? 1 : Integer.parseInt(matcher.group(1));
+            if (month != null) {
+                return date(Integer.parseInt(matcher.group(3)), month, day);
+            }
+        }
+        return null;
+    }
+
+    private static LocalDate date(int year, int month, int day) {
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.genealogy.back_ro.importer;
+
+import java.util.Locale;
+
+/**
+ * Formats de fichier acceptés par l'import.
+ */
+public enum ImportFormat {
+    GEDCOM,
+    CSV,
+    JSON;
+
+    public ImportParser parser() {
+        return switch (this) {
+            case GEDCOM -> new GedcomParser();
+            case CSV -> new CsvImportParser();
+            case JSON -> new JsonImportParser();
+        };
+    }
+
+    /**
+     * Déduit le format de l'extension du fichier ({@code .ged}, {@code .csv}, {@code .json}).
+     */
+    public static ImportFormat fromFileName(String fileName) {
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".ged") || name.endsWith(".gedcom")) {
+            return GEDCOM;
+        }
+        if (name.endsWith(".csv")) {
+            return CSV;
+        }
+        if (name.endsWith(".json")) {
+            return JSON;
+        }
+        throw new RuntimeException("Format de fichier non reconnu : " + fileName);
+    }
+}
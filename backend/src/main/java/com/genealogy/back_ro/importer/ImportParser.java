@@ -0,0 +1,13 @@
+package com.genealogy.back_ro.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Lecture incrémentale d'un format d'import : les enregistrements sont transmis au fur et à mesure,
+ * sans que le fichier soit chargé en mémoire.
+ */
+public interface ImportParser {
+
+    void parse(InputStream input, ImportSink sink) throws IOException;
+}
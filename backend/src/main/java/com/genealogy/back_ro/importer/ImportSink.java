@@ -0,0 +1,12 @@
+package com.genealogy.back_ro.importer;
+
+/**
+ * Reçoit les enregistrements au fil de la lecture d'un fichier d'import.
+ * Un lien peut désigner des personnes qui n'apparaissent que plus loin dans le fichier.
+ */
+public interface ImportSink {
+
+    void person(PersonRecord person);
+
+    void parentLink(String childExternalId, String parentExternalId);
+}
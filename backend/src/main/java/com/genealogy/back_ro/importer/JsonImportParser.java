@@ -0,0 +1,91 @@
+package com.genealogy.back_ro.importer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Lecture en flux d'un document JSON : soit un tableau de personnes, soit un objet dont
+ * le champ {@code persons} est ce tableau. Chaque élément est lu seul, le document n'est
+ * jamais chargé en entier.
+ *
+ * Champs reconnus : {@code id}, {@code firstName}, {@code lastName}, {@code birthDate},
+ * {@code deathDate}, {@code birthPlace}, {@code biography}, {@code parentIds} (tableau),
+ * {@code fatherId} et {@code motherId}.
+ */
+public class JsonImportParser implements ImportParser {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Override
+    public void parse(InputStream input, ImportSink sink) throws IOException {
+        JsonFactory factory = MAPPER.getFactory();
+        try (JsonParser parser = factory.createParser(input)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT) {
+                // Recherche du champ « persons », les autres sont ignorés
+                while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    token = parser.nextToken();
+                    if ("persons".equals(field) && token == JsonToken.START_ARRAY) {
+                        readArray(parser, sink);
+                        return;
+                    }
+                    parser.skipChildren();
+                }
+                throw new RuntimeException("Tableau « persons » absent du document JSON");
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw new RuntimeException("Le document JSON doit être un tableau de personnes");
+            }
+            readArray(parser, sink);
+        }
+    }
+
+    private void readArray(JsonParser parser, ImportSink sink) throws IOException {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            JsonNode node = MAPPER.readTree(parser);
+            String id = text(node, "id");
+            if (id == null) {
+                continue;
+            }
+            PersonRecord person = new PersonRecord(id);
+            person.setFirstName(text(node, "firstName"));
+            person.setLastName(text(node, "lastName"));
+            person.setBirthDate(ImportDates.parse(text(node, "birthDate")));
+            person.setDeathDate(ImportDates.parse(text(node, "deathDate")));
+            person.setBirthPlace(text(node, "birthPlace"));
+            person.setBiography(text(node, "biography"));
+            sink.person(person);
+
+            JsonNode parentIds = node.get("parentIds");
+            if (parentIds != null && parentIds.isArray()) {
+                for (JsonNode parentId : parentIds) {
+                    link(sink, id, parentId.isNull() ? null : parentId.asText());
+                }
+            }
+            link(sink, id, text(node, "fatherId"));
+            link(sink, id, text(node, "motherId"));
+        }
+    }
+
+    private static void link(ImportSink sink, String child, String parent) {
+        if (parent != null && !parent.isBlank()) {
+            sink.parentLink(child, parent);
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull() || value.isContainerNode()) {
+            return null;
+        }
+        String text = value.asText().trim();
+        return text.isEmpty() ? null : text;
+    }
+}
@@ -0,0 +1,81 @@
+package com.genealogy.back_ro.importer;
+
+import java.time.LocalDate;
+
+/**
+ * Personne lue dans un fichier d'import, identifiée par l'identifiant propre au fichier
+ * (xref GEDCOM, colonne {@code id} du CSV ou du JSON).
+ */
+public class PersonRecord {
+
+    private String externalId;
+    private String firstName;
+    private String lastName;
+    private LocalDate birthDate;
+    private LocalDate deathDate;
+    private String birthPlace;
+    private String biography;
+
+    public PersonRecord() {
+    }
+
+    public PersonRecord(String externalId) {
+        this.externalId = externalId;
+    }
+
+    public String getExternalId() {
+        return externalId;
+    }
+
+    public void setExternalId(String externalId) {
+        this.externalId = externalId;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public LocalDate getBirthDate() {
+        return birthDate;
+    }
+
+    public void setBirthDate(LocalDate birthDate) {
+        this.birthDate = birthDate;
+    }
+
+    public LocalDate getDeathDate() {
+        return deathDate;
+    }
+
+    public void setDeathDate(LocalDate deathDate) {
+        this.deathDate = deathDate;
+    }
+
+    public String getBirthPlace() {
+        return birthPlace;
+    }
+
+    public void setBirthPlace(String birthPlace) {
+        this.birthPlace = birthPlace;
+    }
+
+    public String getBiography() {
+        return biography;
+    }
+
+    public void setBiography(String biography) {
+        this.biography = biography;
+    }
+}
@@ -0,0 +1,163 @@
+package com.genealogy.back_ro.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.genealogy.back_ro.importer.ImportFormat;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Suivi d'un import de fichier : le compteur {@code recordsProcessed} est validé dans la même
+ * transaction que chaque lot écrit, ce qui permet de reprendre un import interrompu là où il s'est arrêté.
+ */
+@Entity
+@Table(name = "import_jobs")
+public class ImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", nullable = false)
+    private ImportFormat format;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @JsonIgnore
+    @Column(name = "stored_path", nullable = false)
+    private String storedPath;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private ImportStatus status;
+
+    // Enregistrements lus dans le fichier (personnes et liens) et déjà écrits en base
+    @Column(name = "records_processed", nullable = false)
+    private long recordsProcessed;
+
+    @Column(name = "persons_imported", nullable = false)
+    private long personsImported;
+
+    @Column(name = "links_imported", nullable = false)
+    private long linksImported;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Enum pour l'état de l'import
+    public enum ImportStatus {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    // Constructeur par défaut
+    public ImportJob() {
+    }
+
+    public ImportJob(ImportFormat format, String fileName, String storedPath) {
+        this.format = format;
+        this.fileName = fileName;
+        this.storedPath = storedPath;
+        this.status = ImportStatus.PENDING;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    // Getters et Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public ImportFormat getFormat() {
+        return format;
+    }
+
+    public void setFormat(ImportFormat format) {
+        this.format = format;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getStoredPath() {
+        return storedPath;
+    }
+
+    public void setStoredPath(String storedPath) {
+        this.storedPath = storedPath;
+    }
+
+    public ImportStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ImportStatus status) {
+        this.status = status;
+    }
+
+    public long getRecordsProcessed() {
+        return recordsProcessed;
+    }
+
+    public void setRecordsProcessed(long recordsProcessed) {
+        this.recordsProcessed = recordsProcessed;
+    }
+
+    public long getPersonsImported() {
+        return personsImported;
+    }
+
+    public void setPersonsImported(long personsImported) {
+        this.personsImported = personsImported;
+    }
+
+    public long getLinksImported() {
+        return linksImported;
+    }
+
+    public void setLinksImported(long linksImported) {
+        this.linksImported = linksImported;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -1,8 +1,12 @@
 package com.genealogy.back_ro.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.genealogy.back_ro.util.ContentHash;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.util.*;
@@ -17,7 +21,17 @@ import java.util.*;
  */
 @Entity
 @Table(name = "persons")
+@EntityListeners(PersonPhotoListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Person.CACHE_REGION)
 public class Person {
+    /**
+     * Régions du cache de second niveau de l'entité et de ses collections parent-enfant
+     */
+    public static final String CACHE_REGION = "persons";
+    public static final String PARENTS_CACHE_REGION = "persons.parents";
+    public static final String CHILDREN_CACHE_REGION = "persons.children";
+
     /**
      * Identifiant unique de la personne
      */
@@ -58,10 +72,17 @@ public class Person {
     private String birthPlace;
 
     /**
-     * Photo de la personne stockée sous forme de tableau d'octets
+     * Empreinte SHA-256 de la photo dans le stockage de photos (null si aucune photo)
      */
-    @Lob
-    @Column(columnDefinition = "BLOB")
+    @Column(name = "photo_hash", length = 64)
+    private String photoHash;
+
+    /**
+     * Photo fournie via {@link #setPhoto(byte[])}, en attente d'écriture dans le stockage
+     * de photos lors de l'enregistrement de l'entité ({@link PersonPhotoListener})
+     */
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private byte[] photo;
 
     /**
@@ -72,6 +93,7 @@ public class Person {
 
     // Relation parent-enfant (parents de cette personne)
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = PARENTS_CACHE_REGION)
     @JoinTable(
         name = "person_parents",
         joinColumns = @JoinColumn(name = "child_id"),
@@ -81,6 +103,7 @@ public class Person {
 
     // Relation parent-enfant (enfants de cette personne)
     @ManyToMany(mappedBy = "parents")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CHILDREN_CACHE_REGION)
     private Set<Person> children = new HashSet<>();
 
     // Relation avec l'utilisateur qui a créé cette personne
@@ -170,12 +193,29 @@ public class Person {
         this.birthPlace = birthPlace;
     }
 
+    /**
+     * @return la photo fournie depuis le chargement de l'entité, pas encore enregistrée ;
+     * les photos enregistrées se lisent dans le stockage de photos à partir de {@link #getPhotoHash()}
+     */
     public byte[] getPhoto() {
         return photo;
     }
 
+    /**
+     * Remplace la photo. L'empreinte est calculée immédiatement, ce qui marque l'entité comme
+     * modifiée ; le contenu est écrit dans le stockage de photos à l'enregistrement.
+     */
     public void setPhoto(byte[] photo) {
         this.photo = photo;
+        this.photoHash = photo == null ? null : ContentHash.sha256(photo);
+    }
+
+    public String getPhotoHash() {
+        return photoHash;
+    }
+
+    public void setPhotoHash(String photoHash) {
+        this.photoHash = photoHash;
     }
 
     public String getBiography() {
@@ -0,0 +1,27 @@
+package com.genealogy.back_ro.model;
+
+import com.genealogy.back_ro.service.PhotoStorageService;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Écrit dans le stockage de photos le contenu passé à {@link Person#setPhoto(byte[])}
+ * avant l'insertion ou la mise à jour de la ligne qui référence son empreinte.
+ */
+@Component
+public class PersonPhotoListener {
+
+    @Autowired
+    private PhotoStorageService photoStorageService;
+
+    @PrePersist
+    @PreUpdate
+    public void storePendingPhoto(Person person) {
+        byte[] photo = person.getPhoto();
+        if (photo != null && person.getPhotoHash() != null) {
+            photoStorageService.store(person.getPhotoHash(), photo);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.genealogy.back_ro.payload.request;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Demande de recherche groupée : les liens de parenté entre chaque source et chaque cible.
+ * Une seule source et N cibles, ou N sources et M cibles (N × M paires).
+ */
+public class RelationshipBatchRequest {
+
+    @NotEmpty
+    private List<Long> sourceIds = new ArrayList<>();
+
+    @NotEmpty
+    private List<Long> targetIds = new ArrayList<>();
+
+    // Constructeur par défaut
+    public RelationshipBatchRequest() {
+    }
+
+    public RelationshipBatchRequest(List<Long> sourceIds, List<Long> targetIds) {
+        this.sourceIds = sourceIds;
+        this.targetIds = targetIds;
+    }
+
+    // Getters et Setters
+    public List<Long> getSourceIds() {
+        return sourceIds;
+    }
+
+    public void setSourceIds(List<Long> sourceIds) {
+        this.sourceIds = sourceIds;
+    }
+
+    public List<Long> getTargetIds() {
+        return targetIds;
+    }
+
+    public void setTargetIds(List<Long> targetIds) {
+        this.targetIds = targetIds;
+    }
+}
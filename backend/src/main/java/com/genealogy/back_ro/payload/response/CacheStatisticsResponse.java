@@ -0,0 +1,135 @@
+package com.genealogy.back_ro.payload.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compteurs du cache de second niveau et du cache de requêtes depuis le démarrage.
+ */
+public class CacheStatisticsResponse {
+
+    private long secondLevelHits;
+    private long secondLevelMisses;
+    private long queryCacheHits;
+    private long queryCacheMisses;
+    private List<Region> regions = new ArrayList<>();
+
+    /**
+     * Compteurs d'une région du cache
+     */
+    public static class Region {
+        private String name;
+        private long hits;
+        private long misses;
+        private long puts;
+        private long elementCount;
+
+        public Region() {
+        }
+
+        public Region(String name, long hits, long misses, long puts, long elementCount) {
+            this.name = name;
+            this.hits = hits;
+            this.misses = misses;
+            this.puts = puts;
+            this.elementCount = elementCount;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public void setHits(long hits) {
+            this.hits = hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public void setMisses(long misses) {
+            this.misses = misses;
+        }
+
+        public long getPuts() {
+            return puts;
+        }
+
+        public void setPuts(long puts) {
+            this.puts = puts;
+        }
+
+        public long getElementCount() {
+            return elementCount;
+        }
+
+        public void setElementCount(long elementCount) {
+            this.elementCount = elementCount;
+        }
+
+        public double getHitRatio() {
+            return ratio(hits, misses);
+        }
+    }
+
+    public long getSecondLevelHits() {
+        return secondLevelHits;
+    }
+
+    public void setSecondLevelHits(long secondLevelHits) {
+        this.secondLevelHits = secondLevelHits;
+    }
+
+    public long getSecondLevelMisses() {
+        return secondLevelMisses;
+    }
+
+    public void setSecondLevelMisses(long secondLevelMisses) {
+        this.secondLevelMisses = secondLevelMisses;
+    }
+
+    public double getSecondLevelHitRatio() {
+        return ratio(secondLevelHits, secondLevelMisses);
+    }
+
+    public long getQueryCacheHits() {
+        return queryCacheHits;
+    }
+
+    public void setQueryCacheHits(long queryCacheHits) {
+        this.queryCacheHits = queryCacheHits;
+    }
+
+    public long getQueryCacheMisses() {
+        return queryCacheMisses;
+    }
+
+    public void setQueryCacheMisses(long queryCacheMisses) {
+        this.queryCacheMisses = queryCacheMisses;
+    }
+
+    public double getQueryCacheHitRatio() {
+        return ratio(queryCacheHits, queryCacheMisses);
+    }
+
+    public List<Region> getRegions() {
+        return regions;
+    }
+
+    public void setRegions(List<Region> regions) {
+        this.regions = regions;
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,63 @@
+package com.genealogy.back_ro.payload.response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Page d'une liste parcourue par curseur (pagination par clé sur l'identifiant) :
+ * la page suivante commence après {@code nextCursor}. Contrairement à un décalage,
+ * le coût d'une page ne dépend pas de sa position dans la liste.
+ */
+public class CursorPage<T> {
+
+    /** Taille de page maximale acceptée par les points d'accès paginés */
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    private List<T> items = new ArrayList<>();
+    private Long nextCursor;
+
+    public CursorPage() {
+    }
+
+    public CursorPage(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Construit une page à partir de {@code size + 1} éléments au plus, lus dans l'ordre des identifiants :
+     * la présence d'un élément en trop indique qu'une page suivante existe.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, ToLongFunction<T> idOf) {
+        if (fetched.size() <= size) {
+            return new CursorPage<>(fetched, null);
+        }
+        List<T> items = new ArrayList<>(fetched.subList(0, size));
+        return new CursorPage<>(items, idOf.applyAsLong(items.get(size - 1)));
+    }
+
+    /**
+     * Ramène une taille demandée dans l'intervalle [1, {@link #MAX_PAGE_SIZE}]
+     */
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,35 @@
+package com.genealogy.back_ro.payload.response;
+
+/**
+ * Famille : ensemble de personnes reliées entre elles par des liens parent-enfant,
+ * sans aucun lien avec le reste de l'arbre. Elle est désignée par son plus petit identifiant.
+ */
+public class FamilyClusterResponse {
+
+    private long representativeId;
+    private int size;
+
+    public FamilyClusterResponse() {
+    }
+
+    public FamilyClusterResponse(long representativeId, int size) {
+        this.representativeId = representativeId;
+        this.size = size;
+    }
+
+    public long getRepresentativeId() {
+        return representativeId;
+    }
+
+    public void setRepresentativeId(long representativeId) {
+        this.representativeId = representativeId;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+}
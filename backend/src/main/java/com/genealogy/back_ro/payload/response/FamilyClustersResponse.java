@@ -0,0 +1,49 @@
+package com.genealogy.back_ro.payload.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Répartition de l'arbre en familles disjointes : nombre de familles et les plus grandes d'entre elles.
+ * Après la suppression d'un lien, {@code stale} indique que le recalcul n'est pas terminé
+ * (des familles séparées peuvent encore être comptées ensemble).
+ */
+public class FamilyClustersResponse {
+
+    private int personCount;
+    private int clusterCount;
+    private boolean stale;
+    private List<FamilyClusterResponse> largest = new ArrayList<>();
+
+    public int getPersonCount() {
+        return personCount;
+    }
+
+    public void setPersonCount(int personCount) {
+        this.personCount = personCount;
+    }
+
+    public int getClusterCount() {
+        return clusterCount;
+    }
+
+    public void setClusterCount(int clusterCount) {
+        this.clusterCount = clusterCount;
+    }
+
+    public boolean isStale() {
+        return stale;
+    }
+
+    public void setStale(boolean stale) {
+        this.stale = stale;
+    }
+
+    public List<FamilyClusterResponse> getLargest() {
+        return largest;
+    }
+
+    public void setLargest(List<FamilyClusterResponse> largest) {
+        this.largest = largest;
+    }
+}
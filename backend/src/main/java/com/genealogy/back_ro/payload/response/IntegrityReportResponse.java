@@ -0,0 +1,82 @@
+package com.genealogy.back_ro.payload.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rapport de cohérence du graphe : cycles dans l'ascendance (une personne son propre ancêtre)
+ * et cycles de poids négatif dans les relations pondérées
+ */
+public class IntegrityReportResponse {
+
+    private int personCount;
+    private List<List<Long>> ancestryCycles = new ArrayList<>();
+    private List<Long> negativeCycle;
+    private List<List<Long>> negativeTwoWayRelations = new ArrayList<>();
+    private int relaxationRounds;
+    private long elapsedMillis;
+
+    public IntegrityReportResponse() {
+    }
+
+    public int getPersonCount() {
+        return personCount;
+    }
+
+    public void setPersonCount(int personCount) {
+        this.personCount = personCount;
+    }
+
+    /**
+     * @return les groupes de personnes ancêtres les unes des autres, chacun trié par identifiant
+     */
+    public List<List<Long>> getAncestryCycles() {
+        return ancestryCycles;
+    }
+
+    public void setAncestryCycles(List<List<Long>> ancestryCycles) {
+        this.ancestryCycles = ancestryCycles;
+    }
+
+    /**
+     * @return les personnes d'un cycle de poids négatif, dans l'ordre du cycle, ou {@code null}
+     */
+    public List<Long> getNegativeCycle() {
+        return negativeCycle;
+    }
+
+    public void setNegativeCycle(List<Long> negativeCycle) {
+        this.negativeCycle = negativeCycle;
+    }
+
+    /**
+     * @return les couples de personnes dont la relation, parcourable dans les deux sens, a un aller-retour
+     * de poids négatif (chacune est un cycle négatif) ; s'il y en a, aucun autre cycle n'est recherché
+     */
+    public List<List<Long>> getNegativeTwoWayRelations() {
+        return negativeTwoWayRelations;
+    }
+
+    public void setNegativeTwoWayRelations(List<List<Long>> negativeTwoWayRelations) {
+        this.negativeTwoWayRelations = negativeTwoWayRelations;
+    }
+
+    /**
+     * @return nombre de passes de relaxation de Bellman-Ford effectuées
+     */
+    public int getRelaxationRounds() {
+        return relaxationRounds;
+    }
+
+    public void setRelaxationRounds(int relaxationRounds) {
+        this.relaxationRounds = relaxationRounds;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+}
@@ -0,0 +1,125 @@
+package com.genealogy.back_ro.payload.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lien de parenté calculé entre deux personnes : libellé, coefficients et distances
+ * aux ancêtres communs les plus proches.
+ */
+public class KinshipResponse {
+
+    private Long person1Id;
+    private Long person2Id;
+    private boolean related;
+    private String label;
+    private double kinshipCoefficient;
+    private double relationshipCoefficient;
+    private List<CommonAncestorDistance> commonAncestors = new ArrayList<>();
+
+    public KinshipResponse() {
+    }
+
+    public KinshipResponse(Long person1Id, Long person2Id) {
+        this.person1Id = person1Id;
+        this.person2Id = person2Id;
+    }
+
+    public Long getPerson1Id() {
+        return person1Id;
+    }
+
+    public void setPerson1Id(Long person1Id) {
+        this.person1Id = person1Id;
+    }
+
+    public Long getPerson2Id() {
+        return person2Id;
+    }
+
+    public void setPerson2Id(Long person2Id) {
+        this.person2Id = person2Id;
+    }
+
+    public boolean isRelated() {
+        return related;
+    }
+
+    public void setRelated(boolean related) {
+        this.related = related;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public double getKinshipCoefficient() {
+        return kinshipCoefficient;
+    }
+
+    public void setKinshipCoefficient(double kinshipCoefficient) {
+        this.kinshipCoefficient = kinshipCoefficient;
+    }
+
+    public double getRelationshipCoefficient() {
+        return relationshipCoefficient;
+    }
+
+    public void setRelationshipCoefficient(double relationshipCoefficient) {
+        this.relationshipCoefficient = relationshipCoefficient;
+    }
+
+    public List<CommonAncestorDistance> getCommonAncestors() {
+        return commonAncestors;
+    }
+
+    public void setCommonAncestors(List<CommonAncestorDistance> commonAncestors) {
+        this.commonAncestors = commonAncestors;
+    }
+
+    /**
+     * Ancêtre commun minimal et nombre de générations qui le séparent de chacune des deux personnes.
+     */
+    public static class CommonAncestorDistance {
+        private Long personId;
+        private int generationsFromPerson1;
+        private int generationsFromPerson2;
+
+        public CommonAncestorDistance() {
+        }
+
+        public CommonAncestorDistance(Long personId, int generationsFromPerson1, int generationsFromPerson2) {
+            this.personId = personId;
+            this.generationsFromPerson1 = generationsFromPerson1;
+            this.generationsFromPerson2 = generationsFromPerson2;
+        }
+
+        public Long getPersonId() {
+            return personId;
+        }
+
+        public void setPersonId(Long personId) {
+            this.personId = personId;
+        }
+
+        public int getGenerationsFromPerson1() {
+            return generationsFromPerson1;
+        }
+
+        public void setGenerationsFromPerson1(int generationsFromPerson1) {
+            this.generationsFromPerson1 = generationsFromPerson1;
+        }
+
+        public int getGenerationsFromPerson2() {
+            return generationsFromPerson2;
+        }
+
+        public void setGenerationsFromPerson2(int generationsFromPerson2) {
+            this.generationsFromPerson2 = generationsFromPerson2;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.genealogy.back_ro.payload.response;
+
+/**
+ * Personne rencontrée lors d'un parcours de descendance ou d'ascendance,
+ * avec son nombre de générations depuis la personne de départ.
+ */
+public class LineageEntry extends PersonSummary {
+
+    private int depth;
+
+    public LineageEntry() {
+    }
+
+    public LineageEntry(PersonSummary person, int depth) {
+        super(person.getId(), person.getFirstName(), person.getLastName(),
+                person.getBirthDate(), person.getDeathDate(), person.getBirthPlace(), person.isHasPhoto());
+        this.depth = depth;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+}
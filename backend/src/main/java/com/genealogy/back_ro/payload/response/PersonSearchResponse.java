@@ -0,0 +1,57 @@
+package com.genealogy.back_ro.payload.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Page de résultats d'une recherche par nom, triés par pertinence décroissante.
+ */
+public class PersonSearchResponse {
+
+    private int total;
+    private int page;
+    private int size;
+    private List<PersonSummary> results = new ArrayList<>();
+
+    public PersonSearchResponse() {
+    }
+
+    public PersonSearchResponse(int total, int page, int size, List<PersonSummary> results) {
+        this.total = total;
+        this.page = page;
+        this.size = size;
+        this.results = results;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public List<PersonSummary> getResults() {
+        return results;
+    }
+
+    public void setResults(List<PersonSummary> results) {
+        this.results = results;
+    }
+}
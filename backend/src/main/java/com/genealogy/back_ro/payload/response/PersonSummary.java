@@ -0,0 +1,98 @@
+package com.genealogy.back_ro.payload.response;
+
+import com.genealogy.back_ro.model.Person;
+
+import java.time.LocalDate;
+
+/**
+ * Vue allégée d'une personne pour les listes et les parcours : ni photo, ni biographie,
+ * ni relations chargées. La photo est servie séparément ({@code /api/persons/{id}/photo}).
+ */
+public class PersonSummary {
+
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private LocalDate birthDate;
+    private LocalDate deathDate;
+    private String birthPlace;
+    private boolean hasPhoto;
+
+    public PersonSummary() {
+    }
+
+    public PersonSummary(Long id, String firstName, String lastName,
+                         LocalDate birthDate, LocalDate deathDate, String birthPlace, boolean hasPhoto) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.birthDate = birthDate;
+        this.deathDate = deathDate;
+        this.birthPlace = birthPlace;
+        this.hasPhoto = hasPhoto;
+    }
+
+    /**
+     * Vue allégée d'une entité déjà chargée
+     */
+    public static PersonSummary from(Person person) {
+        return new PersonSummary(person.getId(), person.getFirstName(), person.getLastName(),
+                person.getBirthDate(), person.getDeathDate(), person.getBirthPlace(), person.getPhotoHash() != null);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public LocalDate getBirthDate() {
+        return birthDate;
+    }
+
+    public void setBirthDate(LocalDate birthDate) {
+        this.birthDate = birthDate;
+    }
+
+    public LocalDate getDeathDate() {
+        return deathDate;
+    }
+
+    public void setDeathDate(LocalDate deathDate) {
+        this.deathDate = deathDate;
+    }
+
+    public String getBirthPlace() {
+        return birthPlace;
+    }
+
+    public void setBirthPlace(String birthPlace) {
+        this.birthPlace = birthPlace;
+    }
+
+    public boolean isHasPhoto() {
+        return hasPhoto;
+    }
+
+    public void setHasPhoto(boolean hasPhoto) {
+        this.hasPhoto = hasPhoto;
+    }
+}
@@ -0,0 +1,57 @@
+package com.genealogy.back_ro.payload.response;
+
+/**
+ * Réponse à « ces deux personnes sont-elles parentes ? », avec la taille de la famille de la première
+ */
+public class RelatedResponse {
+
+    private Long person1Id;
+    private Long person2Id;
+    private boolean related;
+    private int clusterSize;
+
+    public RelatedResponse() {
+    }
+
+    public RelatedResponse(Long person1Id, Long person2Id, boolean related, int clusterSize) {
+        this.person1Id = person1Id;
+        this.person2Id = person2Id;
+        this.related = related;
+        this.clusterSize = clusterSize;
+    }
+
+    public Long getPerson1Id() {
+        return person1Id;
+    }
+
+    public void setPerson1Id(Long person1Id) {
+        this.person1Id = person1Id;
+    }
+
+    public Long getPerson2Id() {
+        return person2Id;
+    }
+
+    public void setPerson2Id(Long person2Id) {
+        this.person2Id = person2Id;
+    }
+
+    public boolean isRelated() {
+        return related;
+    }
+
+    public void setRelated(boolean related) {
+        this.related = related;
+    }
+
+    /**
+     * @return nombre de personnes de la famille de la première personne, 0 si l'index n'est pas construit
+     */
+    public int getClusterSize() {
+        return clusterSize;
+    }
+
+    public void setClusterSize(int clusterSize) {
+        this.clusterSize = clusterSize;
+    }
+}
@@ -0,0 +1,55 @@
+package com.genealogy.back_ro.payload.response;
+
+/**
+ * Résultat compact d'une recherche de lien de parenté : identifiants des personnes du chemin
+ * et nombre de liens parcourus (-1 si les deux personnes ne sont pas reliées).
+ */
+public class RelationshipPathResult {
+
+    private Long person1Id;
+    private Long person2Id;
+    private int distance;
+    private long[] path;
+
+    public RelationshipPathResult() {
+    }
+
+    public RelationshipPathResult(Long person1Id, Long person2Id, long[] path) {
+        this.person1Id = person1Id;
+        this.person2Id = person2Id;
+        this.path = path;
+        this.distance = path.length - 1;
+    }
+
+    public Long getPerson1Id() {
+        return person1Id;
+    }
+
+    public void setPerson1Id(Long person1Id) {
+        this.person1Id = person1Id;
+    }
+
+    public Long getPerson2Id() {
+        return person2Id;
+    }
+
+    public void setPerson2Id(Long person2Id) {
+        this.person2Id = person2Id;
+    }
+
+    public int getDistance() {
+        return distance;
+    }
+
+    public void setDistance(int distance) {
+        this.distance = distance;
+    }
+
+    public long[] getPath() {
+        return path;
+    }
+
+    public void setPath(long[] path) {
+        this.path = path;
+    }
+}
@@ -0,0 +1,54 @@
+package com.genealogy.back_ro.payload.response;
+
+/**
+ * Arête de l'arbre couvrant minimal, dans le sens où la relation est enregistrée
+ */
+public class SpanningTreeEdgeResponse {
+
+    private long fromId;
+    private long toId;
+    private String relationshipType;
+    private int weight;
+
+    public SpanningTreeEdgeResponse() {
+    }
+
+    public SpanningTreeEdgeResponse(long fromId, long toId, String relationshipType, int weight) {
+        this.fromId = fromId;
+        this.toId = toId;
+        this.relationshipType = relationshipType;
+        this.weight = weight;
+    }
+
+    public long getFromId() {
+        return fromId;
+    }
+
+    public void setFromId(long fromId) {
+        this.fromId = fromId;
+    }
+
+    public long getToId() {
+        return toId;
+    }
+
+    public void setToId(long toId) {
+        this.toId = toId;
+    }
+
+    public String getRelationshipType() {
+        return relationshipType;
+    }
+
+    public void setRelationshipType(String relationshipType) {
+        this.relationshipType = relationshipType;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    public void setWeight(int weight) {
+        this.weight = weight;
+    }
+}
@@ -0,0 +1,49 @@
+package com.genealogy.back_ro.payload.response;
+
+/**
+ * Sous-famille issue du découpage d'une famille : son fondateur (membre le plus ancien)
+ * et les identifiants triés de ses membres
+ */
+public class SubFamilyResponse {
+
+    private long founderId;
+    private int founderGeneration;
+    private long[] memberIds;
+
+    public SubFamilyResponse() {
+    }
+
+    public SubFamilyResponse(long founderId, int founderGeneration, long[] memberIds) {
+        this.founderId = founderId;
+        this.founderGeneration = founderGeneration;
+        this.memberIds = memberIds;
+    }
+
+    public long getFounderId() {
+        return founderId;
+    }
+
+    public void setFounderId(long founderId) {
+        this.founderId = founderId;
+    }
+
+    public int getFounderGeneration() {
+        return founderGeneration;
+    }
+
+    public void setFounderGeneration(int founderGeneration) {
+        this.founderGeneration = founderGeneration;
+    }
+
+    public int getSize() {
+        return memberIds == null ? 0 : memberIds.length;
+    }
+
+    public long[] getMemberIds() {
+        return memberIds;
+    }
+
+    public void setMemberIds(long[] memberIds) {
+        this.memberIds = memberIds;
+    }
+}
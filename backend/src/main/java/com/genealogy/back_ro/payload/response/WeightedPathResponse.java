@@ -0,0 +1,99 @@
+package com.genealogy.back_ro.payload.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chemin de poids minimal entre deux personnes dans le graphe des relations :
+ * chaque étape indique la relation suivie pour atteindre la personne et son poids.
+ * {@code totalWeight} vaut -1 si les deux personnes ne sont pas reliées par les types demandés.
+ */
+public class WeightedPathResponse {
+
+    private Long person1Id;
+    private Long person2Id;
+    private long totalWeight = -1;
+    private List<Step> steps = new ArrayList<>();
+
+    /**
+     * Personne du chemin, relation qui y mène (absente pour la première) et poids de cette relation
+     */
+    public static class Step {
+        private PersonSummary person;
+        private String relationshipType;
+        private int weight;
+
+        public Step() {
+        }
+
+        public Step(PersonSummary person, String relationshipType, int weight) {
+            this.person = person;
+            this.relationshipType = relationshipType;
+            this.weight = weight;
+        }
+
+        public PersonSummary getPerson() {
+            return person;
+        }
+
+        public void setPerson(PersonSummary person) {
+            this.person = person;
+        }
+
+        public String getRelationshipType() {
+            return relationshipType;
+        }
+
+        public void setRelationshipType(String relationshipType) {
+            this.relationshipType = relationshipType;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public void setWeight(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    public WeightedPathResponse() {
+    }
+
+    public WeightedPathResponse(Long person1Id, Long person2Id) {
+        this.person1Id = person1Id;
+        this.person2Id = person2Id;
+    }
+
+    public Long getPerson1Id() {
+        return person1Id;
+    }
+
+    public void setPerson1Id(Long person1Id) {
+        this.person1Id = person1Id;
+    }
+
+    public Long getPerson2Id() {
+        return person2Id;
+    }
+
+    public void setPerson2Id(Long person2Id) {
+        this.person2Id = person2Id;
+    }
+
+    public long getTotalWeight() {
+        return totalWeight;
+    }
+
+    public void setTotalWeight(long totalWeight) {
+        this.totalWeight = totalWeight;
+    }
+
+    public List<Step> getSteps() {
+        return steps;
+    }
+
+    public void setSteps(List<Step> steps) {
+        this.steps = steps;
+    }
+}
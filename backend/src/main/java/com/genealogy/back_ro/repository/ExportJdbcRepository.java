@@ -0,0 +1,139 @@
+package com.genealogy.back_ro.repository;
+
+import com.genealogy.back_ro.exporter.ExportedPerson;
+import com.genealogy.back_ro.util.LongArrayList;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+
+/**
+ * Lecture JDBC par paquets des tables {@code persons} et {@code person_parents} pour l'export :
+ * chaque paquet est lu, écrit puis oublié, la mémoire ne dépend pas de la taille de l'arbre.
+ */
+@Repository
+public class ExportJdbcRepository {
+
+    private static final String PERSON_COLUMNS =
+            "SELECT id, first_name, last_name, birth_date, death_date, birth_place, biography FROM persons ";
+
+    private static final RowMapper<ExportedPerson> PERSON_MAPPER = (rs, rowNum) -> {
+        ExportedPerson person = new ExportedPerson();
+        person.setId(rs.getLong(1));
+        person.setFirstName(rs.getString(2));
+        person.setLastName(rs.getString(3));
+        Date birthDate = rs.getDate(4);
+        person.setBirthDate(birthDate == null ? null : birthDate.toLocalDate());
+        Date deathDate = rs.getDate(5);
+        person.setDeathDate(deathDate == null ? null : deathDate.toLocalDate());
+        person.setBirthPlace(rs.getString(6));
+        person.setBiography(rs.getString(7));
+        return person;
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Pagination par clé : les {@code limit} personnes suivant {@code afterId}
+     */
+    public List<ExportedPerson> findPersonsAfter(long afterId, int limit) {
+        return jdbcTemplate.query(PERSON_COLUMNS + "WHERE id > ? ORDER BY id LIMIT ?", PERSON_MAPPER, afterId, limit);
+    }
+
+    /**
+     * @param ids identifiants triés, au plus quelques centaines (limite de paramètres de SQLite)
+     */
+    public List<ExportedPerson> findPersonsByIds(long[] ids) {
+        return jdbcTemplate.query(PERSON_COLUMNS + "WHERE id IN (" + placeholders(ids.length) + ") ORDER BY id",
+                PERSON_MAPPER, boxed(ids));
+    }
+
+    /**
+     * Complète les personnes du paquet avec leurs parents et, si {@code withFamilies}, leurs enfants
+     * et les autres parents de ces enfants. Les personnes hors du périmètre ({@code included}) sont omises.
+     */
+    public void loadRelations(List<ExportedPerson> persons, boolean withFamilies, LongPredicate included) {
+        if (persons.isEmpty()) {
+            return;
+        }
+        Map<Long, ExportedPerson> byId = new HashMap<>(persons.size() * 2);
+        long[] ids = new long[persons.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = persons.get(i).getId();
+            byId.put(ids[i], persons.get(i));
+        }
+        Object[] args = boxed(ids);
+        String in = "(" + placeholders(ids.length) + ")";
+
+        Map<Long, LongArrayList> parents = new HashMap<>(persons.size() * 2);
+        jdbcTemplate.query("SELECT child_id, parent_id FROM person_parents WHERE child_id IN " + in
+                        + " ORDER BY child_id, parent_id",
+                rs -> {
+                    long parentId = rs.getLong(2);
+                    if (included.test(parentId)) {
+                        parents.computeIfAbsent(rs.getLong(1), id -> new LongArrayList(2)).add(parentId);
+                    }
+                }, args);
+        for (Map.Entry<Long, LongArrayList> entry : parents.entrySet()) {
+            byId.get(entry.getKey()).setParentIds(entry.getValue().toArray());
+        }
+        if (!withFamilies) {
+            return;
+        }
+
+        // Une ligne par (parent du paquet, enfant, parent de l'enfant), triée pour regrouper sans tri en mémoire
+        List<long[]> rows = new ArrayList<>();
+        jdbcTemplate.query("SELECT c.parent_id, c.child_id, pp.parent_id FROM person_parents c "
+                        + "JOIN person_parents pp ON pp.child_id = c.child_id WHERE c.parent_id IN " + in
+                        + " ORDER BY c.parent_id, c.child_id, pp.parent_id",
+                rs -> {
+                    rows.add(new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3)});
+                }, args);
+        int start = 0;
+        while (start < rows.size()) {
+            long parentId = rows.get(start)[0];
+            int end = start;
+            LongArrayList childIds = new LongArrayList(4);
+            List<long[]> childParents = new ArrayList<>();
+            while (end < rows.size() && rows.get(end)[0] == parentId) {
+                long childId = rows.get(end)[1];
+                LongArrayList coParents = new LongArrayList(2);
+                while (end < rows.size() && rows.get(end)[0] == parentId && rows.get(end)[1] == childId) {
+                    if (included.test(rows.get(end)[2])) {
+                        coParents.add(rows.get(end)[2]);
+                    }
+                    end++;
+                }
+                if (included.test(childId)) {
+                    childIds.add(childId);
+                    childParents.add(coParents.toArray());
+                }
+            }
+            ExportedPerson person = byId.get(parentId);
+            person.setChildIds(childIds.toArray());
+            person.setChildParentIds(childParents.toArray(new long[0][]));
+            start = end;
+        }
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder sql = new StringBuilder(count * 2);
+        for (int i = 0; i < count; i++) {
+            sql.append(i == 0 ? "?" : ",?");
+        }
+        return sql.toString();
+    }
+
+    private static Object[] boxed(long[] ids) {
+        return Arrays.stream(ids).boxed().toArray();
+    }
+}
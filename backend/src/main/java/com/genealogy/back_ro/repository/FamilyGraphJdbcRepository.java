@@ -0,0 +1,98 @@
+package com.genealogy.back_ro.repository;
+
+import com.genealogy.back_ro.graph.FamilyGraph;
+import com.genealogy.back_ro.util.LongArrayList;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Accès JDBC direct aux tables {@code persons} et {@code person_parents} pour construire
+ * l'index d'adjacence en mémoire sans hydrater d'entités JPA. Quand l'index n'est pas construit,
+ * les recherches chargent de la même façon le seul sous-graphe qui les concerne.
+ */
+@Repository
+public class FamilyGraphJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FamilyGraphJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Charge l'ensemble des personnes et des liens parent-enfant dans un {@link FamilyGraph}.
+     */
+    @Transactional(readOnly = true)
+    public FamilyGraph loadFamilyGraph() {
+        LongArrayList personIds = new LongArrayList(1024);
+        jdbcTemplate.query("SELECT id FROM persons ORDER BY id",
+                rs -> {
+                    personIds.add(rs.getLong(1));
+                });
+
+        LongArrayList childIds = new LongArrayList(1024);
+        LongArrayList parentIds = new LongArrayList(1024);
+        jdbcTemplate.query("SELECT child_id, parent_id FROM person_parents",
+                rs -> {
+                    childIds.add(rs.getLong(1));
+                    parentIds.add(rs.getLong(2));
+                });
+
+        return FamilyGraph.build(personIds.toArray(), personIds.size(),
+                childIds.toArray(), parentIds.toArray(), childIds.size());
+    }
+
+    /**
+     * Charge les familles entières des personnes données (liens parent-enfant suivis dans les deux sens) :
+     * les chemins de parenté entre ces personnes et n'importe qui d'autre y sont complets.
+     */
+    @Transactional(readOnly = true)
+    public FamilyGraph loadFamilies(Collection<Long> personIds) {
+        return loadLinks(LineageQueries.FAMILY_LINKS, personIds);
+    }
+
+    /**
+     * Charge les personnes données et tous leurs ancêtres : ancêtres communs et coefficients de parenté
+     * n'en dépendent pas d'autres.
+     */
+    @Transactional(readOnly = true)
+    public FamilyGraph loadAncestries(Collection<Long> personIds) {
+        return loadLinks(LineageQueries.ANCESTRY_LINKS, personIds);
+    }
+
+    private FamilyGraph loadLinks(String query, Collection<Long> personIds) {
+        if (personIds.isEmpty()) {
+            return FamilyGraph.empty();
+        }
+        LongArrayList memberIds = new LongArrayList(64);
+        LongArrayList childIds = new LongArrayList(64);
+        LongArrayList parentIds = new LongArrayList(64);
+        new NamedParameterJdbcTemplate(jdbcTemplate).query(query, Map.of("personIds", personIds),
+                rs -> {
+                    long memberId = rs.getLong(1);
+                    long parentId = rs.getLong(2);
+                    memberIds.add(memberId);
+                    if (!rs.wasNull()) {
+                        childIds.add(memberId);
+                        parentIds.add(parentId);
+                    }
+                });
+
+        // Une ligne par lien : un membre à deux parents apparaît deux fois
+        long[] ids = memberIds.toArray();
+        Arrays.sort(ids);
+        int count = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (i == 0 || ids[i] != ids[i - 1]) {
+                ids[count++] = ids[i];
+            }
+        }
+        return FamilyGraph.build(ids, count, childIds.toArray(), parentIds.toArray(), childIds.size());
+    }
+}
@@ -0,0 +1,177 @@
+package com.genealogy.back_ro.repository;
+
+import com.genealogy.back_ro.importer.PersonRecord;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Écritures JDBC en lots de l'import de fichiers, sans passer par les entités JPA.
+ *
+ * La correspondance identifiant externe → identifiant de personne et les liens en attente
+ * sont conservés dans deux tables de travail ({@code import_id_map}, {@code import_pending_links},
+ * créées par la migration V1) :
+ * la mémoire ne dépend pas de la taille du fichier et un import interrompu garde ce qu'il a déjà écrit.
+ */
+@Repository
+public class ImportJdbcRepository {
+
+    private static final String UNKNOWN_NAME = "Inconnu";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ImportJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * À appeler dans la transaction d'écriture du lot, avant {@link #insertPersons}
+     */
+    public long nextPersonId() {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM persons", Long.class);
+        return (max == null ? 0 : max) + 1;
+    }
+
+    /**
+     * Enregistre les personnes du lot avec des identifiants consécutifs à partir de {@code firstId}.
+     * Une personne dont l'identifiant externe a déjà été importé par ce job est ignorée.
+     *
+     * @return le nombre de personnes insérées
+     */
+    public int insertPersons(long jobId, List<PersonRecord> persons, long firstId) {
+        int[] mapped = jdbcTemplate.batchUpdate(
+                "INSERT OR IGNORE INTO import_id_map (job_id, external_id, person_id) VALUES (?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, jobId);
+                        ps.setString(2, persons.get(i).getExternalId());
+                        ps.setLong(3, firstId + i);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return persons.size();
+                    }
+                });
+
+        // Seules les personnes nouvellement associées à un identifiant sont créées
+        List<Integer> accepted = new ArrayList<>(persons.size());
+        for (int i = 0; i < mapped.length; i++) {
+            if (mapped[i] != 0) {
+                accepted.add(i);
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO persons (id, first_name, last_name, birth_date, death_date, birth_place, biography) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        int index = accepted.get(i);
+                        PersonRecord person = persons.get(index);
+                        ps.setLong(1, firstId + index);
+                        ps.setString(2, name(person.getFirstName()));
+                        ps.setString(3, name(person.getLastName()));
+                        setDate(ps, 4, person.getBirthDate());
+                        setDate(ps, 5, person.getDeathDate());
+                        ps.setString(6, truncate(person.getBirthPlace(), 255));
+                        ps.setString(7, truncate(person.getBiography(), 1000));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return accepted.size();
+                    }
+                });
+        return accepted.size();
+    }
+
+    /**
+     * Met de côté les liens parent-enfant : ils ne sont résolus qu'une fois toutes les personnes connues
+     */
+    public void insertPendingLinks(long jobId, List<String[]> links) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO import_pending_links (job_id, child_ext, parent_ext) VALUES (?, ?, ?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setLong(1, jobId);
+                        ps.setString(2, links.get(i)[0]);
+                        ps.setString(3, links.get(i)[1]);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return links.size();
+                    }
+                });
+    }
+
+    public void updateProgress(long jobId, long recordsProcessed, long personsImported, long linksImported) {
+        jdbcTemplate.update("UPDATE import_jobs SET records_processed = ?, persons_imported = ?, links_imported = ?, "
+                        + "updated_at = ? WHERE id = ?",
+                recordsProcessed, personsImported, linksImported, Timestamp.valueOf(LocalDateTime.now()), jobId);
+    }
+
+    /**
+     * @return les bornes {rowid min, rowid max} des liens en attente du job, ou {@code null} s'il n'y en a pas
+     */
+    public long[] pendingLinkRange(long jobId) {
+        return jdbcTemplate.query("SELECT MIN(rowid), MAX(rowid) FROM import_pending_links WHERE job_id = ?",
+                rs -> {
+                    if (!rs.next() || rs.getObject(1) == null) {
+                        return null;
+                    }
+                    return new long[]{rs.getLong(1), rs.getLong(2)};
+                }, jobId);
+    }
+
+    /**
+     * Résout en une seule requête les liens en attente dont le rowid est dans [from, to] :
+     * les deux jointures sur la table de correspondance remplacent des milliers de recherches unitaires.
+     * Les liens déjà présents, vers une personne absente du fichier ou d'une personne vers elle-même sont ignorés.
+     *
+     * @return le nombre de liens créés
+     */
+    public int resolvePendingLinks(long jobId, long from, long to) {
+        return jdbcTemplate.update("INSERT OR IGNORE INTO person_parents (child_id, parent_id) "
+                + "SELECT c.person_id, p.person_id FROM import_pending_links l "
+                + "JOIN import_id_map c ON c.job_id = l.job_id AND c.external_id = l.child_ext "
+                + "JOIN import_id_map p ON p.job_id = l.job_id AND p.external_id = l.parent_ext "
+                + "WHERE l.job_id = ? AND l.rowid BETWEEN ? AND ? AND c.person_id <> p.person_id",
+                jobId, from, to);
+    }
+
+    public void deleteWorkData(long jobId) {
+        jdbcTemplate.update("DELETE FROM import_pending_links WHERE job_id = ?", jobId);
+        jdbcTemplate.update("DELETE FROM import_id_map WHERE job_id = ?", jobId);
+    }
+
+    private static String name(String value) {
+        return value == null || value.isBlank() ? UNKNOWN_NAME : truncate(value.trim(), 100);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value == null || value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    private static void setDate(PreparedStatement ps, int index, LocalDate date) throws SQLException {
+        // Même liaison que Hibernate pour les LocalDate, afin que les dates importées se relisent à l'identique
+        if (date == null) {
+            ps.setNull(index, Types.DATE);
+        } else {
+            ps.setDate(index, Date.valueOf(date));
+        }
+    }
+}
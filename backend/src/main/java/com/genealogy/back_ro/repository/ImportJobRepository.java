@@ -0,0 +1,12 @@
+package com.genealogy.back_ro.repository;
+
+import com.genealogy.back_ro.model.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+    List<ImportJob> findByStatus(ImportJob.ImportStatus status);
+}
@@ -0,0 +1,88 @@
+package com.genealogy.back_ro.repository;
+
+/**
+ * Requêtes récursives (WITH RECURSIVE) des parcours de filiation de {@link PersonRepository}
+ * et de {@link FamilyGraphJdbcRepository}.
+ * Paramètres nommés : {@code :personId}, {@code :personIds}, {@code :otherPersonId} et {@code :maxDepth}.
+ * Elles sont réunies ici, sans dépendance à JPA, pour être exécutées telles quelles hors de Spring
+ * (bancs d'essai de {@code benchmarks/}).
+ *
+ * Les requêtes avec profondeur éliminent les couples (personne, profondeur) déjà vus : une personne
+ * atteinte par plusieurs chemins est reparcourue à chaque longueur de chemin. Celles qui ne servent
+ * qu'à savoir qui est atteint récursent sur la seule personne et la visitent une fois.
+ */
+public final class LineageQueries {
+
+    /**
+     * Descendants d'une personne, du plus proche au plus éloigné
+     */
+    public static final String DESCENDANTS = "WITH RECURSIVE lineage(person_id, depth) AS ("
+            + "SELECT :personId, 0 "
+            + "UNION "
+            + "SELECT pp.child_id, l.depth + 1 FROM person_parents pp JOIN lineage l ON pp.parent_id = l.person_id "
+            + "WHERE l.depth < :maxDepth) "
+            + "SELECT person_id AS personId, MIN(depth) AS depth FROM lineage WHERE person_id <> :personId "
+            + "GROUP BY person_id ORDER BY depth, person_id";
+
+    /**
+     * Ancêtres d'une personne, du plus proche au plus éloigné
+     */
+    public static final String ANCESTORS = "WITH RECURSIVE lineage(person_id, depth) AS ("
+            + "SELECT :personId, 0 "
+            + "UNION "
+            + "SELECT pp.parent_id, l.depth + 1 FROM person_parents pp JOIN lineage l ON pp.child_id = l.person_id "
+            + "WHERE l.depth < :maxDepth) "
+            + "SELECT person_id AS personId, MIN(depth) AS depth FROM lineage WHERE person_id <> :personId "
+            + "GROUP BY person_id ORDER BY depth, person_id";
+
+    /**
+     * Personnes à au plus {@code maxDepth} liens parent-enfant, dans les deux sens
+     */
+    public static final String NEIGHBOURHOOD = "WITH RECURSIVE lineage(person_id, depth) AS ("
+            + "SELECT :personId, 0 "
+            + "UNION "
+            + "SELECT pp.child_id, l.depth + 1 FROM person_parents pp JOIN lineage l ON pp.parent_id = l.person_id "
+            + "WHERE l.depth < :maxDepth "
+            + "UNION "
+            + "SELECT pp.parent_id, l.depth + 1 FROM person_parents pp JOIN lineage l ON pp.child_id = l.person_id "
+            + "WHERE l.depth < :maxDepth) "
+            + "SELECT person_id AS personId, MIN(depth) AS depth FROM lineage WHERE person_id <> :personId "
+            + "GROUP BY person_id ORDER BY depth, person_id";
+
+    /**
+     * 1 si {@code :otherPersonId} appartient à la même famille (liens parent-enfant dans les deux sens)
+     * que {@code :personId}, 0 sinon
+     */
+    public static final String SAME_FAMILY = "WITH RECURSIVE family(person_id) AS ("
+            + "SELECT :personId "
+            + "UNION "
+            + "SELECT pp.child_id FROM person_parents pp JOIN family f ON pp.parent_id = f.person_id "
+            + "UNION "
+            + "SELECT pp.parent_id FROM person_parents pp JOIN family f ON pp.child_id = f.person_id) "
+            + "SELECT COUNT(*) FROM (SELECT 1 FROM family WHERE person_id = :otherPersonId LIMIT 1)";
+
+    /**
+     * Membres des familles des personnes {@code :personIds} (existantes) et leurs parents :
+     * une ligne (membre, parent) par lien, (membre, NULL) pour un membre sans parent
+     */
+    public static final String FAMILY_LINKS = "WITH RECURSIVE family(person_id) AS ("
+            + "SELECT id FROM persons WHERE id IN (:personIds) "
+            + "UNION "
+            + "SELECT pp.child_id FROM person_parents pp JOIN family f ON pp.parent_id = f.person_id "
+            + "UNION "
+            + "SELECT pp.parent_id FROM person_parents pp JOIN family f ON pp.child_id = f.person_id) "
+            + "SELECT f.person_id, pp.parent_id FROM family f LEFT JOIN person_parents pp ON pp.child_id = f.person_id";
+
+    /**
+     * Personnes {@code :personIds} (existantes), tous leurs ancêtres et leurs parents :
+     * une ligne (personne, parent) par lien, (personne, NULL) pour une personne sans parent
+     */
+    public static final String ANCESTRY_LINKS = "WITH RECURSIVE ancestry(person_id) AS ("
+            + "SELECT id FROM persons WHERE id IN (:personIds) "
+            + "UNION "
+            + "SELECT pp.parent_id FROM person_parents pp JOIN ancestry a ON pp.child_id = a.person_id) "
+            + "SELECT a.person_id, pp.parent_id FROM ancestry a LEFT JOIN person_parents pp ON pp.child_id = a.person_id";
+
+    private LineageQueries() {
+    }
+}
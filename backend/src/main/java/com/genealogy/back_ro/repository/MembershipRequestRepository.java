@@ -2,6 +2,7 @@ package com.genealogy.back_ro.repository;
 
 import com.genealogy.back_ro.model.MembershipRequest;
 import com.genealogy.back_ro.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,6 +12,7 @@ import java.util.Optional;
 @Repository
 public interface MembershipRequestRepository extends JpaRepository<MembershipRequest, Long> {
     List<MembershipRequest> findByStatus(MembershipRequest.MembershipStatus status);
+    List<MembershipRequest> findByStatusAndIdGreaterThanOrderByIdAsc(MembershipRequest.MembershipStatus status, Long id, Pageable pageable);
     List<MembershipRequest> findByUser(User user);
     Optional<MembershipRequest> findByUserAndStatus(User user, MembershipRequest.MembershipStatus status);
     boolean existsByUserAndStatus(User user, MembershipRequest.MembershipStatus status);
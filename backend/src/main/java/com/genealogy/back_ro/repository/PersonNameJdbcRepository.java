@@ -0,0 +1,30 @@
+package com.genealogy.back_ro.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Lecture JDBC des seuls noms des personnes, pour construire les index de recherche
+ * sans hydrater d'entités JPA.
+ */
+@Repository
+public class PersonNameJdbcRepository {
+
+    @FunctionalInterface
+    public interface NameConsumer {
+        void accept(long personId, String firstName, String lastName);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Transactional(readOnly = true)
+    public void forEachName(NameConsumer consumer) {
+        jdbcTemplate.query("SELECT id, first_name, last_name FROM persons",
+                rs -> {
+                    consumer.accept(rs.getLong(1), rs.getString(2), rs.getString(3));
+                });
+    }
+}
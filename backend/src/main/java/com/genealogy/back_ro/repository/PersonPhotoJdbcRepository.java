@@ -0,0 +1,39 @@
+package com.genealogy.back_ro.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Accès JDBC à l'ancienne colonne {@code persons.photo} (BLOB), qui n'est plus mappée par l'entité
+ * et ne sert qu'à migrer les photos existantes vers le stockage de photos.
+ */
+@Repository
+public class PersonPhotoJdbcRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public boolean hasLegacyPhotoColumn() {
+        List<String> columns = jdbcTemplate.query("PRAGMA table_info(persons)", (rs, rowNum) -> rs.getString("name"));
+        return columns.contains("photo");
+    }
+
+    /**
+     * @return au plus {@code limit} couples (id, photo) restant à migrer
+     */
+    public List<Map<String, Object>> findLegacyPhotos(int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT id, photo FROM persons WHERE photo IS NOT NULL LIMIT ?", limit);
+    }
+
+    /**
+     * Remplace la photo en ligne par son empreinte dans le stockage
+     */
+    public void replaceLegacyPhoto(long personId, String photoHash) {
+        jdbcTemplate.update("UPDATE persons SET photo_hash = ?, photo = NULL WHERE id = ?", photoHash, personId);
+    }
+}
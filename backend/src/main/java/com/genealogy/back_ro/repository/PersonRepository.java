@@ -1,15 +1,45 @@
 package com.genealogy.back_ro.repository;
 
 import com.genealogy.back_ro.model.Person;
+import com.genealogy.back_ro.payload.response.PersonSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PersonRepository extends JpaRepository<Person, Long> {
+
+    /**
+     * Profondeur maximale des parcours récursifs en SQL. Elle borne aussi les cycles éventuels :
+     * {@code UNION} élimine les couples (personne, profondeur) déjà vus, et la profondeur ne dépasse jamais cette limite.
+     */
+    int MAX_RECURSION_DEPTH = 512;
+
+    /**
+     * Personne atteinte par un parcours récursif et sa distance minimale au point de départ
+     */
+    interface LineageNode {
+        Long getPersonId();
+
+        Integer getDepth();
+    }
+
+    /**
+     * Projection {@link PersonSummary} : seules les colonnes légères sont lues, jamais la photo
+     */
+    String SUMMARY_SELECT = "SELECT new com.genealogy.back_ro.payload.response.PersonSummary("
+            + "p.id, p.firstName, p.lastName, p.birthDate, p.deathDate, p.birthPlace, "
+            + "CASE WHEN p.photoHash IS NULL THEN false ELSE true END)";
+
     @Query("SELECT pe FROM Person pe JOIN pe.parents parent WHERE parent.id = :parentId")
     List<Person> findChildrenByParentId(@Param("parentId") Long parentId);
 
@@ -21,4 +51,64 @@ public interface PersonRepository extends JpaRepository<Person, Long> {
 
     @Query("SELECT DISTINCT p FROM Person p WHERE LOWER(p.lastName) LIKE LOWER(CONCAT('%', :lastName, '%'))")
     List<Person> findByLastNameContainingIgnoreCase(@Param("lastName") String lastName);
+
+    @Query(SUMMARY_SELECT + " FROM Person p WHERE p.id IN :ids")
+    List<PersonSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Les requêtes marquées HINT_CACHEABLE passent par le cache de requêtes : Hibernate les invalide
+     * à chaque écriture JPA sur les tables lues ; les écritures JDBC directes doivent vider le cache
+     * (PersonCacheService).
+     */
+    @Query(SUMMARY_SELECT + " FROM Person p JOIN p.children child WHERE child.id = :childId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<PersonSummary> findParentSummariesByChildId(@Param("childId") Long childId);
+
+    @Query(SUMMARY_SELECT + " FROM Person p WHERE LOWER(p.firstName) LIKE LOWER(CONCAT('%', :firstName, '%')) AND LOWER(p.lastName) LIKE LOWER(CONCAT('%', :lastName, '%'))")
+    List<PersonSummary> findSummariesByFirstNameAndLastName(@Param("firstName") String firstName, @Param("lastName") String lastName);
+
+    @Query(SUMMARY_SELECT + " FROM Person p WHERE LOWER(p.lastName) LIKE LOWER(CONCAT('%', :lastName, '%'))")
+    List<PersonSummary> findSummariesByLastName(@Param("lastName") String lastName);
+
+    @Query(SUMMARY_SELECT + " FROM Person p WHERE p.id > :afterId ORDER BY p.id")
+    List<PersonSummary> findSummariesAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + " FROM Person p JOIN p.parents parent WHERE parent.id = :parentId AND p.id > :afterId ORDER BY p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<PersonSummary> findChildSummariesAfter(@Param("parentId") Long parentId, @Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Parcours de toute la table, lu par paquets ; à consommer dans une transaction puis fermer
+     */
+    @Query(SUMMARY_SELECT + " FROM Person p ORDER BY p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<PersonSummary> streamAllSummaries();
+
+    @Query("SELECT p.photoHash FROM Person p WHERE p.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    String findPhotoHashById(@Param("id") Long id);
+
+    /**
+     * Descendants d'une personne en une seule requête récursive, du plus proche au plus éloigné
+     */
+    @Query(nativeQuery = true, value = LineageQueries.DESCENDANTS)
+    List<LineageNode> findDescendantNodes(@Param("personId") Long personId, @Param("maxDepth") int maxDepth);
+
+    /**
+     * Ancêtres d'une personne en une seule requête récursive, du plus proche au plus éloigné
+     */
+    @Query(nativeQuery = true, value = LineageQueries.ANCESTORS)
+    List<LineageNode> findAncestorNodes(@Param("personId") Long personId, @Param("maxDepth") int maxDepth);
+
+    /**
+     * Personnes à au plus {@code maxDepth} liens parent-enfant, dans les deux sens
+     */
+    @Query(nativeQuery = true, value = LineageQueries.NEIGHBOURHOOD)
+    List<LineageNode> findNeighbourhoodNodes(@Param("personId") Long personId, @Param("maxDepth") int maxDepth);
+
+    /**
+     * 1 si les deux personnes appartiennent à la même famille, 0 sinon ; chaque personne n'est parcourue qu'une fois
+     */
+    @Query(nativeQuery = true, value = LineageQueries.SAME_FAMILY)
+    long countInSameFamily(@Param("personId") Long personId, @Param("otherPersonId") Long otherPersonId);
 }
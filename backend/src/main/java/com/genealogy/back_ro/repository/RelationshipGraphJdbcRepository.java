@@ -0,0 +1,84 @@
+package com.genealogy.back_ro.repository;
+
+import com.genealogy.back_ro.graph.RelationshipGraph;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Accès JDBC direct aux tables des liens parent-enfant et des relations pour construire
+ * le {@link RelationshipGraph} sans hydrater d'entités JPA.
+ */
+@Repository
+public class RelationshipGraphJdbcRepository {
+
+    /** Type d'une personne ayant plusieurs types de relation : aucun ne peut être attribué à une relation précise */
+    private static final String AMBIGUOUS = "";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Charge les personnes, les liens parent-enfant (dans les deux sens, poids 1) et les relations
+     * de {@code person_relationships}, parcourables dans les deux sens.
+     *
+     * Les types de relation sont enregistrés par personne et non par relation : une relation reçoit
+     * le type de sa première personne si celle-ci n'en a qu'un, {@link RelationshipGraph#RELATED} sinon.
+     * Son poids est celui de {@code person_relationship_weights} pour le couple (dans un sens ou dans l'autre),
+     * 1 à défaut ; les poids nuls ou négatifs sont conservés.
+     */
+    @Transactional(readOnly = true)
+    public RelationshipGraph loadRelationshipGraph() {
+        Integer personCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM persons", Integer.class);
+        RelationshipGraph.Builder builder = new RelationshipGraph.Builder(personCount == null ? 0 : personCount);
+        jdbcTemplate.query("SELECT id FROM persons ORDER BY id",
+                rs -> {
+                    builder.addPerson(rs.getLong(1));
+                });
+        jdbcTemplate.query("SELECT child_id, parent_id FROM person_parents",
+                rs -> {
+                    builder.addParentLink(rs.getLong(1), rs.getLong(2));
+                });
+
+        Map<Long, String> typeByPerson = new HashMap<>();
+        jdbcTemplate.query("SELECT person_id, relationship_type FROM person_relationship_types",
+                rs -> {
+                    String type = rs.getString(2);
+                    typeByPerson.merge(rs.getLong(1), type == null ? AMBIGUOUS : type,
+                            (previous, current) -> previous.equalsIgnoreCase(current) ? previous : AMBIGUOUS);
+                });
+
+        Map<Long, Map<Long, Integer>> weightsByPerson = new HashMap<>();
+        jdbcTemplate.query("SELECT person_id, relationship_weights_key, relationship_weight FROM person_relationship_weights "
+                        + "WHERE relationship_weight IS NOT NULL",
+                rs -> {
+                    weightsByPerson.computeIfAbsent(rs.getLong(1), id -> new HashMap<>(4))
+                            .put(rs.getLong(2), rs.getInt(3));
+                });
+
+        jdbcTemplate.query("SELECT person1_id, person2_id FROM person_relationships",
+                rs -> {
+                    long first = rs.getLong(1);
+                    long second = rs.getLong(2);
+                    String type = typeByPerson.get(first);
+                    int code = builder.typeCode(type == null || type.equals(AMBIGUOUS) ? RelationshipGraph.RELATED : type);
+                    Integer forward = weight(weightsByPerson, first, second);
+                    Integer backward = weight(weightsByPerson, second, first);
+                    builder.addEdge(first, second, code, forward != null ? forward : backward != null ? backward : 1);
+                    builder.addEdge(second, first, code, backward != null ? backward : forward != null ? forward : 1);
+                });
+        return builder.build();
+    }
+
+    /**
+     * @return le poids enregistré par {@code personId} pour {@code relatedId}, ou {@code null}
+     */
+    private static Integer weight(Map<Long, Map<Long, Integer>> weightsByPerson, long personId, long relatedId) {
+        Map<Long, Integer> weights = weightsByPerson.get(personId);
+        return weights == null ? null : weights.get(relatedId);
+    }
+}
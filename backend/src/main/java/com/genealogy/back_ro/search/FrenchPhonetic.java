@@ -0,0 +1,97 @@
+package com.genealogy.back_ro.search;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Code phonétique adapté aux noms français, dans l'esprit de Soundex2 / Phonex : les graphies
+ * qui se prononcent de la même façon reçoivent le même code (« Dupont », « Du Pont », « Dupond » → DUP3 ;
+ * « Renaud », « Renault » → RENO ; « Philippe », « Filipe » → FILIP).
+ *
+ * Les règles s'appliquent dans l'ordre sur le nom normalisé ({@link NameNormalizer}) sans espaces :
+ * groupes de lettres prononcés comme une seule, sons nasals notés par un chiffre, consonnes
+ * finales muettes supprimées, puis lettres doublées réduites.
+ */
+public final class FrenchPhonetic {
+
+    private static final String VOWELS = "AEIOUY";
+
+    private static final Object[][] RULES = {
+            // Finales muettes propres à certaines graphies
+            {"(AULT|AUD|AUT|AUX|EAUX|EAU|AUS|OT|OTS)$", "O"},
+            {"IER$", "IE"},
+            {"(EZ|ET)$", "E"},
+            {"X$", ""},
+            // Groupes de lettres
+            {"SCH|SH", "CH"},
+            {"PH", "F"},
+            {"TH", "T"},
+            {"GU(?=[EIY])", "K"},
+            {"QU|Q", "K"},
+            {"C(?=[EIY])", "S"},
+            {"CH", "§"},
+            {"CK|CC|C", "K"},
+            {"G(?=[AOU])", "K"},
+            {"GE(?=[AOU])", "J"},
+            {"G(?=[EIY])", "J"},
+            {"X", "KS"},
+            {"Z", "S"},
+            {"W", "V"},
+            {"BV", "V"},
+            // Voyelles composées
+            {"EAU|AU", "O"},
+            {"OU", "U"},
+            {"EU|OE", "E"},
+            // Lettres doublées (« Fontenne » : le n double n'est pas nasal)
+            {"(.)\\1+", "$1"},
+            // Sons nasals, seulement devant une consonne ou en fin de nom
+            {"(AIN|EIN|IN|UN|YN|IM|YM)(?![AEIOUY])", "1"},
+            {"(AN|EN|AM|EM)(?![AEIOUY])", "2"},
+            {"(ON|OM)(?![AEIOUY])", "3"},
+            {"AI|EI|AY|EY", "E"},
+            {"Y", "I"},
+            // H muet
+            {"H", ""},
+            // Consonnes finales muettes et e final
+            {"[DTSXPG]+$", ""},
+            {"E$", ""},
+    };
+
+    private static final Pattern[] PATTERNS = new Pattern[RULES.length];
+    private static final Pattern DOUBLED = Pattern.compile("(.)\\1+");
+
+    static {
+        for (int i = 0; i < RULES.length; i++) {
+            PATTERNS[i] = Pattern.compile((String) RULES[i][0]);
+        }
+    }
+
+    private FrenchPhonetic() {
+    }
+
+    /**
+     * @return le code phonétique, ou une chaîne vide si le nom ne contient aucune lettre
+     */
+    public static String encode(String name) {
+        // Le ç se prononce s : à traiter avant que la normalisation ne retire la cédille
+        String code = NameNormalizer.normalize(name == null ? null : name.replace('ç', 's').replace('Ç', 'S'))
+                .replaceAll("[^a-z]", "").toUpperCase(Locale.ROOT);
+        if (code.isEmpty()) {
+            return "";
+        }
+        String initial = code.substring(0, 1);
+
+        for (int i = 0; i < PATTERNS.length; i++) {
+            String replacement = (String) RULES[i][1];
+            code = PATTERNS[i].matcher(code).replaceAll(replacement.startsWith("$") ? replacement : Matcher.quoteReplacement(replacement));
+        }
+        code = DOUBLED.matcher(code.replace("§", "CH")).replaceAll("$1");
+
+        // Un nom réduit à rien (« Haut ») garde au moins son initiale
+        if (code.isEmpty()) {
+            return VOWELS.contains(initial) || initial.equals("H") ? "A" : initial;
+        }
+        return code;
+    }
+}
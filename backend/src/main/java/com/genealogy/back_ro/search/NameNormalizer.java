@@ -0,0 +1,42 @@
+package com.genealogy.back_ro.search;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Mise en forme canonique des noms pour la recherche : minuscules, sans accents
+ * (« Éléonore » → « eleonore »), ligatures décomposées (« Œ » → « oe ») et ponctuation
+ * (traits d'union, apostrophes) remplacée par des espaces.
+ */
+public final class NameNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    private NameNormalizer() {
+    }
+
+    /**
+     * @return le nom normalisé, mots séparés par une espace, ou une chaîne vide
+     */
+    public static String normalize(String name) {
+        if (name == null || name.isBlank()) {
+            return "";
+        }
+        String folded = name.toLowerCase(Locale.ROOT)
+                .replace("œ", "oe")
+                .replace("æ", "ae")
+                .replace("ß", "ss");
+        folded = COMBINING_MARKS.matcher(Normalizer.normalize(folded, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(folded).replaceAll(" ").trim();
+    }
+
+    /**
+     * @return les mots du nom normalisé
+     */
+    public static String[] tokens(String name) {
+        String normalized = normalize(name);
+        return normalized.isEmpty() ? new String[0] : normalized.split(" ");
+    }
+}
@@ -0,0 +1,44 @@
+package com.genealogy.back_ro.search;
+
+/**
+ * Événement publié par les services d'écriture lorsque le nom d'une personne est créé,
+ * modifié ou supprimé ; les index de recherche sont mis à jour après validation de la transaction.
+ */
+public final class PersonNameEvent {
+
+    private final long personId;
+    private final String firstName;
+    private final String lastName;
+    private final boolean removed;
+
+    private PersonNameEvent(long personId, String firstName, String lastName, boolean removed) {
+        this.personId = personId;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.removed = removed;
+    }
+
+    public static PersonNameEvent saved(long personId, String firstName, String lastName) {
+        return new PersonNameEvent(personId, firstName, lastName, false);
+    }
+
+    public static PersonNameEvent removed(long personId) {
+        return new PersonNameEvent(personId, null, null, true);
+    }
+
+    public long getPersonId() {
+        return personId;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public boolean isRemoved() {
+        return removed;
+    }
+}
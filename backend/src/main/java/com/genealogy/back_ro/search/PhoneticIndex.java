@@ -0,0 +1,240 @@
+package com.genealogy.back_ro.search;
+
+import com.genealogy.back_ro.util.LongArrayList;
+import org.apache.commons.codec.language.DaitchMokotoffSoundex;
+import org.apache.commons.codec.language.Soundex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index de clés phonétiques des prénoms et noms. Chaque nom est codé par trois encodeurs :
+ * Soundex américain, Daitch-Mokotoff (plusieurs codes possibles par nom) et {@link FrenchPhonetic}.
+ * Les codes sont calculés pour chaque mot du nom et pour le nom accolé (« Du Pont » → « dupont »),
+ * sans les particules isolées.
+ *
+ * Une recherche ne parcourt que les listes des clés de la requête : son coût dépend du nombre
+ * de personnes qui se prononcent comme la requête, pas de la taille de l'index. Une personne
+ * est classée selon le nombre d'encodeurs qui la rapprochent de la requête.
+ */
+public final class PhoneticIndex {
+
+    private static final char FIRST_NAME = 'F';
+    private static final char LAST_NAME = 'L';
+
+    private static final char SOUNDEX = 'S';
+    private static final char DAITCH_MOKOTOFF = 'D';
+    private static final char FRENCH = 'P';
+
+    private static final Set<String> PARTICLES = Set.of("de", "du", "des", "d", "la", "le", "l", "van", "von", "der", "di", "da");
+
+    private static final Soundex SOUNDEX_ENCODER = Soundex.US_ENGLISH;
+    private static final DaitchMokotoffSoundex DM_ENCODER = new DaitchMokotoffSoundex();
+
+    /**
+     * Personne trouvée et nombre de correspondances phonétiques
+     */
+    public static final class Hit {
+        private final long personId;
+        private final int score;
+
+        Hit(long personId, int score) {
+            this.personId = personId;
+            this.score = score;
+        }
+
+        public long getPersonId() {
+            return personId;
+        }
+
+        public int getScore() {
+            return score;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Clé → identifiant interne de la clé */
+    private final Map<String, Integer> keyIds = new HashMap<>();
+    /** Identifiant interne de clé → personnes portant cette clé */
+    private final List<LongArrayList> postings = new ArrayList<>();
+    /** Personne → identifiants internes de ses clés, pour la retirer sans recalculer ses anciens codes */
+    private final Map<Long, int[]> keysByPerson = new HashMap<>();
+
+    public void put(long personId, String firstName, String lastName) {
+        Set<String> keys = new LinkedHashSet<>();
+        addKeys(keys, FIRST_NAME, firstName);
+        addKeys(keys, LAST_NAME, lastName);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(personId);
+            int[] ids = new int[keys.size()];
+            int i = 0;
+            for (String key : keys) {
+                Integer keyId = keyIds.get(key);
+                if (keyId == null) {
+                    keyId = postings.size();
+                    keyIds.put(key, keyId);
+                    postings.add(new LongArrayList(2));
+                }
+                postings.get(keyId).add(personId);
+                ids[i++] = keyId;
+            }
+            keysByPerson.put(personId, ids);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long personId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(personId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            keyIds.clear();
+            postings.clear();
+            keysByPerson.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return keysByPerson.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Personnes dont le nom (et le prénom, s'il est donné) se prononce comme la requête,
+     * les plus proches d'abord. Un champ vide ne filtre pas ; si les deux le sont, le résultat est vide.
+     */
+    public List<Hit> search(String firstName, String lastName) {
+        Set<String> firstKeys = new LinkedHashSet<>();
+        Set<String> lastKeys = new LinkedHashSet<>();
+        addKeys(firstKeys, FIRST_NAME, firstName);
+        addKeys(lastKeys, LAST_NAME, lastName);
+        if (firstKeys.isEmpty() && lastKeys.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> scores = null;
+            if (!lastKeys.isEmpty()) {
+                scores = score(lastKeys, null);
+            }
+            if (!firstKeys.isEmpty()) {
+                scores = score(firstKeys, scores);
+            }
+
+            List<Hit> hits = new ArrayList<>(scores.size());
+            for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+                hits.add(new Hit(entry.getKey(), entry.getValue()));
+            }
+            hits.sort((a, b) -> a.score != b.score
+                    ? Integer.compare(b.score, a.score)
+                    : Long.compare(a.personId, b.personId));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Compte, pour chaque personne, les encodeurs qui produisent une clé commune avec la requête.
+     * Si {@code previous} est donné, seules ses personnes sont retenues et les scores s'additionnent.
+     */
+    private Map<Long, Integer> score(Set<String> keys, Map<Long, Integer> previous) {
+        Map<Long, Integer> encodersByPerson = new HashMap<>();
+        for (String key : keys) {
+            Integer keyId = keyIds.get(key);
+            if (keyId == null) {
+                continue;
+            }
+            int encoderBit = encoderBit(key.charAt(1));
+            LongArrayList persons = postings.get(keyId);
+            for (int i = 0; i < persons.size(); i++) {
+                long personId = persons.get(i);
+                if (previous == null || previous.containsKey(personId)) {
+                    encodersByPerson.merge(personId, encoderBit, (a, b) -> a | b);
+                }
+            }
+        }
+
+        Map<Long, Integer> scores = new HashMap<>(encodersByPerson.size() * 2);
+        for (Map.Entry<Long, Integer> entry : encodersByPerson.entrySet()) {
+            int score = Integer.bitCount(entry.getValue());
+            if (previous != null) {
+                score += previous.get(entry.getKey());
+            }
+            scores.put(entry.getKey(), score);
+        }
+        return scores;
+    }
+
+    private static int encoderBit(char encoder) {
+        return switch (encoder) {
+            case SOUNDEX -> 1;
+            case DAITCH_MOKOTOFF -> 2;
+            default -> 4;
+        };
+    }
+
+    private void removeLocked(long personId) {
+        int[] ids = keysByPerson.remove(personId);
+        if (ids != null) {
+            for (int keyId : ids) {
+                postings.get(keyId).removeValue(personId);
+            }
+        }
+    }
+
+    /**
+     * Clés de la forme {@code <champ><encodeur>:<code>}, par exemple {@code LP:DUP3}
+     */
+    static void addKeys(Set<String> keys, char field, String name) {
+        String[] tokens = NameNormalizer.tokens(name);
+        List<String> words = new ArrayList<>(tokens.length + 1);
+        for (String token : tokens) {
+            if (!PARTICLES.contains(token) || tokens.length == 1) {
+                words.add(token);
+            }
+        }
+        if (tokens.length > 1) {
+            words.add(String.join("", tokens));
+        }
+
+        for (String word : words) {
+            String letters = word.replaceAll("[^a-z]", "");
+            if (letters.isEmpty()) {
+                continue;
+            }
+            keys.add(key(field, SOUNDEX, SOUNDEX_ENCODER.encode(letters)));
+            for (String code : DM_ENCODER.soundex(letters).split("\\|")) {
+                keys.add(key(field, DAITCH_MOKOTOFF, code));
+            }
+            keys.add(key(field, FRENCH, FrenchPhonetic.encode(letters)));
+        }
+    }
+
+    private static String key(char field, char encoder, String code) {
+        return new StringBuilder(code.length() + 3).append(field).append(encoder).append(':').append(code).toString();
+    }
+}
@@ -0,0 +1,419 @@
+package com.genealogy.back_ro.search;
+
+import com.genealogy.back_ro.util.IntArrayList;
+import com.genealogy.back_ro.util.LongIntHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index inversé de trigrammes sur les prénoms et noms normalisés ({@link NameNormalizer}).
+ *
+ * Chaque mot est découpé en trigrammes après ajout de deux espaces devant et d'une derrière
+ * (« dupont » → «   d », «  du », « dup », …, « nt  »). Les mots de la requête ne reçoivent pas
+ * d'espace final : une requête partielle (« dup ») trouve ainsi toutes ses extensions. Une personne
+ * est retenue lorsqu'elle partage assez de trigrammes avec chaque champ de la requête, ce qui
+ * tolère une faute de frappe à partir de 5 lettres et deux à partir de 9.
+ *
+ * Les suppressions laissent des entrées mortes dans les listes de trigrammes ; elles sont purgées
+ * lorsqu'elles deviennent plus nombreuses que les entrées vivantes. Les recherches prennent
+ * un verrou en lecture, les mises à jour un verrou en écriture.
+ */
+public final class TrigramIndex {
+
+    /** Champs indexés */
+    public static final int FIRST_NAME = 0;
+    public static final int LAST_NAME = 1;
+    public static final int FULL_NAME = 2;
+    private static final int FIELD_COUNT = 3;
+
+    private static final int COMPACTION_THRESHOLD = 1024;
+
+    /**
+     * Personne trouvée et pertinence de la correspondance
+     */
+    public static final class Hit {
+        private final long personId;
+        private final double score;
+
+        Hit(long personId, double score) {
+            this.personId = personId;
+            this.score = score;
+        }
+
+        public long getPersonId() {
+            return personId;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * Une page de résultats triés par pertinence décroissante, et le nombre total de correspondances
+     */
+    public static final class Page {
+        private final List<Hit> hits;
+        private final int total;
+
+        Page(List<Hit> hits, int total) {
+            this.hits = hits;
+            this.total = total;
+        }
+
+        public List<Hit> getHits() {
+            return hits;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+    }
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, IntArrayList> postings = new HashMap<>();
+    private LongIntHashMap ordinalById = new LongIntHashMap(1024);
+
+    private long[] personIds = new long[1024];
+    private String[][] fields = new String[1024][];
+    private int[][] gramCounts = new int[1024][];
+    private boolean[] live = new boolean[1024];
+    private int ordinalCount;
+    private int deadCount;
+
+    /**
+     * Ajoute ou remplace l'entrée d'une personne.
+     */
+    public void put(long personId, String firstName, String lastName) {
+        String first = NameNormalizer.normalize(firstName);
+        String last = NameNormalizer.normalize(lastName);
+        lock.writeLock().lock();
+        try {
+            removeLocked(personId);
+            addLocked(personId, new String[]{first, last, (first + " " + last).trim()});
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long personId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(personId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Vide l'index.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            ordinalById = new LongIntHashMap(1024);
+            Arrays.fill(fields, 0, ordinalCount, null);
+            Arrays.fill(gramCounts, 0, ordinalCount, null);
+            Arrays.fill(live, 0, ordinalCount, false);
+            ordinalCount = 0;
+            deadCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalCount - deadCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recherche par champ. Les champs absents ou vides ne filtrent pas ; si tous le sont,
+     * le résultat est vide.
+     *
+     * @param queries requête par champ, indexée par {@link #FIRST_NAME}, {@link #LAST_NAME}, {@link #FULL_NAME}
+     */
+    public Page search(String[] queries, int offset, int limit) {
+        String[][] queryTokens = new String[FIELD_COUNT][];
+        boolean any = false;
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            queryTokens[field] = field < queries.length ? NameNormalizer.tokens(queries[field]) : new String[0];
+            any |= queryTokens[field].length > 0;
+        }
+        if (!any) {
+            return new Page(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            Scratch scratch = SCRATCH.get();
+            scratch.reset(ordinalCount);
+
+            // Les candidats doivent correspondre à chaque champ renseigné : le premier champ les fournit,
+            // les suivants les filtrent
+            IntArrayList candidates = null;
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                if (queryTokens[field].length > 0) {
+                    candidates = matchField(scratch, field, queryTokens[field], candidates);
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(candidates.size());
+            for (int i = 0; i < candidates.size(); i++) {
+                int ordinal = candidates.get(i);
+                hits.add(new Hit(personIds[ordinal], scratch.score[ordinal]));
+            }
+            hits.sort((a, b) -> a.score != b.score
+                    ? Double.compare(b.score, a.score)
+                    : Long.compare(a.personId, b.personId));
+
+            int from = Math.min(Math.max(offset, 0), hits.size());
+            int to = Math.min(from + Math.max(limit, 0), hits.size());
+            return new Page(new ArrayList<>(hits.subList(from, to)), hits.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private IntArrayList matchField(Scratch scratch, int field, String[] tokens, IntArrayList previous) {
+        long[] grams = queryGrams(field, tokens);
+        int allowedMissing = 0;
+        for (String token : tokens) {
+            allowedMissing += 2 * allowedTypos(token.length());
+        }
+        int required = Math.max(1, grams.length - allowedMissing);
+
+        scratch.nextField();
+        IntArrayList touched = new IntArrayList();
+        for (long gram : grams) {
+            IntArrayList list = postings.get(gram);
+            if (list == null) {
+                continue;
+            }
+            for (int i = 0; i < list.size(); i++) {
+                int ordinal = list.get(i);
+                if (!live[ordinal] || (previous != null && !scratch.isCandidate(ordinal))) {
+                    continue;
+                }
+                if (scratch.count(ordinal) == 1) {
+                    touched.add(ordinal);
+                }
+            }
+        }
+
+        String query = String.join(" ", tokens);
+        IntArrayList matched = new IntArrayList(touched.size());
+        for (int i = 0; i < touched.size(); i++) {
+            int ordinal = touched.get(i);
+            int shared = scratch.shared(ordinal);
+            if (shared < required) {
+                continue;
+            }
+            double containment = (double) shared / grams.length;
+            double dice = 2.0 * shared / (grams.length + gramCounts[ordinal][field]);
+            double score = 0.8 * containment + 0.2 * dice + textBonus(fields[ordinal][field], query);
+            scratch.accept(ordinal, previous == null ? score : scratch.score[ordinal] + score);
+            matched.add(ordinal);
+        }
+        return matched;
+    }
+
+    /**
+     * Favorise les correspondances exactes, puis les préfixes, devant les correspondances approchées
+     */
+    private static double textBonus(String value, String query) {
+        if (value.equals(query)) {
+            return 1.0;
+        }
+        if (value.startsWith(query)) {
+            return 0.5;
+        }
+        if (value.contains(" " + query)) {
+            return 0.3;
+        }
+        return 0;
+    }
+
+    private static int allowedTypos(int length) {
+        if (length >= 9) {
+            return 2;
+        }
+        return length >= 5 ? 1 : 0;
+    }
+
+    private void addLocked(long personId, String[] values) {
+        ensureCapacity(ordinalCount + 1);
+        int ordinal = ordinalCount++;
+        personIds[ordinal] = personId;
+        fields[ordinal] = values;
+        gramCounts[ordinal] = new int[FIELD_COUNT];
+        live[ordinal] = true;
+        ordinalById.put(personId, ordinal);
+
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            Set<Long> grams = indexGrams(field, values[field]);
+            gramCounts[ordinal][field] = grams.size();
+            for (Long gram : grams) {
+                postings.computeIfAbsent(gram, key -> new IntArrayList(4)).add(ordinal);
+            }
+        }
+    }
+
+    private void removeLocked(long personId) {
+        int ordinal = ordinalById.remove(personId);
+        if (ordinal != LongIntHashMap.MISSING) {
+            live[ordinal] = false;
+            deadCount++;
+        }
+    }
+
+    /**
+     * Reconstruit les listes de trigrammes sans les entrées mortes
+     */
+    private void compactIfNeeded() {
+        if (deadCount < COMPACTION_THRESHOLD || deadCount < ordinalCount - deadCount) {
+            return;
+        }
+        long[] oldIds = personIds;
+        String[][] oldFields = fields;
+        boolean[] oldLive = live;
+        int oldCount = ordinalCount;
+
+        int capacity = Math.max(1024, oldCount - deadCount);
+        personIds = new long[capacity];
+        fields = new String[capacity][];
+        gramCounts = new int[capacity][];
+        live = new boolean[capacity];
+        postings.clear();
+        ordinalById = new LongIntHashMap(capacity);
+        ordinalCount = 0;
+        deadCount = 0;
+
+        for (int ordinal = 0; ordinal < oldCount; ordinal++) {
+            if (oldLive[ordinal]) {
+                addLocked(oldIds[ordinal], oldFields[ordinal]);
+            }
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > personIds.length) {
+            int newCapacity = Math.max(capacity, personIds.length + (personIds.length >> 1));
+            personIds = Arrays.copyOf(personIds, newCapacity);
+            fields = Arrays.copyOf(fields, newCapacity);
+            gramCounts = Arrays.copyOf(gramCounts, newCapacity);
+            live = Arrays.copyOf(live, newCapacity);
+        }
+    }
+
+    private static Set<Long> indexGrams(int field, String value) {
+        Set<Long> grams = new HashSet<>();
+        if (!value.isEmpty()) {
+            for (String token : value.split(" ")) {
+                addGrams(grams, field, "  " + token + " ");
+            }
+        }
+        return grams;
+    }
+
+    private static long[] queryGrams(int field, String[] tokens) {
+        Set<Long> grams = new HashSet<>();
+        for (String token : tokens) {
+            addGrams(grams, field, "  " + token);
+        }
+        long[] result = new long[grams.size()];
+        int i = 0;
+        for (Long gram : grams) {
+            result[i++] = gram;
+        }
+        return result;
+    }
+
+    private static void addGrams(Set<Long> grams, int field, String padded) {
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(((long) field << 48)
+                    | ((long) padded.charAt(i) << 32)
+                    | ((long) padded.charAt(i + 1) << 16)
+                    | padded.charAt(i + 2));
+        }
+    }
+
+    /**
+     * Compteurs par entrée réutilisés d'une recherche à l'autre ; un numéro d'époque par champ
+     * évite de les remettre à zéro.
+     */
+    private static final class Scratch {
+        private int[] stamp = new int[0];
+        private int[] shared = new int[0];
+        private int[] acceptedStamp = new int[0];
+        private double[] score = new double[0];
+        private int epoch;
+        private int previousEpoch;
+
+        void reset(int capacity) {
+            if (stamp.length < capacity) {
+                int newCapacity = Math.max(capacity, stamp.length + (stamp.length >> 1));
+                stamp = new int[newCapacity];
+                shared = new int[newCapacity];
+                acceptedStamp = new int[newCapacity];
+                score = new double[newCapacity];
+                epoch = 0;
+            }
+            if (epoch > Integer.MAX_VALUE - 2 * FIELD_COUNT) {
+                Arrays.fill(stamp, 0);
+                Arrays.fill(acceptedStamp, 0);
+                epoch = 0;
+            }
+            previousEpoch = 0;
+        }
+
+        void nextField() {
+            previousEpoch = epoch;
+            epoch++;
+        }
+
+        /**
+         * @return le nombre de trigrammes partagés après incrément
+         */
+        int count(int ordinal) {
+            if (stamp[ordinal] != epoch) {
+                stamp[ordinal] = epoch;
+                shared[ordinal] = 0;
+            }
+            return ++shared[ordinal];
+        }
+
+        int shared(int ordinal) {
+            return shared[ordinal];
+        }
+
+        /**
+         * @return {@code true} si l'entrée a été retenue pour le champ précédent
+         */
+        boolean isCandidate(int ordinal) {
+            return previousEpoch != 0 && acceptedStamp[ordinal] == previousEpoch;
+        }
+
+        void accept(int ordinal, double value) {
+            acceptedStamp[ordinal] = epoch;
+            score[ordinal] = value;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.genealogy.back_ro.service;
+
+import com.genealogy.back_ro.exporter.ExportFormat;
+import com.genealogy.back_ro.exporter.ExportWriter;
+import com.genealogy.back_ro.exporter.ExportedPerson;
+import com.genealogy.back_ro.repository.ExportJdbcRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongPredicate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Export de l'arbre complet, ou de la descendance d'une personne, en GEDCOM ou en JSON.
+ *
+ * Les personnes sont lues par paquets de {@link #CHUNK_SIZE} dans l'ordre des identifiants,
+ * avec leurs liens, puis écrites aussitôt dans le flux de sortie (compressé en gzip à la demande).
+ * Seuls le paquet courant et, pour une descendance, la liste triée de ses identifiants sont en mémoire.
+ */
+@Service
+public class ExportService {
+
+    /** Taille d'un paquet, sous la limite de paramètres d'une requête SQLite */
+    public static final int CHUNK_SIZE = 500;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    @Autowired
+    private ExportJdbcRepository exportJdbcRepository;
+
+    @Autowired
+    private GenealogySearchService genealogySearchService;
+
+    /**
+     * L'export entier se fait dans une seule transaction en lecture : les paquets successifs
+     * voient le même état de la base, même si des écritures ont lieu pendant l'export.
+     *
+     * @param rootId personne dont la descendance est exportée, ou {@code null} pour tout l'arbre
+     */
+    @Transactional(readOnly = true)
+    public void export(ExportFormat format, Long rootId, boolean gzip, OutputStream outputStream) throws IOException {
+        long[] scope = null;
+        if (rootId != null) {
+            scope = genealogySearchService.descendantIds(rootId);
+            if (scope == null) {
+                throw new RuntimeException("Personne non trouvée");
+            }
+        }
+
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(outputStream, BUFFER_SIZE) : null;
+        OutputStream out = new BufferedOutputStream(compressed != null ? compressed : outputStream, BUFFER_SIZE);
+        ExportWriter writer = format.writer(out);
+        writer.begin();
+
+        if (scope == null) {
+            long afterId = 0;
+            List<ExportedPerson> chunk;
+            do {
+                chunk = exportJdbcRepository.findPersonsAfter(afterId, CHUNK_SIZE);
+                writeChunk(writer, format, chunk, id -> true);
+                if (!chunk.isEmpty()) {
+                    afterId = chunk.get(chunk.size() - 1).getId();
+                }
+            } while (chunk.size() == CHUNK_SIZE);
+        } else {
+            long[] ids = scope;
+            LongPredicate inScope = id -> Arrays.binarySearch(ids, id) >= 0;
+            for (int from = 0; from < ids.length; from += CHUNK_SIZE) {
+                long[] chunkIds = Arrays.copyOfRange(ids, from, Math.min(from + CHUNK_SIZE, ids.length));
+                writeChunk(writer, format, exportJdbcRepository.findPersonsByIds(chunkIds), inScope);
+            }
+        }
+
+        writer.end();
+        out.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+    }
+
+    private void writeChunk(ExportWriter writer, ExportFormat format, List<ExportedPerson> chunk,
+                            LongPredicate inScope) throws IOException {
+        exportJdbcRepository.loadRelations(chunk, format.needsFamilies(), inScope);
+        for (ExportedPerson person : chunk) {
+            writer.person(person);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.genealogy.back_ro.service;
+
+import com.genealogy.back_ro.graph.ComponentIndex;
+import com.genealogy.back_ro.graph.FamilyGraph;
+import com.genealogy.back_ro.graph.GraphDeltaEvent;
+import com.genealogy.back_ro.repository.FamilyGraphJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Maintient l'index d'adjacence résident ({@link FamilyGraph}) utilisé par les algorithmes de recherche.
+ * L'index est construit au démarrage à partir de la table {@code person_parents}, puis corrigé
+ * en place par les {@link GraphDeltaEvent} publiés après chaque transaction d'écriture.
+ *
+ * Les écritures sont sérialisées ; les lecteurs travaillent sur un instantané immuable
+ * et ne sont jamais bloqués.
+ *
+ * Les familles disjointes sont suivies par un {@link ComponentIndex} : ajouts de liens reportés
+ * sur place, reconstruction en arrière-plan après une suppression.
+ *
+ * L'index peut être désactivé ({@code genealogy.graph-index.enabled=false}) ; tant qu'il n'est pas
+ * construit, les parcours se font par requêtes récursives en base (voir {@link #isReady()}).
+ */
+@Service
+public class FamilyGraphIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FamilyGraphIndexService.class);
+
+    @Autowired
+    private FamilyGraphJdbcRepository familyGraphJdbcRepository;
+
+    @Value("${genealogy.graph-index.enabled:true}")
+    private boolean enabled;
+
+    private volatile FamilyGraph graph = FamilyGraph.empty();
+
+    private volatile boolean ready;
+
+    private volatile ComponentIndex components = ComponentIndex.build(FamilyGraph.empty(), 0);
+
+    private final AtomicLong version = new AtomicLong();
+
+    /** Reconstruction des composantes après une suppression, hors du chemin des écritures */
+    private final ExecutorService componentExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "genealogy-components");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        } else {
+            logger.info("Index du graphe familial désactivé : parcours par requêtes récursives");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        componentExecutor.shutdownNow();
+    }
+
+    /**
+     * Reconstruit entièrement l'index depuis la base de données (sans effet si l'index est désactivé).
+     */
+    public synchronized void rebuild() {
+        if (!enabled) {
+            // Les requêtes récursives lisent la base : les résultats en cache sont périmés
+            version.incrementAndGet();
+            return;
+        }
+        long start = System.nanoTime();
+        FamilyGraph rebuilt = familyGraphJdbcRepository.loadFamilyGraph();
+        long next = version.get() + 1;
+        ComponentIndex rebuiltComponents = ComponentIndex.build(rebuilt, next);
+        graph = rebuilt;
+        components = rebuiltComponents;
+        ready = true;
+        version.set(next);
+        logger.info("Index du graphe familial construit : {} personnes, {} liens, {} familles en {} ms",
+                rebuilt.personCount(), rebuilt.edgeCount(), rebuiltComponents.componentCount(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Applique les modifications d'une transaction validée (ou immédiatement, hors transaction).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onGraphDelta(GraphDeltaEvent event) {
+        long next = version.get() + 1;
+        // Avant la première construction, la modification sera lue avec le reste de la base
+        if (ready) {
+            FamilyGraph before = graph;
+            graph = before.apply(event.getDeltas());
+            components.apply(before, graph, event.getDeltas(), next);
+            if (components.isStale()) {
+                componentExecutor.execute(this::recomputeComponents);
+            }
+        }
+        version.set(next);
+        logger.debug("Index du graphe familial mis à jour : {}", event.getDeltas());
+    }
+
+    /**
+     * Reconstruit les composantes à partir de l'instantané courant, sans bloquer les écritures.
+     * Si le graphe a changé pendant le calcul, le résultat est abandonné et le calcul relancé.
+     */
+    private void recomputeComponents() {
+        FamilyGraph source = graph;
+        long expectedVersion = version.get();
+        if (!components.isStale()) {
+            return;
+        }
+        ComponentIndex rebuilt = ComponentIndex.build(source, expectedVersion + 1);
+        synchronized (this) {
+            if (graph != source || version.get() != expectedVersion) {
+                componentExecutor.execute(this::recomputeComponents);
+                return;
+            }
+            components = rebuilt;
+            version.set(expectedVersion + 1);
+        }
+        logger.debug("Composantes du graphe familial recalculées : {} familles", rebuilt.componentCount());
+    }
+
+    /**
+     * @return {@code false} tant que l'index n'a pas été construit, ou s'il est désactivé
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Numéro incrémenté après chaque modification appliquée (ou reconstruction) : un résultat calculé
+     * après lecture d'une version n'est plus valable dès que la version a changé
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * @return {@code false} seulement si les deux personnes sont indexées dans des familles sans aucun lien :
+     * elles n'ont alors ni chemin de parenté ni ancêtre commun. Index froid ou personne inconnue : {@code true}.
+     */
+    public boolean mayBeRelated(long person1Id, long person2Id) {
+        if (!ready) {
+            return true;
+        }
+        FamilyGraph current = graph;
+        int first = current.indexOf(person1Id);
+        int second = current.indexOf(person2Id);
+        if (first == FamilyGraph.NO_NODE || second == FamilyGraph.NO_NODE) {
+            return true;
+        }
+        return components.connected(first, second);
+    }
+
+    /**
+     * Version de la famille de la personne : elle ne change que si cette famille est modifiée.
+     * Index froid ou personne inconnue : la version globale ({@link #version()}).
+     */
+    public long componentVersion(long personId) {
+        long global = version.get();
+        if (!ready) {
+            return global;
+        }
+        int node = graph.indexOf(personId);
+        return node == FamilyGraph.NO_NODE ? global : components.version(node, global);
+    }
+
+    /**
+     * @return l'index des composantes, cohérent avec {@link #snapshot()} sauf pendant une mise à jour
+     */
+    public ComponentIndex components() {
+        return components;
+    }
+
+    /**
+     * @return l'instantané courant de l'index, cohérent pour toute la durée d'une requête
+     */
+    public FamilyGraph snapshot() {
+        return graph;
+    }
+}
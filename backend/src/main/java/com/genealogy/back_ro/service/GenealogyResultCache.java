@@ -0,0 +1,109 @@
+package com.genealogy.back_ro.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Cache des résultats de recherche (chemins de parenté, ancêtres communs, descendants) sous forme
+ * de listes d'identifiants ; les vues des personnes sont rechargées à chaque lecture et restent à jour.
+ *
+ * La clé contient la version de la famille de la première personne
+ * ({@link FamilyGraphIndexService#componentVersion(long)}) : une modification des liens parent-enfant
+ * n'invalide que les résultats de la famille touchée. Les anciennes entrées ne sont plus jamais lues
+ * et sont évincées en priorité par la politique W-TinyLFU de Caffeine.
+ * Les requêtes sur deux personnes ne sont mises en cache que si elles sont de la même famille.
+ */
+@Component
+public class GenealogyResultCache {
+
+    /**
+     * Types de requêtes mises en cache
+     */
+    public enum Kind {
+        RELATIONSHIP_PATH,
+        COMMON_ANCESTORS,
+        DESCENDANTS
+    }
+
+    @Autowired
+    private FamilyGraphIndexService familyGraphIndexService;
+
+    private final Cache<Key, long[]> cache;
+
+    public GenealogyResultCache(@Value("${genealogy.result-cache.maximum-weight:100000}") long maximumWeight) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                // Une longue descendance pèse plus lourd qu'un chemin de quelques personnes
+                .weigher((Key key, long[] ids) -> 1 + ids.length / 64)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @param first  première personne (ou seule personne, pour les descendants)
+     * @param second seconde personne, ou 0
+     * @param depth  profondeur maximale, ou 0
+     * @param loader calcul du résultat, appelé une seule fois par clé absente
+     * @return les identifiants du résultat, à ne pas modifier
+     */
+    public long[] get(Kind kind, long first, long second, int depth, Supplier<long[]> loader) {
+        Key key = new Key(kind, first, second, depth, familyGraphIndexService.componentVersion(first));
+        return cache.get(key, k -> loader.get());
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    private static final class Key {
+        private final Kind kind;
+        private final long first;
+        private final long second;
+        private final int depth;
+        private final long version;
+
+        Key(Kind kind, long first, long second, int depth, long version) {
+            this.kind = kind;
+            this.first = first;
+            this.second = second;
+            this.depth = depth;
+            this.version = version;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return kind == other.kind && first == other.first && second == other.second
+                    && depth == other.depth && version == other.version;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = kind.hashCode();
+            hash = 31 * hash + Long.hashCode(first);
+            hash = 31 * hash + Long.hashCode(second);
+            hash = 31 * hash + depth;
+            return 31 * hash + Long.hashCode(version);
+        }
+    }
+}
@@ -1,198 +1,772 @@
 package com.genealogy.back_ro.service;
 
-import com.genealogy.back_ro.model.Person;
+import com.genealogy.back_ro.graph.BellmanFord;
+import com.genealogy.back_ro.graph.CommonAncestors;
+import com.genealogy.back_ro.graph.ComponentIndex;
+import com.genealogy.back_ro.graph.EdgeWeights;
+import com.genealogy.back_ro.graph.FamilyGraph;
+import com.genealogy.back_ro.graph.FamilySegmentation;
+import com.genealogy.back_ro.graph.GraphBackend;
+import com.genealogy.back_ro.graph.KinshipCalculator;
+import com.genealogy.back_ro.graph.KinshipLabels;
+import com.genealogy.back_ro.graph.RelationshipGraph;
+import com.genealogy.back_ro.graph.ShortestPaths;
+import com.genealogy.back_ro.graph.TraversalWorkspace;
+import com.genealogy.back_ro.graph.WeightedPaths;
+import com.genealogy.back_ro.payload.response.FamilyClusterResponse;
+import com.genealogy.back_ro.payload.response.FamilyClustersResponse;
+import com.genealogy.back_ro.payload.response.KinshipResponse;
+import com.genealogy.back_ro.payload.response.LineageEntry;
+import com.genealogy.back_ro.payload.response.PersonSummary;
+import com.genealogy.back_ro.payload.response.RelatedResponse;
+import com.genealogy.back_ro.payload.response.RelationshipPathResult;
+import com.genealogy.back_ro.payload.response.SubFamilyResponse;
+import com.genealogy.back_ro.payload.response.WeightedPathResponse;
+import com.genealogy.back_ro.util.IntArrayList;
+import com.genealogy.back_ro.repository.FamilyGraphJdbcRepository;
 import com.genealogy.back_ro.repository.PersonRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
-
+import java.util.function.Consumer;
+
+/**
+ * Algorithmes de recherche dans l'arbre généalogique.
+ * Les parcours s'exécutent sur l'index d'adjacence résident ({@link FamilyGraph}), les chemins
+ * et ancêtres communs par le {@link GraphBackend} configuré. Tant que l'index n'est pas construit,
+ * les parcours simples passent par des requêtes récursives, les autres par le seul sous-graphe
+ * (familles ou ascendances) des personnes concernées, chargé depuis la base ;
+ * seules les vues allégées des personnes du résultat final sont chargées via {@link PersonRepository}.
+ * Les résultats des requêtes répétées (chemins, ancêtres communs, descendants) sont conservés
+ * dans le {@link GenealogyResultCache}.
+ */
 @Service
+@Transactional(readOnly = true)
 public class GenealogySearchService {
 
+    private static final EdgeWeights PARENT_CHILD_WEIGHTS = EdgeWeights.UNIFORM;
+
+    /** Nombre de personnes chargées par requête (sous la limite de paramètres SQLite) */
+    private static final int SUMMARY_CHUNK_SIZE = 500;
+
     @Autowired
     private PersonRepository personRepository;
 
+    @Autowired
+    private FamilyGraphIndexService familyGraphIndexService;
+
+    @Autowired
+    private FamilyGraphJdbcRepository familyGraphJdbcRepository;
+
+    @Autowired
+    private GenealogyResultCache resultCache;
+
+    @Autowired
+    private RelationshipGraphService relationshipGraphService;
+
+    @Autowired
+    private GraphBackend graphBackend;
+
+    private volatile KinshipCalculator kinshipCalculator;
+
     /**
-     * Recherche le lien de parenté entre deux personnes
+     * Recherche le lien de parenté entre deux personnes.
+     * Le chemin est calculé (et mis en cache) du plus petit identifiant vers le plus grand,
+     * puis retourné dans le sens demandé.
      */
-    public List<Person> findRelationshipPath(Long person1Id, Long person2Id) {
-        Person person1 = personRepository.findById(person1Id).orElse(null);
-        Person person2 = personRepository.findById(person2Id).orElse(null);
-
-        if (person1 == null || person2 == null) {
+    public List<PersonSummary> findRelationshipPath(Long person1Id, Long person2Id) {
+        // Familles disjointes : inutile d'explorer toute la famille de la première personne
+        if (!familyGraphIndexService.mayBeRelated(person1Id, person2Id)) {
             return Collections.emptyList();
         }
+        long low = Math.min(person1Id, person2Id);
+        long high = Math.max(person1Id, person2Id);
+        long[] path = resultCache.get(GenealogyResultCache.Kind.RELATIONSHIP_PATH, low, high, 0,
+                () -> relationshipPathIds(low, high));
+        List<Long> ids = boxed(path);
+        if (person1Id > person2Id) {
+            Collections.reverse(ids);
+        }
+        return summaries(ids);
+    }
 
-        // Utilisation de l'algorithme de Dijkstra pour trouver le chemin le plus court
-        Map<Long, Long> parentMap = new HashMap<>();
-        Map<Long, Integer> distances = new HashMap<>();
-        PriorityQueue<PersonDistance> queue = new PriorityQueue<>();
-        Set<Long> visited = new HashSet<>();
+    private long[] relationshipPathIds(long person1Id, long person2Id) {
+        return relationshipPathIds(familiesOf(List.of(person1Id)), graphBackend, person1Id, person2Id);
+    }
 
-        // Initialisation
-        distances.put(person1.getId(), 0);
-        queue.add(new PersonDistance(person1.getId(), 0));
+    /**
+     * Chemin le plus court sur {@code graph}, index résident ou familles chargées pour la requête
+     * (visible dans le paquetage pour les bancs d'essai)
+     */
+    static long[] relationshipPathIds(FamilyGraph graph, GraphBackend backend, long person1Id, long person2Id) {
+        int source = graph.indexOf(person1Id);
+        int target = graph.indexOf(person2Id);
 
-        while (!queue.isEmpty()) {
-            PersonDistance current = queue.poll();
-            Long currentId = current.personId;
+        if (source == FamilyGraph.NO_NODE || target == FamilyGraph.NO_NODE) {
+            return new long[0];
+        }
 
-            if (currentId.equals(person2.getId())) {
-                break;
-            }
+        return toIds(graph, backend.shortestPath(graph, source, target));
+    }
 
-            if (visited.contains(currentId)) {
-                continue;
-            }
+    /**
+     * Chemin de poids minimal entre deux personnes dans le graphe des relations pondérées
+     * (liens parent-enfant et {@code person_relationships}), restreint à certains types de relation.
+     *
+     * @param types types de relation autorisés ({@code PARENT}, {@code CHILD}, {@code RELATED} ou un type
+     *              enregistré) ; vide ou {@code null} pour tous
+     * @return {@code null} si l'une des personnes n'existe pas
+     * @throws IllegalArgumentException si un type est inconnu
+     */
+    public WeightedPathResponse findWeightedRelationshipPath(Long person1Id, Long person2Id, Collection<String> types) {
+        RelationshipGraph graph = relationshipGraphService.graph();
+        int typeMask = graph.typeMask(types);
+        int source = graph.indexOf(person1Id);
+        int target = graph.indexOf(person2Id);
+        if (source == FamilyGraph.NO_NODE || target == FamilyGraph.NO_NODE) {
+            return null;
+        }
 
-            visited.add(currentId);
+        return weightedPathResponse(graph, person1Id, person2Id, WeightedPaths.dijkstra(graph, source, target, typeMask));
+    }
 
-            // Récupérer la personne courante
-            Person currentPerson = personRepository.findById(currentId).orElse(null);
-            if (currentPerson == null) continue;
+    /**
+     * Chemin de poids minimal calculé par Bellman-Ford : contrairement à
+     * {@link #findWeightedRelationshipPath}, les poids nuls ou négatifs des relations sont pris tels quels.
+     *
+     * @return {@code null} si l'une des personnes est inconnue
+     * @throws IllegalArgumentException si les relations suivies forment un cycle de poids négatif
+     */
+    public WeightedPathResponse findIndirectRelationshipPath(Long person1Id, Long person2Id, Collection<String> types) {
+        RelationshipGraph graph = relationshipGraphService.graph();
+        int typeMask = graph.typeMask(types);
+        int source = graph.indexOf(person1Id);
+        int target = graph.indexOf(person2Id);
+        if (source == FamilyGraph.NO_NODE || target == FamilyGraph.NO_NODE) {
+            return null;
+        }
 
-            // Explorer les parents
-            for (Person parent : currentPerson.getParents()) {
-                processNeighbor(parent.getId(), currentId, 1, distances, parentMap, queue);
-            }
+        BellmanFord.Result result = BellmanFord.run(graph, source, typeMask);
+        if (!result.getNegativeTwoWayRelations().isEmpty()) {
+            int[] pair = result.getNegativeTwoWayRelations().get(0);
+            throw new IllegalArgumentException("La relation entre " + graph.idOf(pair[0]) + " et " + graph.idOf(pair[1])
+                    + " a un aller-retour de poids négatif : chemin indéfini");
+        }
+        if (result.getNegativeCycle() != null) {
+            throw new IllegalArgumentException("Les relations suivies forment un cycle de poids négatif : chemin indéfini");
+        }
+        return weightedPathResponse(graph, person1Id, person2Id, result.pathTo(target));
+    }
 
-            // Explorer les enfants
-            for (Person child : currentPerson.getChildren()) {
-                processNeighbor(child.getId(), currentId, 1, distances, parentMap, queue);
+    /**
+     * Réponse d'un chemin pondéré, avec les vues allégées des personnes ; sans étape si {@code path} est {@code null}
+     */
+    private WeightedPathResponse weightedPathResponse(RelationshipGraph graph, Long person1Id, Long person2Id,
+                                                      WeightedPaths.Path path) {
+        WeightedPathResponse response = new WeightedPathResponse(person1Id, person2Id);
+        if (path == null) {
+            return response;
+        }
+
+        int[] nodes = path.getNodes();
+        int[] edges = path.getEdges();
+        List<Long> ids = new ArrayList<>(nodes.length);
+        for (int node : nodes) {
+            ids.add(graph.idOf(node));
+        }
+        Map<Long, PersonSummary> summariesById = new HashMap<>(nodes.length * 2);
+        for (PersonSummary summary : summaries(ids)) {
+            summariesById.put(summary.getId(), summary);
+        }
+        for (int i = 0; i < nodes.length; i++) {
+            int edge = edges[i];
+            response.getSteps().add(new WeightedPathResponse.Step(summariesById.get(ids.get(i)),
+                    edge < 0 ? null : graph.typeName(graph.type(edge)), edge < 0 ? 0 : graph.weight(edge)));
+        }
+        response.setTotalWeight(path.getTotalWeight());
+        return response;
+    }
+
+    /**
+     * Recherche groupée de liens de parenté entre chaque source et chaque cible.
+     * Un seul parcours est lancé par source et s'arrête dès que toutes les cibles sont atteintes ;
+     * chaque résultat est transmis à {@code consumer} dès qu'il est connu.
+     */
+    public void findRelationshipPaths(Collection<Long> sourceIds, Collection<Long> targetIds,
+                                      Consumer<? super RelationshipPathResult> consumer) {
+        FamilyGraph graph = familiesOf(new LinkedHashSet<>(sourceIds));
+
+        IntArrayList targets = new IntArrayList(targetIds.size());
+        List<Long> unknownTargets = new ArrayList<>();
+        for (Long targetId : new LinkedHashSet<>(targetIds)) {
+            int target = graph.indexOf(targetId);
+            if (target == FamilyGraph.NO_NODE) {
+                unknownTargets.add(targetId);
+            } else {
+                targets.add(target);
             }
         }
+        int[] targetNodes = targets.toArray();
 
-        // Reconstruire le chemin
-        return reconstructPath(person1.getId(), person2.getId(), parentMap);
+        for (Long sourceId : new LinkedHashSet<>(sourceIds)) {
+            int source = graph.indexOf(sourceId);
+            if (source == FamilyGraph.NO_NODE) {
+                for (int target : targetNodes) {
+                    consumer.accept(new RelationshipPathResult(sourceId, graph.idOf(target), new long[0]));
+                }
+            } else {
+                // Les cibles d'une autre famille sont écartées : le parcours s'arrête dès que les autres sont atteintes
+                IntArrayList related = new IntArrayList(targetNodes.length);
+                for (int target : targetNodes) {
+                    if (familyGraphIndexService.mayBeRelated(sourceId, graph.idOf(target))) {
+                        related.add(target);
+                    } else {
+                        consumer.accept(new RelationshipPathResult(sourceId, graph.idOf(target), new long[0]));
+                    }
+                }
+                ShortestPaths.multiTargetBfs(graph, source, related.toArray(), (target, path) ->
+                        consumer.accept(new RelationshipPathResult(sourceId, graph.idOf(target), toIds(graph, path))));
+            }
+            for (Long targetId : unknownTargets) {
+                consumer.accept(new RelationshipPathResult(sourceId, targetId, new long[0]));
+            }
+        }
     }
 
     /**
      * Trouve l'ancêtre commun le plus proche entre deux personnes
      */
-    public Person findCommonAncestor(Long person1Id, Long person2Id) {
-        Person person1 = personRepository.findById(person1Id).orElse(null);
-        Person person2 = personRepository.findById(person2Id).orElse(null);
+    public PersonSummary findCommonAncestor(Long person1Id, Long person2Id) {
+        List<PersonSummary> ancestors = findCommonAncestors(person1Id, person2Id);
+        return ancestors.isEmpty() ? null : ancestors.get(0);
+    }
 
-        if (person1 == null || person2 == null) {
-            return null;
+    /**
+     * Trouve tous les ancêtres communs minimaux de deux personnes, du plus récent au plus ancien
+     */
+    public List<PersonSummary> findCommonAncestors(Long person1Id, Long person2Id) {
+        if (!familyGraphIndexService.mayBeRelated(person1Id, person2Id)) {
+            return Collections.emptyList();
         }
+        long low = Math.min(person1Id, person2Id);
+        long high = Math.max(person1Id, person2Id);
+        return summaries(boxed(resultCache.get(GenealogyResultCache.Kind.COMMON_ANCESTORS, low, high, 0,
+                () -> commonAncestorIds(low, high))));
+    }
 
-        Set<Long> ancestors1 = new HashSet<>();
-        Queue<Person> queue = new LinkedList<>();
-        queue.add(person1);
+    private long[] commonAncestorIds(long person1Id, long person2Id) {
+        return commonAncestorIds(ancestriesOf(List.of(person1Id, person2Id)), graphBackend, person1Id, person2Id);
+    }
 
-        // Collecter tous les ancêtres de la première personne
-        while (!queue.isEmpty()) {
-            Person current = queue.poll();
-            ancestors1.add(current.getId());
-            queue.addAll(current.getParents());
+    /**
+     * Ancêtres communs minimaux sur {@code graph}, index résident ou ascendances chargées pour la requête
+     * (visible dans le paquetage pour les bancs d'essai)
+     */
+    static long[] commonAncestorIds(FamilyGraph graph, GraphBackend backend, long person1Id, long person2Id) {
+        int first = graph.indexOf(person1Id);
+        int second = graph.indexOf(person2Id);
+
+        if (first == FamilyGraph.NO_NODE || second == FamilyGraph.NO_NODE) {
+            return new long[0];
+        }
+        return toIds(graph, backend.commonAncestors(graph, first, second));
+    }
+
+    /**
+     * Calcule le lien de parenté entre deux personnes : libellé, coefficients de parenté
+     * et distances en générations à chaque ancêtre commun minimal
+     */
+    public KinshipResponse computeKinship(Long person1Id, Long person2Id) {
+        FamilyGraph graph = ancestriesOf(List.of(person1Id, person2Id));
+        int first = graph.indexOf(person1Id);
+        int second = graph.indexOf(person2Id);
+
+        if (first == FamilyGraph.NO_NODE || second == FamilyGraph.NO_NODE) {
+            return null;
         }
 
-        // Rechercher parmi les ancêtres de la deuxième personne
-        queue.clear();
-        queue.add(person2);
+        KinshipResponse response = new KinshipResponse(person1Id, person2Id);
+        int[] ancestors = familyGraphIndexService.mayBeRelated(person1Id, person2Id)
+                ? graphBackend.commonAncestors(graph, first, second)
+                : new int[0];
+        if (ancestors.length == 0) {
+            response.setLabel("aucun lien de parenté connu");
+            return response;
+        }
 
-        while (!queue.isEmpty()) {
-            Person current = queue.poll();
-            if (ancestors1.contains(current.getId())) {
-                return current;
+        int[] fromFirst = CommonAncestors.generationsUpTo(graph, first, ancestors);
+        int[] fromSecond = CommonAncestors.generationsUpTo(graph, second, ancestors);
+        int nearest = 0;
+        for (int i = 0; i < ancestors.length; i++) {
+            response.getCommonAncestors().add(new KinshipResponse.CommonAncestorDistance(
+                    graph.idOf(ancestors[i]), fromFirst[i], fromSecond[i]));
+            if (fromFirst[i] + fromSecond[i] < fromFirst[nearest] + fromSecond[nearest]) {
+                nearest = i;
             }
-            queue.addAll(current.getParents());
         }
 
-        return null;
+        // Un seul ancêtre partagé au niveau le plus proche (au lieu d'un couple) : demi-lien
+        int sharedAtNearest = 0;
+        for (int i = 0; i < ancestors.length; i++) {
+            if (fromFirst[i] == fromFirst[nearest] && fromSecond[i] == fromSecond[nearest]) {
+                sharedAtNearest++;
+            }
+        }
+
+        KinshipCalculator calculator = kinshipCalculator(graph);
+        response.setRelated(true);
+        response.setLabel(KinshipLabels.label(fromFirst[nearest], fromSecond[nearest], sharedAtNearest == 1));
+        response.setKinshipCoefficient(calculator.kinship(first, second));
+        response.setRelationshipCoefficient(calculator.relationship(first, second));
+        return response;
+    }
+
+    /**
+     * Les coefficients mémorisés ne sont valables que pour un instantané de l'index
+     */
+    private KinshipCalculator kinshipCalculator(FamilyGraph graph) {
+        if (graph != familyGraphIndexService.snapshot()) {
+            // Sous-graphe chargé pour cette seule requête (index froid) : rien à mémoriser
+            return new KinshipCalculator(graph);
+        }
+        KinshipCalculator calculator = kinshipCalculator;
+        if (calculator == null || calculator.getGraph() != graph) {
+            calculator = new KinshipCalculator(graph);
+            kinshipCalculator = calculator;
+        }
+        return calculator;
     }
 
     /**
      * Trouve tous les descendants d'une personne jusqu'à une certaine profondeur
      */
-    public List<Person> findDescendants(Long personId, int maxDepth) {
-        Person person = personRepository.findById(personId).orElse(null);
-        if (person == null) {
-            return Collections.emptyList();
+    public List<PersonSummary> findDescendants(Long personId, int maxDepth) {
+        // Toute profondeur négative revient à ne rien parcourir
+        int depth = Math.max(maxDepth, 0);
+        return summaries(boxed(resultCache.get(GenealogyResultCache.Kind.DESCENDANTS, personId, 0, depth,
+                () -> descendantIdsUpTo(personId, depth))));
+    }
+
+    private long[] descendantIdsUpTo(long personId, int maxDepth) {
+        if (!familyGraphIndexService.isReady()) {
+            List<PersonRepository.LineageNode> nodes = personRepository.findDescendantNodes(personId, recursionDepth(maxDepth));
+            long[] ids = new long[nodes.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = nodes.get(i).getPersonId();
+            }
+            return ids;
         }
+        return descendantIdsUpTo(familyGraphIndexService.snapshot(), personId, maxDepth);
+    }
 
-        List<Person> descendants = new ArrayList<>();
-        Queue<PersonDepth> queue = new LinkedList<>();
-        Set<Long> visited = new HashSet<>();
+    /**
+     * Parcours en largeur des descendants sur l'index résident, du plus proche au plus éloigné
+     * (visible dans le paquetage pour les bancs d'essai)
+     */
+    static long[] descendantIdsUpTo(FamilyGraph graph, long personId, int maxDepth) {
+        int root = graph.indexOf(personId);
+        if (root == FamilyGraph.NO_NODE) {
+            return new long[0];
+        }
 
-        queue.add(new PersonDepth(person, 0));
-        visited.add(person.getId());
+        try (TraversalWorkspace workspace = TraversalWorkspace.acquire(graph.size())) {
+            int[] queue = workspace.queue;
+            int[] depth = workspace.distance;
+            int head = 0;
+            int tail = 0;
+
+            workspace.visit(root);
+            depth[root] = 0;
+            queue[tail++] = root;
+
+            while (head < tail) {
+                int current = queue[head++];
+                if (depth[current] < maxDepth) {
+                    for (int k = 0; k < graph.childCount(current); k++) {
+                        int child = graph.child(current, k);
+                        if (workspace.visit(child)) {
+                            depth[child] = depth[current] + 1;
+                            queue[tail++] = child;
+                        }
+                    }
+                }
+            }
 
-        while (!queue.isEmpty()) {
-            PersonDepth current = queue.poll();
+            // La racine occupe la première case de la file : seuls ses descendants sont retournés
+            long[] ids = new long[tail - 1];
+            for (int i = 1; i < tail; i++) {
+                ids[i - 1] = graph.idOf(queue[i]);
+            }
+            return ids;
+        }
+    }
 
-            if (current.depth < maxDepth) {
-                for (Person child : current.person.getChildren()) {
-                    if (!visited.contains(child.getId())) {
-                        descendants.add(child);
-                        queue.add(new PersonDepth(child, current.depth + 1));
-                        visited.add(child.getId());
+    /**
+     * @return {@code true} une fois l'index résident construit ; avant, seules les recherches
+     * qui savent lire en base répondent
+     */
+    public boolean isGraphIndexReady() {
+        return familyGraphIndexService.isReady();
+    }
+
+    /**
+     * @return {@code true} si la personne est présente dans l'index
+     */
+    public boolean containsPerson(Long personId) {
+        if (!familyGraphIndexService.isReady()) {
+            return personRepository.existsById(personId);
+        }
+        return familyGraphIndexService.snapshot().indexOf(personId) != FamilyGraph.NO_NODE;
+    }
+
+    /**
+     * Parcourt les descendants d'une personne et les transmet à {@code consumer} par paquets,
+     * au fur et à mesure de leur découverte. Aucune liste complète n'est construite.
+     *
+     * @param maxDepth profondeur maximale, ou {@code null} pour toute la descendance
+     */
+    public void streamDescendants(Long personId, Integer maxDepth, Consumer<? super LineageEntry> consumer) {
+        streamLineage(personId, maxDepth, false, consumer);
+    }
+
+    /**
+     * Parcourt les ancêtres d'une personne et les transmet à {@code consumer} par paquets,
+     * au fur et à mesure de leur découverte.
+     *
+     * @param maxDepth profondeur maximale, ou {@code null} pour toute l'ascendance
+     */
+    public void streamAncestors(Long personId, Integer maxDepth, Consumer<? super LineageEntry> consumer) {
+        streamLineage(personId, maxDepth, true, consumer);
+    }
+
+    /**
+     * @return les identifiants triés de la personne et de tous ses descendants,
+     * ou {@code null} si la personne n'existe pas
+     */
+    public long[] descendantIds(Long personId) {
+        if (!familyGraphIndexService.isReady()) {
+            if (!personRepository.existsById(personId)) {
+                return null;
+            }
+            List<PersonRepository.LineageNode> nodes =
+                    personRepository.findDescendantNodes(personId, PersonRepository.MAX_RECURSION_DEPTH);
+            long[] ids = new long[nodes.size() + 1];
+            ids[0] = personId;
+            for (int i = 0; i < nodes.size(); i++) {
+                ids[i + 1] = nodes.get(i).getPersonId();
+            }
+            Arrays.sort(ids);
+            return ids;
+        }
+        FamilyGraph graph = familyGraphIndexService.snapshot();
+        int root = graph.indexOf(personId);
+        if (root == FamilyGraph.NO_NODE) {
+            return null;
+        }
+
+        try (TraversalWorkspace workspace = TraversalWorkspace.acquire(graph.size())) {
+            int[] queue = workspace.queue;
+            int head = 0;
+            int tail = 0;
+            workspace.visit(root);
+            queue[tail++] = root;
+            while (head < tail) {
+                int current = queue[head++];
+                for (int k = 0; k < graph.childCount(current); k++) {
+                    int child = graph.child(current, k);
+                    if (workspace.visit(child)) {
+                        queue[tail++] = child;
                     }
                 }
             }
+
+            long[] ids = new long[tail];
+            for (int i = 0; i < tail; i++) {
+                ids[i] = graph.idOf(queue[i]);
+            }
+            Arrays.sort(ids);
+            return ids;
         }
+    }
 
-        return descendants;
+    /**
+     * Indique si deux personnes ont un lien de parenté, en temps quasi constant quand l'index des familles
+     * est à jour ; sinon (index froid, ou recalcul en cours après une suppression) par un parcours.
+     *
+     * @return {@code null} si l'une des personnes n'existe pas
+     */
+    public RelatedResponse areRelated(Long person1Id, Long person2Id) {
+        if (!familyGraphIndexService.isReady()) {
+            if (!personRepository.existsById(person1Id) || !personRepository.existsById(person2Id)) {
+                return null;
+            }
+            boolean related = person1Id.equals(person2Id)
+                    || personRepository.countInSameFamily(person1Id, person2Id) > 0;
+            return new RelatedResponse(person1Id, person2Id, related, 0);
+        }
+        FamilyGraph graph = familyGraphIndexService.snapshot();
+        ComponentIndex components = familyGraphIndexService.components();
+        int first = graph.indexOf(person1Id);
+        int second = graph.indexOf(person2Id);
+        if (first == FamilyGraph.NO_NODE || second == FamilyGraph.NO_NODE) {
+            return null;
+        }
+
+        boolean related = familyGraphIndexService.mayBeRelated(person1Id, person2Id);
+        if (related && components.isStale()) {
+            related = ShortestPaths.find(graph, first, second, PARENT_CHILD_WEIGHTS).length > 0;
+        }
+        return new RelatedResponse(person1Id, person2Id, related, components.componentSize(first));
+    }
+
+    /**
+     * Les {@code limit} plus grandes familles disjointes de l'arbre
+     *
+     * @return {@code null} tant que l'index n'est pas construit
+     */
+    public FamilyClustersResponse findFamilyClusters(int limit) {
+        if (!familyGraphIndexService.isReady()) {
+            return null;
+        }
+        FamilyGraph graph = familyGraphIndexService.snapshot();
+        ComponentIndex components = familyGraphIndexService.components();
+
+        FamilyClustersResponse response = new FamilyClustersResponse();
+        response.setPersonCount(graph.personCount());
+        response.setClusterCount(components.componentCount());
+        response.setStale(components.isStale());
+        for (ComponentIndex.Component component : components.largest(graph, limit)) {
+            response.getLargest().add(new FamilyClusterResponse(component.getRepresentativeId(), component.getSize()));
+        }
+        return response;
     }
 
-    private void processNeighbor(Long neighborId, Long currentId, int weight,
-                               Map<Long, Integer> distances,
-                               Map<Long, Long> parentMap,
-                               PriorityQueue<PersonDistance> queue) {
-        int newDistance = distances.get(currentId) + weight;
-        if (!distances.containsKey(neighborId) || newDistance < distances.get(neighborId)) {
-            distances.put(neighborId, newDistance);
-            parentMap.put(neighborId, currentId);
-            queue.add(new PersonDistance(neighborId, newDistance));
+    /**
+     * Découpe la famille d'une personne en sous-familles d'au plus {@code maxSize} personnes
+     * ({@link FamilySegmentation}) et les transmet à {@code consumer}, des plus anciennes aux plus récentes.
+     * Sans effet tant que l'index n'est pas construit ou si la personne n'y est pas.
+     */
+    public void segmentFamily(Long personId, int maxSize, Consumer<? super SubFamilyResponse> consumer) {
+        if (!familyGraphIndexService.isReady()) {
+            return;
+        }
+        FamilyGraph graph = familyGraphIndexService.snapshot();
+        int start = graph.indexOf(personId);
+        if (start == FamilyGraph.NO_NODE) {
+            return;
+        }
+        for (FamilySegmentation.SubFamily subFamily : FamilySegmentation.segment(graph, start, maxSize)) {
+            consumer.accept(new SubFamilyResponse(subFamily.getFounderId(), subFamily.getFounderGeneration(),
+                    subFamily.getMemberIds()));
         }
     }
 
-    private List<Person> reconstructPath(Long startId, Long endId, Map<Long, Long> parentMap) {
-        List<Person> path = new ArrayList<>();
-        Long currentId = endId;
+    /**
+     * Personnes à au plus {@code maxDepth} liens parent-enfant, dans un sens ou dans l'autre
+     * (parents, enfants, frères et sœurs, grands-parents, oncles...), des plus proches aux plus éloignées
+     */
+    public List<LineageEntry> findNeighbourhood(Long personId, int maxDepth) {
+        if (!familyGraphIndexService.isReady()) {
+            return lineageEntries(personRepository.findNeighbourhoodNodes(personId, recursionDepth(maxDepth)));
+        }
+        FamilyGraph graph = familyGraphIndexService.snapshot();
+        int root = graph.indexOf(personId);
+        if (root == FamilyGraph.NO_NODE) {
+            return Collections.emptyList();
+        }
 
-        while (currentId != null) {
-            Person person = personRepository.findById(currentId).orElse(null);
-            if (person != null) {
-                path.add(0, person);
+        try (TraversalWorkspace workspace = TraversalWorkspace.acquire(graph.size())) {
+            int[] queue = workspace.queue;
+            int[] depth = workspace.distance;
+            int head = 0;
+            int tail = 0;
+
+            workspace.visit(root);
+            depth[root] = 0;
+            queue[tail++] = root;
+            while (head < tail) {
+                int current = queue[head++];
+                if (depth[current] < maxDepth) {
+                    for (int k = 0; k < graph.degree(current); k++) {
+                        int next = graph.neighbor(current, k);
+                        if (workspace.visit(next)) {
+                            depth[next] = depth[current] + 1;
+                            queue[tail++] = next;
+                        }
+                    }
+                }
+            }
+
+            List<LineageEntry> entries = new ArrayList<>(tail - 1);
+            for (int from = 1; from < tail; from += SUMMARY_CHUNK_SIZE) {
+                emitSummaries(graph, queue, depth, from, Math.min(SUMMARY_CHUNK_SIZE, tail - from), entries::add);
+            }
+            return entries;
+        }
+    }
+
+    private void streamLineage(Long personId, Integer maxDepth, boolean upwards, Consumer<? super LineageEntry> consumer) {
+        if (!familyGraphIndexService.isReady()) {
+            // Index froid ou désactivé : un seul parcours récursif en base
+            int depthLimit = maxDepth == null ? PersonRepository.MAX_RECURSION_DEPTH : recursionDepth(maxDepth);
+            List<PersonRepository.LineageNode> nodes = upwards
+                    ? personRepository.findAncestorNodes(personId, depthLimit)
+                    : personRepository.findDescendantNodes(personId, depthLimit);
+            for (int from = 0; from < nodes.size(); from += SUMMARY_CHUNK_SIZE) {
+                lineageEntries(nodes.subList(from, Math.min(from + SUMMARY_CHUNK_SIZE, nodes.size()))).forEach(consumer);
             }
-            currentId = parentMap.get(currentId);
-            if (currentId != null && currentId.equals(startId)) {
-                person = personRepository.findById(startId).orElse(null);
-                if (person != null) {
-                    path.add(0, person);
+            return;
+        }
+        FamilyGraph graph = familyGraphIndexService.snapshot();
+        int root = graph.indexOf(personId);
+        if (root == FamilyGraph.NO_NODE) {
+            return;
+        }
+        int depthLimit = maxDepth == null ? Integer.MAX_VALUE : maxDepth;
+
+        try (TraversalWorkspace workspace = TraversalWorkspace.acquire(graph.size())) {
+            int[] queue = workspace.queue;
+            int[] depth = workspace.distance;
+            int head = 0;
+            int tail = 0;
+
+            workspace.visit(root);
+            depth[root] = 0;
+            queue[tail++] = root;
+            // La file sert de tampon : les nœuds entre emitted et tail sont découverts mais pas encore envoyés
+            int emitted = 1;
+
+            while (head < tail) {
+                int current = queue[head++];
+                if (depth[current] < depthLimit) {
+                    int count = upwards ? graph.parentCount(current) : graph.childCount(current);
+                    for (int k = 0; k < count; k++) {
+                        int next = upwards ? graph.parent(current, k) : graph.child(current, k);
+                        if (workspace.visit(next)) {
+                            depth[next] = depth[current] + 1;
+                            queue[tail++] = next;
+                        }
+                    }
+                }
+                while (tail - emitted >= SUMMARY_CHUNK_SIZE) {
+                    emitSummaries(graph, queue, depth, emitted, SUMMARY_CHUNK_SIZE, consumer);
+                    emitted += SUMMARY_CHUNK_SIZE;
                 }
-                break;
             }
+            if (tail > emitted) {
+                emitSummaries(graph, queue, depth, emitted, tail - emitted, consumer);
+            }
+        }
+    }
+
+    private void emitSummaries(FamilyGraph graph, int[] nodes, int[] depth, int from, int count,
+                               Consumer<? super LineageEntry> consumer) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            ids.add(graph.idOf(nodes[i]));
+        }
+
+        Map<Long, PersonSummary> summariesById = new HashMap<>(count * 2);
+        for (PersonSummary summary : personRepository.findSummariesByIdIn(ids)) {
+            summariesById.put(summary.getId(), summary);
+        }
+
+        for (int i = from; i < from + count; i++) {
+            PersonSummary summary = summariesById.get(graph.idOf(nodes[i]));
+            if (summary != null) {
+                consumer.accept(new LineageEntry(summary, depth[nodes[i]]));
+            }
+        }
+    }
+
+    /**
+     * L'index résident, ou s'il n'est pas construit les familles entières des personnes, lues en base
+     */
+    private FamilyGraph familiesOf(Collection<Long> personIds) {
+        if (!familyGraphIndexService.isReady()) {
+            return familyGraphJdbcRepository.loadFamilies(personIds);
+        }
+        return familyGraphIndexService.snapshot();
+    }
+
+    /**
+     * L'index résident, ou s'il n'est pas construit les personnes et leurs ancêtres, lus en base
+     */
+    private FamilyGraph ancestriesOf(Collection<Long> personIds) {
+        if (!familyGraphIndexService.isReady()) {
+            return familyGraphJdbcRepository.loadAncestries(personIds);
         }
+        return familyGraphIndexService.snapshot();
+    }
 
-        return path;
+    private static List<Long> boxed(long[] ids) {
+        List<Long> list = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            list.add(id);
+        }
+        return list;
     }
 
-    private static class PersonDistance implements Comparable<PersonDistance> {
-        Long personId;
-        int distance;
+    private static long[] toIds(FamilyGraph graph, int[] nodes) {
+        long[] ids = new long[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            ids[i] = graph.idOf(nodes[i]);
+        }
+        return ids;
+    }
 
-        PersonDistance(Long personId, int distance) {
-            this.personId = personId;
-            this.distance = distance;
+    /**
+     * Charge les vues allégées des personnes, par paquets, dans l'ordre des identifiants.
+     */
+    private List<PersonSummary> summaries(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
         }
+        List<PersonSummary> persons = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += SUMMARY_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + SUMMARY_CHUNK_SIZE, ids.size()));
 
-        @Override
-        public int compareTo(PersonDistance other) {
-            return Integer.compare(this.distance, other.distance);
+            Map<Long, PersonSummary> summariesById = new HashMap<>(chunk.size() * 2);
+            for (PersonSummary summary : personRepository.findSummariesByIdIn(chunk)) {
+                summariesById.put(summary.getId(), summary);
+            }
+            for (Long id : chunk) {
+                PersonSummary summary = summariesById.get(id);
+                if (summary != null) {
+                    persons.add(summary);
+                }
+            }
         }
+        return persons;
     }
 
-    private static class PersonDepth {
-        Person person;
-        int depth;
+    /**
+     * Vues allégées des personnes d'un parcours récursif, avec leur profondeur
+     */
+    private List<LineageEntry> lineageEntries(List<PersonRepository.LineageNode> nodes) {
+        List<PersonSummary> persons = summaries(nodeIds(nodes));
+        Map<Long, Integer> depths = new HashMap<>(nodes.size() * 2);
+        for (PersonRepository.LineageNode node : nodes) {
+            depths.put(node.getPersonId(), node.getDepth());
+        }
+        List<LineageEntry> entries = new ArrayList<>(persons.size());
+        for (PersonSummary person : persons) {
+            entries.add(new LineageEntry(person, depths.get(person.getId())));
+        }
+        return entries;
+    }
 
-        PersonDepth(Person person, int depth) {
-            this.person = person;
-            this.depth = depth;
+    private static List<Long> nodeIds(List<PersonRepository.LineageNode> nodes) {
+        List<Long> ids = new ArrayList<>(nodes.size());
+        for (PersonRepository.LineageNode node : nodes) {
+            ids.add(node.getPersonId());
         }
+        return ids;
+    }
+
+    private static int recursionDepth(int maxDepth) {
+        return Math.max(0, Math.min(maxDepth, PersonRepository.MAX_RECURSION_DEPTH));
     }
 }
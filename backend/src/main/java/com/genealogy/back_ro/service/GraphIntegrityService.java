@@ -0,0 +1,104 @@
+package com.genealogy.back_ro.service;
+
+import com.genealogy.back_ro.graph.AncestryCycles;
+import com.genealogy.back_ro.graph.BellmanFord;
+import com.genealogy.back_ro.graph.FamilyGraph;
+import com.genealogy.back_ro.graph.RelationshipGraph;
+import com.genealogy.back_ro.payload.response.IntegrityReportResponse;
+import com.genealogy.back_ro.repository.PersonRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contrôles de cohérence du graphe familial : cycles dans l'ascendance (composantes fortement
+ * connexes de Tarjan), cycles de poids négatif dans les relations pondérées (Bellman-Ford)
+ * et refus, avant écriture, d'un lien parent qui ferait d'une personne son propre ancêtre.
+ */
+@Service
+public class GraphIntegrityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphIntegrityService.class);
+
+    @Autowired
+    private FamilyGraphIndexService familyGraphIndexService;
+
+    @Autowired
+    private RelationshipGraphService relationshipGraphService;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    /**
+     * Le lien {@code parentId} → {@code childId} créerait-il un cycle ? Sur l'index, seuls les ancêtres
+     * du parent plus anciens que l'enfant sont visités ; sinon, une requête récursive lit ses ancêtres.
+     */
+    public boolean wouldCreateCycle(Long childId, Long parentId) {
+        if (childId.equals(parentId)) {
+            return true;
+        }
+        if (familyGraphIndexService.isReady()) {
+            FamilyGraph graph = familyGraphIndexService.snapshot();
+            int child = graph.indexOf(childId);
+            int parent = graph.indexOf(parentId);
+            if (child != FamilyGraph.NO_NODE && parent != FamilyGraph.NO_NODE) {
+                return AncestryCycles.wouldCreateCycle(graph, child, parent);
+            }
+        }
+        for (PersonRepository.LineageNode node : personRepository.findAncestorNodes(parentId, PersonRepository.MAX_RECURSION_DEPTH)) {
+            if (childId.equals(node.getPersonId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parcourt tout le graphe à la recherche d'incohérences
+     *
+     * @return {@code null} tant que l'index du graphe familial n'est pas construit
+     */
+    public IntegrityReportResponse check() {
+        if (!familyGraphIndexService.isReady()) {
+            return null;
+        }
+        long start = System.nanoTime();
+        IntegrityReportResponse report = new IntegrityReportResponse();
+
+        FamilyGraph graph = familyGraphIndexService.snapshot();
+        report.setPersonCount(graph.personCount());
+        for (int[] cycle : AncestryCycles.find(graph)) {
+            List<Long> ids = new ArrayList<>(cycle.length);
+            for (int node : cycle) {
+                ids.add(graph.idOf(node));
+            }
+            report.getAncestryCycles().add(ids);
+        }
+
+        RelationshipGraph relationships = relationshipGraphService.graph();
+        BellmanFord.Result result = BellmanFord.run(relationships, FamilyGraph.NO_NODE, RelationshipGraph.ALL_TYPES);
+        report.setRelaxationRounds(result.getRounds());
+        for (int[] pair : result.getNegativeTwoWayRelations()) {
+            report.getNegativeTwoWayRelations().add(List.of(relationships.idOf(pair[0]), relationships.idOf(pair[1])));
+        }
+        int[] negativeCycle = result.getNegativeCycle();
+        if (negativeCycle != null) {
+            List<Long> ids = new ArrayList<>(negativeCycle.length);
+            for (int node : negativeCycle) {
+                ids.add(relationships.idOf(node));
+            }
+            report.setNegativeCycle(ids);
+        }
+
+        report.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        logger.info("Contrôle du graphe : {} cycle(s) d'ascendance, {} relation(s) négative(s) dans les deux sens, "
+                        + "cycle négatif {} en {} ms", report.getAncestryCycles().size(),
+                report.getNegativeTwoWayRelations().size(), negativeCycle == null ? "absent" : "présent",
+                report.getElapsedMillis());
+        return report;
+    }
+}
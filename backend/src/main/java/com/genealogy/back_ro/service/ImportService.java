@@ -0,0 +1,296 @@
+package com.genealogy.back_ro.service;
+
+import com.genealogy.back_ro.importer.ImportFormat;
+import com.genealogy.back_ro.importer.ImportSink;
+import com.genealogy.back_ro.importer.PersonRecord;
+import com.genealogy.back_ro.model.ImportJob;
+import com.genealogy.back_ro.repository.ImportJdbcRepository;
+import com.genealogy.back_ro.repository.ImportJobRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Import en masse de fichiers GEDCOM, CSV ou JSON.
+ *
+ * Le fichier est d'abord copié sur disque, puis lu en flux par un unique thread d'import.
+ * Les personnes et les liens sont écrits par lots de {@link #CHUNK_SIZE} enregistrements,
+ * chaque lot dans sa propre transaction avec l'avancement du job : après une erreur ou un arrêt,
+ * la reprise relit le fichier en sautant les enregistrements déjà validés. Les liens sont résolus
+ * à la fin, quand toutes les personnes ont un identifiant, puis les index résidents sont reconstruits.
+ */
+@Service
+public class ImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportService.class);
+
+    public static final int CHUNK_SIZE = 5000;
+
+    /** Nombre de liens en attente résolus par transaction */
+    private static final long LINK_CHUNK_SIZE = 50_000;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private ImportJdbcRepository importJdbcRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private FamilyGraphIndexService familyGraphIndexService;
+
+    @Autowired
+    private PersonNameSearchService personNameSearchService;
+
+    @Autowired
+    private PersonCacheService personCacheService;
+
+    @Autowired
+    private RelationshipGraphService relationshipGraphService;
+
+    @Value("${genealogy.import.dir:imports}")
+    private String importDir;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "genealogy-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Les imports en cours lors d'un arrêt du serveur sont marqués en échec pour pouvoir être repris.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        for (ImportJob job : importJobRepository.findByStatus(ImportJob.ImportStatus.RUNNING)) {
+            markFailed(job.getId(), "Import interrompu par l'arrêt du serveur");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Enregistre le fichier et lance son import en arrière-plan.
+     *
+     * @param format format du fichier, ou {@code null} pour le déduire de son nom
+     */
+    public ImportJob startImport(String fileName, ImportFormat format, InputStream content) throws IOException {
+        ImportFormat importFormat = format != null ? format : ImportFormat.fromFileName(fileName);
+        Path directory = Paths.get(importDir);
+        Files.createDirectories(directory);
+        Path stored = directory.resolve(UUID.randomUUID() + "." + importFormat.name().toLowerCase(Locale.ROOT));
+        Files.copy(content, stored, StandardCopyOption.REPLACE_EXISTING);
+
+        ImportJob job = importJobRepository.save(new ImportJob(importFormat, fileName, stored.toString()));
+        schedule(job.getId());
+        return job;
+    }
+
+    public ImportJob getJob(Long id) {
+        return importJobRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Import non trouvé"));
+    }
+
+    /**
+     * Relance un import en échec à partir du dernier lot validé
+     */
+    public ImportJob resumeImport(Long id) {
+        ImportJob job = getJob(id);
+        if (job.getStatus() != ImportJob.ImportStatus.FAILED) {
+            throw new RuntimeException("Seul un import en échec peut être repris");
+        }
+        job.setStatus(ImportJob.ImportStatus.PENDING);
+        job.setErrorMessage(null);
+        job.setUpdatedAt(LocalDateTime.now());
+        job = importJobRepository.save(job);
+        schedule(job.getId());
+        return job;
+    }
+
+    private void schedule(long jobId) {
+        executor.execute(() -> run(jobId));
+    }
+
+    private void run(long jobId) {
+        long start = System.nanoTime();
+        ImportJob job = getJob(jobId);
+        job.setStatus(ImportJob.ImportStatus.RUNNING);
+        job.setUpdatedAt(LocalDateTime.now());
+        job = importJobRepository.save(job);
+
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+            ChunkWriter writer = new ChunkWriter(importJdbcRepository, transaction, jobId,
+                    job.getRecordsProcessed(), job.getPersonsImported(), job.getLinksImported());
+            try (InputStream input = new BufferedInputStream(Files.newInputStream(Paths.get(job.getStoredPath())), 1 << 16)) {
+                job.getFormat().parser().parse(input, writer);
+            }
+            writer.flush();
+            writer.resolveLinks();
+
+            transaction.executeWithoutResult(status -> importJdbcRepository.deleteWorkData(jobId));
+            ImportJob completed = getJob(jobId);
+            completed.setStatus(ImportJob.ImportStatus.COMPLETED);
+            completed.setUpdatedAt(LocalDateTime.now());
+            importJobRepository.save(completed);
+            logger.info("Import {} terminé : {} personnes et {} liens en {} ms", jobId,
+                    completed.getPersonsImported(), completed.getLinksImported(), (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            logger.error("Échec de l'import {}", jobId, e);
+            markFailed(jobId, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            // Les écritures JDBC ne publient pas d'événements et échappent au cache de second niveau :
+            // le cache est vidé et les index sont reconstruits d'un bloc
+            personCacheService.evictAll();
+            familyGraphIndexService.rebuild();
+            personNameSearchService.rebuild();
+            relationshipGraphService.invalidate();
+        }
+    }
+
+    private void markFailed(long jobId, String message) {
+        ImportJob job = getJob(jobId);
+        job.setStatus(ImportJob.ImportStatus.FAILED);
+        job.setErrorMessage(message.length() > 1000 ? message.substring(0, 1000) : message);
+        job.setUpdatedAt(LocalDateTime.now());
+        importJobRepository.save(job);
+    }
+
+    /**
+     * Accumule les enregistrements lus et les écrit lot par lot. Les {@code recordsProcessed}
+     * premiers enregistrements, validés lors d'une exécution précédente, sont sautés.
+     * Visible dans le paquetage pour les bancs d'essai.
+     */
+    static class ChunkWriter implements ImportSink {
+
+        private final ImportJdbcRepository importJdbcRepository;
+        private final long jobId;
+        private final TransactionTemplate transaction;
+        private final long alreadyProcessed;
+        private final List<PersonRecord> persons = new ArrayList<>(CHUNK_SIZE);
+        private final List<String[]> links = new ArrayList<>(CHUNK_SIZE);
+
+        private long records;
+        private long personsImported;
+        private long linksImported;
+
+        ChunkWriter(ImportJdbcRepository importJdbcRepository, TransactionTemplate transaction, long jobId,
+                    long recordsProcessed, long personsImported, long linksImported) {
+            this.importJdbcRepository = importJdbcRepository;
+            this.jobId = jobId;
+            this.transaction = transaction;
+            this.alreadyProcessed = recordsProcessed;
+            this.records = recordsProcessed;
+            this.personsImported = personsImported;
+            this.linksImported = linksImported;
+        }
+
+        long getPersonsImported() {
+            return personsImported;
+        }
+
+        long getLinksImported() {
+            return linksImported;
+        }
+
+        @Override
+        public void person(PersonRecord person) {
+            if (skip()) {
+                return;
+            }
+            persons.add(person);
+            flushIfFull();
+        }
+
+        @Override
+        public void parentLink(String childExternalId, String parentExternalId) {
+            if (skip()) {
+                return;
+            }
+            links.add(new String[]{childExternalId, parentExternalId});
+            flushIfFull();
+        }
+
+        /**
+         * Compte l'enregistrement lu ; {@code true} s'il a déjà été écrit
+         */
+        private boolean skip() {
+            return ++records <= alreadyProcessed;
+        }
+
+        private void flushIfFull() {
+            if (persons.size() + links.size() >= CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (persons.isEmpty() && links.isEmpty()) {
+                return;
+            }
+            int inserted = transaction.execute(status -> {
+                int count = 0;
+                if (!persons.isEmpty()) {
+                    count = importJdbcRepository.insertPersons(jobId, persons, importJdbcRepository.nextPersonId());
+                }
+                if (!links.isEmpty()) {
+                    importJdbcRepository.insertPendingLinks(jobId, links);
+                }
+                importJdbcRepository.updateProgress(jobId, records, personsImported + count, linksImported);
+                return count;
+            });
+            personsImported += inserted;
+            persons.clear();
+            links.clear();
+        }
+
+        /**
+         * Crée les liens parent-enfant par tranches de rowid. Une tranche déjà résolue avant
+         * une interruption ne crée rien de plus à la reprise ({@code INSERT OR IGNORE}).
+         */
+        void resolveLinks() {
+            long[] range = importJdbcRepository.pendingLinkRange(jobId);
+            if (range == null) {
+                return;
+            }
+            for (long from = range[0]; from <= range[1]; from += LINK_CHUNK_SIZE) {
+                long to = Math.min(from + LINK_CHUNK_SIZE - 1, range[1]);
+                long rangeFrom = from;
+                int created = transaction.execute(status -> {
+                    int count = importJdbcRepository.resolvePendingLinks(jobId, rangeFrom, to);
+                    importJdbcRepository.updateProgress(jobId, records, personsImported, linksImported + count);
+                    return count;
+                });
+                linksImported += created;
+            }
+        }
+    }
+}
@@ -4,10 +4,12 @@ import com.genealogy.back_ro.model.ERole;
 import com.genealogy.back_ro.model.MembershipRequest;
 import com.genealogy.back_ro.model.Role;
 import com.genealogy.back_ro.model.User;
+import com.genealogy.back_ro.payload.response.CursorPage;
 import com.genealogy.back_ro.repository.MembershipRequestRepository;
 import com.genealogy.back_ro.repository.RoleRepository;
 import com.genealogy.back_ro.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -45,15 +47,20 @@ public class MembershipService {
     }
 
     /**
-     * Récupère toutes les demandes d'adhésion en attente
+     * Récupère une page de demandes d'adhésion en attente, après l'identifiant {@code afterId}
      */
-    public List<MembershipRequest> getAllPendingRequests() {
-        return membershipRequestRepository.findByStatus(MembershipRequest.MembershipStatus.PENDING);
+    @Transactional(readOnly = true)
+    public CursorPage<MembershipRequest> getPendingRequests(Long afterId, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        List<MembershipRequest> fetched = membershipRequestRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                MembershipRequest.MembershipStatus.PENDING, afterId == null ? 0L : afterId, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(fetched, pageSize, MembershipRequest::getId);
     }
 
     /**
      * Récupère l'historique des demandes d'un utilisateur
      */
+    @Transactional(readOnly = true)
     public List<MembershipRequest> getUserRequests(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
@@ -121,6 +128,7 @@ public class MembershipService {
     /**
      * Vérifie si un utilisateur a une demande en attente
      */
+    @Transactional(readOnly = true)
     public boolean hasPendingRequest(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
@@ -130,6 +138,7 @@ public class MembershipService {
     /**
      * Vérifie si un utilisateur est éligible pour faire une demande d'adhésion
      */
+    @Transactional(readOnly = true)
     public Map<String, Object> checkEligibility(Long userId) {
         Map<String, Object> result = new HashMap<>();
         User user = userRepository.findById(userId)
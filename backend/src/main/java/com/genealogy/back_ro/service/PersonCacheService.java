@@ -0,0 +1,98 @@
+package com.genealogy.back_ro.service;
+
+import com.genealogy.back_ro.model.Person;
+import com.genealogy.back_ro.payload.response.CacheStatisticsResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Invalidation et statistiques du cache de second niveau des personnes.
+ *
+ * Hibernate tient le cache à jour pour les écritures JPA. Il reste à traiter ce qu'il ne voit pas :
+ * les lignes {@code person_parents} d'une personne supprimée qui subsistent chez ses proches,
+ * et les écritures JDBC directes (import, migration des photos), après lesquelles tout le cache est vidé.
+ */
+@Service
+public class PersonCacheService {
+
+    private static final String PARENTS_ROLE = Person.class.getName() + ".parents";
+    private static final String CHILDREN_ROLE = Person.class.getName() + ".children";
+
+    private static final List<String> REGIONS = List.of(
+            Person.CACHE_REGION,
+            Person.PARENTS_CACHE_REGION,
+            Person.CHILDREN_CACHE_REGION,
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Retire la personne et les collections parent-enfant de ses proches, après validation
+     * de la transaction en cours (ou immédiatement, hors transaction)
+     */
+    public void evictPerson(Long personId, Collection<Long> relativeIds) {
+        afterCommit(() -> {
+            org.hibernate.Cache cache = sessionFactory().getCache();
+            cache.evictEntityData(Person.class, personId);
+            cache.evictCollectionData(PARENTS_ROLE, personId);
+            cache.evictCollectionData(CHILDREN_ROLE, personId);
+            for (Long relativeId : relativeIds) {
+                cache.evictCollectionData(PARENTS_ROLE, relativeId);
+                cache.evictCollectionData(CHILDREN_ROLE, relativeId);
+            }
+        });
+    }
+
+    /**
+     * Vide toutes les régions, requêtes comprises
+     */
+    public void evictAll() {
+        afterCommit(() -> sessionFactory().getCache().evictAllRegions());
+    }
+
+    public CacheStatisticsResponse statistics() {
+        Statistics statistics = sessionFactory().getStatistics();
+        CacheStatisticsResponse response = new CacheStatisticsResponse();
+        response.setSecondLevelHits(statistics.getSecondLevelCacheHitCount());
+        response.setSecondLevelMisses(statistics.getSecondLevelCacheMissCount());
+        response.setQueryCacheHits(statistics.getQueryCacheHitCount());
+        response.setQueryCacheMisses(statistics.getQueryCacheMissCount());
+        for (String region : REGIONS) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics != null) {
+                response.getRegions().add(new CacheStatisticsResponse.Region(region,
+                        regionStatistics.getHitCount(), regionStatistics.getMissCount(),
+                        regionStatistics.getPutCount(), regionStatistics.getElementCountInMemory()));
+            }
+        }
+        return response;
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.genealogy.back_ro.service;
+
+import com.genealogy.back_ro.payload.response.PersonSearchResponse;
+import com.genealogy.back_ro.payload.response.PersonSummary;
+import com.genealogy.back_ro.repository.PersonNameJdbcRepository;
+import com.genealogy.back_ro.repository.PersonRepository;
+import com.genealogy.back_ro.search.PersonNameEvent;
+import com.genealogy.back_ro.search.PhoneticIndex;
+import com.genealogy.back_ro.search.TrigramIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recherche de personnes par nom sur deux index résidents :
+ * l'index de trigrammes ({@link TrigramIndex}) pour la saisie (sans accents, sur un début de nom,
+ * avec tolérance aux fautes de frappe) et l'index phonétique ({@link PhoneticIndex}) pour
+ * les graphies différentes d'un même nom. Les résultats sont classés et paginés.
+ * Les index sont construits au démarrage puis tenus à jour par les {@link PersonNameEvent}.
+ */
+@Service
+public class PersonNameSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersonNameSearchService.class);
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private PersonNameJdbcRepository personNameJdbcRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    /**
+     * Index publiés ; remplacés d'un bloc par {@link #rebuild()} une fois les nouveaux remplis
+     */
+    private volatile NameIndexes indexes = new NameIndexes();
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Reconstruit entièrement l'index depuis la base de données, dans de nouveaux index :
+     * les recherches continuent sur les anciens jusqu'à la substitution, jamais sur un index à moitié rempli.
+     * Les modifications de noms arrivées entre-temps attendent la fin de la reconstruction.
+     */
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        NameIndexes rebuilt = new NameIndexes();
+        personNameJdbcRepository.forEachName(rebuilt::put);
+        indexes = rebuilt;
+        ready = true;
+        logger.info("Index des noms construits : {} personnes en {} ms",
+                rebuilt.trigrams.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Applique la modification d'un nom après validation de la transaction (ou immédiatement, hors transaction).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onPersonName(PersonNameEvent event) {
+        NameIndexes current = indexes;
+        if (event.isRemoved()) {
+            current.trigrams.remove(event.getPersonId());
+            current.phonetic.remove(event.getPersonId());
+        } else {
+            current.put(event.getPersonId(), event.getFirstName(), event.getLastName());
+        }
+    }
+
+    /**
+     * @return {@code false} tant que l'index n'a pas été construit
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @param query recherche libre sur le nom complet, combinable avec le prénom et le nom
+     * @param page  numéro de page, à partir de 0
+     */
+    @Transactional(readOnly = true)
+    public PersonSearchResponse search(String firstName, String lastName, String query, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(page, 0);
+
+        String[] queries = new String[3];
+        queries[TrigramIndex.FIRST_NAME] = firstName;
+        queries[TrigramIndex.LAST_NAME] = lastName;
+        queries[TrigramIndex.FULL_NAME] = query;
+        int offset = (int) Math.min((long) pageNumber * pageSize, Integer.MAX_VALUE);
+        TrigramIndex.Page hits = indexes.trigrams.search(queries, offset, pageSize);
+
+        List<Long> ids = new ArrayList<>(hits.getHits().size());
+        for (TrigramIndex.Hit hit : hits.getHits()) {
+            ids.add(hit.getPersonId());
+        }
+        return new PersonSearchResponse(hits.getTotal(), pageNumber, pageSize, summaries(ids));
+    }
+
+    /**
+     * Recherche des personnes dont le nom se prononce comme la requête (« Dupont », « Du Pont », « Dupond »),
+     * par simple consultation des clés phonétiques
+     */
+    @Transactional(readOnly = true)
+    public PersonSearchResponse searchPhonetic(String firstName, String lastName, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(page, 0);
+
+        List<PhoneticIndex.Hit> hits = indexes.phonetic.search(firstName, lastName);
+        int from = (int) Math.min((long) pageNumber * pageSize, hits.size());
+        int to = Math.min(from + pageSize, hits.size());
+
+        List<Long> ids = new ArrayList<>(to - from);
+        for (PhoneticIndex.Hit hit : hits.subList(from, to)) {
+            ids.add(hit.getPersonId());
+        }
+        return new PersonSearchResponse(hits.size(), pageNumber, pageSize, summaries(ids));
+    }
+
+    /**
+     * Charge les vues allégées des personnes, dans l'ordre des identifiants
+     */
+    private List<PersonSummary> summaries(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, PersonSummary> summariesById = new HashMap<>(ids.size() * 2);
+        for (PersonSummary summary : personRepository.findSummariesByIdIn(ids)) {
+            summariesById.put(summary.getId(), summary);
+        }
+
+        List<PersonSummary> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            PersonSummary summary = summariesById.get(id);
+            if (summary != null) {
+                results.add(summary);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Les deux index des noms, publiés ensemble
+     */
+    private static final class NameIndexes {
+
+        private final TrigramIndex trigrams = new TrigramIndex();
+
+        private final PhoneticIndex phonetic = new PhoneticIndex();
+
+        private void put(long personId, String firstName, String lastName) {
+            trigrams.put(personId, firstName, lastName);
+            phonetic.put(personId, firstName, lastName);
+        }
+    }
+}
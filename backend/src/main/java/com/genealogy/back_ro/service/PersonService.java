@@ -1,14 +1,29 @@
 package com.genealogy.back_ro.service;
 
+import com.genealogy.back_ro.graph.FamilyGraph;
+import com.genealogy.back_ro.graph.GraphDelta;
+import com.genealogy.back_ro.graph.GraphDeltaEvent;
+import com.genealogy.back_ro.graph.PersonRelationshipsEvent;
 import com.genealogy.back_ro.model.Person;
 import com.genealogy.back_ro.model.User;
+import com.genealogy.back_ro.payload.response.CursorPage;
+import com.genealogy.back_ro.payload.response.PersonSearchResponse;
+import com.genealogy.back_ro.payload.response.PersonSummary;
 import com.genealogy.back_ro.repository.PersonRepository;
+import com.genealogy.back_ro.search.PersonNameEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class PersonService {
@@ -19,32 +34,109 @@ public class PersonService {
     @Autowired
     private PersonRepository personRepository;
 
-    public List<Person> findRelationshipPath(Long person1Id, Long person2Id) {
+    @Autowired
+    private FamilyGraphIndexService familyGraphIndexService;
+
+    @Autowired
+    private PersonNameSearchService personNameSearchService;
+
+    @Autowired
+    private PersonCacheService personCacheService;
+
+    @Autowired
+    private GraphIntegrityService graphIntegrityService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public List<PersonSummary> findRelationshipPath(Long person1Id, Long person2Id) {
         return genealogySearchService.findRelationshipPath(person1Id, person2Id);
     }
 
-    public Person findCommonAncestor(Long person1Id, Long person2Id) {
+    public PersonSummary findCommonAncestor(Long person1Id, Long person2Id) {
         return genealogySearchService.findCommonAncestor(person1Id, person2Id);
     }
 
-    public List<Person> findDescendants(Long personId, int maxDepth) {
+    public List<PersonSummary> findCommonAncestors(Long person1Id, Long person2Id) {
+        return genealogySearchService.findCommonAncestors(person1Id, person2Id);
+    }
+
+    public List<PersonSummary> findDescendants(Long personId, int maxDepth) {
         return genealogySearchService.findDescendants(personId, maxDepth);
     }
 
-    public List<Person> getAllPersons() {
-        return personRepository.findAll();
+    /**
+     * Page de personnes triées par identifiant, après {@code afterId}
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PersonSummary> getPersons(Long afterId, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        List<PersonSummary> fetched = personRepository.findSummariesAfter(
+                afterId == null ? 0L : afterId, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(fetched, pageSize, PersonSummary::getId);
     }
 
+    /**
+     * Transmet toutes les personnes à {@code consumer}, lues par paquets depuis un curseur de base de données :
+     * la mémoire utilisée ne dépend pas du nombre de personnes
+     */
+    @Transactional(readOnly = true)
+    public void exportPersons(Consumer<? super PersonSummary> consumer) {
+        try (Stream<PersonSummary> persons = personRepository.streamAllSummaries()) {
+            persons.forEach(consumer);
+        }
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Person> getPersonById(Long id) {
         return personRepository.findById(id);
     }
 
-    public Person savePerson(Person person) {
+    /**
+     * @return l'empreinte de la photo de la personne dans le stockage, ou {@code null} si elle n'en a pas
+     */
+    @Transactional(readOnly = true)
+    public String getPhotoHash(Long id) {
+        return personRepository.findPhotoHashById(id);
+    }
+
+    @Transactional
+    public Person updatePhoto(Long id, byte[] photo) {
+        Person person = personRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Person not found"));
+        person.setPhoto(photo);
         return personRepository.save(person);
     }
 
+    @Transactional
+    public Person savePerson(Person person) {
+        // Une personne pas encore enregistrée n'a pas de descendants : ses liens ne peuvent pas former de cycle
+        if (person.getId() != null) {
+            for (Person parent : person.getParents()) {
+                if (parent.getId() != null) {
+                    checkParentLink(person.getId(), parent.getId());
+                }
+            }
+        }
+        Person saved = personRepository.save(person);
+        publishGraphDeltas(personDeltas(saved));
+        publishRelationships(saved);
+        publishName(saved);
+        return saved;
+    }
+
+    @Transactional
     public void deletePerson(Long id) {
+        // Les collections parents/enfants des proches, en cache, référencent encore la personne supprimée
+        List<Long> relativeIds = new ArrayList<>();
+        personRepository.findById(id).ifPresent(person -> {
+            person.getParents().forEach(parent -> relativeIds.add(parent.getId()));
+            person.getChildren().forEach(child -> relativeIds.add(child.getId()));
+        });
         personRepository.deleteById(id);
+        personCacheService.evictPerson(id, relativeIds);
+        publishGraphDeltas(List.of(GraphDelta.removePerson(id)));
+        eventPublisher.publishEvent(PersonNameEvent.removed(id));
     }
 
     @Transactional
@@ -57,10 +149,15 @@ public class PersonService {
         existingPerson.setBirthDate(updatedPerson.getBirthDate());
         existingPerson.setDeathDate(updatedPerson.getDeathDate());
         existingPerson.setBirthPlace(updatedPerson.getBirthPlace());
-        existingPerson.setPhoto(updatedPerson.getPhoto());
+        // La photo n'est pas renvoyée par les lectures : sans nouvelle photo, l'actuelle est conservée
+        if (updatedPerson.getPhoto() != null) {
+            existingPerson.setPhoto(updatedPerson.getPhoto());
+        }
         existingPerson.setBiography(updatedPerson.getBiography());
 
-        return personRepository.save(existingPerson);
+        Person saved = personRepository.save(existingPerson);
+        publishName(saved);
+        return saved;
     }
 
     @Transactional
@@ -69,9 +166,12 @@ public class PersonService {
                 .orElseThrow(() -> new RuntimeException("Child not found"));
         Person parent = personRepository.findById(parentId)
                 .orElseThrow(() -> new RuntimeException("Parent not found"));
+        checkParentLink(childId, parentId);
 
         child.addParent(parent);
-        return personRepository.save(child);
+        Person saved = personRepository.save(child);
+        publishGraphDeltas(List.of(GraphDelta.addEdge(childId, parentId)));
+        return saved;
     }
 
     @Transactional
@@ -82,30 +182,106 @@ public class PersonService {
                 .orElseThrow(() -> new RuntimeException("Parent not found"));
 
         child.removeParent(parent);
-        return personRepository.save(child);
+        Person saved = personRepository.save(child);
+        publishGraphDeltas(List.of(GraphDelta.removeEdge(childId, parentId)));
+        return saved;
     }
 
-    public List<Person> getChildrenByParentId(Long parentId) {
-        return personRepository.findChildrenByParentId(parentId);
+    @Transactional(readOnly = true)
+    public CursorPage<PersonSummary> getChildrenByParentId(Long parentId, Long afterId, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        List<PersonSummary> fetched = personRepository.findChildSummariesAfter(
+                parentId, afterId == null ? 0L : afterId, PageRequest.of(0, pageSize + 1));
+        return CursorPage.of(fetched, pageSize, PersonSummary::getId);
     }
 
-    public List<Person> getParentsByChildId(Long childId) {
-        return personRepository.findParentsByChildId(childId);
+    @Transactional(readOnly = true)
+    public List<PersonSummary> getParentsByChildId(Long childId) {
+        return personRepository.findParentSummariesByChildId(childId);
     }
 
-    public List<Person> searchPersonsByName(String firstName, String lastName) {
+    @Transactional(readOnly = true)
+    public PersonSearchResponse searchPersonsByName(String firstName, String lastName, String query, int page, int size) {
+        if (personNameSearchService.isReady()) {
+            return personNameSearchService.search(firstName, lastName, query, page, size);
+        }
+
+        // Index pas encore construit (démarrage) : recherche par LIKE, sans classement
+        List<PersonSummary> persons;
         if (firstName != null && !firstName.isEmpty() && lastName != null && !lastName.isEmpty()) {
-            return personRepository.findByFirstNameContainingIgnoreCaseAndLastNameContainingIgnoreCase(firstName, lastName);
+            persons = personRepository.findSummariesByFirstNameAndLastName(firstName, lastName);
         } else if (lastName != null && !lastName.isEmpty()) {
-            return personRepository.findByLastNameContainingIgnoreCase(lastName);
+            persons = personRepository.findSummariesByLastName(lastName);
         } else {
-            return List.of();
+            persons = List.of();
         }
+        int pageSize = Math.max(1, Math.min(size, PersonNameSearchService.MAX_PAGE_SIZE));
+        int pageNumber = Math.max(page, 0);
+        int from = (int) Math.min((long) pageNumber * pageSize, persons.size());
+        int to = Math.min(from + pageSize, persons.size());
+        return new PersonSearchResponse(persons.size(), pageNumber, pageSize, persons.subList(from, to));
     }
 
     @Transactional
     public Person createPerson(Person person, User currentUser) {
         person.setCreatedBy(currentUser);
-        return personRepository.save(person);
+        Person saved = personRepository.save(person);
+        publishGraphDeltas(personDeltas(saved));
+        publishRelationships(saved);
+        publishName(saved);
+        return saved;
+    }
+
+    /**
+     * Calcule les modifications de l'index pour une personne enregistrée : ajout du nœud,
+     * liens vers ses parents actuels et retrait des liens qui ne figurent plus dans l'entité.
+     */
+    private List<GraphDelta> personDeltas(Person saved) {
+        List<GraphDelta> deltas = new ArrayList<>();
+        deltas.add(GraphDelta.addPerson(saved.getId()));
+
+        Set<Long> parentIds = saved.getParents().stream()
+                .map(Person::getId)
+                .collect(Collectors.toSet());
+        for (Long parentId : parentIds) {
+            deltas.add(GraphDelta.addEdge(saved.getId(), parentId));
+        }
+
+        FamilyGraph graph = familyGraphIndexService.snapshot();
+        int node = graph.indexOf(saved.getId());
+        if (node != FamilyGraph.NO_NODE) {
+            for (int k = 0; k < graph.parentCount(node); k++) {
+                long indexedParentId = graph.idOf(graph.parent(node, k));
+                if (!parentIds.contains(indexedParentId)) {
+                    deltas.add(GraphDelta.removeEdge(saved.getId(), indexedParentId));
+                }
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * Refuse un lien parent qui ferait de la personne son propre ancêtre
+     */
+    private void checkParentLink(Long childId, Long parentId) {
+        if (graphIntegrityService.wouldCreateCycle(childId, parentId)) {
+            throw new RuntimeException("This parent link would make the person their own ancestor");
+        }
+    }
+
+    private void publishRelationships(Person saved) {
+        eventPublisher.publishEvent(new PersonRelationshipsEvent(saved.getId()));
+    }
+
+    private void publishName(Person saved) {
+        eventPublisher.publishEvent(PersonNameEvent.saved(saved.getId(), saved.getFirstName(), saved.getLastName()));
+    }
+
+    /**
+     * Publie les modifications du graphe ; elles sont appliquées à l'index après validation
+     * de la transaction courante.
+     */
+    private void publishGraphDeltas(List<GraphDelta> deltas) {
+        eventPublisher.publishEvent(new GraphDeltaEvent(deltas));
     }
 }
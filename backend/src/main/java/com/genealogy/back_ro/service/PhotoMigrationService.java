@@ -0,0 +1,56 @@
+package com.genealogy.back_ro.service;
+
+import com.genealogy.back_ro.repository.PersonPhotoJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Déplace au démarrage les photos encore stockées dans la colonne BLOB {@code persons.photo}
+ * vers le stockage de photos, par petits lots pour ne jamais charger toutes les images en mémoire.
+ */
+@Service
+public class PhotoMigrationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PhotoMigrationService.class);
+
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private PersonPhotoJdbcRepository personPhotoJdbcRepository;
+
+    @Autowired
+    private PhotoStorageService photoStorageService;
+
+    @Autowired
+    private PersonCacheService personCacheService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLegacyPhotos() {
+        if (!personPhotoJdbcRepository.hasLegacyPhotoColumn()) {
+            return;
+        }
+
+        int migrated = 0;
+        List<Map<String, Object>> batch;
+        while (!(batch = personPhotoJdbcRepository.findLegacyPhotos(BATCH_SIZE)).isEmpty()) {
+            for (Map<String, Object> row : batch) {
+                long personId = ((Number) row.get("id")).longValue();
+                String hash = photoStorageService.store((byte[]) row.get("photo"));
+                personPhotoJdbcRepository.replaceLegacyPhoto(personId, hash);
+                migrated++;
+            }
+        }
+        if (migrated > 0) {
+            // Les empreintes ont été écrites en JDBC, à l'insu du cache de second niveau
+            personCacheService.evictAll();
+            logger.info("{} photos migrées vers le stockage de photos", migrated);
+        }
+    }
+}
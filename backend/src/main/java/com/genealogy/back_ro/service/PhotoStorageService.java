@@ -0,0 +1,178 @@
+package com.genealogy.back_ro.service;
+
+import com.genealogy.back_ro.util.ContentHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Stockage des photos sur disque, adressé par contenu : chaque fichier est nommé par l'empreinte
+ * SHA-256 de ses octets ({@code ab/cd/abcd…}). Une même photo n'est donc écrite qu'une fois,
+ * quel que soit le nombre de personnes qui la référencent, et un fichier n'est jamais modifié.
+ *
+ * Les miniatures sont générées à la première demande, pour les tailles de {@link #THUMBNAIL_SIZES}
+ * uniquement, puis conservées à côté des originaux.
+ */
+@Service
+public class PhotoStorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PhotoStorageService.class);
+
+    /** Côté maximal, en pixels, des miniatures proposées */
+    public static final int[] THUMBNAIL_SIZES = {64, 256};
+
+    private final Path root;
+
+    public PhotoStorageService(@Value("${genealogy.photos.dir:photos}") String directory) {
+        this.root = Paths.get(directory).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Enregistre un contenu s'il n'est pas déjà présent.
+     *
+     * @return l'empreinte du contenu
+     */
+    public String store(byte[] content) {
+        String hash = ContentHash.sha256(content);
+        store(hash, content);
+        return hash;
+    }
+
+    /**
+     * Enregistre un contenu sous une empreinte déjà calculée, s'il n'est pas déjà présent.
+     */
+    public void store(String hash, byte[] content) {
+        Path target = originalPath(hash);
+        if (Files.exists(target)) {
+            return;
+        }
+        try {
+            writeAtomically(target, content);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible d'enregistrer la photo " + hash, e);
+        }
+    }
+
+    /**
+     * @return le fichier de la photo, ou {@code null} s'il est absent du stockage
+     */
+    public Path locate(String hash) {
+        Path path = originalPath(hash);
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    public static boolean isThumbnailSize(int size) {
+        for (int thumbnailSize : THUMBNAIL_SIZES) {
+            if (thumbnailSize == size) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Miniature JPEG tenant dans un carré de {@code size} pixels, générée si besoin.
+     * Si l'original n'est pas une image lisible (ou est déjà plus petit), l'original est renvoyé :
+     * le résultat ne dépend que du contenu et reste le même d'un appel à l'autre.
+     *
+     * @return le fichier de la miniature, ou {@code null} si la photo est absente du stockage
+     * @throws UncheckedIOException si la miniature n'a pas pu être enregistrée (erreur passagère)
+     */
+    public Path thumbnail(String hash, int size) {
+        if (!isThumbnailSize(size)) {
+            throw new IllegalArgumentException("Taille de miniature non prise en charge : " + size);
+        }
+        Path original = locate(hash);
+        if (original == null) {
+            return null;
+        }
+        Path target = root.resolve("thumbs").resolve(String.valueOf(size)).resolve(relativePath(hash));
+        if (Files.isRegularFile(target)) {
+            return target;
+        }
+
+        BufferedImage image;
+        try {
+            image = ImageIO.read(original.toFile());
+        } catch (IOException e) {
+            logger.warn("Photo {} illisible, servie sans miniature : {}", hash, e.getMessage());
+            return original;
+        }
+        if (image == null || (image.getWidth() <= size && image.getHeight() <= size)) {
+            return original;
+        }
+        try {
+            writeAtomically(target, scale(image, size));
+        } catch (IOException e) {
+            logger.warn("Miniature {} de la photo {} impossible à enregistrer : {}", size, hash, e.getMessage());
+            throw new UncheckedIOException("Impossible d'enregistrer la miniature " + size + " de la photo " + hash, e);
+        }
+        return target;
+    }
+
+    private BufferedImage scale(BufferedImage image, int size) {
+        double ratio = Math.min((double) size / image.getWidth(), (double) size / image.getHeight());
+        int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+
+        // JPEG ne gère pas la transparence : rendu sur fond opaque
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private void writeAtomically(Path target, byte[] content) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temporary = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            Files.write(temporary, content);
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private void writeAtomically(Path target, BufferedImage image) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temporary = Files.createTempFile(target.getParent(), ".thumb-", ".tmp");
+        try {
+            if (!ImageIO.write(image, "jpg", temporary.toFile())) {
+                throw new IOException("Aucun encodeur JPEG disponible");
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private Path originalPath(String hash) {
+        return root.resolve("originals").resolve(relativePath(hash));
+    }
+
+    private Path relativePath(String hash) {
+        if (!ContentHash.isValid(hash)) {
+            throw new IllegalArgumentException("Empreinte de photo invalide : " + hash);
+        }
+        return Paths.get(hash.substring(0, 2), hash.substring(2, 4), hash);
+    }
+}
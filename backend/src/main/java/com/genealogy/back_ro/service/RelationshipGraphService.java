@@ -0,0 +1,240 @@
+package com.genealogy.back_ro.service;
+
+import com.genealogy.back_ro.graph.FamilyGraph;
+import com.genealogy.back_ro.graph.GraphDelta;
+import com.genealogy.back_ro.graph.GraphDeltaEvent;
+import com.genealogy.back_ro.graph.PersonRelationshipsEvent;
+import com.genealogy.back_ro.graph.RelationshipGraph;
+import com.genealogy.back_ro.repository.RelationshipGraphJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fournit le graphe pondéré des relations ({@link RelationshipGraph}). Il est chargé à la première
+ * recherche pondérée ; ensuite, chaque modification effective des personnes, des liens parent-enfant
+ * ou des relations ({@link GraphDeltaEvent}, {@link PersonRelationshipsEvent}) fait avancer sa version
+ * et déclenche un rechargement en arrière-plan. Pendant ce rechargement, les recherches continuent
+ * sur le graphe précédent. Les modifications sans effet sur le graphe (renommage, lien déjà présent)
+ * ne changent pas la version.
+ */
+@Service
+public class RelationshipGraphService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelationshipGraphService.class);
+
+    @Autowired
+    private RelationshipGraphJdbcRepository relationshipGraphJdbcRepository;
+
+    private volatile Snapshot loaded;
+
+    /** Version des données du graphe : avance à chaque modification effective */
+    private final AtomicLong version = new AtomicLong();
+
+    private final AtomicBoolean reloading = new AtomicBoolean();
+
+    private final ExecutorService reloadExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "genealogy-relationships");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Graphe chargé et version des données lue avant son chargement
+     */
+    public static final class Snapshot {
+        private final long version;
+        private final RelationshipGraph graph;
+
+        Snapshot(long version, RelationshipGraph graph) {
+            this.version = version;
+            this.graph = graph;
+        }
+
+        /**
+         * @return la version des relations et des liens du graphe : égale pour deux graphes identiques
+         */
+        public long getVersion() {
+            return version;
+        }
+
+        public RelationshipGraph getGraph() {
+            return graph;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reloadExecutor.shutdownNow();
+    }
+
+    /**
+     * @return le dernier graphe chargé, cohérent pour toute la durée d'une requête
+     */
+    public RelationshipGraph graph() {
+        return snapshot().getGraph();
+    }
+
+    /**
+     * Le dernier graphe chargé et sa version ; seul le tout premier chargement est attendu.
+     * Un graphe en retard sur les données est servi pendant que le suivant se charge.
+     */
+    public Snapshot snapshot() {
+        Snapshot current = loaded;
+        if (current == null) {
+            synchronized (this) {
+                current = loaded;
+                if (current == null) {
+                    current = load();
+                    loaded = current;
+                }
+            }
+        }
+        if (current.version != version.get()) {
+            scheduleReload();
+        }
+        return current;
+    }
+
+    /**
+     * Signale une écriture directe en base (import) : le graphe est rechargé
+     */
+    public void invalidate() {
+        markChanged();
+    }
+
+    /**
+     * Liens parent-enfant et personnes d'une transaction validée : seules les modifications
+     * absentes du graphe chargé en font avancer la version.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGraphDelta(GraphDeltaEvent event) {
+        Snapshot current = loaded;
+        if (current == null) {
+            return;
+        }
+        if (!settled(current)) {
+            markChanged();
+            return;
+        }
+        for (GraphDelta delta : event.getDeltas()) {
+            if (changes(current.getGraph(), delta)) {
+                markChanged();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Personne enregistrée : l'API ne permet pas d'ajouter de relations (seuls les imports en écrivent),
+     * la version n'avance donc que si la personne en avait dans le graphe chargé
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPersonRelationships(PersonRelationshipsEvent event) {
+        Snapshot current = loaded;
+        if (current != null && (!settled(current) || hasRelationships(current.getGraph(), event.getPersonId()))) {
+            markChanged();
+        }
+    }
+
+    /**
+     * Un graphe en retard ou en cours de rechargement ne permet pas de conclure qu'une modification
+     * est sans effet : la base a pu être lue avant ou après elle
+     */
+    private boolean settled(Snapshot current) {
+        return !reloading.get() && current.version == version.get();
+    }
+
+    private void markChanged() {
+        version.incrementAndGet();
+        if (loaded != null) {
+            scheduleReload();
+        }
+    }
+
+    /**
+     * Un seul rechargement à la fois ; les modifications arrivées pendant celui-ci en relancent un autre
+     */
+    private void scheduleReload() {
+        if (reloading.compareAndSet(false, true)) {
+            reloadExecutor.execute(this::reload);
+        }
+    }
+
+    private void reload() {
+        try {
+            loaded = load();
+        } catch (RuntimeException e) {
+            logger.warn("Rechargement du graphe des relations impossible : le graphe précédent reste servi", e);
+            return;
+        } finally {
+            reloading.set(false);
+        }
+        if (loaded.version != version.get()) {
+            scheduleReload();
+        }
+    }
+
+    private Snapshot load() {
+        long expected = version.get();
+        long start = System.nanoTime();
+        RelationshipGraph graph = relationshipGraphJdbcRepository.loadRelationshipGraph();
+        logger.info("Graphe des relations chargé : {} personnes, {} arêtes, types {} en {} ms",
+                graph.size(), graph.edgeCount(), graph.typeNames(), (System.nanoTime() - start) / 1_000_000);
+        return new Snapshot(expected, graph);
+    }
+
+    private static boolean changes(RelationshipGraph graph, GraphDelta delta) {
+        int node = graph.indexOf(delta.getPersonId());
+        switch (delta.getKind()) {
+            case ADD_PERSON:
+                return node == FamilyGraph.NO_NODE;
+            case REMOVE_PERSON:
+                return node != FamilyGraph.NO_NODE;
+            case ADD_EDGE:
+                return !hasParentEdge(graph, node, delta.getRelatedId());
+            case REMOVE_EDGE:
+                return hasParentEdge(graph, node, delta.getRelatedId());
+            default:
+                return true;
+        }
+    }
+
+    private static boolean hasParentEdge(RelationshipGraph graph, int child, long parentId) {
+        int parent = graph.indexOf(parentId);
+        if (child == FamilyGraph.NO_NODE || parent == FamilyGraph.NO_NODE) {
+            return false;
+        }
+        for (int edge = graph.firstEdge(child); edge < graph.endEdge(child); edge++) {
+            if (graph.target(edge) == parent && RelationshipGraph.PARENT.equals(graph.typeName(graph.type(edge)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return {@code true} si la personne a, dans le graphe, une arête autre qu'un lien parent-enfant
+     */
+    private static boolean hasRelationships(RelationshipGraph graph, long personId) {
+        int node = graph.indexOf(personId);
+        if (node == FamilyGraph.NO_NODE) {
+            return false;
+        }
+        for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+            String type = graph.typeName(graph.type(edge));
+            if (!RelationshipGraph.PARENT.equals(type) && !RelationshipGraph.CHILD.equals(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,92 @@
+package com.genealogy.back_ro.service;
+
+import com.genealogy.back_ro.graph.GraphBackend;
+import com.genealogy.back_ro.graph.RelationshipGraph;
+import com.genealogy.back_ro.graph.SpanningForest;
+import com.genealogy.back_ro.payload.response.SpanningTreeEdgeResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Arbre couvrant minimal du graphe des relations ({@link SpanningForest}), calculé par le
+ * {@link GraphBackend} configuré. Les forêts calculées sont conservées par types de relation
+ * et algorithme pour une version du graphe ({@link RelationshipGraphService.Snapshot#getVersion()}),
+ * qui ne change qu'avec les liens, les relations ou leurs poids.
+ */
+@Service
+public class SpanningTreeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpanningTreeService.class);
+
+    /** Combinaisons (types, algorithme) conservées pour une même version du graphe */
+    private static final int MAX_CACHED_FORESTS = 16;
+
+    @Autowired
+    private RelationshipGraphService relationshipGraphService;
+
+    @Autowired
+    private GraphBackend graphBackend;
+
+    private volatile Cached cached;
+
+    /**
+     * Forêts calculées pour une même version du graphe
+     */
+    private static final class Cached {
+        final long version;
+        final Map<Long, SpanningForest> forests = new ConcurrentHashMap<>();
+
+        Cached(long version) {
+            this.version = version;
+        }
+    }
+
+    /**
+     * @param types types de relation retenus ; vide ou {@code null} pour tous
+     * @throws IllegalArgumentException si un type est inconnu
+     */
+    public SpanningForest spanningForest(Collection<String> types, SpanningForest.Algorithm algorithm) {
+        RelationshipGraphService.Snapshot snapshot = relationshipGraphService.snapshot();
+        RelationshipGraph graph = snapshot.getGraph();
+        int typeMask = graph.typeMask(types);
+
+        Cached current = cached;
+        if (current == null || current.version != snapshot.getVersion()) {
+            current = new Cached(snapshot.getVersion());
+            cached = current;
+        }
+        long key = (long) typeMask << 8 | algorithm.ordinal();
+        SpanningForest forest = current.forests.get(key);
+        if (forest == null) {
+            long start = System.nanoTime();
+            forest = graphBackend.spanningForest(graph, typeMask, algorithm);
+            if (current.forests.size() >= MAX_CACHED_FORESTS) {
+                current.forests.clear();
+            }
+            current.forests.put(key, forest);
+            logger.info("Arbre couvrant minimal ({}) : {} arêtes, {} arbres, poids {} en {} ms",
+                    forest.getAlgorithm(), forest.size(), forest.getTreeCount(), forest.getTotalWeight(),
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+        return forest;
+    }
+
+    /**
+     * Transmet les arêtes de la forêt à {@code consumer}, dans l'ordre où elles ont été retenues
+     */
+    public void streamSpanningForest(SpanningForest forest, Consumer<? super SpanningTreeEdgeResponse> consumer) {
+        RelationshipGraph graph = forest.getGraph();
+        for (int i = 0; i < forest.size(); i++) {
+            int edge = forest.edge(i);
+            consumer.accept(new SpanningTreeEdgeResponse(graph.idOf(forest.source(i)), graph.idOf(graph.target(edge)),
+                    graph.typeName(graph.type(edge)), graph.weight(edge)));
+        }
+    }
+}
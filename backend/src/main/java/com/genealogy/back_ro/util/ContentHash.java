@@ -0,0 +1,38 @@
+package com.genealogy.back_ro.util;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Empreinte SHA-256 d'un contenu, en hexadécimal minuscule (64 caractères).
+ */
+public final class ContentHash {
+
+    private ContentHash() {
+    }
+
+    public static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    /**
+     * @return {@code true} si la chaîne a la forme d'une empreinte produite par {@link #sha256(byte[])}
+     */
+    public static boolean isValid(String hash) {
+        if (hash == null || hash.length() != 64) {
+            return false;
+        }
+        for (int i = 0; i < hash.length(); i++) {
+            char c = hash.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
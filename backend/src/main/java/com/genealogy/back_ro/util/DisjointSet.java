@@ -0,0 +1,102 @@
+package com.genealogy.back_ro.util;
+
+import java.util.Arrays;
+
+/**
+ * Ensembles disjoints (union-find) sur des entiers denses, avec union par taille et compression
+ * de chemin par division : une suite de m opérations coûte O(m α(n)).
+ *
+ * {@link #find(int)} modifie la structure ; {@link #root(int)} ne fait que lire et peut être appelée
+ * par plusieurs lecteurs à la fois (hauteur des arbres en O(log n) grâce à l'union par taille).
+ */
+public final class DisjointSet {
+
+    private int[] parent;
+    private int[] size;
+    private int capacity;
+    private int count;
+
+    public DisjointSet(int capacity) {
+        parent = new int[Math.max(1, capacity)];
+        size = new int[parent.length];
+        grow(capacity);
+    }
+
+    /**
+     * Ajoute des singletons jusqu'à {@code newCapacity} éléments
+     */
+    public void grow(int newCapacity) {
+        if (newCapacity <= capacity) {
+            return;
+        }
+        if (newCapacity > parent.length) {
+            int length = Math.max(newCapacity, parent.length + (parent.length >> 1));
+            parent = Arrays.copyOf(parent, length);
+            size = Arrays.copyOf(size, length);
+        }
+        for (int i = capacity; i < newCapacity; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+        count += newCapacity - capacity;
+        capacity = newCapacity;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return nombre d'ensembles
+     */
+    public int count() {
+        return count;
+    }
+
+    public int find(int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    /**
+     * Comme {@link #find(int)}, sans compression de chemin
+     */
+    public int root(int x) {
+        while (parent[x] != x) {
+            x = parent[x];
+        }
+        return x;
+    }
+
+    /**
+     * Réunit les ensembles de {@code a} et {@code b}
+     *
+     * @return la racine de l'ensemble réuni
+     */
+    public int union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if (ra == rb) {
+            return ra;
+        }
+        if (size[ra] < size[rb]) {
+            int swap = ra;
+            ra = rb;
+            rb = swap;
+        }
+        parent[rb] = ra;
+        size[ra] += size[rb];
+        count--;
+        return ra;
+    }
+
+    /**
+     * @return taille de l'ensemble dont {@code root} est la racine
+     */
+    public int sizeOfRoot(int root) {
+        return size[root];
+    }
+}
@@ -0,0 +1,167 @@
+package com.genealogy.back_ro.util;
+
+import java.util.Arrays;
+
+/**
+ * Tas 4-aire indexé de nœuds entiers, avec diminution de priorité en place ({@link #offer(int, int)}) :
+ * chaque nœud figure au plus une fois dans le tas, contrairement à un tas à suppression paresseuse
+ * où les entrées obsolètes s'accumulent. Un tas 4-aire est moins profond qu'un tas binaire
+ * et ses fils sont contigus en mémoire.
+ *
+ * Une instance est attachée à chaque thread via {@link #acquire(int)} ; {@link #clear()}
+ * ne réinitialise que les nœuds restés dans le tas.
+ */
+public final class IndexedMinHeap {
+
+    private static final int ARITY = 4;
+    private static final int ABSENT = -1;
+
+    private static final ThreadLocal<IndexedMinHeap> LOCAL = ThreadLocal.withInitial(() -> new IndexedMinHeap(0));
+
+    private int[] nodes;
+    private int[] priorities;
+    /** Position de chaque nœud dans le tas, ou {@link #ABSENT} */
+    private int[] positions;
+    private int size;
+
+    public IndexedMinHeap(int nodeCount) {
+        nodes = new int[Math.max(4, nodeCount)];
+        priorities = new int[nodes.length];
+        positions = new int[nodes.length];
+        Arrays.fill(positions, ABSENT);
+    }
+
+    /**
+     * Retourne le tas du thread courant, vide et dimensionné pour {@code nodeCount} nœuds
+     */
+    public static IndexedMinHeap acquire(int nodeCount) {
+        IndexedMinHeap heap = LOCAL.get();
+        heap.clear();
+        heap.ensureCapacity(nodeCount);
+        return heap;
+    }
+
+    private void ensureCapacity(int nodeCount) {
+        if (positions.length < nodeCount) {
+            int capacity = Math.max(nodeCount, positions.length + (positions.length >> 1));
+            int previous = positions.length;
+            positions = Arrays.copyOf(positions, capacity);
+            Arrays.fill(positions, previous, capacity, ABSENT);
+            nodes = Arrays.copyOf(nodes, capacity);
+            priorities = Arrays.copyOf(priorities, capacity);
+        }
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int node) {
+        return positions[node] != ABSENT;
+    }
+
+    /**
+     * Ajoute le nœud, ou abaisse sa priorité s'il est déjà dans le tas avec une priorité supérieure
+     *
+     * @return {@code true} si le tas a été modifié
+     */
+    public boolean offer(int node, int priority) {
+        int position = positions[node];
+        if (position == ABSENT) {
+            position = size++;
+            nodes[position] = node;
+            priorities[position] = priority;
+            positions[node] = position;
+        } else if (priority < priorities[position]) {
+            priorities[position] = priority;
+        } else {
+            return false;
+        }
+        siftUp(position);
+        return true;
+    }
+
+    /**
+     * @return la priorité du premier nœud, sans le retirer
+     */
+    public int peekPriority() {
+        return priorities[0];
+    }
+
+    /**
+     * Retire et retourne le nœud de plus petite priorité
+     */
+    public int poll() {
+        int first = nodes[0];
+        positions[first] = ABSENT;
+        size--;
+        if (size > 0) {
+            nodes[0] = nodes[size];
+            priorities[0] = priorities[size];
+            positions[nodes[0]] = 0;
+            siftDown(0);
+        }
+        return first;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[nodes[i]] = ABSENT;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int position) {
+        int node = nodes[position];
+        int priority = priorities[position];
+        while (position > 0) {
+            int parent = (position - 1) / ARITY;
+            if (priorities[parent] <= priority) {
+                break;
+            }
+            move(parent, position);
+            position = parent;
+        }
+        place(node, priority, position);
+    }
+
+    private void siftDown(int position) {
+        int node = nodes[position];
+        int priority = priorities[position];
+        while (true) {
+            int firstChild = position * ARITY + 1;
+            if (firstChild >= size) {
+                break;
+            }
+            int best = firstChild;
+            int lastChild = Math.min(firstChild + ARITY, size);
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                if (priorities[child] < priorities[best]) {
+                    best = child;
+                }
+            }
+            if (priorities[best] >= priority) {
+                break;
+            }
+            move(best, position);
+            position = best;
+        }
+        place(node, priority, position);
+    }
+
+    private void move(int from, int to) {
+        nodes[to] = nodes[from];
+        priorities[to] = priorities[from];
+        positions[nodes[to]] = to;
+    }
+
+    private void place(int node, int priority, int position) {
+        nodes[position] = node;
+        priorities[position] = priority;
+        positions[node] = position;
+    }
+}
@@ -0,0 +1,53 @@
+package com.genealogy.back_ro.util;
+
+import java.util.Arrays;
+
+/**
+ * Liste extensible de {@code int} sans boxing.
+ */
+public final class IntArrayList {
+
+    private int[] elements;
+    private int size;
+
+    public IntArrayList() {
+        this(16);
+    }
+
+    public IntArrayList(int initialCapacity) {
+        elements = new int[Math.max(1, initialCapacity)];
+    }
+
+    public void add(int value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, elements.length << 1);
+        }
+        elements[size++] = value;
+    }
+
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return elements[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return une copie ajustée à la taille de la liste
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+}
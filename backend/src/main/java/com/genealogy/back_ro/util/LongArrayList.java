@@ -0,0 +1,69 @@
+package com.genealogy.back_ro.util;
+
+import java.util.Arrays;
+
+/**
+ * Liste extensible de {@code long} sans boxing.
+ */
+public final class LongArrayList {
+
+    private long[] elements;
+    private int size;
+
+    public LongArrayList() {
+        this(16);
+    }
+
+    public LongArrayList(int initialCapacity) {
+        elements = new long[Math.max(1, initialCapacity)];
+    }
+
+    public void add(long value) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, elements.length << 1);
+        }
+        elements[size++] = value;
+    }
+
+    public long get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return elements[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Retire une occurrence de la valeur en la remplaçant par le dernier élément :
+     * l'ordre des éléments n'est pas conservé.
+     *
+     * @return {@code false} si la valeur est absente
+     */
+    public boolean removeValue(long value) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == value) {
+                elements[i] = elements[--size];
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return une copie ajustée à la taille de la liste
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+}
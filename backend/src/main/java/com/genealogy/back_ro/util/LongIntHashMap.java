@@ -0,0 +1,157 @@
+package com.genealogy.back_ro.util;
+
+import java.util.Arrays;
+
+/**
+ * Table de hachage à adressage ouvert associant des clés {@code long} à des valeurs {@code int}.
+ * Évite l'allocation d'objets {@code Long}/{@code Integer} pour les index résidents en mémoire
+ * (plusieurs centaines de milliers d'identifiants de personnes).
+ *
+ * Cette classe n'est pas thread-safe : les index la publient une fois construite et n'y
+ * écrivent plus ensuite (ou en travaillent sur une copie).
+ */
+public final class LongIntHashMap {
+
+    /** Valeur retournée par {@link #get(long)} lorsque la clé est absente */
+    public static final int MISSING = -1;
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int size;
+    private int mask;
+    private int resizeThreshold;
+
+    public LongIntHashMap() {
+        this(16);
+    }
+
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != MISSING;
+    }
+
+    /**
+     * @return la valeur associée à la clé, ou {@link #MISSING}
+     */
+    public int get(long key) {
+        int slot = mix(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    public void put(long key, int value) {
+        int slot = mix(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        used[slot] = true;
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeThreshold) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * Supprime la clé en recompactant la séquence de sondage (pas de marqueurs de suppression).
+     *
+     * @return l'ancienne valeur, ou {@link #MISSING}
+     */
+    public int remove(long key) {
+        int slot = mix(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                shiftBack(slot);
+                size--;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    private void shiftBack(int hole) {
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (!used[slot]) {
+                break;
+            }
+            int ideal = mix(keys[slot]) & mask;
+            // L'entrée peut combler le trou si son emplacement idéal ne se trouve pas entre le trou et elle
+            boolean movable = hole <= slot ? (ideal <= hole || ideal > slot) : (ideal <= hole && ideal > slot);
+            if (movable) {
+                keys[hole] = keys[slot];
+                values[hole] = values[slot];
+                hole = slot;
+            }
+        }
+        used[hole] = false;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = mix(oldKeys[i]) & mask;
+                while (used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Copie profonde, utilisée par les structures copy-on-write.
+     */
+    public LongIntHashMap copy() {
+        LongIntHashMap copy = new LongIntHashMap(4);
+        copy.keys = Arrays.copyOf(keys, keys.length);
+        copy.values = Arrays.copyOf(values, values.length);
+        copy.used = Arrays.copyOf(used, used.length);
+        copy.size = size;
+        copy.mask = mask;
+        copy.resizeThreshold = resizeThreshold;
+        return copy;
+    }
+}
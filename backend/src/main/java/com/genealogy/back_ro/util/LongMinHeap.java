@@ -0,0 +1,87 @@
+package com.genealogy.back_ro.util;
+
+import java.util.Arrays;
+
+/**
+ * Tas binaire minimal de {@code long}, utilisé comme file de priorité sans boxing.
+ * Les algorithmes y rangent des couples (priorité, nœud) encodés par {@link #encode(int, int)}.
+ */
+public final class LongMinHeap {
+
+    private long[] heap;
+    private int size;
+
+    public LongMinHeap() {
+        this(64);
+    }
+
+    public LongMinHeap(int initialCapacity) {
+        heap = new long[Math.max(2, initialCapacity)];
+    }
+
+    /**
+     * Encode une priorité positive et un nœud de façon à ce que l'ordre des {@code long}
+     * suive l'ordre des priorités.
+     */
+    public static long encode(int priority, int node) {
+        return ((long) priority << 32) | (node & 0xFFFFFFFFL);
+    }
+
+    public static int priorityOf(long entry) {
+        return (int) (entry >>> 32);
+    }
+
+    public static int nodeOf(long entry) {
+        return (int) entry;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void add(long value) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length << 1);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= value) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    public long poll() {
+        long top = heap[0];
+        long last = heap[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        if (size > 0) {
+            heap[i] = last;
+        }
+        return top;
+    }
+}
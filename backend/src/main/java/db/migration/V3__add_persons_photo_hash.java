@@ -0,0 +1,42 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Ajoute {@code persons.photo_hash} aux bases créées par {@code ddl-auto=update} avant Flyway :
+ * reprises en version 0, elles gardent leur table {@code persons} telle quelle, V1 n'y change rien.
+ *
+ * SQLite n'a pas de {@code ADD COLUMN IF NOT EXISTS}, d'où une migration Java. L'ancienne colonne
+ * {@code photo} est conservée : {@code PhotoMigrationService} la vide au démarrage.
+ */
+public class V3__add_persons_photo_hash extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        if (hasColumn(connection, "persons", "photo_hash")) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE persons ADD COLUMN photo_hash varchar(64)");
+        }
+    }
+
+    private static boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("name"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
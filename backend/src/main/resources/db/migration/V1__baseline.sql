@@ -0,0 +1,101 @@
+-- Schéma de référence, tel que le créait spring.jpa.hibernate.ddl-auto=update.
+-- IF NOT EXISTS : sur une base existante (reprise avec baseline-version=0), ce script ne change rien.
+
+CREATE TABLE IF NOT EXISTS users (
+    id integer,
+    email varchar(50),
+    password varchar(120),
+    username varchar(20),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS roles (
+    id integer,
+    name varchar(20),
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id bigint not null,
+    role_id integer not null,
+    primary key (user_id, role_id)
+);
+
+CREATE TABLE IF NOT EXISTS persons (
+    id integer,
+    biography varchar(1000),
+    birth_date date,
+    birth_place varchar(255),
+    death_date date,
+    first_name varchar(100) not null,
+    last_name varchar(100) not null,
+    photo_hash varchar(64),
+    created_by bigint,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS person_parents (
+    child_id bigint not null,
+    parent_id bigint not null,
+    primary key (child_id, parent_id)
+);
+
+CREATE TABLE IF NOT EXISTS person_relationships (
+    person1_id bigint not null,
+    person2_id bigint not null,
+    primary key (person1_id, person2_id)
+);
+
+CREATE TABLE IF NOT EXISTS person_relationship_types (
+    person_id bigint not null,
+    relationship_type varchar(255)
+);
+
+CREATE TABLE IF NOT EXISTS person_relationship_weights (
+    person_id bigint not null,
+    relationship_weight integer,
+    relationship_weights_key bigint not null,
+    primary key (person_id, relationship_weights_key)
+);
+
+CREATE TABLE IF NOT EXISTS membership_requests (
+    id integer,
+    message varchar(500),
+    request_date timestamp not null,
+    response_date timestamp,
+    status varchar(255) not null,
+    reviewed_by bigint,
+    user_id bigint not null,
+    primary key (id)
+);
+
+CREATE TABLE IF NOT EXISTS import_jobs (
+    id integer,
+    format varchar(255) not null,
+    file_name varchar(255),
+    stored_path varchar(255) not null,
+    status varchar(255) not null,
+    records_processed bigint not null,
+    persons_imported bigint not null,
+    links_imported bigint not null,
+    error_message varchar(1000),
+    created_at timestamp not null,
+    updated_at timestamp,
+    primary key (id)
+);
+
+-- Tables de travail de l'import (correspondance des identifiants externes, liens à résoudre)
+CREATE TABLE IF NOT EXISTS import_id_map (
+    job_id integer not null,
+    external_id text not null,
+    person_id integer not null,
+    primary key (job_id, external_id)
+) WITHOUT ROWID;
+
+CREATE TABLE IF NOT EXISTS import_pending_links (
+    job_id integer not null,
+    child_ext text not null,
+    parent_ext text not null
+);
+
+CREATE INDEX IF NOT EXISTS idx_import_pending_links_job ON import_pending_links (job_id);
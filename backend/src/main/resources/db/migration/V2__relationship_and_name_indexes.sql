@@ -0,0 +1,18 @@
+-- Index secondaires des tables de liens (voir docs/query-plans.md pour les plans avant/après).
+--
+-- person_parents : la clé primaire (child_id, parent_id) sert déjà d'index couvrant pour
+-- « parents d'un enfant ». L'index inverse couvre « enfants d'un parent », qui parcourait toute la table.
+CREATE INDEX IF NOT EXISTS idx_person_parents_parent_child ON person_parents (parent_id, child_id);
+
+-- Recherches inverses sur les relations (findByRelatedPersons) et sur les collections par valeur
+CREATE INDEX IF NOT EXISTS idx_person_relationships_person2 ON person_relationships (person2_id, person1_id);
+CREATE INDEX IF NOT EXISTS idx_person_relationship_types_type ON person_relationship_types (relationship_type, person_id);
+CREATE INDEX IF NOT EXISTS idx_person_relationship_types_person ON person_relationship_types (person_id);
+CREATE INDEX IF NOT EXISTS idx_person_relationship_weights_key ON person_relationship_weights (relationship_weights_key, person_id);
+
+-- Noms : recherches exactes ou par préfixe, insensibles à la casse, et tri par nom
+CREATE INDEX IF NOT EXISTS idx_persons_last_first ON persons (last_name COLLATE NOCASE, first_name COLLATE NOCASE);
+
+-- Demandes d'adhésion : file des demandes en attente (pagination par clé) et historique d'un utilisateur
+CREATE INDEX IF NOT EXISTS idx_membership_requests_status_id ON membership_requests (status, id);
+CREATE INDEX IF NOT EXISTS idx_membership_requests_user ON membership_requests (user_id);
@@ -0,0 +1,58 @@
+package com.genealogy.back_ro.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.genealogy.back_ro.service.GenealogySearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Familles disjointes tant que l'index résident est froid
+ */
+@ExtendWith(MockitoExtension.class)
+class GenealogySearchControllerTest {
+
+    @Mock
+    private GenealogySearchService genealogySearchService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        GenealogySearchController controller = new GenealogySearchController();
+        ReflectionTestUtils.setField(controller, "genealogySearchService", genealogySearchService);
+        ReflectionTestUtils.setField(controller, "objectMapper", new ObjectMapper());
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        lenient().when(genealogySearchService.isGraphIndexReady()).thenReturn(false);
+        lenient().when(genealogySearchService.containsPerson(anyLong())).thenReturn(true);
+        lenient().when(genealogySearchService.findFamilyClusters(anyInt())).thenReturn(null);
+    }
+
+    @Test
+    void clustersAreUnavailableWhileTheIndexIsCold() throws Exception {
+        mockMvc.perform(get("/api/genealogy/clusters"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().string("{\"message\":\"Index du graphe familial non disponible\"}"));
+    }
+
+    @Test
+    void segmentsAreUnavailableWhileTheIndexIsCold() throws Exception {
+        mockMvc.perform(get("/api/genealogy/clusters/segments").param("personId", "1"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+}
@@ -0,0 +1,168 @@
+package com.genealogy.back_ro.exporter;
+
+import com.genealogy.back_ro.importer.ImportFormat;
+import com.genealogy.back_ro.importer.ImportSink;
+import com.genealogy.back_ro.importer.PersonRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExportRoundTripTest {
+
+    /** Note assez longue pour être découpée, avec une paire de substitution à cheval sur la coupure */
+    private static final String LONG_NOTE = "a".repeat(199) + "😀" + " fin\nSecond paragraphe @ Lyon";
+
+    /**
+     * 1 × 2 → 3, 4 ; 1 × 5 → 6 (demi-frère) ; 6 seul parent de 7
+     */
+    private final List<ExportedPerson> persons = family(
+            person(1, "Jean Pierre", "Dupont", LocalDate.of(1900, 1, 31), LocalDate.of(1970, 5, 2), "Lyon", "Notaire"),
+            person(2, "Marie", "Durand", null, null, null, null),
+            person(3, "Luc", "Dupont", LocalDate.of(1925, 3, 12), null, null, LONG_NOTE),
+            person(4, "Anne", "Dupont", null, null, "Saint-Étienne", "Écrire à anne@exemple.fr"),
+            person(5, "Claire", "Martin", null, null, null, null),
+            person(6, "Paul", "Dupont", null, LocalDate.of(2001, 12, 1), null, null),
+            person(7, "Zoé", "Dupont", LocalDate.of(1990, 7, 14), null, null, null));
+
+    private static final long[][] LINKS = {{3, 1}, {3, 2}, {4, 1}, {4, 2}, {6, 1}, {6, 5}, {7, 6}};
+
+    @Test
+    void jsonExportImportsBackUnchanged() throws IOException {
+        Imported imported = roundTrip(ExportFormat.JSON, ImportFormat.JSON);
+
+        assertSamePersons(imported, "");
+        assertThat(imported.links).isEqualTo(expectedLinks(""));
+        assertThat(imported.duplicates).isEmpty();
+    }
+
+    @Test
+    void gedcomExportImportsBackUnchanged() throws IOException {
+        Imported imported = roundTrip(ExportFormat.GEDCOM, ImportFormat.GEDCOM);
+
+        assertSamePersons(imported, "@I");
+        assertThat(imported.links).isEqualTo(expectedLinks("@I"));
+        assertThat(imported.duplicates).isEmpty();
+    }
+
+    @Test
+    void gedcomLinesStayUnderTheLengthLimit() throws IOException {
+        String document = export(ExportFormat.GEDCOM);
+
+        assertThat(document.split("\n")).allSatisfy(line -> assertThat(line.length()).isLessThanOrEqualTo(255));
+        assertThat(document).contains("0 @F1_2@ FAM", "0 @F1_5@ FAM", "0 @F6@ FAM", "1 FAMC @F1_2@");
+        assertThat(document.indexOf("0 @F1_2@ FAM")).as("une seule fois").isEqualTo(document.lastIndexOf("0 @F1_2@ FAM"));
+    }
+
+    private Imported roundTrip(ExportFormat exportFormat, ImportFormat importFormat) throws IOException {
+        Imported imported = new Imported();
+        importFormat.parser().parse(new ByteArrayInputStream(export(exportFormat).getBytes(StandardCharsets.UTF_8)), imported);
+        return imported;
+    }
+
+    private String export(ExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportWriter writer = format.writer(out);
+        writer.begin();
+        for (ExportedPerson person : persons) {
+            writer.person(person);
+        }
+        writer.end();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private void assertSamePersons(Imported imported, String idPrefix) {
+        assertThat(imported.persons).hasSameSizeAs(persons);
+        for (ExportedPerson expected : persons) {
+            PersonRecord actual = imported.persons.get(externalId(idPrefix, expected.getId()));
+            assertThat(actual).isNotNull();
+            assertThat(actual.getFirstName()).isEqualTo(expected.getFirstName());
+            assertThat(actual.getLastName()).isEqualTo(expected.getLastName());
+            assertThat(actual.getBirthDate()).isEqualTo(expected.getBirthDate());
+            assertThat(actual.getDeathDate()).isEqualTo(expected.getDeathDate());
+            assertThat(actual.getBirthPlace()).isEqualTo(expected.getBirthPlace());
+            assertThat(actual.getBiography()).isEqualTo(expected.getBiography());
+        }
+    }
+
+    private static TreeSet<String> expectedLinks(String idPrefix) {
+        TreeSet<String> links = new TreeSet<>();
+        for (long[] link : LINKS) {
+            links.add(externalId(idPrefix, link[0]) + " → " + externalId(idPrefix, link[1]));
+        }
+        return links;
+    }
+
+    private static String externalId(String idPrefix, long id) {
+        return idPrefix.isEmpty() ? Long.toString(id) : idPrefix + id + "@";
+    }
+
+    private static ExportedPerson person(long id, String firstName, String lastName, LocalDate birthDate,
+                                         LocalDate deathDate, String birthPlace, String biography) {
+        ExportedPerson person = new ExportedPerson();
+        person.setId(id);
+        person.setFirstName(firstName);
+        person.setLastName(lastName);
+        person.setBirthDate(birthDate);
+        person.setDeathDate(deathDate);
+        person.setBirthPlace(birthPlace);
+        person.setBiography(biography);
+        return person;
+    }
+
+    /**
+     * Renseigne parents, enfants et parents de chaque enfant d'après {@link #LINKS}, comme ExportJdbcRepository
+     */
+    private static List<ExportedPerson> family(ExportedPerson... persons) {
+        Map<Long, TreeSet<Long>> parents = new LinkedHashMap<>();
+        Map<Long, TreeSet<Long>> children = new LinkedHashMap<>();
+        for (long[] link : LINKS) {
+            parents.computeIfAbsent(link[0], id -> new TreeSet<>()).add(link[1]);
+            children.computeIfAbsent(link[1], id -> new TreeSet<>()).add(link[0]);
+        }
+        for (ExportedPerson person : persons) {
+            person.setParentIds(toArray(parents.getOrDefault(person.getId(), new TreeSet<>())));
+            long[] childIds = toArray(children.getOrDefault(person.getId(), new TreeSet<>()));
+            long[][] childParentIds = new long[childIds.length][];
+            for (int i = 0; i < childIds.length; i++) {
+                childParentIds[i] = toArray(parents.get(childIds[i]));
+            }
+            person.setChildIds(childIds);
+            person.setChildParentIds(childParentIds);
+        }
+        return Arrays.asList(persons);
+    }
+
+    private static long[] toArray(TreeSet<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static final class Imported implements ImportSink {
+        final Map<String, PersonRecord> persons = new LinkedHashMap<>();
+        final TreeSet<String> links = new TreeSet<>();
+        final List<String> duplicates = new ArrayList<>();
+
+        @Override
+        public void person(PersonRecord person) {
+            persons.put(person.getExternalId(), person);
+        }
+
+        @Override
+        public void parentLink(String childExternalId, String parentExternalId) {
+            if (!links.add(childExternalId + " → " + parentExternalId)) {
+                duplicates.add(childExternalId + " → " + parentExternalId);
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.genealogy.back_ro.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.genealogy.back_ro.graph.TestGraphs.edge;
+import static com.genealogy.back_ro.graph.TestGraphs.relationships;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BellmanFordTest {
+
+    @Test
+    void negativeOneWayEdgesShortenPaths() {
+        RelationshipGraph graph = relationships(4,
+                edge(1, 2, 4), edge(1, 3, 1), edge(3, 2, -2), edge(2, 4, 1));
+
+        BellmanFord.Result result = BellmanFord.run(graph, graph.indexOf(1), RelationshipGraph.ALL_TYPES);
+
+        assertThat(result.getNegativeCycle()).isNull();
+        assertThat(result.distance(graph.indexOf(2))).isEqualTo(-1);
+        assertThat(result.distance(graph.indexOf(4))).isEqualTo(0);
+        WeightedPaths.Path path = result.pathTo(graph.indexOf(4));
+        assertThat(ids(graph, path.getNodes())).containsExactly(1L, 3L, 2L, 4L);
+        assertThat(path.getTotalWeight()).isEqualTo(0);
+    }
+
+    @Test
+    void unreachableNodesKeepNoDistance() {
+        RelationshipGraph graph = relationships(3, edge(1, 2, 1));
+
+        BellmanFord.Result result = BellmanFord.run(graph, graph.indexOf(1), RelationshipGraph.ALL_TYPES);
+
+        assertThat(result.distance(graph.indexOf(3))).isEqualTo(BellmanFord.UNREACHABLE);
+        assertThat(result.pathTo(graph.indexOf(3))).isNull();
+    }
+
+    @Test
+    void negativeTwoWayRelationIsRejectedBeforeAnyRound() {
+        RelationshipGraph graph = relationships(3,
+                edge(1, 2, 1), edge(2, 1, 1), edge(2, 3, -1), edge(3, 2, -1));
+
+        BellmanFord.Result result = BellmanFord.run(graph, graph.indexOf(1), RelationshipGraph.ALL_TYPES);
+
+        assertThat(result.getRounds()).isZero();
+        assertThat(result.getNegativeTwoWayRelations()).hasSize(1);
+        assertThat(ids(graph, result.getNegativeTwoWayRelations().get(0))).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(ids(graph, result.getNegativeCycle())).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(result.pathTo(graph.indexOf(3))).isNull();
+    }
+
+    @Test
+    void twoWayRelationWithPositiveRoundTripIsAccepted() {
+        RelationshipGraph graph = relationships(2, edge(1, 2, -1), edge(2, 1, 3));
+
+        BellmanFord.Result result = BellmanFord.run(graph, graph.indexOf(1), RelationshipGraph.ALL_TYPES);
+
+        assertThat(result.getNegativeTwoWayRelations()).isEmpty();
+        assertThat(result.getNegativeCycle()).isNull();
+        assertThat(result.distance(graph.indexOf(2))).isEqualTo(-1);
+    }
+
+    @Test
+    void negativeTwoWayRelationOutOfReachDoesNotBlockTheSource() {
+        RelationshipGraph graph = relationships(4, edge(1, 2, 1), edge(3, 4, -2), edge(4, 3, -2));
+
+        BellmanFord.Result fromFirst = BellmanFord.run(graph, graph.indexOf(1), RelationshipGraph.ALL_TYPES);
+        assertThat(fromFirst.getNegativeCycle()).isNull();
+        assertThat(fromFirst.distance(graph.indexOf(2))).isEqualTo(1);
+
+        BellmanFord.Result whole = BellmanFord.run(graph, FamilyGraph.NO_NODE, RelationshipGraph.ALL_TYPES);
+        assertThat(whole.getRounds()).isZero();
+        assertThat(ids(graph, whole.getNegativeCycle())).containsExactlyInAnyOrder(3L, 4L);
+    }
+
+    @Test
+    void negativeSelfRelationIsACycle() {
+        RelationshipGraph graph = relationships(2, edge(1, 2, 1), edge(2, 2, -1));
+
+        BellmanFord.Result result = BellmanFord.run(graph, graph.indexOf(1), RelationshipGraph.ALL_TYPES);
+
+        assertThat(ids(graph, result.getNegativeCycle())).containsExactly(2L);
+    }
+
+    @Test
+    void negativeCycleStopsTheRunLongBeforeNRounds() {
+        // Cycle 1 → 2 → 3 → 1 de poids -1, suivi d'une longue chaîne
+        int chainLength = 2000;
+        List<long[]> edges = new ArrayList<>();
+        edges.add(edge(1, 2, 1));
+        edges.add(edge(2, 3, 1));
+        edges.add(edge(3, 1, -3));
+        for (int id = 3; id < chainLength; id++) {
+            edges.add(edge(id, id + 1, 1));
+        }
+        RelationshipGraph graph = relationships(chainLength, edges.toArray(new long[0][]));
+
+        BellmanFord.Result result = BellmanFord.run(graph, graph.indexOf(1), RelationshipGraph.ALL_TYPES);
+
+        assertThat(ids(graph, result.getNegativeCycle())).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(result.getRounds()).isLessThanOrEqualTo(3 + BellmanFord.CYCLE_CHECK_INTERVAL);
+    }
+
+    @Test
+    void randomGraphsMatchTheTextbookAlgorithm() {
+        Random random = new Random(22);
+        for (int trial = 0; trial < 300; trial++) {
+            int n = 2 + random.nextInt(30);
+            int m = random.nextInt(4 * n);
+            // Un essai sur deux sans arêtes opposées : les cycles négatifs y sont plus longs
+            boolean oneWay = trial % 2 == 1;
+            boolean[][] linked = new boolean[n + 1][n + 1];
+            List<long[]> edges = new ArrayList<>();
+            for (int e = 0; e < m; e++) {
+                int from = 1 + random.nextInt(n);
+                int to = 1 + random.nextInt(n);
+                if (!oneWay || (from != to && !linked[to][from])) {
+                    linked[from][to] = true;
+                    edges.add(edge(from, to, random.nextInt(25) - 4));
+                }
+            }
+            RelationshipGraph graph = relationships(n, edges.toArray(new long[0][]));
+            int source = graph.indexOf(1);
+
+            BellmanFord.Result result = BellmanFord.run(graph, source, RelationshipGraph.ALL_TYPES);
+            long[] expected = reference(graph, source);
+
+            if (expected == null) {
+                assertThat(result.getNegativeCycle()).as("trial %d", trial).isNotNull();
+                assertThat(cycleWeight(graph, result.getNegativeCycle())).as("trial %d", trial).isNegative();
+            } else {
+                assertThat(result.getNegativeCycle()).as("trial %d", trial).isNull();
+                for (int node = 0; node < n; node++) {
+                    assertThat(result.distance(node)).as("trial %d, node %d", trial, node).isEqualTo(expected[node]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Bellman-Ford classique : n - 1 tours sur toutes les arêtes, puis un tour de vérification
+     *
+     * @return les distances, ou {@code null} si un cycle négatif est accessible depuis la source
+     */
+    private static long[] reference(RelationshipGraph graph, int source) {
+        long[] distances = new long[graph.size()];
+        Arrays.fill(distances, BellmanFord.UNREACHABLE);
+        distances[source] = 0;
+        for (int round = 0; round <= graph.size(); round++) {
+            boolean changed = false;
+            for (int node = 0; node < graph.size(); node++) {
+                if (distances[node] == BellmanFord.UNREACHABLE) {
+                    continue;
+                }
+                for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                    long candidate = distances[node] + graph.weight(edge);
+                    if (candidate < distances[graph.target(edge)]) {
+                        distances[graph.target(edge)] = candidate;
+                        changed = true;
+                    }
+                }
+            }
+            if (!changed) {
+                return distances;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Poids du cycle en prenant, entre deux nœuds consécutifs, l'arête la plus légère
+     */
+    private static long cycleWeight(RelationshipGraph graph, int[] cycle) {
+        long total = 0;
+        for (int i = 0; i < cycle.length; i++) {
+            int from = cycle[i];
+            int to = cycle[(i + 1) % cycle.length];
+            long lightest = Long.MAX_VALUE;
+            for (int edge = graph.firstEdge(from); edge < graph.endEdge(from); edge++) {
+                if (graph.target(edge) == to) {
+                    lightest = Math.min(lightest, graph.weight(edge));
+                }
+            }
+            assertThat(lightest).as("arête %d → %d", from, to).isNotEqualTo(Long.MAX_VALUE);
+            total += lightest;
+        }
+        return total;
+    }
+
+    private static long[] ids(RelationshipGraph graph, int[] nodes) {
+        long[] ids = new long[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            ids[i] = graph.idOf(nodes[i]);
+        }
+        return ids;
+    }
+}
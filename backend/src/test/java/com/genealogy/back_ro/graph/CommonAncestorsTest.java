@@ -0,0 +1,132 @@
+package com.genealogy.back_ro.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static com.genealogy.back_ro.graph.TestGraphs.family;
+import static com.genealogy.back_ro.graph.TestGraphs.link;
+import static com.genealogy.back_ro.graph.TestGraphs.node;
+import static com.genealogy.back_ro.graph.TestGraphs.sortedIds;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommonAncestorsTest {
+
+    /**
+     * 1 × 2 → 3, 4 ; 3 × 5 → 6 ; 4 × 7 → 8 ; 6 × 8 → 9 (implexe) ; 10 × 5 → 11 ; 12 isolé
+     */
+    private final FamilyGraph graph = family(12,
+            link(3, 1), link(3, 2), link(4, 1), link(4, 2),
+            link(6, 3), link(6, 5), link(8, 4), link(8, 7),
+            link(9, 6), link(9, 8), link(11, 10), link(11, 5));
+
+    @Test
+    void siblingsShareBothParents() {
+        assertThat(minimal(3, 4)).containsExactly(1, 2);
+    }
+
+    @Test
+    void cousinsShareTheirGrandparentsOnly() {
+        assertThat(minimal(6, 8)).containsExactly(1, 2);
+    }
+
+    @Test
+    void halfSiblingsShareOneParent() {
+        assertThat(minimal(6, 11)).containsExactly(5);
+    }
+
+    @Test
+    void anAncestorIsItsOwnClosestCommonAncestor() {
+        assertThat(minimal(9, 3)).containsExactly(3);
+        assertThat(minimal(3, 9)).containsExactly(3);
+        assertThat(minimal(9, 9)).containsExactly(9);
+    }
+
+    @Test
+    void commonAncestorsAboveAnotherCommonAncestorAreNotMinimal() {
+        // 9 descend de 6 et de 8, cousins : 5 est ancêtre de 9 et de 11, 1 et 2 seulement de 9
+        assertThat(minimal(9, 11)).containsExactly(5);
+        assertThat(minimal(9, 4)).containsExactly(4);
+    }
+
+    @Test
+    void unrelatedPersonsHaveNoCommonAncestor() {
+        assertThat(minimal(12, 9)).isEmpty();
+        assertThat(minimal(1, 2)).isEmpty();
+        assertThat(minimal(7, 11)).isEmpty();
+    }
+
+    @Test
+    void generationsUpToCountsTheShortestLineage() {
+        int[] ancestors = {node(graph, 1), node(graph, 6), node(graph, 9), node(graph, 10)};
+        assertThat(CommonAncestors.generationsUpTo(graph, node(graph, 9), ancestors)).containsExactly(3, 1, 0, -1);
+    }
+
+    @Test
+    void matchesTheDefinitionOnRandomPedigrees() {
+        Random random = new Random(5);
+        for (int round = 0; round < 50; round++) {
+            int n = 40;
+            List<long[]> links = new ArrayList<>();
+            for (int person = 4; person <= n; person++) {
+                int parents = random.nextInt(3);
+                for (int p = 0; p < parents; p++) {
+                    links.add(link(person, 1 + random.nextInt(person - 1)));
+                }
+            }
+            FamilyGraph pedigree = family(n, links.toArray(new long[0][]));
+
+            for (int query = 0; query < 20; query++) {
+                long first = 1 + random.nextInt(n);
+                long second = 1 + random.nextInt(n);
+                int[] result = CommonAncestors.minimal(pedigree, node(pedigree, first), node(pedigree, second));
+
+                assertThat(Arrays.stream(sortedIds(pedigree, result)).boxed().toList()).as("%d et %d", first, second)
+                        .containsExactlyElementsOf(naiveMinimal(pedigree, first, second));
+            }
+        }
+    }
+
+    private long[] minimal(long first, long second) {
+        return sortedIds(graph, CommonAncestors.minimal(graph, node(graph, first), node(graph, second)));
+    }
+
+    /**
+     * Ancêtres communs (chaque personne comprise) dont aucun descendant strict n'est aussi ancêtre commun
+     */
+    private static Set<Long> naiveMinimal(FamilyGraph graph, long first, long second) {
+        Set<Integer> common = ancestorsOf(graph, node(graph, first));
+        common.retainAll(ancestorsOf(graph, node(graph, second)));
+        Set<Long> minimal = new TreeSet<>();
+        for (int candidate : common) {
+            boolean aboveAnother = false;
+            for (int other : common) {
+                aboveAnother |= other != candidate && ancestorsOf(graph, other).contains(candidate);
+            }
+            if (!aboveAnother) {
+                minimal.add(graph.idOf(candidate));
+            }
+        }
+        return minimal;
+    }
+
+    private static Set<Integer> ancestorsOf(FamilyGraph graph, int node) {
+        Set<Integer> ancestors = new HashSet<>();
+        List<Integer> stack = new ArrayList<>(List.of(node));
+        while (!stack.isEmpty()) {
+            int current = stack.remove(stack.size() - 1);
+            if (ancestors.add(current)) {
+                for (int k = 0; k < graph.parentCount(current); k++) {
+                    stack.add(graph.parent(current, k));
+                }
+            }
+        }
+        return ancestors;
+    }
+}
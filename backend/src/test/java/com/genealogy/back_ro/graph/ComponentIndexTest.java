@@ -0,0 +1,107 @@
+package com.genealogy.back_ro.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.genealogy.back_ro.graph.TestGraphs.family;
+import static com.genealogy.back_ro.graph.TestGraphs.link;
+import static com.genealogy.back_ro.graph.TestGraphs.node;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ComponentIndexTest {
+
+    /**
+     * Familles {1, 2, 3, 4}, {5, 6, 7} et {8, 9}, personne 10 isolée
+     */
+    private final FamilyGraph graph = family(10,
+            link(3, 1), link(3, 2), link(4, 3),
+            link(6, 5), link(7, 5),
+            link(9, 8));
+
+    private final ComponentIndex index = ComponentIndex.build(graph, 1);
+
+    @Test
+    void buildGroupsEachFamily() {
+        assertThat(connected(graph, 1, 4)).isTrue();
+        assertThat(connected(graph, 6, 7)).isTrue();
+        assertThat(connected(graph, 4, 5)).isFalse();
+        assertThat(connected(graph, 10, 9)).isFalse();
+        assertThat(index.componentSize(node(graph, 2))).isEqualTo(4);
+        assertThat(index.componentSize(node(graph, 10))).isEqualTo(1);
+        assertThat(index.componentCount()).isEqualTo(4);
+        assertThat(index.isStale()).isFalse();
+    }
+
+    @Test
+    void largestOrdersBySizeThenRepresentative() {
+        List<ComponentIndex.Component> largest = index.largest(graph, 3);
+
+        assertThat(largest).extracting(ComponentIndex.Component::getRepresentativeId).containsExactly(1L, 5L, 8L);
+        assertThat(largest).extracting(ComponentIndex.Component::getSize).containsExactly(4, 3, 2);
+        assertThat(index.largest(graph, 0)).isEmpty();
+    }
+
+    @Test
+    void addedLinksMergeComponentsAndRenewOnlyTheirVersion() {
+        List<GraphDelta> deltas = List.of(GraphDelta.addEdge(9, 4));
+        FamilyGraph after = graph.apply(deltas);
+        index.apply(graph, after, deltas, 2);
+
+        assertThat(connected(after, 1, 8)).isTrue();
+        assertThat(index.componentSize(node(after, 8))).isEqualTo(6);
+        assertThat(index.componentCount()).isEqualTo(3);
+        assertThat(index.version(node(after, 1), 0)).isEqualTo(2);
+        assertThat(index.version(node(after, 5), 0)).isEqualTo(1);
+        assertThat(index.isStale()).isFalse();
+    }
+
+    @Test
+    void addedPersonsBecomeSingletons() {
+        List<GraphDelta> deltas = List.of(GraphDelta.addPerson(11), GraphDelta.addEdge(11, 10));
+        FamilyGraph after = graph.apply(deltas);
+
+        // Pas encore reporté : rien ne permet d'exclure un lien
+        assertThat(index.connected(node(after, 11), node(after, 1))).isTrue();
+        assertThat(index.version(node(after, 11), 7)).isEqualTo(7);
+
+        index.apply(graph, after, deltas, 2);
+
+        assertThat(connected(after, 11, 10)).isTrue();
+        assertThat(connected(after, 11, 1)).isFalse();
+        assertThat(index.componentSize(node(after, 10))).isEqualTo(2);
+        assertThat(index.componentCount()).isEqualTo(4);
+        assertThat(index.version(node(after, 11), 0)).isEqualTo(2);
+    }
+
+    @Test
+    void removalsMarkTheIndexStaleWithoutSplitting() {
+        List<GraphDelta> deltas = List.of(GraphDelta.removeEdge(4, 3));
+        FamilyGraph after = graph.apply(deltas);
+        index.apply(graph, after, deltas, 2);
+
+        assertThat(index.isStale()).isTrue();
+        assertThat(connected(after, 4, 1)).as("peut encore réunir, jamais séparer").isTrue();
+        assertThat(connected(after, 4, 5)).isFalse();
+        assertThat(index.version(node(after, 1), 0)).isEqualTo(2);
+
+        ComponentIndex rebuilt = ComponentIndex.build(after, 3);
+        assertThat(rebuilt.connected(node(after, 4), node(after, 1))).isFalse();
+        assertThat(rebuilt.componentCount()).isEqualTo(5);
+    }
+
+    @Test
+    void removedPersonsAreNotCountedAfterARebuild() {
+        FamilyGraph after = graph.apply(List.of(GraphDelta.removePerson(10), GraphDelta.removePerson(3)));
+        ComponentIndex rebuilt = ComponentIndex.build(after, 2);
+
+        // {1}, {2}, {4}, {5, 6, 7}, {8, 9}
+        assertThat(rebuilt.componentCount()).isEqualTo(5);
+        assertThat(rebuilt.largest(after, 10)).extracting(ComponentIndex.Component::getRepresentativeId)
+                .containsExactly(5L, 8L, 1L, 2L, 4L);
+    }
+
+    private boolean connected(FamilyGraph after, long first, long second) {
+        return index.connected(node(after, first), node(after, second));
+    }
+}
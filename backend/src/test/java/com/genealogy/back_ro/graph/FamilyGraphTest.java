@@ -0,0 +1,188 @@
+package com.genealogy.back_ro.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static com.genealogy.back_ro.graph.TestGraphs.family;
+import static com.genealogy.back_ro.graph.TestGraphs.link;
+import static com.genealogy.back_ro.graph.TestGraphs.node;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FamilyGraphTest {
+
+    /**
+     * 1 × 2 → 3 ; 3 → 4
+     */
+    private final FamilyGraph graph = family(4, link(3, 1), link(3, 2), link(4, 3));
+
+    @Test
+    void buildIndexesBothDirections() {
+        assertThat(graph.personCount()).isEqualTo(4);
+        assertThat(graph.edgeCount()).isEqualTo(3);
+        assertThat(parents(graph, 3)).containsExactly(1L, 2L);
+        assertThat(children(graph, 3)).containsExactly(4L);
+        assertThat(graph.generation(node(graph, 4))).isGreaterThan(graph.generation(node(graph, 3)));
+        assertThat(graph.indexOf(99)).isEqualTo(FamilyGraph.NO_NODE);
+    }
+
+    @Test
+    void applyAddsPersonsAndLinksWithoutTouchingThePreviousSnapshot() {
+        FamilyGraph updated = graph.apply(List.of(
+                GraphDelta.addPerson(5), GraphDelta.addEdge(5, 4), GraphDelta.addEdge(1, 5)));
+
+        assertThat(updated.personCount()).isEqualTo(5);
+        assertThat(updated.edgeCount()).isEqualTo(5);
+        assertThat(parents(updated, 5)).containsExactly(4L);
+        assertThat(parents(updated, 1)).containsExactly(5L);
+        assertThat(children(updated, 4)).containsExactly(5L);
+
+        assertThat(graph.indexOf(5)).isEqualTo(FamilyGraph.NO_NODE);
+        assertThat(graph.edgeCount()).isEqualTo(3);
+        assertThat(children(graph, 4)).isEmpty();
+        assertThat(parents(graph, 1)).isEmpty();
+    }
+
+    @Test
+    void applyRaisesTheGenerationsOfDescendants() {
+        FamilyGraph updated = graph.apply(List.of(GraphDelta.addPerson(5), GraphDelta.addPerson(6),
+                GraphDelta.addEdge(6, 5), GraphDelta.addEdge(1, 6)));
+
+        assertGenerationInvariant(updated);
+        assertThat(updated.generation(node(updated, 4))).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    void removingAPersonDropsItsLinksAndKeepsItsIndex() {
+        int removed = node(graph, 3);
+        FamilyGraph updated = graph.apply(List.of(GraphDelta.removePerson(3)));
+
+        assertThat(updated.indexOf(3)).isEqualTo(FamilyGraph.NO_NODE);
+        assertThat(updated.isLive(removed)).isFalse();
+        assertThat(updated.size()).isEqualTo(graph.size());
+        assertThat(updated.personCount()).isEqualTo(3);
+        assertThat(updated.edgeCount()).isZero();
+        assertThat(children(updated, 1)).isEmpty();
+        assertThat(parents(updated, 4)).isEmpty();
+
+        FamilyGraph readded = updated.apply(List.of(GraphDelta.addPerson(3)));
+        assertThat(readded.indexOf(3)).isNotEqualTo(removed);
+        assertThat(readded.size()).isEqualTo(graph.size() + 1);
+    }
+
+    @Test
+    void deltasWithoutEffectAreIgnored() {
+        FamilyGraph updated = graph.apply(List.of(
+                GraphDelta.addPerson(1), GraphDelta.addEdge(3, 1), GraphDelta.addEdge(3, 99),
+                GraphDelta.removeEdge(4, 1), GraphDelta.removePerson(99)));
+
+        assertThat(updated.personCount()).isEqualTo(graph.personCount());
+        assertThat(updated.edgeCount()).isEqualTo(graph.edgeCount());
+        assertThat(updated.size()).isEqualTo(graph.size());
+        assertThat(parents(updated, 3)).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void incrementalUpdatesMatchAFullRebuild() {
+        Random random = new Random(23);
+        // Plus de deux segments, pour que les lots touchent des segments recopiés et d'autres partagés
+        int maxId = 2 * FamilyGraph.SEGMENT_SIZE + 300;
+        Set<Long> persons = new TreeSet<>();
+        Set<List<Long>> links = new HashSet<>();
+        FamilyGraph current = FamilyGraph.empty();
+
+        for (int batch = 0; batch < 60; batch++) {
+            FamilyGraph before = current;
+            Set<Long> personsBefore = new TreeSet<>(persons);
+            Set<List<Long>> linksBefore = new HashSet<>(links);
+
+            List<GraphDelta> deltas = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                long a = 1 + random.nextInt(maxId);
+                long b = 1 + random.nextInt(maxId);
+                int kind = batch < 20 ? random.nextInt(2) : random.nextInt(5);
+                if (kind == 0) {
+                    deltas.add(GraphDelta.addPerson(a));
+                    persons.add(a);
+                } else if (kind == 1 || kind == 2) {
+                    // Parent d'identifiant inférieur : le graphe reste acyclique
+                    long child = Math.max(a, b);
+                    long parent = Math.min(a, b);
+                    deltas.add(GraphDelta.addEdge(child, parent));
+                    if (child != parent && persons.contains(child) && persons.contains(parent)) {
+                        links.add(List.of(child, parent));
+                    }
+                } else if (kind == 3 && !links.isEmpty()) {
+                    List<Long> link = links.iterator().next();
+                    deltas.add(GraphDelta.removeEdge(link.get(0), link.get(1)));
+                    links.remove(link);
+                } else if (kind == 4) {
+                    deltas.add(GraphDelta.removePerson(a));
+                    persons.remove(a);
+                    links.removeIf(link -> link.contains(a));
+                }
+            }
+            current = current.apply(deltas);
+
+            assertMatches(current, persons, links);
+            assertGenerationInvariant(current);
+            assertMatches(before, personsBefore, linksBefore);
+        }
+    }
+
+    private static void assertMatches(FamilyGraph graph, Set<Long> persons, Set<List<Long>> links) {
+        assertThat(graph.personCount()).isEqualTo(persons.size());
+        assertThat(graph.edgeCount()).isEqualTo(links.size());
+
+        Map<Long, Set<Long>> parents = new HashMap<>();
+        Map<Long, Set<Long>> children = new HashMap<>();
+        for (List<Long> link : links) {
+            parents.computeIfAbsent(link.get(0), id -> new TreeSet<>()).add(link.get(1));
+            children.computeIfAbsent(link.get(1), id -> new TreeSet<>()).add(link.get(0));
+        }
+        for (long id : persons) {
+            assertThat(graph.indexOf(id)).isNotEqualTo(FamilyGraph.NO_NODE);
+            assertThat(graph.idOf(graph.indexOf(id))).isEqualTo(id);
+            assertThat(parents(graph, id)).as("parents de %d", id).isEqualTo(parents.getOrDefault(id, Set.of()));
+            assertThat(children(graph, id)).as("enfants de %d", id).isEqualTo(children.getOrDefault(id, Set.of()));
+        }
+        int live = 0;
+        for (int node = 0; node < graph.size(); node++) {
+            live += graph.isLive(node) ? 1 : 0;
+        }
+        assertThat(live).isEqualTo(persons.size());
+    }
+
+    private static void assertGenerationInvariant(FamilyGraph graph) {
+        for (int node = 0; node < graph.size(); node++) {
+            for (int k = 0; k < graph.parentCount(node); k++) {
+                assertThat(graph.generation(node)).isGreaterThan(graph.generation(graph.parent(node, k)));
+            }
+        }
+    }
+
+    private static Set<Long> parents(FamilyGraph graph, long personId) {
+        int node = node(graph, personId);
+        Set<Long> ids = new TreeSet<>();
+        for (int k = 0; k < graph.parentCount(node); k++) {
+            ids.add(graph.idOf(graph.parent(node, k)));
+        }
+        return ids;
+    }
+
+    private static Set<Long> children(FamilyGraph graph, long personId) {
+        int node = node(graph, personId);
+        Set<Long> ids = new TreeSet<>();
+        for (int k = 0; k < graph.childCount(node); k++) {
+            ids.add(graph.idOf(graph.child(node, k)));
+        }
+        return ids;
+    }
+}
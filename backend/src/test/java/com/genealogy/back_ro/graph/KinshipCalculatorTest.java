@@ -0,0 +1,161 @@
+package com.genealogy.back_ro.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.genealogy.back_ro.graph.TestGraphs.family;
+import static com.genealogy.back_ro.graph.TestGraphs.link;
+import static com.genealogy.back_ro.graph.TestGraphs.node;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class KinshipCalculatorTest {
+
+    private static final double EPSILON = 1e-12;
+
+    /**
+     * 1 × 2 → 3, 4 ; 2 × 5 → 6 ; 3 × 7 → 8 ; 4 × 9 → 10 ; 3 × 4 → 11
+     */
+    private final FamilyGraph graph = family(11,
+            link(3, 1), link(3, 2), link(4, 1), link(4, 2),
+            link(6, 2), link(6, 5),
+            link(8, 3), link(8, 7), link(10, 4), link(10, 9),
+            link(11, 3), link(11, 4));
+
+    private final KinshipCalculator calculator = new KinshipCalculator(graph);
+
+    @Test
+    void selfKinshipIsOneHalfWithoutInbreeding() {
+        assertThat(kinship(1, 1)).isEqualTo(0.5);
+        assertThat(kinship(8, 8)).isEqualTo(0.5);
+    }
+
+    @Test
+    void closeRelatives() {
+        assertThat(kinship(3, 1)).as("parent et enfant").isCloseTo(0.25, within(EPSILON));
+        assertThat(kinship(3, 4)).as("frère et sœur").isCloseTo(0.25, within(EPSILON));
+        assertThat(kinship(3, 6)).as("demi-frère").isCloseTo(0.125, within(EPSILON));
+        assertThat(kinship(8, 1)).as("grand-parent").isCloseTo(0.125, within(EPSILON));
+        assertThat(kinship(8, 4)).as("oncle").isCloseTo(0.125, within(EPSILON));
+        assertThat(kinship(8, 10)).as("cousins germains").isCloseTo(0.0625, within(EPSILON));
+        assertThat(kinship(8, 6)).isCloseTo(kinship(6, 8), within(EPSILON));
+    }
+
+    @Test
+    void unrelatedPersons() {
+        assertThat(kinship(1, 2)).isZero();
+        assertThat(kinship(8, 9)).isZero();
+        assertThat(calculator.relationship(node(graph, 7), node(graph, 9))).isZero();
+    }
+
+    @Test
+    void childOfSiblingsIsInbred() {
+        int child = node(graph, 11);
+        assertThat(calculator.inbreeding(child)).isCloseTo(0.25, within(EPSILON));
+        assertThat(kinship(11, 11)).isCloseTo(0.625, within(EPSILON));
+        // r = 2 φ / √((1 + F(a)) (1 + F(b))) : 2 × 0.375 / √1.25 entre l'enfant et son père
+        assertThat(kinship(11, 3)).isCloseTo(0.375, within(EPSILON));
+        assertThat(calculator.relationship(child, node(graph, 3))).isCloseTo(0.75 / Math.sqrt(1.25), within(EPSILON));
+    }
+
+    @Test
+    void matchesTheRecursiveDefinitionOnRandomPedigrees() {
+        Random random = new Random(3);
+        for (int round = 0; round < 20; round++) {
+            int n = 60;
+            List<long[]> links = new ArrayList<>();
+            for (int person = 5; person <= n; person++) {
+                int parents = random.nextInt(3);
+                long first = 1 + random.nextInt(person - 1);
+                long second = 1 + random.nextInt(person - 1);
+                if (parents >= 1) {
+                    links.add(link(person, first));
+                }
+                if (parents == 2 && second != first) {
+                    links.add(link(person, second));
+                }
+            }
+            FamilyGraph pedigree = family(n, links.toArray(new long[0][]));
+            KinshipCalculator tabular = new KinshipCalculator(pedigree);
+            Recursive reference = new Recursive(pedigree);
+            for (int a = 0; a < n; a++) {
+                for (int b = 0; b < n; b++) {
+                    assertThat(tabular.kinship(a, b)).isCloseTo(reference.kinship(a, b), within(EPSILON));
+                }
+            }
+        }
+    }
+
+    /**
+     * Croisements frère × sœur répétés : tous les ancêtres sont communs aux deux personnes et le nombre
+     * de paires d'ancêtres explose ; F suit F(t) = ¼ (1 + 2 F(t − 1) + F(t − 2))
+     */
+    @Test
+    void repeatedSiblingMatingStaysLinear() {
+        int generations = 400;
+        List<long[]> links = new ArrayList<>();
+        for (int g = 1; g < generations; g++) {
+            for (int sibling = 1; sibling <= 2; sibling++) {
+                long child = 2L * g + sibling;
+                links.add(link(child, 2L * (g - 1) + 1));
+                links.add(link(child, 2L * (g - 1) + 2));
+            }
+        }
+        FamilyGraph pedigree = family(2 * generations, links.toArray(new long[0][]));
+        KinshipCalculator deep = new KinshipCalculator(pedigree);
+
+        // Les deux frère et sœur de la dernière génération ont pour parenté la consanguinité de leur enfant
+        double[] expected = new double[generations + 1];
+        for (int g = 2; g <= generations; g++) {
+            expected[g] = 0.25 * (1 + 2 * expected[g - 1] + expected[g - 2]);
+        }
+        int last = generations - 1;
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            double kinship = deep.kinship(node(pedigree, 2L * last + 1), node(pedigree, 2L * last + 2));
+            assertThat(kinship).isCloseTo(expected[generations], within(1e-9));
+            assertThat(deep.inbreeding(node(pedigree, 2L * last + 1))).isCloseTo(expected[last], within(1e-9));
+        });
+    }
+
+    private double kinship(long first, long second) {
+        return calculator.kinship(node(graph, first), node(graph, second));
+    }
+
+    /**
+     * Récurrence classique φ(a, b) = ½ Σ φ(parent de a, b), a étant le plus récent des deux
+     */
+    private static final class Recursive {
+        private final FamilyGraph graph;
+        private final Map<Long, Double> memo = new HashMap<>();
+
+        Recursive(FamilyGraph graph) {
+            this.graph = graph;
+        }
+
+        double kinship(int a, int b) {
+            if (a == b) {
+                return graph.parentCount(a) < 2 ? 0.5 : 0.5 * (1 + kinship(graph.parent(a, 0), graph.parent(a, 1)));
+            }
+            int younger = graph.generation(a) >= graph.generation(b) ? a : b;
+            int other = younger == a ? b : a;
+            long key = ((long) younger << 32) | other;
+            Double cached = memo.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            double value = 0;
+            for (int k = 0; k < graph.parentCount(younger); k++) {
+                value += 0.5 * kinship(graph.parent(younger, k), other);
+            }
+            memo.put(key, value);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.genealogy.back_ro.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.genealogy.back_ro.graph.TestGraphs.family;
+import static com.genealogy.back_ro.graph.TestGraphs.ids;
+import static com.genealogy.back_ro.graph.TestGraphs.link;
+import static com.genealogy.back_ro.graph.TestGraphs.node;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShortestPathsTest {
+
+    /**
+     * 1 × 2 → 3, 4 ; 3 → 5 ; 4 → 6 ; 6 → 7 ; 8 et 9 isolés, 9 parent de 10
+     */
+    private final FamilyGraph graph = family(10,
+            link(3, 1), link(3, 2), link(4, 1), link(4, 2),
+            link(5, 3), link(6, 4), link(7, 6), link(10, 9));
+
+    @Test
+    void bidirectionalBfsFollowsParentAndChildLinks() {
+        int[] path = ShortestPaths.bidirectionalBfs(graph, node(graph, 5), node(graph, 7));
+
+        assertThat(path).hasSize(6);
+        assertThat(graph.idOf(path[0])).isEqualTo(5);
+        assertThat(graph.idOf(path[1])).isEqualTo(3);
+        assertThat(graph.idOf(path[2])).isIn(1L, 2L);
+        assertThat(ids(graph, Arrays.copyOfRange(path, 3, 6))).containsExactly(4, 6, 7);
+        assertConnected(path);
+    }
+
+    @Test
+    void bidirectionalBfsHandlesTrivialAndUnreachablePairs() {
+        assertThat(ids(graph, ShortestPaths.bidirectionalBfs(graph, node(graph, 3), node(graph, 3)))).containsExactly(3);
+        assertThat(ids(graph, ShortestPaths.bidirectionalBfs(graph, node(graph, 3), node(graph, 1)))).containsExactly(3, 1);
+        assertThat(ShortestPaths.bidirectionalBfs(graph, node(graph, 5), node(graph, 10))).isEmpty();
+        assertThat(ShortestPaths.bidirectionalBfs(graph, node(graph, 8), node(graph, 9))).isEmpty();
+    }
+
+    @Test
+    void bidirectionalBfsMatchesAPlainBfsOnRandomGraphs() {
+        Random random = new Random(11);
+        for (int round = 0; round < 50; round++) {
+            FamilyGraph randomGraph = randomFamily(random, 40);
+            for (int query = 0; query < 20; query++) {
+                int source = random.nextInt(randomGraph.size());
+                int target = random.nextInt(randomGraph.size());
+                int[] path = ShortestPaths.bidirectionalBfs(randomGraph, source, target);
+                int expected = distances(randomGraph, source)[target];
+
+                if (expected < 0) {
+                    assertThat(path).isEmpty();
+                } else {
+                    assertThat(path).hasSize(expected + 1);
+                    assertThat(path[0]).isEqualTo(source);
+                    assertThat(path[path.length - 1]).isEqualTo(target);
+                    assertConnected(randomGraph, path);
+                }
+            }
+        }
+    }
+
+    @Test
+    void multiTargetBfsSettlesEachTargetOnceFromClosestToFarthest() {
+        Map<Long, long[]> settled = new LinkedHashMap<>();
+        int[] targets = {node(graph, 7), node(graph, 1), node(graph, 10), node(graph, 4), node(graph, 1)};
+
+        ShortestPaths.multiTargetBfs(graph, node(graph, 3), targets,
+                (target, path) -> assertThat(settled.put(graph.idOf(target), ids(graph, path))).isNull());
+
+        assertThat(settled.keySet()).containsExactly(1L, 4L, 7L, 10L);
+        assertThat(settled.get(1L)).containsExactly(3, 1);
+        assertThat(settled.get(4L)).hasSize(3).startsWith(3).endsWith(4);
+        assertThat(settled.get(7L)).hasSize(5).startsWith(3).endsWith(4, 6, 7);
+        assertThat(settled.get(10L)).as("inaccessible").isEmpty();
+    }
+
+    @Test
+    void multiTargetBfsReportsTheSourceItself() {
+        List<Integer> settled = new ArrayList<>();
+        ShortestPaths.multiTargetBfs(graph, node(graph, 5), new int[]{node(graph, 5)}, (target, path) -> {
+            settled.add(target);
+            assertThat(ids(graph, path)).containsExactly(5);
+        });
+        assertThat(settled).containsExactly(node(graph, 5));
+    }
+
+    @Test
+    void multiTargetBfsMatchesAPlainBfsOnRandomGraphs() {
+        Random random = new Random(17);
+        for (int round = 0; round < 50; round++) {
+            FamilyGraph randomGraph = randomFamily(random, 40);
+            int source = random.nextInt(randomGraph.size());
+            int[] targets = random.ints(8, 0, randomGraph.size()).toArray();
+            int[] expected = distances(randomGraph, source);
+            List<Integer> settled = new ArrayList<>();
+
+            ShortestPaths.multiTargetBfs(randomGraph, source, targets, (target, path) -> {
+                settled.add(target);
+                assertThat(path).hasSize(expected[target] + 1);
+                if (path.length > 0) {
+                    assertThat(path[0]).isEqualTo(source);
+                    assertThat(path[path.length - 1]).isEqualTo(target);
+                    assertConnected(randomGraph, path);
+                }
+            });
+
+            assertThat(settled).containsExactlyInAnyOrderElementsOf(Arrays.stream(targets).distinct().boxed().toList());
+        }
+    }
+
+    private void assertConnected(int[] path) {
+        assertConnected(graph, path);
+    }
+
+    private static void assertConnected(FamilyGraph graph, int[] path) {
+        for (int i = 1; i < path.length; i++) {
+            boolean linked = false;
+            for (int k = 0; k < graph.degree(path[i - 1]); k++) {
+                linked |= graph.neighbor(path[i - 1], k) == path[i];
+            }
+            assertThat(linked).as("lien entre %d et %d", graph.idOf(path[i - 1]), graph.idOf(path[i])).isTrue();
+        }
+    }
+
+    /**
+     * Arbre aléatoire à parents antérieurs, plusieurs composantes possibles
+     */
+    private static FamilyGraph randomFamily(Random random, int n) {
+        List<long[]> links = new ArrayList<>();
+        for (int person = 2; person <= n; person++) {
+            for (int parent = 0; parent < random.nextInt(3); parent++) {
+                links.add(link(person, 1 + random.nextInt(person - 1)));
+            }
+        }
+        return family(n, links.toArray(new long[0][]));
+    }
+
+    /**
+     * Distances du parcours en largeur simple, -1 si inaccessible
+     */
+    private static int[] distances(FamilyGraph graph, int source) {
+        int[] distance = new int[graph.size()];
+        Arrays.fill(distance, -1);
+        distance[source] = 0;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            for (int k = 0; k < graph.degree(current); k++) {
+                int neighbor = graph.neighbor(current, k);
+                if (distance[neighbor] < 0) {
+                    distance[neighbor] = distance[current] + 1;
+                    queue.add(neighbor);
+                }
+            }
+        }
+        return distance;
+    }
+}
@@ -0,0 +1,129 @@
+package com.genealogy.back_ro.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static com.genealogy.back_ro.graph.TestGraphs.edge;
+import static com.genealogy.back_ro.graph.TestGraphs.relationships;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpanningForestTest {
+
+    /**
+     * Carré 1-2-3-4 avec une diagonale 1-3, arêtes dans un seul sens ; 5 isolé
+     */
+    private final RelationshipGraph square = relationships(5,
+            edge(1, 2, 1), edge(2, 3, 2), edge(3, 4, 1), edge(4, 1, 3), edge(1, 3, 5));
+
+    @Test
+    void bothAlgorithmsKeepTheLightestEdges() {
+        for (SpanningForest.Algorithm algorithm : List.of(SpanningForest.Algorithm.PRIM, SpanningForest.Algorithm.KRUSKAL)) {
+            SpanningForest forest = SpanningForest.compute(square, RelationshipGraph.ALL_TYPES, algorithm);
+
+            assertThat(forest.getAlgorithm()).isEqualTo(algorithm);
+            assertThat(forest.size()).isEqualTo(3);
+            assertThat(forest.getTotalWeight()).isEqualTo(4);
+            // Une famille de quatre personnes et une personne isolée
+            assertThat(forest.getTreeCount()).isEqualTo(2);
+            assertThat(weights(forest)).containsExactlyInAnyOrder(1, 2, 1);
+        }
+    }
+
+    @Test
+    void edgesAreReportedInTheirRecordedDirection() {
+        SpanningForest forest = SpanningForest.compute(square, RelationshipGraph.ALL_TYPES, SpanningForest.Algorithm.PRIM);
+
+        for (int i = 0; i < forest.size(); i++) {
+            int edge = forest.edge(i);
+            int source = forest.source(i);
+            assertThat(edge).isBetween(square.firstEdge(source), square.endEdge(source) - 1);
+        }
+    }
+
+    @Test
+    void typeMaskRestrictsTheEdges() {
+        RelationshipGraph.Builder builder = new RelationshipGraph.Builder(3);
+        builder.addPerson(1).addPerson(2).addPerson(3);
+        int spouse = builder.typeCode("SPOUSE");
+        builder.addParentLink(2, 1).addEdge(2, 3, spouse, 1);
+        RelationshipGraph graph = builder.build();
+
+        SpanningForest parentsOnly = SpanningForest.compute(graph,
+                graph.typeMask(List.of(RelationshipGraph.PARENT)), SpanningForest.Algorithm.KRUSKAL);
+
+        assertThat(parentsOnly.size()).isEqualTo(1);
+        assertThat(parentsOnly.getTreeCount()).isEqualTo(2);
+    }
+
+    @Test
+    void autoPicksKruskalForSparseAndPrimForDenseGraphs() {
+        assertThat(SpanningForest.choose(1000, 2000)).isEqualTo(SpanningForest.Algorithm.KRUSKAL);
+        assertThat(SpanningForest.choose(100, 5000)).isEqualTo(SpanningForest.Algorithm.PRIM);
+    }
+
+    @Test
+    void randomGraphsMatchTheReferenceWeight() {
+        Random random = new Random(23);
+        for (int trial = 0; trial < 200; trial++) {
+            int n = 1 + random.nextInt(40);
+            int m = random.nextInt(3 * n + 1);
+            List<long[]> edges = new ArrayList<>();
+            for (int e = 0; e < m; e++) {
+                edges.add(edge(1 + random.nextInt(n), 1 + random.nextInt(n), random.nextInt(21) - 5));
+            }
+            RelationshipGraph graph = relationships(n, edges.toArray(new long[0][]));
+
+            long[] expected = reference(graph);
+            for (SpanningForest.Algorithm algorithm : SpanningForest.Algorithm.values()) {
+                SpanningForest forest = SpanningForest.compute(graph, RelationshipGraph.ALL_TYPES, algorithm);
+                assertThat(forest.getTotalWeight()).as("trial %d, %s", trial, algorithm).isEqualTo(expected[0]);
+                assertThat(forest.size()).as("trial %d, %s", trial, algorithm).isEqualTo((int) expected[1]);
+            }
+        }
+    }
+
+    /**
+     * Kruskal naïf : arêtes triées par poids, composantes fusionnées par réétiquetage
+     *
+     * @return poids total et nombre d'arêtes
+     */
+    private static long[] reference(RelationshipGraph graph) {
+        List<int[]> edges = new ArrayList<>();
+        for (int node = 0; node < graph.size(); node++) {
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                edges.add(new int[]{node, graph.target(edge), graph.weight(edge)});
+            }
+        }
+        edges.sort((a, b) -> Integer.compare(a[2], b[2]));
+        int[] component = new int[graph.size()];
+        Arrays.setAll(component, node -> node);
+        long total = 0;
+        int count = 0;
+        for (int[] edge : edges) {
+            int from = component[edge[0]];
+            int to = component[edge[1]];
+            if (from != to) {
+                for (int node = 0; node < component.length; node++) {
+                    if (component[node] == to) {
+                        component[node] = from;
+                    }
+                }
+                total += edge[2];
+                count++;
+            }
+        }
+        return new long[]{total, count};
+    }
+
+    private static List<Integer> weights(SpanningForest forest) {
+        List<Integer> weights = new ArrayList<>();
+        for (int i = 0; i < forest.size(); i++) {
+            weights.add(forest.getGraph().weight(forest.edge(i)));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,72 @@
+package com.genealogy.back_ro.graph;
+
+import java.util.Arrays;
+
+/**
+ * Petits graphes familiaux construits à la main pour les tests : les personnes ont les identifiants
+ * 1 à {@code n}, les liens sont donnés par paires {@code {enfant, parent}}, les arêtes pondérées
+ * par triplets {@code {origine, cible, poids}}.
+ */
+final class TestGraphs {
+
+    private TestGraphs() {
+    }
+
+    static FamilyGraph family(int personCount, long[]... childParentLinks) {
+        long[] ids = new long[personCount];
+        for (int i = 0; i < personCount; i++) {
+            ids[i] = i + 1;
+        }
+        long[] childIds = new long[childParentLinks.length];
+        long[] parentIds = new long[childParentLinks.length];
+        for (int e = 0; e < childParentLinks.length; e++) {
+            childIds[e] = childParentLinks[e][0];
+            parentIds[e] = childParentLinks[e][1];
+        }
+        return FamilyGraph.build(ids, personCount, childIds, parentIds, childIds.length);
+    }
+
+    static long[] link(long childId, long parentId) {
+        return new long[]{childId, parentId};
+    }
+
+    /**
+     * Graphe de relations à arêtes orientées de type {@link RelationshipGraph#RELATED}
+     */
+    static RelationshipGraph relationships(int personCount, long[]... weightedEdges) {
+        RelationshipGraph.Builder builder = new RelationshipGraph.Builder(personCount);
+        for (int id = 1; id <= personCount; id++) {
+            builder.addPerson(id);
+        }
+        int type = builder.typeCode(RelationshipGraph.RELATED);
+        for (long[] edge : weightedEdges) {
+            builder.addEdge(edge[0], edge[1], type, (int) edge[2]);
+        }
+        return builder.build();
+    }
+
+    static long[] edge(long fromId, long toId, int weight) {
+        return new long[]{fromId, toId, weight};
+    }
+
+    static int node(FamilyGraph graph, long personId) {
+        return graph.indexOf(personId);
+    }
+
+    /**
+     * @return les identifiants des nœuds donnés
+     */
+    static long[] ids(FamilyGraph graph, int[] nodes) {
+        long[] ids = new long[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            ids[i] = graph.idOf(nodes[i]);
+        }
+        return ids;
+    }
+
+    static long[] sortedIds(FamilyGraph graph, int[] nodes) {
+        long[] ids = ids(graph, nodes);
+        Arrays.sort(ids);
+        return ids;
+    }
+}
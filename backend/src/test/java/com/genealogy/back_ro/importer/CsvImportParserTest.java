@@ -0,0 +1,81 @@
+package com.genealogy.back_ro.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvImportParserTest {
+
+    private final CsvImportParser parser = new CsvImportParser();
+
+    @Test
+    void readsEnglishColumnsAndParentColumns() throws IOException {
+        RecordingSink sink = RecordingSink.parse(parser, """
+                id,firstName,lastName,birthDate,deathDate,birthPlace,fatherId,motherId,parentIds
+                p1,Jean,Dupont,1900-01-31,1970-05-02,Lyon,,,
+                p2,Marie,Durand,,,,,,
+                p3,Luc,Dupont,12/03/1925,,,p1,p2,
+                p4,Anne,Dupont,1927,,,,,p1 | p2
+                """);
+
+        assertThat(sink.persons.keySet()).containsExactly("p1", "p2", "p3", "p4");
+        PersonRecord jean = sink.person("p1");
+        assertThat(jean.getFirstName()).isEqualTo("Jean");
+        assertThat(jean.getLastName()).isEqualTo("Dupont");
+        assertThat(jean.getBirthDate()).isEqualTo(LocalDate.of(1900, 1, 31));
+        assertThat(jean.getDeathDate()).isEqualTo(LocalDate.of(1970, 5, 2));
+        assertThat(jean.getBirthPlace()).isEqualTo("Lyon");
+        assertThat(sink.person("p2").getBirthDate()).isNull();
+        assertThat(sink.person("p3").getBirthDate()).isEqualTo(LocalDate.of(1925, 3, 12));
+        assertThat(sink.person("p4").getBirthDate()).isEqualTo(LocalDate.of(1927, 1, 1));
+        assertThat(sink.links).containsExactly("p3 → p1", "p3 → p2", "p4 → p1", "p4 → p2");
+    }
+
+    @Test
+    void readsFrenchHeadersWithSemicolonsAndByteOrderMark() throws IOException {
+        RecordingSink sink = RecordingSink.parse(parser, "\uFEFFRéférence;Prénom;Nom;Date de naissance;Père;Mère\r\n"
+                + "1;Éléonore;Lefèvre;01/02/1880;;\r\n"
+                + "2;Paul;Lefèvre;;1;\r\n");
+
+        assertThat(sink.persons.keySet()).containsExactly("1", "2");
+        assertThat(sink.person("1").getFirstName()).isEqualTo("Éléonore");
+        assertThat(sink.person("1").getBirthDate()).isEqualTo(LocalDate.of(1880, 2, 1));
+        assertThat(sink.links).containsExactly("2 → 1");
+    }
+
+    @Test
+    void quotedFieldsKeepSeparatorsQuotesAndLineBreaks() throws IOException {
+        RecordingSink sink = RecordingSink.parse(parser, """
+                id,lastName,biography
+                1,"Dupont, dit ""le Grand""\","Né à Lyon,
+                mort à Paris"
+                2,Martin,
+                """);
+
+        assertThat(sink.person("1").getLastName()).isEqualTo("Dupont, dit \"le Grand\"");
+        assertThat(sink.person("1").getBiography()).isEqualTo("Né à Lyon,\nmort à Paris");
+        assertThat(sink.person("2").getBiography()).isNull();
+    }
+
+    @Test
+    void skipsBlankLinesAndRowsWithoutId() throws IOException {
+        RecordingSink sink = RecordingSink.parse(parser, "id,firstName\n1,Jean\n\n,Orphelin\n2,Marie\n");
+
+        assertThat(sink.persons.keySet()).containsExactly("1", "2");
+    }
+
+    @Test
+    void refusesAHeaderWithoutIdColumn() {
+        assertThatThrownBy(() -> RecordingSink.parse(parser, "firstName,lastName\nJean,Dupont\n"))
+                .hasMessageContaining("id");
+    }
+
+    @Test
+    void emptyDocumentHasNoRecord() throws IOException {
+        assertThat(RecordingSink.parse(parser, "").persons).isEmpty();
+    }
+}
@@ -0,0 +1,92 @@
+package com.genealogy.back_ro.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GedcomParserTest {
+
+    private final GedcomParser parser = new GedcomParser();
+
+    private static final String DOCUMENT = """
+            \uFEFF0 HEAD
+            1 CHAR UTF-8
+            0 @I1@ INDI
+            1 NAME Jean Pierre /Dupont/
+            1 NAME Jean /Dupond/
+            1 BIRT
+            2 DATE 31 JAN 1900
+            2 PLAC Lyon
+            1 DEAT
+            2 DATE BEF 1970
+            1 NOTE Notaire à Lyon, joignable à jean@@exemple.fr
+            2 CONC  et à Paris.
+            2 CONT Deuxième paragraphe.
+            0 @I2@ INDI
+            1 NAME Marie /Durand/
+            2 GIVN Marie-Louise
+            1 NOTE @N1@
+            0 @I3@ INDI
+              1 NAME Luc
+            1 BIRT
+            2 DATE ABT MAR 1925
+            0 @N1@ NOTE Note partagée, non suivie
+            0 @F1@ FAM
+            1 HUSB @I1@
+            1 WIFE @I2@
+            1 CHIL @I3@
+            1 CHIL @I4@
+            0 @F2@ FAM
+            1 WIFE @I2@
+            1 CHIL @I5@
+            0 @I4@ INDI
+            1 NAME /Dupont/
+            0 TRLR
+            """;
+
+    @Test
+    void readsIndividualsInOrder() throws IOException {
+        RecordingSink sink = RecordingSink.parse(parser, DOCUMENT);
+
+        assertThat(sink.persons.keySet()).containsExactly("@I1@", "@I2@", "@I3@", "@I4@");
+        PersonRecord jean = sink.person("@I1@");
+        assertThat(jean.getFirstName()).as("seul le premier NAME").isEqualTo("Jean Pierre");
+        assertThat(jean.getLastName()).isEqualTo("Dupont");
+        assertThat(jean.getBirthDate()).isEqualTo(LocalDate.of(1900, 1, 31));
+        assertThat(jean.getBirthPlace()).isEqualTo("Lyon");
+        assertThat(jean.getDeathDate()).isEqualTo(LocalDate.of(1970, 1, 1));
+    }
+
+    @Test
+    void notesJoinContinuationLinesAndUnescapeAts() throws IOException {
+        RecordingSink sink = RecordingSink.parse(parser, DOCUMENT);
+
+        assertThat(sink.person("@I1@").getBiography())
+                .isEqualTo("Notaire à Lyon, joignable à jean@exemple.fr et à Paris.\nDeuxième paragraphe.");
+        assertThat(sink.person("@I2@").getBiography()).as("renvoi vers une note").isNull();
+    }
+
+    @Test
+    void givenAndSurnameTagsRefineTheName() throws IOException {
+        RecordingSink sink = RecordingSink.parse(parser, DOCUMENT);
+
+        assertThat(sink.person("@I2@").getFirstName()).isEqualTo("Marie-Louise");
+        assertThat(sink.person("@I2@").getLastName()).isEqualTo("Durand");
+        assertThat(sink.person("@I3@").getFirstName()).isEqualTo("Luc");
+        assertThat(sink.person("@I3@").getLastName()).isNull();
+        assertThat(sink.person("@I3@").getBirthDate()).isEqualTo(LocalDate.of(1925, 3, 1));
+        assertThat(sink.person("@I4@").getFirstName()).isEmpty();
+        assertThat(sink.person("@I4@").getLastName()).isEqualTo("Dupont");
+    }
+
+    @Test
+    void familiesGiveOneLinkPerChildAndParent() throws IOException {
+        RecordingSink sink = RecordingSink.parse(parser, DOCUMENT);
+
+        assertThat(sink.links).containsExactly(
+                "@I3@ → @I1@", "@I3@ → @I2@", "@I4@ → @I1@", "@I4@ → @I2@", "@I5@ → @I2@");
+    }
+}
@@ -0,0 +1,29 @@
+package com.genealogy.back_ro.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImportDatesTest {
+
+    @Test
+    void readsIsoFrenchAndGedcomDates() {
+        assertThat(ImportDates.parse("1900-01-31")).isEqualTo(LocalDate.of(1900, 1, 31));
+        assertThat(ImportDates.parse(" 31/01/1900 ")).isEqualTo(LocalDate.of(1900, 1, 31));
+        assertThat(ImportDates.parse("31 JAN 1900")).isEqualTo(LocalDate.of(1900, 1, 31));
+        assertThat(ImportDates.parse("abt jan 1900")).isEqualTo(LocalDate.of(1900, 1, 1));
+        assertThat(ImportDates.parse("BEF 987")).isEqualTo(LocalDate.of(987, 1, 1));
+        assertThat(ImportDates.parse("BET 1900 AND 1910")).isEqualTo(LocalDate.of(1900, 1, 1));
+    }
+
+    @Test
+    void ignoresUnreadableDates() {
+        assertThat(ImportDates.parse(null)).isNull();
+        assertThat(ImportDates.parse(" ")).isNull();
+        assertThat(ImportDates.parse("31/02/1900")).isNull();
+        assertThat(ImportDates.parse("31 FOO 1900")).isNull();
+        assertThat(ImportDates.parse("vers 1900")).isNull();
+    }
+}
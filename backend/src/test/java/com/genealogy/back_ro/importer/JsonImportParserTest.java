@@ -0,0 +1,56 @@
+package com.genealogy.back_ro.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonImportParserTest {
+
+    private final JsonImportParser parser = new JsonImportParser();
+
+    @Test
+    void readsThePersonsArrayOfAnObject() throws IOException {
+        RecordingSink sink = RecordingSink.parse(parser, """
+                {"version": 2, "source": {"name": "autre"},
+                 "persons": [
+                   {"id": 1, "firstName": "Jean", "lastName": "Dupont", "birthDate": "1900-01-31",
+                    "birthPlace": "Lyon", "biography": "Notaire", "parentIds": []},
+                   {"id": "2", "firstName": "Luc", "lastName": "Dupont", "deathDate": "ABT 1980",
+                    "parentIds": [1, null, ""], "motherId": "3"}
+                 ],
+                 "ignored": true}
+                """);
+
+        assertThat(sink.persons.keySet()).containsExactly("1", "2");
+        PersonRecord jean = sink.person("1");
+        assertThat(jean.getBirthDate()).isEqualTo(LocalDate.of(1900, 1, 31));
+        assertThat(jean.getBirthPlace()).isEqualTo("Lyon");
+        assertThat(jean.getBiography()).isEqualTo("Notaire");
+        assertThat(sink.person("2").getDeathDate()).isEqualTo(LocalDate.of(1980, 1, 1));
+        assertThat(sink.links).containsExactly("2 → 1", "2 → 3");
+    }
+
+    @Test
+    void readsATopLevelArray() throws IOException {
+        RecordingSink sink = RecordingSink.parse(parser, """
+                [{"id": "a", "firstName": "  ", "lastName": {"nested": true}, "fatherId": "b"},
+                 {"firstName": "Sans identifiant"},
+                 {"id": "b"}]
+                """);
+
+        assertThat(sink.persons.keySet()).containsExactly("a", "b");
+        assertThat(sink.person("a").getFirstName()).isNull();
+        assertThat(sink.person("a").getLastName()).isNull();
+        assertThat(sink.links).containsExactly("a → b");
+    }
+
+    @Test
+    void refusesDocumentsWithoutPersons() {
+        assertThatThrownBy(() -> RecordingSink.parse(parser, "{\"people\": []}")).hasMessageContaining("persons");
+        assertThatThrownBy(() -> RecordingSink.parse(parser, "\"texte\"")).hasMessageContaining("tableau");
+    }
+}
@@ -0,0 +1,39 @@
+package com.genealogy.back_ro.importer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conserve ce qu'un analyseur transmet, pour les tests : personnes par identifiant externe
+ * dans l'ordre de lecture, liens sous la forme « enfant → parent ».
+ */
+final class RecordingSink implements ImportSink {
+
+    final Map<String, PersonRecord> persons = new LinkedHashMap<>();
+    final List<String> links = new ArrayList<>();
+
+    static RecordingSink parse(ImportParser parser, String document) throws IOException {
+        RecordingSink sink = new RecordingSink();
+        parser.parse(new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8)), sink);
+        return sink;
+    }
+
+    @Override
+    public void person(PersonRecord person) {
+        persons.put(person.getExternalId(), person);
+    }
+
+    @Override
+    public void parentLink(String childExternalId, String parentExternalId) {
+        links.add(childExternalId + " → " + parentExternalId);
+    }
+
+    PersonRecord person(String externalId) {
+        return persons.get(externalId);
+    }
+}
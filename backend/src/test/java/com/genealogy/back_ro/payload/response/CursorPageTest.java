@@ -0,0 +1,36 @@
+package com.genealogy.back_ro.payload.response;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CursorPageTest {
+
+    @Test
+    void extraElementMeansANextPageAfterTheLastKeptId() {
+        CursorPage<Long> page = CursorPage.of(List.of(4L, 7L, 9L, 12L), 3, Long::longValue);
+
+        assertThat(page.getItems()).containsExactly(4L, 7L, 9L);
+        assertThat(page.getNextCursor()).isEqualTo(9L);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        assertThat(CursorPage.of(List.of(4L, 7L, 9L), 3, Long::longValue).getNextCursor()).isNull();
+        assertThat(CursorPage.of(List.of(4L), 3, Long::longValue).getNextCursor()).isNull();
+
+        CursorPage<Long> empty = CursorPage.of(List.<Long>of(), 3, Long::longValue);
+        assertThat(empty.getItems()).isEmpty();
+        assertThat(empty.getNextCursor()).isNull();
+    }
+
+    @Test
+    void clampSizeKeepsRequestsWithinBounds() {
+        assertThat(CursorPage.clampSize(0)).isEqualTo(1);
+        assertThat(CursorPage.clampSize(-5)).isEqualTo(1);
+        assertThat(CursorPage.clampSize(CursorPage.DEFAULT_PAGE_SIZE)).isEqualTo(CursorPage.DEFAULT_PAGE_SIZE);
+        assertThat(CursorPage.clampSize(10_000)).isEqualTo(CursorPage.MAX_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,110 @@
+package com.genealogy.back_ro.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Migrations Flyway sur un fichier SQLite, avec les réglages de application.properties
+ * (reprise des bases existantes en version 0).
+ */
+class SchemaMigrationTest {
+
+    /**
+     * Tables {@code persons} et {@code person_parents} telles que les créait {@code ddl-auto=update}
+     * avant Flyway : photo en BLOB, pas de {@code photo_hash}
+     */
+    private static final String[] LEGACY_SCHEMA = {
+            "create table persons (id integer, biography varchar(1000), birth_date date, birth_place varchar(255), "
+                    + "death_date date, first_name varchar(100) not null, last_name varchar(100) not null, "
+                    + "photo BLOB, created_by bigint, primary key (id))",
+            "create table person_parents (child_id bigint not null, parent_id bigint not null, "
+                    + "primary key (child_id, parent_id))"
+    };
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void upgradeAddsPhotoHashAndKeepsTheLegacyPhotos() {
+        DriverManagerDataSource dataSource = dataSource("legacy.db");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        for (String ddl : LEGACY_SCHEMA) {
+            jdbcTemplate.execute(ddl);
+        }
+        jdbcTemplate.update("INSERT INTO persons (id, first_name, last_name, photo) VALUES (1, 'Jean', 'Dupont', ?)",
+                (Object) new byte[]{1, 2, 3});
+
+        migrate(dataSource);
+
+        assertThat(columns(jdbcTemplate)).contains("photo", "photo_hash");
+        assertThat(jdbcTemplate.queryForObject("SELECT photo FROM persons WHERE id = 1", byte[].class))
+                .containsExactly(1, 2, 3);
+
+        // Ce que fait PhotoMigrationService au démarrage
+        PersonPhotoJdbcRepository photos = new PersonPhotoJdbcRepository();
+        ReflectionTestUtils.setField(photos, "jdbcTemplate", jdbcTemplate);
+        assertThat(photos.hasLegacyPhotoColumn()).isTrue();
+        assertThat(photos.findLegacyPhotos(10)).hasSize(1);
+        photos.replaceLegacyPhoto(1, "ab".repeat(32));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT photo_hash FROM persons WHERE id = 1", String.class))
+                .isEqualTo("ab".repeat(32));
+        assertThat(photos.findLegacyPhotos(10)).isEmpty();
+        assertThat(appliedVersions(jdbcTemplate)).containsExactly("0", "1", "2", "3");
+    }
+
+    @Test
+    void freshDatabaseHasPhotoHashOnly() {
+        DriverManagerDataSource dataSource = dataSource("fresh.db");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        migrate(dataSource);
+
+        assertThat(columns(jdbcTemplate)).contains("photo_hash").doesNotContain("photo");
+        assertThat(appliedVersions(jdbcTemplate)).containsExactly("1", "2", "3");
+    }
+
+    @Test
+    void migratingAgainChangesNothing() {
+        DriverManagerDataSource dataSource = dataSource("again.db");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(LEGACY_SCHEMA[0]);
+        migrate(dataSource);
+
+        assertThat(migrate(dataSource)).isZero();
+        assertThat(columns(jdbcTemplate)).filteredOn("photo_hash"::equals).hasSize(1);
+    }
+
+    private DriverManagerDataSource dataSource(String file) {
+        return new DriverManagerDataSource("jdbc:sqlite:" + directory.resolve(file));
+    }
+
+    private static int migrate(DriverManagerDataSource dataSource) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate()
+                .migrationsExecuted;
+    }
+
+    private static List<String> columns(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.query("PRAGMA table_info(persons)", (rs, rowNum) -> rs.getString("name"));
+    }
+
+    private static List<String> appliedVersions(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForList(
+                "SELECT version FROM flyway_schema_history WHERE success = 1 ORDER BY installed_rank", String.class);
+    }
+}
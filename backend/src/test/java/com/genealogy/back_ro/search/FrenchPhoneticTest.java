@@ -0,0 +1,30 @@
+package com.genealogy.back_ro.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FrenchPhoneticTest {
+
+    @Test
+    void spellingsPronouncedAlikeShareACode() {
+        assertThat(FrenchPhonetic.encode("Dupont"))
+                .isEqualTo(FrenchPhonetic.encode("Du Pont"))
+                .isEqualTo(FrenchPhonetic.encode("Dupond"));
+        assertThat(FrenchPhonetic.encode("Renaud")).isEqualTo(FrenchPhonetic.encode("Renault"));
+        assertThat(FrenchPhonetic.encode("Philippe")).isEqualTo(FrenchPhonetic.encode("Filipe"));
+        assertThat(FrenchPhonetic.encode("Lefèvre")).isEqualTo(FrenchPhonetic.encode("Lefebvre"));
+    }
+
+    @Test
+    void differentNamesKeepDifferentCodes() {
+        assertThat(FrenchPhonetic.encode("Dupont")).isNotEqualTo(FrenchPhonetic.encode("Dupuis"));
+        assertThat(FrenchPhonetic.encode("Martin")).isNotEqualTo(FrenchPhonetic.encode("Marteau"));
+    }
+
+    @Test
+    void emptyNamesHaveAnEmptyCode() {
+        assertThat(FrenchPhonetic.encode("")).isEmpty();
+        assertThat(FrenchPhonetic.encode(" - ")).isEmpty();
+    }
+}
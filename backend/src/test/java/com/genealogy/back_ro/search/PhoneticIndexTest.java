@@ -0,0 +1,73 @@
+package com.genealogy.back_ro.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PhoneticIndexTest {
+
+    private PhoneticIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PhoneticIndex();
+        index.put(1, "Philippe", "Dupont");
+        index.put(2, "Marie", "Du Pont");
+        index.put(3, "Jean", "Dupuis");
+        index.put(4, "Filipe", "Lefèvre");
+        index.put(5, "Anne", "Renault");
+    }
+
+    @Test
+    void findsSpellingsThatSoundAlike() {
+        assertThat(ids(index.search(null, "Dupond"))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids(index.search(null, "Lefebvre"))).containsExactly(4L);
+        assertThat(ids(index.search(null, "Renaud"))).containsExactly(5L);
+    }
+
+    @Test
+    void firstNameNarrowsTheLastNameMatches() {
+        assertThat(ids(index.search("Filippe", "Dupont"))).containsExactly(1L);
+        assertThat(ids(index.search("Philipe", null))).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(index.search("Anne", "Dupont")).isEmpty();
+    }
+
+    @Test
+    void closerPronunciationsRankFirst() {
+        List<PhoneticIndex.Hit> hits = index.search(null, "Dupont");
+
+        assertThat(hits).isNotEmpty();
+        assertThat(hits.get(0).getPersonId()).isIn(1L, 2L);
+        for (int i = 1; i < hits.size(); i++) {
+            assertThat(hits.get(i).getScore()).isLessThanOrEqualTo(hits.get(i - 1).getScore());
+        }
+    }
+
+    @Test
+    void emptyQueryFindsNothing() {
+        assertThat(index.search(null, null)).isEmpty();
+        assertThat(index.search("", " ")).isEmpty();
+    }
+
+    @Test
+    void putReplacesTheOldKeysAndRemoveForgets() {
+        index.put(1, "Philippe", "Martin");
+        index.remove(5);
+
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(ids(index.search(null, "Dupond"))).containsExactly(2L);
+        assertThat(ids(index.search(null, "Martin"))).containsExactly(1L);
+        assertThat(index.search(null, "Renault")).isEmpty();
+
+        index.clear();
+        assertThat(index.size()).isZero();
+        assertThat(index.search(null, "Martin")).isEmpty();
+    }
+
+    private static List<Long> ids(List<PhoneticIndex.Hit> hits) {
+        return hits.stream().map(PhoneticIndex.Hit::getPersonId).toList();
+    }
+}
@@ -0,0 +1,113 @@
+package com.genealogy.back_ro.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+
+    private TrigramIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrigramIndex();
+        index.put(1, "Jean", "Dupont");
+        index.put(2, "Marie", "Dupuis");
+        index.put(3, "Jean-Pierre", "Martin");
+        index.put(4, "Éléonore", "Lefèvre");
+        index.put(5, "Jeanne", "Dupontel");
+    }
+
+    @Test
+    void partialQueryFindsEveryExtension() {
+        assertThat(ids(search(null, "dup"))).containsExactlyInAnyOrder(1L, 2L, 5L);
+        assertThat(ids(search("jean", null))).containsExactlyInAnyOrder(1L, 3L, 5L);
+    }
+
+    @Test
+    void exactMatchesRankBeforePrefixes() {
+        assertThat(ids(search(null, "dupont"))).containsExactly(1L, 5L);
+    }
+
+    @Test
+    void toleratesATypoInLongerNames() {
+        assertThat(ids(search(null, "dupomt"))).contains(1L);
+        assertThat(ids(search(null, "lefevrr"))).containsExactly(4L);
+        assertThat(ids(search(null, "mrt"))).as("pas de faute tolérée sous 5 lettres").isEmpty();
+    }
+
+    @Test
+    void ignoresAccentsCaseAndPunctuation() {
+        assertThat(ids(search("ELEONORE", "lefevre"))).containsExactly(4L);
+        assertThat(ids(search("jean pierre", null))).first().isEqualTo(3L);
+    }
+
+    @Test
+    void everyFilledFieldMustMatch() {
+        assertThat(ids(search("jean", "dupont"))).containsExactly(1L, 5L);
+        assertThat(ids(search("jeanne", "dupont"))).first().isEqualTo(5L);
+        assertThat(ids(search("marie", "martin"))).isEmpty();
+        assertThat(ids(search("", "  "))).isEmpty();
+    }
+
+    @Test
+    void searchesTheFullName() {
+        String[] queries = new String[3];
+        queries[TrigramIndex.FULL_NAME] = "marie dupuis";
+        assertThat(ids(index.search(queries, 0, 10))).containsExactly(2L);
+    }
+
+    @Test
+    void pagesKeepTheTotal() {
+        TrigramIndex.Page first = index.search(new String[]{null, "dup"}, 0, 2);
+        TrigramIndex.Page second = index.search(new String[]{null, "dup"}, 2, 2);
+
+        assertThat(first.getTotal()).isEqualTo(3);
+        assertThat(first.getHits()).hasSize(2);
+        assertThat(second.getHits()).hasSize(1);
+        assertThat(ids(second)).doesNotContainAnyElementsOf(ids(first));
+        assertThat(index.search(new String[]{null, "dup"}, 5, 2).getHits()).isEmpty();
+    }
+
+    @Test
+    void putReplacesAndRemoveForgets() {
+        index.put(1, "Jean", "Lefèvre");
+        index.remove(2);
+
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(ids(search(null, "dupont"))).containsExactly(5L);
+        assertThat(ids(search(null, "lefevre"))).containsExactly(1L, 4L);
+        assertThat(ids(search("marie", null))).isEmpty();
+    }
+
+    @Test
+    void compactionKeepsLiveEntries() {
+        for (long id = 100; id < 3100; id++) {
+            index.put(id, "Prénom", "Nom" + id);
+        }
+        for (long id = 100; id < 3100; id++) {
+            if (id != 2500) {
+                index.remove(id);
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(6);
+        assertThat(ids(search(null, "nom2500"))).containsExactly(2500L);
+        assertThat(ids(search(null, "dup"))).containsExactlyInAnyOrder(1L, 2L, 5L);
+
+        index.clear();
+        assertThat(index.size()).isZero();
+        assertThat(search(null, "dup").getHits()).isEmpty();
+    }
+
+    private TrigramIndex.Page search(String firstName, String lastName) {
+        return index.search(new String[]{firstName, lastName}, 0, 50);
+    }
+
+    private static List<Long> ids(TrigramIndex.Page page) {
+        return page.getHits().stream().map(TrigramIndex.Hit::getPersonId).toList();
+    }
+}
@@ -0,0 +1,133 @@
+package com.genealogy.back_ro.service;
+
+import com.genealogy.back_ro.graph.FamilyGraph;
+import com.genealogy.back_ro.graph.NativeGraphBackend;
+import com.genealogy.back_ro.payload.response.KinshipResponse;
+import com.genealogy.back_ro.payload.response.PersonSummary;
+import com.genealogy.back_ro.payload.response.RelationshipPathResult;
+import com.genealogy.back_ro.repository.FamilyGraphJdbcRepository;
+import com.genealogy.back_ro.repository.PersonRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Recherches avec l'index résident froid : les sous-graphes sont lus en base.
+ * Famille : 1 et 2 parents de 3 et 4 ; 5 enfant de 3, 6 enfant de 4 (cousins germains).
+ */
+@ExtendWith(MockitoExtension.class)
+class GenealogySearchServiceTest {
+
+    private static final FamilyGraph COUSINS = FamilyGraph.build(new long[]{1, 2, 3, 4, 5, 6}, 6,
+            new long[]{3, 3, 4, 4, 5, 6}, new long[]{1, 2, 1, 2, 3, 4}, 6);
+
+    @Mock
+    private PersonRepository personRepository;
+
+    @Mock
+    private FamilyGraphIndexService familyGraphIndexService;
+
+    @Mock
+    private FamilyGraphJdbcRepository familyGraphJdbcRepository;
+
+    private final GenealogySearchService service = new GenealogySearchService();
+
+    @BeforeEach
+    void setUp() {
+        GenealogyResultCache resultCache = new GenealogyResultCache(1000);
+        ReflectionTestUtils.setField(resultCache, "familyGraphIndexService", familyGraphIndexService);
+        ReflectionTestUtils.setField(service, "personRepository", personRepository);
+        ReflectionTestUtils.setField(service, "familyGraphIndexService", familyGraphIndexService);
+        ReflectionTestUtils.setField(service, "familyGraphJdbcRepository", familyGraphJdbcRepository);
+        ReflectionTestUtils.setField(service, "resultCache", resultCache);
+        ReflectionTestUtils.setField(service, "graphBackend", new NativeGraphBackend());
+
+        lenient().when(familyGraphIndexService.isReady()).thenReturn(false);
+        lenient().when(familyGraphIndexService.mayBeRelated(anyLong(), anyLong())).thenReturn(true);
+        lenient().when(familyGraphIndexService.snapshot()).thenReturn(FamilyGraph.empty());
+        lenient().when(familyGraphJdbcRepository.loadFamilies(anyCollection())).thenReturn(COUSINS);
+        lenient().when(familyGraphJdbcRepository.loadAncestries(anyCollection())).thenReturn(COUSINS);
+        lenient().when(personRepository.findSummariesByIdIn(anyCollection())).thenAnswer(call -> {
+            List<PersonSummary> summaries = new ArrayList<>();
+            for (Long id : call.<Collection<Long>>getArgument(0)) {
+                summaries.add(new PersonSummary(id, "Prénom" + id, "Nom", null, null, null, false));
+            }
+            return summaries;
+        });
+    }
+
+    @Test
+    void relationshipPathIsFoundWithoutTheIndex() {
+        List<PersonSummary> path = service.findRelationshipPath(6L, 5L);
+
+        assertThat(path).extracting(PersonSummary::getId).hasSize(5).startsWith(6L, 4L).endsWith(3L, 5L);
+        verify(familyGraphJdbcRepository).loadFamilies(List.of(5L));
+    }
+
+    @Test
+    void batchedPathsLoadTheFamiliesOnce() {
+        List<RelationshipPathResult> results = new ArrayList<>();
+        service.findRelationshipPaths(List.of(5L, 3L), List.of(6L, 99L), results::add);
+
+        assertThat(results).hasSize(4);
+        assertThat(results).filteredOn(result -> result.getPerson2Id() == 6L)
+                .extracting(result -> result.getPath().length).containsExactlyInAnyOrder(5, 4);
+        verify(familyGraphJdbcRepository).loadFamilies(anyCollection());
+    }
+
+    @Test
+    void commonAncestorsAreFoundWithoutTheIndex() {
+        assertThat(service.findCommonAncestors(5L, 6L)).extracting(PersonSummary::getId)
+                .containsExactlyInAnyOrder(1L, 2L);
+        verify(familyGraphJdbcRepository).loadAncestries(List.of(5L, 6L));
+    }
+
+    @Test
+    void kinshipIsComputedWithoutTheIndex() {
+        KinshipResponse kinship = service.computeKinship(5L, 6L);
+
+        assertThat(kinship.isRelated()).isTrue();
+        assertThat(kinship.getKinshipCoefficient()).isCloseTo(1.0 / 16, within(1e-12));
+        assertThat(kinship.getCommonAncestors()).hasSize(2)
+                .allSatisfy(ancestor -> {
+                    assertThat(ancestor.getGenerationsFromPerson1()).isEqualTo(2);
+                    assertThat(ancestor.getGenerationsFromPerson2()).isEqualTo(2);
+                });
+    }
+
+    @Test
+    void relatednessUsesTheSameFamilyQuery() {
+        when(personRepository.existsById(anyLong())).thenReturn(true);
+        when(personRepository.countInSameFamily(5L, 6L)).thenReturn(1L);
+        when(personRepository.countInSameFamily(5L, 7L)).thenReturn(0L);
+
+        assertThat(service.areRelated(5L, 6L).isRelated()).isTrue();
+        assertThat(service.areRelated(5L, 7L).isRelated()).isFalse();
+    }
+
+    @Test
+    void segmentationWaitsForTheIndex() {
+        List<Object> segments = new ArrayList<>();
+
+        service.segmentFamily(5L, 50, segments::add);
+
+        assertThat(segments).isEmpty();
+        verify(familyGraphIndexService, never()).snapshot();
+    }
+}
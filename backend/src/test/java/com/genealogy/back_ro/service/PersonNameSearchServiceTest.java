@@ -0,0 +1,104 @@
+package com.genealogy.back_ro.service;
+
+import com.genealogy.back_ro.payload.response.PersonSearchResponse;
+import com.genealogy.back_ro.payload.response.PersonSummary;
+import com.genealogy.back_ro.repository.PersonNameJdbcRepository;
+import com.genealogy.back_ro.repository.PersonRepository;
+import com.genealogy.back_ro.search.PersonNameEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+
+/**
+ * Reconstruction des index des noms pendant que les recherches continuent
+ */
+@ExtendWith(MockitoExtension.class)
+class PersonNameSearchServiceTest {
+
+    @Mock
+    private PersonNameJdbcRepository personNameJdbcRepository;
+
+    @Mock
+    private PersonRepository personRepository;
+
+    private final PersonNameSearchService service = new PersonNameSearchService();
+
+    private final List<Object[]> names = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "personNameJdbcRepository", personNameJdbcRepository);
+        ReflectionTestUtils.setField(service, "personRepository", personRepository);
+
+        doAnswer(call -> {
+            PersonNameJdbcRepository.NameConsumer consumer = call.getArgument(0);
+            for (Object[] name : names) {
+                consumer.accept((Long) name[0], (String) name[1], (String) name[2]);
+            }
+            return null;
+        }).when(personNameJdbcRepository).forEachName(any());
+        lenient().when(personRepository.findSummariesByIdIn(anyCollection())).thenAnswer(call -> {
+            List<PersonSummary> summaries = new ArrayList<>();
+            for (Long id : call.<Collection<Long>>getArgument(0)) {
+                summaries.add(new PersonSummary(id, "Prénom" + id, "Nom", null, null, null, false));
+            }
+            return summaries;
+        });
+    }
+
+    @Test
+    void searchesDuringARebuildSeeTheWholePreviousIndex() {
+        names.add(new Object[]{1L, "Jean", "Dupont"});
+        names.add(new Object[]{2L, "Marie", "Dupont"});
+        service.rebuild();
+
+        List<List<Long>> seenDuringRebuild = new ArrayList<>();
+        names.clear();
+        for (long id = 1; id <= 3; id++) {
+            names.add(new Object[]{id, "Prénom", "Dupont"});
+        }
+        doAnswer(call -> {
+            PersonNameJdbcRepository.NameConsumer consumer = call.getArgument(0);
+            for (Object[] name : names) {
+                consumer.accept((Long) name[0], (String) name[1], (String) name[2]);
+                seenDuringRebuild.add(ids(service.search(null, "dupont", null, 0, 10)));
+            }
+            return null;
+        }).when(personNameJdbcRepository).forEachName(any());
+
+        service.rebuild();
+
+        assertThat(seenDuringRebuild).hasSize(3).allSatisfy(ids -> assertThat(ids).containsExactlyInAnyOrder(1L, 2L));
+        assertThat(ids(service.search(null, "dupont", null, 0, 10))).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(ids(service.searchPhonetic(null, "Dupond", 0, 10))).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void nameChangesApplyToTheRebuiltIndex() {
+        names.add(new Object[]{1L, "Jean", "Dupont"});
+        service.rebuild();
+        service.rebuild();
+
+        service.onPersonName(PersonNameEvent.saved(2L, "Marie", "Dupont"));
+
+        assertThat(service.isReady()).isTrue();
+        assertThat(ids(service.search(null, "dupont", null, 0, 10))).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    private static List<Long> ids(PersonSearchResponse response) {
+        return response.getResults().stream().map(PersonSummary::getId).toList();
+    }
+}
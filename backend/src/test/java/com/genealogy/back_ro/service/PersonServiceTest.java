@@ -0,0 +1,213 @@
+package com.genealogy.back_ro.service;
+
+import com.genealogy.back_ro.graph.FamilyGraph;
+import com.genealogy.back_ro.graph.GraphDeltaEvent;
+import com.genealogy.back_ro.model.Person;
+import com.genealogy.back_ro.payload.response.CursorPage;
+import com.genealogy.back_ro.payload.response.PersonSearchResponse;
+import com.genealogy.back_ro.payload.response.PersonSummary;
+import com.genealogy.back_ro.repository.PersonRepository;
+import com.genealogy.back_ro.search.PersonNameEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PersonServiceTest {
+
+    @Mock
+    private PersonRepository personRepository;
+
+    @Mock
+    private FamilyGraphIndexService familyGraphIndexService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private PersonService personService;
+
+    private final PersonNameSearchService personNameSearchService = new PersonNameSearchService();
+
+    private final GraphIntegrityService graphIntegrityService = new GraphIntegrityService();
+
+    /** Contenu de la table persons */
+    private final Map<Long, Person> persons = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(personNameSearchService, "personRepository", personRepository);
+        ReflectionTestUtils.setField(personService, "personNameSearchService", personNameSearchService);
+        ReflectionTestUtils.setField(graphIntegrityService, "familyGraphIndexService", familyGraphIndexService);
+        ReflectionTestUtils.setField(graphIntegrityService, "personRepository", personRepository);
+        ReflectionTestUtils.setField(personService, "graphIntegrityService", graphIntegrityService);
+
+        lenient().when(familyGraphIndexService.snapshot()).thenReturn(FamilyGraph.empty());
+        lenient().when(personRepository.findById(any())).thenAnswer(call -> Optional.ofNullable(persons.get(call.<Long>getArgument(0))));
+        lenient().when(personRepository.save(any())).thenAnswer(call -> {
+            Person person = call.getArgument(0);
+            persons.put(person.getId(), person);
+            return person;
+        });
+        lenient().when(personRepository.findSummariesByIdIn(anyCollection())).thenAnswer(call -> {
+            List<PersonSummary> summaries = new ArrayList<>();
+            for (Long id : call.<Collection<Long>>getArgument(0)) {
+                summaries.add(PersonSummary.from(persons.get(id)));
+            }
+            return summaries;
+        });
+        // Les événements sont remis aux index comme après la validation de la transaction
+        lenient().doAnswer(call -> {
+            if (call.getArgument(0) instanceof PersonNameEvent event) {
+                personNameSearchService.onPersonName(event);
+            }
+            return null;
+        }).when(eventPublisher).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void renamedPersonIsFoundByTheNewName() {
+        personService.savePerson(person(7L, "Jean", "Martin"));
+
+        personService.updatePerson(7L, new Person("Jeanne", "Lefebvre"));
+
+        PersonSearchResponse byNewName = personNameSearchService.search("Jeanne", "Lefebvre", null, 0, 10);
+        assertThat(byNewName.getResults()).extracting(PersonSummary::getId).containsExactly(7L);
+        assertThat(personNameSearchService.search(null, "Martin", null, 0, 10).getTotal()).isZero();
+    }
+
+    @Test
+    void renamedPersonIsFoundByTheNewPhoneticKey() {
+        personService.savePerson(person(7L, "Jean", "Dupont"));
+
+        personService.updatePerson(7L, new Person("Jean", "Lefèvre"));
+
+        PersonSearchResponse bySound = personNameSearchService.searchPhonetic(null, "Lefebvre", 0, 10);
+        assertThat(bySound.getResults()).extracting(PersonSummary::getId).containsExactly(7L);
+        assertThat(personNameSearchService.searchPhonetic(null, "Dupond", 0, 10).getTotal()).isZero();
+    }
+
+    @Test
+    void addParentRefusesALinkThatMakesAPersonTheirOwnAncestor() {
+        indexLineage();
+
+        assertThatThrownBy(() -> personService.addParent(1L, 3L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("own ancestor");
+        assertThat(persons.get(1L).getParents()).isEmpty();
+        verify(personRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void addParentAcceptsALinkBetweenUnrelatedBranches() {
+        indexLineage();
+
+        Person child = personService.addParent(4L, 1L);
+
+        assertThat(child.getParents()).extracting(Person::getId).containsExactly(1L);
+        verify(eventPublisher).publishEvent(any(GraphDeltaEvent.class));
+    }
+
+    @Test
+    void savePersonRefusesAParentThatMakesAPersonTheirOwnAncestor() {
+        indexLineage();
+        Person first = person(1L, "Jean", "Martin");
+        first.setParents(new HashSet<>(Set.of(persons.get(3L))));
+
+        assertThatThrownBy(() -> personService.savePerson(first))
+                .hasMessageContaining("own ancestor");
+        verify(personRepository, never()).save(any());
+    }
+
+    @Test
+    void cycleGuardReadsAncestorsFromTheDatabaseWhenTheIndexIsCold() {
+        persons.put(1L, person(1L, "Jean", "Martin"));
+        persons.put(3L, person(3L, "Luc", "Martin"));
+        PersonRepository.LineageNode ancestor = mock(PersonRepository.LineageNode.class);
+        when(ancestor.getPersonId()).thenReturn(1L);
+        when(personRepository.findAncestorNodes(3L, PersonRepository.MAX_RECURSION_DEPTH)).thenReturn(List.of(ancestor));
+
+        assertThatThrownBy(() -> personService.addParent(1L, 3L))
+                .hasMessageContaining("own ancestor");
+    }
+
+    @Test
+    void cursorPagesVisitEveryPersonOnceInIdOrder() {
+        for (long id : new long[]{34, 2, 13, 5, 21, 3, 8}) {
+            persons.put(id, person(id, "Prénom" + id, "Martin"));
+        }
+        when(personRepository.findSummariesAfter(anyLong(), any(Pageable.class))).thenAnswer(call -> {
+            long afterId = call.getArgument(0);
+            Pageable pageable = call.getArgument(1);
+            return persons.keySet().stream()
+                    .filter(id -> id > afterId)
+                    .sorted()
+                    .limit(pageable.getPageSize())
+                    .map(id -> PersonSummary.from(persons.get(id)))
+                    .toList();
+        });
+
+        List<Long> visited = new ArrayList<>();
+        List<Long> cursors = new ArrayList<>();
+        Long cursor = null;
+        do {
+            CursorPage<PersonSummary> page = personService.getPersons(cursor, 3);
+            page.getItems().forEach(summary -> visited.add(summary.getId()));
+            cursor = page.getNextCursor();
+            cursors.add(cursor);
+        } while (cursor != null);
+
+        assertThat(visited).containsExactly(2L, 3L, 5L, 8L, 13L, 21L, 34L);
+        assertThat(cursors).containsExactly(5L, 21L, null);
+
+        // Une personne ajoutée avant le curseur n'est ni répétée ni décalée dans les pages suivantes
+        persons.put(4L, person(4L, "Prénom4", "Martin"));
+        assertThat(personService.getPersons(5L, 3).getItems()).extracting(PersonSummary::getId).containsExactly(8L, 13L, 21L);
+    }
+
+    /**
+     * Index à jour : 3 enfant de 2, 2 enfant de 1 ; 4 sans lien
+     */
+    private void indexLineage() {
+        for (long id = 1; id <= 4; id++) {
+            persons.put(id, person(id, "Prénom" + id, "Martin"));
+        }
+        when(familyGraphIndexService.isReady()).thenReturn(true);
+        when(familyGraphIndexService.snapshot()).thenReturn(FamilyGraph.build(new long[]{1, 2, 3, 4}, 4,
+                new long[]{2, 3}, new long[]{1, 2}, 2));
+    }
+
+    private static Person person(Long id, String firstName, String lastName) {
+        Person person = new Person(firstName, lastName);
+        person.setId(id);
+        return person;
+    }
+}
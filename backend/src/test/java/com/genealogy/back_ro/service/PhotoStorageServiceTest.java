@@ -0,0 +1,70 @@
+package com.genealogy.back_ro.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Miniatures : l'original ne remplace la miniature que dans les cas stables (image illisible ou déjà petite)
+ */
+class PhotoStorageServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private PhotoStorageService storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new PhotoStorageService(directory.toString());
+    }
+
+    @Test
+    void largeImageGetsAThumbnail() throws IOException {
+        String hash = storage.store(png(400, 200));
+
+        Path thumbnail = storage.thumbnail(hash, 64);
+
+        assertThat(thumbnail).isNotEqualTo(storage.locate(hash));
+        BufferedImage image = ImageIO.read(thumbnail.toFile());
+        assertThat(image.getWidth()).isEqualTo(64);
+        assertThat(image.getHeight()).isEqualTo(32);
+        assertThat(storage.thumbnail(hash, 64)).isEqualTo(thumbnail);
+    }
+
+    @Test
+    void smallOrUnreadableImagesAreServedAsIs() throws IOException {
+        String small = storage.store(png(40, 40));
+        String unreadable = storage.store(new byte[]{1, 2, 3, 4});
+
+        assertThat(storage.thumbnail(small, 64)).isEqualTo(storage.locate(small));
+        assertThat(storage.thumbnail(unreadable, 64)).isEqualTo(storage.locate(unreadable));
+    }
+
+    @Test
+    void failedThumbnailWriteIsReportedInsteadOfFallingBackToTheOriginal() throws IOException {
+        String hash = storage.store(png(400, 200));
+        // Un fichier à la place du répertoire des miniatures : l'écriture échoue
+        Files.createDirectories(directory.resolve("thumbs"));
+        Files.write(directory.resolve("thumbs").resolve("64"), new byte[]{0});
+
+        assertThatThrownBy(() -> storage.thumbnail(hash, 64)).isInstanceOf(UncheckedIOException.class);
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,126 @@
+package com.genealogy.back_ro.service;
+
+import com.genealogy.back_ro.graph.GraphDelta;
+import com.genealogy.back_ro.graph.GraphDeltaEvent;
+import com.genealogy.back_ro.graph.PersonRelationshipsEvent;
+import com.genealogy.back_ro.graph.RelationshipGraph;
+import com.genealogy.back_ro.repository.RelationshipGraphJdbcRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Graphe chargé : 1 et 2 parents de 3 ; 3 en relation (pondérée) avec 4
+ */
+@ExtendWith(MockitoExtension.class)
+class RelationshipGraphServiceTest {
+
+    @Mock
+    private RelationshipGraphJdbcRepository relationshipGraphJdbcRepository;
+
+    private final RelationshipGraphService service = new RelationshipGraphService();
+
+    private final RelationshipGraph initial = graph(false);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "relationshipGraphJdbcRepository", relationshipGraphJdbcRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void writesThatLeaveTheGraphUnchangedKeepItsVersion() {
+        when(relationshipGraphJdbcRepository.loadRelationshipGraph()).thenReturn(initial);
+        RelationshipGraphService.Snapshot first = service.snapshot();
+
+        // Réenregistrement d'une personne sans relation : nœud et liens déjà présents
+        service.onGraphDelta(new GraphDeltaEvent(List.of(GraphDelta.addPerson(3), GraphDelta.addEdge(3, 1),
+                GraphDelta.addEdge(3, 2), GraphDelta.removeEdge(4, 1))));
+        service.onPersonRelationships(new PersonRelationshipsEvent(1));
+
+        assertThat(service.snapshot()).isSameAs(first);
+        verify(relationshipGraphJdbcRepository, times(1)).loadRelationshipGraph();
+    }
+
+    @Test
+    void newLinkIsLoadedInTheBackgroundWhileThePreviousGraphIsServed() throws InterruptedException {
+        RelationshipGraph updated = graph(true);
+        CountDownLatch release = new CountDownLatch(1);
+        when(relationshipGraphJdbcRepository.loadRelationshipGraph()).thenReturn(initial).thenAnswer(call -> {
+            release.await();
+            return updated;
+        });
+        RelationshipGraphService.Snapshot first = service.snapshot();
+
+        service.onGraphDelta(new GraphDeltaEvent(List.of(GraphDelta.addEdge(4, 1))));
+
+        assertThat(service.graph()).isSameAs(initial);
+        release.countDown();
+        RelationshipGraphService.Snapshot reloaded = awaitGraph(updated);
+        assertThat(reloaded.getVersion()).isNotEqualTo(first.getVersion());
+    }
+
+    @Test
+    void savingAPersonWithRelationshipsReloadsTheGraph() throws InterruptedException {
+        RelationshipGraph updated = graph(true);
+        when(relationshipGraphJdbcRepository.loadRelationshipGraph()).thenReturn(initial, updated);
+        service.snapshot();
+
+        service.onPersonRelationships(new PersonRelationshipsEvent(4));
+
+        awaitGraph(updated);
+    }
+
+    @Test
+    void importInvalidatesTheGraph() throws InterruptedException {
+        RelationshipGraph updated = graph(true);
+        when(relationshipGraphJdbcRepository.loadRelationshipGraph()).thenReturn(initial, updated);
+        service.snapshot();
+
+        service.invalidate();
+
+        awaitGraph(updated);
+    }
+
+    private RelationshipGraphService.Snapshot awaitGraph(RelationshipGraph expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        RelationshipGraphService.Snapshot snapshot = service.snapshot();
+        while (snapshot.getGraph() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            snapshot = service.snapshot();
+        }
+        assertThat(snapshot.getGraph()).isSameAs(expected);
+        return snapshot;
+    }
+
+    private static RelationshipGraph graph(boolean withLink) {
+        RelationshipGraph.Builder builder = new RelationshipGraph.Builder(4);
+        for (long id = 1; id <= 4; id++) {
+            builder.addPerson(id);
+        }
+        builder.addParentLink(3, 1).addParentLink(3, 2);
+        int related = builder.typeCode(RelationshipGraph.RELATED);
+        builder.addEdge(3, 4, related, 2).addEdge(4, 3, related, 2);
+        if (withLink) {
+            builder.addParentLink(4, 1);
+        }
+        return builder.build();
+    }
+}
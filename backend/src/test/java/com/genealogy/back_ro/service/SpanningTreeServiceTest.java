@@ -0,0 +1,57 @@
+package com.genealogy.back_ro.service;
+
+import com.genealogy.back_ro.graph.NativeGraphBackend;
+import com.genealogy.back_ro.graph.RelationshipGraph;
+import com.genealogy.back_ro.graph.SpanningForest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SpanningTreeServiceTest {
+
+    @Mock
+    private RelationshipGraphService relationshipGraphService;
+
+    private final SpanningTreeService service = new SpanningTreeService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "relationshipGraphService", relationshipGraphService);
+        ReflectionTestUtils.setField(service, "graphBackend", new NativeGraphBackend());
+    }
+
+    @Test
+    void forestsAreKeptWhileTheRelationshipVersionIsUnchanged() {
+        RelationshipGraph graph = chain();
+        when(relationshipGraphService.snapshot()).thenReturn(new RelationshipGraphService.Snapshot(7, graph));
+
+        SpanningForest first = service.spanningForest(null, SpanningForest.Algorithm.KRUSKAL);
+
+        assertThat(service.spanningForest(null, SpanningForest.Algorithm.KRUSKAL)).isSameAs(first);
+        assertThat(service.spanningForest(null, SpanningForest.Algorithm.PRIM)).isNotSameAs(first);
+    }
+
+    @Test
+    void newRelationshipVersionRecomputesTheForest() {
+        when(relationshipGraphService.snapshot()).thenReturn(
+                new RelationshipGraphService.Snapshot(7, chain()), new RelationshipGraphService.Snapshot(8, chain()));
+
+        SpanningForest first = service.spanningForest(null, SpanningForest.Algorithm.KRUSKAL);
+        SpanningForest second = service.spanningForest(null, SpanningForest.Algorithm.KRUSKAL);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getTotalWeight()).isEqualTo(first.getTotalWeight());
+    }
+
+    private static RelationshipGraph chain() {
+        return new RelationshipGraph.Builder(3).addPerson(1).addPerson(2).addPerson(3)
+                .addParentLink(2, 1).addParentLink(3, 2).build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.genealogy.back_ro.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DisjointSetTest {
+
+    @Test
+    void unionMergesSetsAndTracksSizes() {
+        DisjointSet sets = new DisjointSet(6);
+        assertThat(sets.count()).isEqualTo(6);
+
+        sets.union(0, 1);
+        sets.union(2, 3);
+        int root = sets.union(1, 3);
+
+        assertThat(sets.count()).isEqualTo(3);
+        assertThat(sets.find(0)).isEqualTo(root).isEqualTo(sets.find(2));
+        assertThat(sets.sizeOfRoot(root)).isEqualTo(4);
+        assertThat(sets.find(4)).isNotEqualTo(root);
+        assertThat(sets.sizeOfRoot(sets.find(5))).isEqualTo(1);
+
+        assertThat(sets.union(0, 3)).as("déjà réunis").isEqualTo(root);
+        assertThat(sets.count()).isEqualTo(3);
+    }
+
+    @Test
+    void growAddsSingletonsAndKeepsExistingSets() {
+        DisjointSet sets = new DisjointSet(0);
+        sets.grow(2);
+        sets.union(0, 1);
+        sets.grow(100);
+        sets.grow(50);
+
+        assertThat(sets.capacity()).isEqualTo(100);
+        assertThat(sets.count()).isEqualTo(99);
+        assertThat(sets.root(1)).isEqualTo(sets.root(0));
+        assertThat(sets.root(99)).isEqualTo(99);
+    }
+
+    @Test
+    void matchesNaiveLabelsOnRandomUnions() {
+        Random random = new Random(29);
+        int n = 500;
+        DisjointSet sets = new DisjointSet(n);
+        int[] labels = new int[n];
+        for (int i = 0; i < n; i++) {
+            labels[i] = i;
+        }
+        int count = n;
+
+        for (int step = 0; step < 400; step++) {
+            int a = random.nextInt(n);
+            int b = random.nextInt(n);
+            sets.union(a, b);
+            int from = labels[b];
+            int to = labels[a];
+            if (from != to) {
+                count--;
+                for (int i = 0; i < n; i++) {
+                    if (labels[i] == from) {
+                        labels[i] = to;
+                    }
+                }
+            }
+
+            int x = random.nextInt(n);
+            int y = random.nextInt(n);
+            assertThat(sets.root(x) == sets.root(y)).isEqualTo(labels[x] == labels[y]);
+            assertThat(sets.find(x)).isEqualTo(sets.root(x));
+            int size = 0;
+            for (int label : labels) {
+                size += label == labels[x] ? 1 : 0;
+            }
+            assertThat(sets.sizeOfRoot(sets.root(x))).isEqualTo(size);
+        }
+        assertThat(sets.count()).isEqualTo(count);
+    }
+}